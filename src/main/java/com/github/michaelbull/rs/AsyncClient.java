@@ -0,0 +1,53 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a client that can asynchronously deserialize JSON and CSV resources into Java {@link Object}s.
+ * <p>
+ * Each method returns immediately with a {@link CompletableFuture} that is completed once the resource has been
+ * deserialized, or completed exceptionally with an {@link IOException} if an I/O error occurs.
+ */
+public interface AsyncClient extends Closeable {
+
+	/**
+	 * Deserializes a JSON file from a specified URL into an object of the specified type.
+	 * @param url The URL to deserialize from.
+	 * @param typeOfT The specific genericized type of src.
+	 * @param <T> The type of the desired object
+	 * @return A {@link CompletableFuture} of an {@link Optional} containing an object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 */
+	<T> CompletableFuture<Optional<T>> fromJson(String url, Type typeOfT);
+
+	/**
+	 * Deserializes a JSON file from a specified URL into an object of the specified type.
+	 * @param url The URL to deserialize from.
+	 * @param classOfT The class of T.
+	 * @param <T> The type of the desired object
+	 * @return A {@link CompletableFuture} of an {@link Optional} containing an object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 */
+	<T> CompletableFuture<Optional<T>> fromJson(String url, Class<T> classOfT);
+
+	/**
+	 * Deserializes a CSV file from a specified URL into an {@link ImmutableList} of {@link CSVRecord}s.
+	 * @param url The URL to deserialize from.
+	 * @return A {@link CompletableFuture} of an {@link ImmutableList} of {@link CSVRecord}s.
+	 */
+	CompletableFuture<ImmutableList<CSVRecord>> fromCSV(String url);
+
+	/**
+	 * Releases any resources held by this client. The default implementation holds no resources and does nothing.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	default void close() throws IOException {
+		/* empty */
+	}
+}
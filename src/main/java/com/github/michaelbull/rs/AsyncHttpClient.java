@@ -0,0 +1,343 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link AsyncClient} that wraps a non-blocking {@link CloseableHttpAsyncClient} to interact with the RuneScape
+ * web-services API.
+ * <p>
+ * Requests are multiplexed over a small, fixed number of I/O dispatch threads, so thousands of requests may be in
+ * flight at once without dedicating a thread to each. Responses are requested with gzip or deflate compression, and
+ * decompressed and deserialized on a fixed pool of decoding threads owned by the client, keeping the I/O dispatch
+ * threads free. The client must be released by calling {@link #close()} once it is no longer needed.
+ * <p>
+ * Every request has a connect timeout and a read timeout between the bytes of its response. Cancelling a returned
+ * {@link CompletableFuture} aborts its request, and releases its connection, if it is still running.
+ * <p>
+ * Server errors, and the throttling page served in place of the requested data, complete the returned
+ * {@link CompletableFuture} exceptionally with a {@link ServiceUnavailableException}, as they do for an
+ * {@link HttpClient}.
+ */
+public final class AsyncHttpClient implements AsyncClient {
+
+	public static final class Builder {
+		private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+		private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		private int ioThreads = Runtime.getRuntime().availableProcessors();
+		private int decoderThreads = Runtime.getRuntime().availableProcessors();
+		private long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+		private long connectionRequestTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+		private long readTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_READ_TIMEOUT_SECONDS);
+
+		private Builder() {
+			/* empty */
+		}
+
+		public Builder maxConnections(int maxConnections) {
+			Preconditions.checkArgument(maxConnections > 0, "Maximum connections must be positive.");
+			this.maxConnections = maxConnections;
+			return this;
+		}
+
+		public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			Preconditions.checkArgument(maxConnectionsPerRoute > 0, "Maximum connections per route must be positive.");
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+			return this;
+		}
+
+		public Builder ioThreads(int ioThreads) {
+			Preconditions.checkArgument(ioThreads > 0, "I/O thread count must be positive.");
+			this.ioThreads = ioThreads;
+			return this;
+		}
+
+		public Builder decoderThreads(int decoderThreads) {
+			Preconditions.checkArgument(decoderThreads > 0, "Decoder thread count must be positive.");
+			this.decoderThreads = decoderThreads;
+			return this;
+		}
+
+		public Builder connectTimeout(long connectTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(connectTimeout > 0, "Connect timeout must be positive.");
+			this.connectTimeoutMillis = unit.toMillis(connectTimeout);
+			return this;
+		}
+
+		public Builder connectionRequestTimeout(long connectionRequestTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(connectionRequestTimeout > 0, "Connection request timeout must be positive.");
+			this.connectionRequestTimeoutMillis = unit.toMillis(connectionRequestTimeout);
+			return this;
+		}
+
+		public Builder readTimeout(long readTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(readTimeout > 0, "Read timeout must be positive.");
+			this.readTimeoutMillis = unit.toMillis(readTimeout);
+			return this;
+		}
+
+		public AsyncHttpClient build() {
+			Preconditions.checkState(maxConnectionsPerRoute <= maxConnections, "Maximum connections per route must not exceed the maximum connections.");
+			return new AsyncHttpClient(this);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The default maximum amount of concurrent connections.
+	 */
+	private static final int DEFAULT_MAX_CONNECTIONS = 256;
+
+	/**
+	 * The default maximum amount of concurrent connections to a single route.
+	 */
+	private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 128;
+
+	/**
+	 * The default amount of seconds to wait to establish a connection, or to lease one from the pool.
+	 */
+	private static final long DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * The default amount of seconds to wait for the next bytes of a response.
+	 */
+	private static final long DEFAULT_READ_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * The {@link Gson} instance.
+	 */
+	private final Gson gson = new Gson();
+
+	/**
+	 * The underlying {@link CloseableHttpAsyncClient}.
+	 */
+	private final CloseableHttpAsyncClient client;
+
+	/**
+	 * The {@link ExecutorService} that decompresses and deserializes the bodies of responses.
+	 */
+	private final ExecutorService decoder;
+
+	/**
+	 * Creates a new {@link AsyncHttpClient} with the default configuration.
+	 */
+	public AsyncHttpClient() {
+		this(new Builder());
+	}
+
+	/**
+	 * Creates a new {@link AsyncHttpClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private AsyncHttpClient(Builder builder) {
+		RequestConfig requestConfig = RequestConfig.custom()
+			.setConnectTimeout(Ints.saturatedCast(builder.connectTimeoutMillis))
+			.setConnectionRequestTimeout(Ints.saturatedCast(builder.connectionRequestTimeoutMillis))
+			.setSocketTimeout(Ints.saturatedCast(builder.readTimeoutMillis))
+			.build();
+
+		this.client = HttpAsyncClients.custom()
+			.setMaxConnTotal(builder.maxConnections)
+			.setMaxConnPerRoute(builder.maxConnectionsPerRoute)
+			.setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(builder.ioThreads).build())
+			.setDefaultRequestConfig(requestConfig)
+			.build();
+		this.decoder = Executors.newFixedThreadPool(builder.decoderThreads, new ThreadFactoryBuilder()
+			.setNameFormat("async-http-client-decoder-%d")
+			.setDaemon(true)
+			.build());
+		this.client.start();
+	}
+
+	/**
+	 * Asynchronously reads an object from the body of the response to a request from a specified URL. Cancelling the
+	 * returned {@link CompletableFuture} aborts the request if it is still running.
+	 * @param url The URL to request from.
+	 * @param bodyReader The {@link HttpClient.BodyReader}, which is run on the {@link #decoder}.
+	 * @param <T> The type of object read from the body.
+	 * @return A {@link CompletableFuture} of the object.
+	 */
+	private <T> CompletableFuture<T> read(String url, HttpClient.BodyReader<T> bodyReader) {
+		HttpGet request = new HttpGet(url);
+		request.addHeader("accept", "application/json");
+		request.addHeader("accept", "text/csv");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+		CompletableFuture<T> future = new CompletableFuture<>();
+		Future<HttpResponse> pending = client.execute(request, new FutureCallback<HttpResponse>() {
+			@Override
+			public void completed(HttpResponse response) {
+				try {
+					decoder.execute(() -> {
+						try {
+							future.complete(read(url, response, bodyReader));
+						} catch (IOException | RuntimeException e) {
+							future.completeExceptionally(e);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					future.completeExceptionally(new IOException("Client closed.", e));
+				}
+			}
+
+			@Override
+			public void failed(Exception e) {
+				future.completeExceptionally(e instanceof IOException ? e : new IOException(e));
+			}
+
+			@Override
+			public void cancelled() {
+				future.cancel(false);
+			}
+		});
+
+		future.whenComplete((result, t) -> {
+			if (future.isCancelled()) {
+				pending.cancel(true);
+			}
+		});
+
+		return future;
+	}
+
+	/**
+	 * Reads an object from the body of a response.
+	 * @param url The URL the response is from.
+	 * @param response The response.
+	 * @param bodyReader The {@link HttpClient.BodyReader}.
+	 * @param <T> The type of object read from the body.
+	 * @return The object.
+	 * @throws ServiceUnavailableException If the server answered with a server error, or the client was throttled.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static <T> T read(String url, HttpResponse response, HttpClient.BodyReader<T> bodyReader) throws IOException {
+		HttpEntity entity = response.getEntity();
+		int status = response.getStatusLine().getStatusCode();
+
+		if (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR || status == HttpClient.SC_TOO_MANY_REQUESTS) {
+			EntityUtils.consume(entity);
+			throw new ServiceUnavailableException(url, status, status == HttpClient.SC_TOO_MANY_REQUESTS);
+		}
+
+		if (entity == null) {
+			return bodyReader.read(new ByteArrayInputStream(new byte[0]), HTTP.DEF_CONTENT_CHARSET);
+		}
+
+		try (InputStream in = new BufferedInputStream(HttpClient.decompress(entity.getContent(), entity.getContentEncoding()))) {
+			if (status == HttpStatus.SC_OK && HttpClient.isThrottlingPage(entity, in)) {
+				throw new ServiceUnavailableException(url, status, true);
+			}
+
+			return bodyReader.read(in, HttpClient.charsetOf(entity));
+		}
+	}
+
+	/**
+	 * Deserializes a JSON file from a specified URL into an object of the specified type.
+	 * @param url The URL to deserialize from.
+	 * @param typeOfT The specific genericized type of src.
+	 * @param <T> The type of the desired object
+	 * @return A {@link CompletableFuture} of an {@link Optional} containing an object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 */
+	@Override
+	public <T> CompletableFuture<Optional<T>> fromJson(String url, Type typeOfT) {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(typeOfT);
+
+		return read(url, (in, charset) -> {
+			try {
+				return Optional.ofNullable(gson.fromJson(new InputStreamReader(in, charset), typeOfT));
+			} catch (JsonSyntaxException | JsonIOException e) {
+				HttpClient.rethrowIOException(e);
+				return Optional.empty();
+			}
+		});
+	}
+
+	/**
+	 * Deserializes a JSON file from a specified URL into an object of the specified type.
+	 * @param url The URL to deserialize from.
+	 * @param classOfT The class of T.
+	 * @param <T> The type of the desired object
+	 * @return A {@link CompletableFuture} of an {@link Optional} containing an object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 */
+	@Override
+	public <T> CompletableFuture<Optional<T>> fromJson(String url, Class<T> classOfT) {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(classOfT);
+
+		return read(url, (in, charset) -> {
+			try {
+				return Optional.ofNullable(gson.fromJson(new InputStreamReader(in, charset), classOfT));
+			} catch (JsonSyntaxException | JsonIOException e) {
+				HttpClient.rethrowIOException(e);
+				return Optional.empty();
+			}
+		});
+	}
+
+	/**
+	 * Deserializes a CSV file from a specified URL into an {@link ImmutableList} of {@link CSVRecord}s.
+	 * @param url The URL to deserialize from.
+	 * @return A {@link CompletableFuture} of an {@link ImmutableList} of {@link CSVRecord}s.
+	 */
+	@Override
+	public CompletableFuture<ImmutableList<CSVRecord>> fromCSV(String url) {
+		Preconditions.checkNotNull(url);
+
+		return read(url, (in, charset) -> {
+			try (CSVParser parser = Client.CSV_FORMAT.parse(new InputStreamReader(in, charset))) {
+				return ImmutableList.copyOf(parser.getRecords());
+			}
+		});
+	}
+
+	/**
+	 * Shuts down the I/O dispatch and decoding threads, and closes every connection.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			client.close();
+		} finally {
+			decoder.shutdownNow();
+		}
+	}
+}
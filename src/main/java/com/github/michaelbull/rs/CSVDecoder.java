@@ -0,0 +1,23 @@
+package com.github.michaelbull.rs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Represents a decoder that reads an object directly from the raw bytes of a CSV file, without first parsing the file
+ * into {@link org.apache.commons.csv.CSVRecord}s. The bytes are encoded in ISO-8859-1, the charset of the RuneScape
+ * web-services' CSV files.
+ * @param <T> The type of object decoded.
+ */
+@FunctionalInterface
+public interface CSVDecoder<T> {
+
+	/**
+	 * Decodes an object from the raw bytes of a CSV file.
+	 * @param in The {@link InputStream} of the file's bytes. The decoder must not close the stream.
+	 * @return An {@link Optional} containing the decoded object, or {@link Optional#empty()} if the file could not be decoded.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	Optional<T> decode(InputStream in) throws IOException;
+}
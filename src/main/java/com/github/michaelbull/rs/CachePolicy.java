@@ -0,0 +1,160 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the policy that determines how long the response from each URL may be cached, and how much may be cached
+ * at once.
+ * <p>
+ * Each URL is matched against the rules in the order they were added, and the time-to-live of the first rule whose
+ * pattern is found in the URL applies. URLs that match no rule use the default time-to-live, which is zero (not
+ * cached) unless configured otherwise.
+ */
+public final class CachePolicy {
+
+	public static final class Builder {
+		private final ImmutableList.Builder<Rule> rules = ImmutableList.builder();
+		private long defaultTtlNanos = 0;
+		private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+		private Builder() {
+			/* empty */
+		}
+
+		public Builder ttl(String regex, long ttl, TimeUnit unit) {
+			return ttl(Pattern.compile(regex), ttl, unit);
+		}
+
+		public Builder ttl(Pattern pattern, long ttl, TimeUnit unit) {
+			Preconditions.checkNotNull(pattern);
+			Preconditions.checkArgument(ttl >= 0, "Time-to-live must not be negative.");
+			rules.add(new Rule(pattern, unit.toNanos(ttl)));
+			return this;
+		}
+
+		public Builder defaultTtl(long ttl, TimeUnit unit) {
+			Preconditions.checkArgument(ttl >= 0, "Time-to-live must not be negative.");
+			this.defaultTtlNanos = unit.toNanos(ttl);
+			return this;
+		}
+
+		public Builder maximumWeight(long maximumWeight) {
+			Preconditions.checkArgument(maximumWeight > 0, "Maximum weight must be positive.");
+			this.maximumWeight = maximumWeight;
+			return this;
+		}
+
+		public CachePolicy build() {
+			return new CachePolicy(rules.build(), defaultTtlNanos, maximumWeight);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a {@link CachePolicy} suited to each of the RuneScape web-services: weeks for the bestiary's name lists,
+	 * a day for beast data, an hour for the Grand Exchange catalogue, minutes for item prices and seconds for the
+	 * hiscores.
+	 * @return The {@link CachePolicy}.
+	 */
+	public static CachePolicy defaults() {
+		return builder()
+			.ttl("/bestiary/(areaNames|slayerCatNames|weaknessNames)\\.json", 7, TimeUnit.DAYS)
+			.ttl("/bestiary/", 1, TimeUnit.DAYS)
+			.ttl("/catalogue/(category|items)\\.json", 1, TimeUnit.HOURS)
+			.ttl("/catalogue/detail\\.json|/graph/", 5, TimeUnit.MINUTES)
+			.ttl("/(index_lite|members_lite)\\.ws", 30, TimeUnit.SECONDS)
+			.build();
+	}
+
+	/**
+	 * A rule that applies a time-to-live to the URLs in which its pattern is found.
+	 */
+	private static final class Rule {
+
+		/**
+		 * The {@link Pattern} searched for in each URL.
+		 */
+		private final Pattern pattern;
+
+		/**
+		 * The time-to-live in nanoseconds.
+		 */
+		private final long ttlNanos;
+
+		/**
+		 * Creates a new {@link Rule}.
+		 * @param pattern The {@link Pattern} searched for in each URL.
+		 * @param ttlNanos The time-to-live in nanoseconds.
+		 */
+		private Rule(Pattern pattern, long ttlNanos) {
+			this.pattern = pattern;
+			this.ttlNanos = ttlNanos;
+		}
+	}
+
+	/**
+	 * The default maximum total weight of the cached responses.
+	 */
+	private static final long DEFAULT_MAXIMUM_WEIGHT = 100_000;
+
+	/**
+	 * The {@link Rule}s, in the order they are matched.
+	 */
+	private final ImmutableList<Rule> rules;
+
+	/**
+	 * The time-to-live in nanoseconds of URLs that match no {@link Rule}.
+	 */
+	private final long defaultTtlNanos;
+
+	/**
+	 * The maximum total weight of the cached responses.
+	 */
+	private final long maximumWeight;
+
+	/**
+	 * Creates a new {@link CachePolicy}.
+	 * @param rules The {@link Rule}s, in the order they are matched.
+	 * @param defaultTtlNanos The time-to-live in nanoseconds of URLs that match no {@link Rule}.
+	 * @param maximumWeight The maximum total weight of the cached responses.
+	 */
+	private CachePolicy(ImmutableList<Rule> rules, long defaultTtlNanos, long maximumWeight) {
+		this.rules = rules;
+		this.defaultTtlNanos = defaultTtlNanos;
+		this.maximumWeight = maximumWeight;
+	}
+
+	/**
+	 * Gets the time-to-live of the response from a URL.
+	 * @param url The URL.
+	 * @param unit The {@link TimeUnit} of the time-to-live.
+	 * @return The time-to-live, or zero if the response must not be cached.
+	 */
+	public long ttl(String url, TimeUnit unit) {
+		Preconditions.checkNotNull(url);
+
+		for (Rule rule : rules) {
+			if (rule.pattern.matcher(url).find()) {
+				return unit.convert(rule.ttlNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+
+		return unit.convert(defaultTtlNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the maximum total weight of the cached responses, where the weight of a response is the amount of elements
+	 * it contains.
+	 * @return The maximum total weight.
+	 */
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+}
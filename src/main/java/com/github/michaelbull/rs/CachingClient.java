@@ -0,0 +1,201 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.primitives.Ints;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Client} that caches the deserialized responses of another {@link Client} for the time-to-live its
+ * {@link CachePolicy} assigns to each URL.
+ * <p>
+ * Responses are weighed by the amount of elements they contain, and the least recently used responses are evicted once
+ * the total weight exceeds the {@link CachePolicy#getMaximumWeight() maximum weight}. Responses that could not be
+ * deserialized ({@link Optional#empty()}) and responses decoded with a {@link CSVDecoder}, which may have side effects,
+ * are never cached.
+ */
+public final class CachingClient extends InterceptingClient {
+
+	/**
+	 * A cached response.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The deserialized response.
+		 */
+		private final Object value;
+
+		/**
+		 * The weight of the response.
+		 */
+		private final int weight;
+
+		/**
+		 * The {@link Ticker} time in nanoseconds at which the response expires.
+		 */
+		private final long expiresAt;
+
+		/**
+		 * Creates a new {@link Entry}.
+		 * @param value The deserialized response.
+		 * @param weight The weight of the response.
+		 * @param expiresAt The {@link Ticker} time in nanoseconds at which the response expires.
+		 */
+		private Entry(Object value, int weight, long expiresAt) {
+			this.value = value;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * Weighs a deserialized response by the amount of elements it contains.
+	 * @param value The deserialized response.
+	 * @return The weight, which is at least one.
+	 */
+	private static int weigh(Object value) {
+		if (value instanceof Optional) {
+			value = ((Optional<?>) value).orElse(null);
+		}
+
+		long weight;
+		if (value instanceof Collection) {
+			weight = ((Collection<?>) value).size();
+		} else if (value instanceof Map) {
+			weight = ((Map<?, ?>) value).size();
+		} else if (value != null && value.getClass().isArray()) {
+			weight = Array.getLength(value);
+		} else {
+			weight = 1;
+		}
+
+		return Ints.saturatedCast(Math.max(1, weight));
+	}
+
+	/**
+	 * The {@link CachePolicy}.
+	 */
+	private final CachePolicy policy;
+
+	/**
+	 * The {@link Ticker} used to expire responses.
+	 */
+	private final Ticker ticker;
+
+	/**
+	 * The statistics of this cache.
+	 */
+	private final AbstractCache.SimpleStatsCounter stats = new AbstractCache.SimpleStatsCounter();
+
+	/**
+	 * The {@link Cache} of requests to their responses.
+	 */
+	private final Cache<Call<?>, Entry> cache;
+
+	/**
+	 * Creates a new {@link CachingClient}.
+	 * @param delegate The {@link Client} whose responses are cached.
+	 * @param policy The {@link CachePolicy}.
+	 */
+	public CachingClient(Client delegate, CachePolicy policy) {
+		this(delegate, policy, Ticker.systemTicker());
+	}
+
+	/**
+	 * Creates a new {@link CachingClient}.
+	 * @param delegate The {@link Client} whose responses are cached.
+	 * @param policy The {@link CachePolicy}.
+	 * @param ticker The {@link Ticker} used to expire responses.
+	 */
+	CachingClient(Client delegate, CachePolicy policy, Ticker ticker) {
+		super(delegate);
+		this.policy = Preconditions.checkNotNull(policy);
+		this.ticker = Preconditions.checkNotNull(ticker);
+		this.cache = CacheBuilder.newBuilder()
+			.maximumWeight(policy.getMaximumWeight())
+			.<Call<?>, Entry>weigher((call, entry) -> entry.weight)
+			.removalListener(notification -> {
+				if (notification.getCause() == RemovalCause.SIZE) {
+					stats.recordEviction();
+				}
+			})
+			.build();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected <T> T intercept(Call<T> call) throws IOException {
+		long ttl = policy.ttl(call.getUrl(), TimeUnit.NANOSECONDS);
+		if (ttl <= 0 || call.getTarget() instanceof CSVDecoder) {
+			/* decoders are usually created per request around a caller's consumer, so their entries would never be hit */
+			return call.proceed();
+		}
+
+		Entry entry = cache.getIfPresent(call);
+		if (entry != null) {
+			if (entry.expiresAt - ticker.read() > 0) {
+				stats.recordHits(1);
+				return (T) entry.value;
+			}
+
+			cache.asMap().remove(call, entry);
+		}
+
+		stats.recordMisses(1);
+		long start = ticker.read();
+
+		T value;
+		try {
+			value = call.proceed();
+		} catch (IOException | RuntimeException e) {
+			stats.recordLoadException(ticker.read() - start);
+			throw e;
+		}
+
+		long end = ticker.read();
+		stats.recordLoadSuccess(end - start);
+
+		if (!Optional.empty().equals(value)) {
+			cache.put(call, new Entry(value, weigh(value), end + ttl));
+		}
+
+		return value;
+	}
+
+	/**
+	 * Gets a snapshot of the statistics of this cache. A request counts as a hit if it was answered from the cache and
+	 * as a miss otherwise, excluding the requests to URLs that must not be cached and those decoded with a
+	 * {@link CSVDecoder}.
+	 * @return The {@link CacheStats}.
+	 */
+	public CacheStats stats() {
+		return stats.snapshot();
+	}
+
+	/**
+	 * Gets the approximate amount of cached responses, including those that have expired but not yet been evicted.
+	 * @return The amount of cached responses.
+	 */
+	public long size() {
+		return cache.size();
+	}
+
+	/**
+	 * Discards every cached response.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+}
@@ -0,0 +1,381 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A circuit breaker that guards the requests made to a single {@link Endpoint} by a {@link CircuitBreakerClient}.
+ * <p>
+ * While {@link State#CLOSED closed}, the outcome of each request is recorded in a sliding window of the most recent
+ * requests. Once the window holds enough requests and either the rate of failures or the rate of slow requests reaches
+ * its threshold, the breaker {@link State#OPEN opens}, and requests are refused with a
+ * {@link CircuitBreakerOpenException} rather than left to tie up threads until they time out. After the open duration,
+ * the breaker is {@link State#HALF_OPEN half-open}: a few probe requests are let through, and the breaker closes again
+ * if every probe succeeds in time, or reopens as soon as one does not.
+ */
+public final class CircuitBreaker {
+
+	/**
+	 * Represents the state of a {@link CircuitBreaker}.
+	 */
+	public enum State {
+
+		/**
+		 * Requests are let through, and their outcomes recorded.
+		 */
+		CLOSED,
+
+		/**
+		 * Requests are refused.
+		 */
+		OPEN,
+
+		/**
+		 * A limited amount of probe requests are let through to decide whether to close or reopen.
+		 */
+		HALF_OPEN
+	}
+
+	/**
+	 * Listens to the state transitions of {@link CircuitBreaker}s.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		/**
+		 * Called after a {@link CircuitBreaker} transitions from one {@link State} to another, on the thread whose
+		 * request caused the transition.
+		 * @param breaker The {@link CircuitBreaker}.
+		 * @param from The previous {@link State}.
+		 * @param to The new {@link State}.
+		 */
+		void onTransition(CircuitBreaker breaker, State from, State to);
+	}
+
+	/**
+	 * The {@link Endpoint} this breaker guards.
+	 */
+	private final Endpoint endpoint;
+
+	/**
+	 * The rate of failures, between zero and one, at which the breaker opens.
+	 */
+	private final double failureRateThreshold;
+
+	/**
+	 * The rate of slow requests, between zero and one, at which the breaker opens.
+	 */
+	private final double slowCallRateThreshold;
+
+	/**
+	 * The duration in nanoseconds beyond which a request is slow.
+	 */
+	private final long slowCallNanos;
+
+	/**
+	 * The minimum amount of requests in the window before the rates are evaluated.
+	 */
+	private final int minimumCalls;
+
+	/**
+	 * The duration in nanoseconds the breaker stays open before probing.
+	 */
+	private final long openNanos;
+
+	/**
+	 * The amount of probe requests let through while half-open.
+	 */
+	private final int probes;
+
+	/**
+	 * The {@link Listener} of state transitions.
+	 */
+	private final Listener listener;
+
+	/**
+	 * The {@link Ticker} that measures requests.
+	 */
+	private final Ticker ticker;
+
+	/**
+	 * Whether each request in the window failed, as a ring buffer.
+	 */
+	private final boolean[] failed;
+
+	/**
+	 * Whether each request in the window was slow, as a ring buffer.
+	 */
+	private final boolean[] slow;
+
+	/**
+	 * The current {@link State}.
+	 */
+	private volatile State state = State.CLOSED;
+
+	/**
+	 * The generation of the current {@link State}, which is incremented on every transition so that the outcomes of
+	 * requests let through in an earlier state are ignored.
+	 */
+	private long generation;
+
+	/**
+	 * The amount of requests in the window.
+	 */
+	private int calls;
+
+	/**
+	 * The index in the window the next outcome is recorded at.
+	 */
+	private int next;
+
+	/**
+	 * The amount of failed requests in the window.
+	 */
+	private int failures;
+
+	/**
+	 * The amount of slow requests in the window.
+	 */
+	private int slowCalls;
+
+	/**
+	 * The {@link Ticker} time in nanoseconds at which the breaker, while open, becomes half-open.
+	 */
+	private long openUntil;
+
+	/**
+	 * The amount of probe requests let through since the breaker became half-open.
+	 */
+	private int probesStarted;
+
+	/**
+	 * The amount of probe requests that succeeded in time since the breaker became half-open.
+	 */
+	private int probesSucceeded;
+
+	/**
+	 * Creates a new {@link CircuitBreaker}, which starts closed.
+	 * @param endpoint The {@link Endpoint} this breaker guards.
+	 * @param failureRateThreshold The rate of failures at which the breaker opens.
+	 * @param slowCallRateThreshold The rate of slow requests at which the breaker opens.
+	 * @param slowCallNanos The duration in nanoseconds beyond which a request is slow.
+	 * @param windowSize The amount of most recent requests in the window.
+	 * @param minimumCalls The minimum amount of requests in the window before the rates are evaluated.
+	 * @param openNanos The duration in nanoseconds the breaker stays open before probing.
+	 * @param probes The amount of probe requests let through while half-open.
+	 * @param listener The {@link Listener} of state transitions.
+	 * @param ticker The {@link Ticker} that measures requests.
+	 */
+	CircuitBreaker(Endpoint endpoint, double failureRateThreshold, double slowCallRateThreshold, long slowCallNanos, int windowSize, int minimumCalls, long openNanos, int probes, Listener listener, Ticker ticker) {
+		this.endpoint = Preconditions.checkNotNull(endpoint);
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.slowCallNanos = slowCallNanos;
+		this.minimumCalls = minimumCalls;
+		this.openNanos = openNanos;
+		this.probes = probes;
+		this.listener = Preconditions.checkNotNull(listener);
+		this.ticker = Preconditions.checkNotNull(ticker);
+		this.failed = new boolean[windowSize];
+		this.slow = new boolean[windowSize];
+	}
+
+	/**
+	 * Asks to let a request through.
+	 * @return The permit of the request, to be passed to {@link #record(long, long, boolean)} once it completes.
+	 * @throws CircuitBreakerOpenException If the breaker is open, or half-open with every probe already let through.
+	 */
+	long acquire() throws CircuitBreakerOpenException {
+		State from;
+		long permit;
+
+		synchronized (this) {
+			if (state == State.OPEN) {
+				long remaining = openUntil - ticker.read();
+				if (remaining > 0) {
+					throw new CircuitBreakerOpenException(endpoint, remaining);
+				}
+				from = transition(State.HALF_OPEN);
+			} else {
+				from = null;
+			}
+
+			if (state == State.HALF_OPEN) {
+				if (probesStarted == probes) {
+					throw new CircuitBreakerOpenException(endpoint, 0);
+				}
+				probesStarted++;
+			}
+
+			permit = generation;
+		}
+
+		notify(from, State.HALF_OPEN);
+		return permit;
+	}
+
+	/**
+	 * Records the outcome of a request that was let through.
+	 * @param permit The permit returned by {@link #acquire()}.
+	 * @param durationNanos The duration of the request in nanoseconds.
+	 * @param failure Whether the request failed.
+	 */
+	void record(long permit, long durationNanos, boolean failure) {
+		boolean isSlow = durationNanos >= slowCallNanos;
+		State from = null;
+		State to = null;
+
+		synchronized (this) {
+			if (permit != generation) {
+				return;
+			}
+
+			if (state == State.HALF_OPEN) {
+				if (failure || isSlow) {
+					from = open();
+					to = State.OPEN;
+				} else if (++probesSucceeded == probes) {
+					from = transition(State.CLOSED);
+					to = State.CLOSED;
+				}
+			} else if (state == State.CLOSED) {
+				add(failure, isSlow);
+				if (calls >= minimumCalls && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+					from = open();
+					to = State.OPEN;
+				}
+			}
+		}
+
+		notify(from, to);
+	}
+
+	/**
+	 * Releases the permit of a request whose outcome says nothing about the health of the service, so that, if it was
+	 * a probe, another request may probe in its place.
+	 * @param permit The permit returned by {@link #acquire()}.
+	 */
+	synchronized void release(long permit) {
+		if (permit == generation && state == State.HALF_OPEN) {
+			probesStarted--;
+		}
+	}
+
+	/**
+	 * Adds the outcome of a request to the window, replacing the oldest once the window is full. Must be called while
+	 * holding the lock.
+	 * @param failure Whether the request failed.
+	 * @param isSlow Whether the request was slow.
+	 */
+	private void add(boolean failure, boolean isSlow) {
+		if (calls == failed.length) {
+			failures -= failed[next] ? 1 : 0;
+			slowCalls -= slow[next] ? 1 : 0;
+		} else {
+			calls++;
+		}
+
+		failed[next] = failure;
+		slow[next] = isSlow;
+		failures += failure ? 1 : 0;
+		slowCalls += isSlow ? 1 : 0;
+		next = (next + 1) % failed.length;
+	}
+
+	/**
+	 * Opens the breaker. Must be called while holding the lock.
+	 * @return The previous {@link State}.
+	 */
+	private State open() {
+		openUntil = ticker.read() + openNanos;
+		return transition(State.OPEN);
+	}
+
+	/**
+	 * Transitions to another {@link State}, resetting the window and probes. Must be called while holding the lock.
+	 * @param to The new {@link State}.
+	 * @return The previous {@link State}.
+	 */
+	private State transition(State to) {
+		State from = state;
+		state = to;
+		generation++;
+		calls = next = failures = slowCalls = 0;
+		probesStarted = probesSucceeded = 0;
+		return from;
+	}
+
+	/**
+	 * Notifies the {@link Listener} of a transition, if one occurred. Must be called without holding the lock.
+	 * @param from The previous {@link State}, or {@code null} if no transition occurred.
+	 * @param to The new {@link State}.
+	 */
+	private void notify(State from, State to) {
+		if (from != null) {
+			listener.onTransition(this, from, to);
+		}
+	}
+
+	/**
+	 * Gets the rate of failures in the window. Must be called while holding the lock.
+	 * @return The rate of failures.
+	 */
+	private double failureRate() {
+		return calls == 0 ? 0 : (double) failures / calls;
+	}
+
+	/**
+	 * Gets the rate of slow requests in the window. Must be called while holding the lock.
+	 * @return The rate of slow requests.
+	 */
+	private double slowCallRate() {
+		return calls == 0 ? 0 : (double) slowCalls / calls;
+	}
+
+	/**
+	 * Gets the {@link Endpoint} this breaker guards.
+	 * @return The {@link Endpoint}.
+	 */
+	public Endpoint getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * Gets the current {@link State}. An open breaker whose open duration has passed reports {@link State#OPEN} until
+	 * the next request makes it half-open.
+	 * @return The {@link State}.
+	 */
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * Gets the rate of failures among the requests in the window since the breaker last closed.
+	 * @return The rate of failures, between zero and one.
+	 */
+	public synchronized double getFailureRate() {
+		return failureRate();
+	}
+
+	/**
+	 * Gets the rate of slow requests among the requests in the window since the breaker last closed.
+	 * @return The rate of slow requests, between zero and one.
+	 */
+	public synchronized double getSlowCallRate() {
+		return slowCallRate();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("endpoint", endpoint)
+			.add("state", state)
+			.add("failureRate", getFailureRate())
+			.add("slowCallRate", getSlowCallRate())
+			.add("openMillis", TimeUnit.NANOSECONDS.toMillis(openNanos))
+			.toString();
+	}
+}
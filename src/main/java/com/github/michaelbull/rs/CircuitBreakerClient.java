@@ -0,0 +1,205 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Client} that guards the requests made to each {@link Endpoint} of another {@link Client} with a separate
+ * {@link CircuitBreaker}, so that a degraded service fails fast instead of tying up the threads shared with the
+ * healthy ones.
+ * <p>
+ * A request fails if it throws an {@link IOException}, and is slow if it takes at least the slow call duration, whether
+ * or not it fails. Requests interrupted by their calling thread, or that throw anything other than an
+ * {@link IOException}, say nothing about the health of the service and are not recorded. Requests cut short by their
+ * {@link Deadline} are not failures, as the deadline belongs to the caller, but still count as slow if they ran for the
+ * slow call duration. Requests to URLs that belong to no {@link Endpoint} are never refused.
+ * <p>
+ * A {@link RetryingClient} belongs outside this client, so that every attempt is recorded, and retries stop as soon as
+ * the breaker opens.
+ */
+public final class CircuitBreakerClient extends InterceptingClient {
+
+	public static final class Builder {
+		private final Client delegate;
+		private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+		private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+		private long slowCallNanos = TimeUnit.SECONDS.toNanos(DEFAULT_SLOW_CALL_SECONDS);
+		private int windowSize = DEFAULT_WINDOW_SIZE;
+		private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+		private long openNanos = TimeUnit.SECONDS.toNanos(DEFAULT_OPEN_SECONDS);
+		private int probes = DEFAULT_PROBES;
+		private CircuitBreaker.Listener listener = (breaker, from, to) -> { /* empty */ };
+		private Ticker ticker = Ticker.systemTicker();
+
+		private Builder(Client delegate) {
+			this.delegate = Preconditions.checkNotNull(delegate);
+		}
+
+		public Builder failureRateThreshold(double failureRateThreshold) {
+			Preconditions.checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1, "Failure rate threshold must be between zero (exclusive) and one.");
+			this.failureRateThreshold = failureRateThreshold;
+			return this;
+		}
+
+		public Builder slowCallRateThreshold(double slowCallRateThreshold, long slowCallDuration, TimeUnit unit) {
+			Preconditions.checkArgument(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1, "Slow call rate threshold must be between zero (exclusive) and one.");
+			Preconditions.checkArgument(slowCallDuration > 0, "Slow call duration must be positive.");
+			this.slowCallRateThreshold = slowCallRateThreshold;
+			this.slowCallNanos = unit.toNanos(slowCallDuration);
+			return this;
+		}
+
+		public Builder window(int windowSize, int minimumCalls) {
+			Preconditions.checkArgument(windowSize > 0, "Window size must be positive.");
+			Preconditions.checkArgument(minimumCalls > 0 && minimumCalls <= windowSize, "Minimum calls must be positive and must not exceed the window size.");
+			this.windowSize = windowSize;
+			this.minimumCalls = minimumCalls;
+			return this;
+		}
+
+		public Builder openDuration(long openDuration, TimeUnit unit) {
+			Preconditions.checkArgument(openDuration > 0, "Open duration must be positive.");
+			this.openNanos = unit.toNanos(openDuration);
+			return this;
+		}
+
+		public Builder probes(int probes) {
+			Preconditions.checkArgument(probes > 0, "Probes must be positive.");
+			this.probes = probes;
+			return this;
+		}
+
+		public Builder listener(CircuitBreaker.Listener listener) {
+			this.listener = Preconditions.checkNotNull(listener);
+			return this;
+		}
+
+		Builder ticker(Ticker ticker) {
+			this.ticker = Preconditions.checkNotNull(ticker);
+			return this;
+		}
+
+		public CircuitBreakerClient build() {
+			return new CircuitBreakerClient(this);
+		}
+	}
+
+	public static Builder builder(Client delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * The default rate of failures at which a breaker opens.
+	 */
+	private static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+	/**
+	 * The default rate of slow requests at which a breaker opens.
+	 */
+	private static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+
+	/**
+	 * The default duration in seconds beyond which a request is slow.
+	 */
+	private static final long DEFAULT_SLOW_CALL_SECONDS = 5;
+
+	/**
+	 * The default amount of most recent requests in a breaker's window.
+	 */
+	private static final int DEFAULT_WINDOW_SIZE = 50;
+
+	/**
+	 * The default minimum amount of requests in a breaker's window before its rates are evaluated.
+	 */
+	private static final int DEFAULT_MINIMUM_CALLS = 10;
+
+	/**
+	 * The default duration in seconds a breaker stays open before probing.
+	 */
+	private static final long DEFAULT_OPEN_SECONDS = 30;
+
+	/**
+	 * The default amount of probe requests a half-open breaker lets through.
+	 */
+	private static final int DEFAULT_PROBES = 3;
+
+	/**
+	 * The {@link CircuitBreaker} of each {@link Endpoint}.
+	 */
+	private final ImmutableMap<Endpoint, CircuitBreaker> breakers;
+
+	/**
+	 * The {@link Ticker} that measures requests.
+	 */
+	private final Ticker ticker;
+
+	/**
+	 * Creates a new {@link CircuitBreakerClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private CircuitBreakerClient(Builder builder) {
+		super(builder.delegate);
+		this.breakers = Maps.immutableEnumMap(Maps.toMap(EnumSet.allOf(Endpoint.class), endpoint -> new CircuitBreaker(endpoint,
+			builder.failureRateThreshold, builder.slowCallRateThreshold, builder.slowCallNanos, builder.windowSize,
+			builder.minimumCalls, builder.openNanos, builder.probes, builder.listener, builder.ticker)));
+		this.ticker = builder.ticker;
+	}
+
+	@Override
+	protected <T> T intercept(Call<T> call) throws IOException {
+		Optional<Endpoint> endpoint = Endpoint.of(call.getUrl());
+		if (!endpoint.isPresent()) {
+			return call.proceed();
+		}
+
+		CircuitBreaker breaker = breakers.get(endpoint.get());
+		long permit = breaker.acquire();
+		long start = ticker.read();
+
+		try {
+			T result = call.proceed();
+			breaker.record(permit, ticker.read() - start, false);
+			return result;
+		} catch (IOException e) {
+			if (isInterruption(e)) {
+				breaker.release(permit);
+			} else if (e instanceof DeadlineExceededException) {
+				breaker.record(permit, ticker.read() - start, false);
+			} else {
+				breaker.record(permit, ticker.read() - start, true);
+			}
+			throw e;
+		} catch (RuntimeException | Error e) {
+			breaker.release(permit);
+			throw e;
+		}
+	}
+
+	/**
+	 * Determines whether a request failed because the calling thread was interrupted, which says nothing about the
+	 * health of the service. Subclasses of {@link InterruptedIOException}, such as socket and connect timeouts, are
+	 * failures of the service.
+	 * @param e The {@link IOException} the request failed with.
+	 * @return {@code true} if the request was interrupted, otherwise {@code false}.
+	 */
+	private static boolean isInterruption(IOException e) {
+		return e.getClass() == InterruptedIOException.class;
+	}
+
+	/**
+	 * Gets the {@link CircuitBreaker} of an {@link Endpoint}.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return The {@link CircuitBreaker}.
+	 */
+	public CircuitBreaker getBreaker(Endpoint endpoint) {
+		return breakers.get(Preconditions.checkNotNull(endpoint));
+	}
+}
@@ -0,0 +1,57 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals that a {@link CircuitBreakerClient} refused a request because the {@link CircuitBreaker} of its
+ * {@link Endpoint} was open.
+ */
+public final class CircuitBreakerOpenException extends IOException {
+
+	/**
+	 * The version of the serialized form of {@link CircuitBreakerOpenException}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The {@link Endpoint} whose {@link CircuitBreaker} was open.
+	 */
+	private final Endpoint endpoint;
+
+	/**
+	 * The amount of nanoseconds until the {@link CircuitBreaker} lets a probe request through.
+	 */
+	private final long retryAfterNanos;
+
+	/**
+	 * Creates a new {@link CircuitBreakerOpenException}.
+	 * @param endpoint The {@link Endpoint} whose {@link CircuitBreaker} was open.
+	 * @param retryAfterNanos The amount of nanoseconds until the {@link CircuitBreaker} lets a probe request through.
+	 */
+	CircuitBreakerOpenException(Endpoint endpoint, long retryAfterNanos) {
+		super("Circuit breaker of " + Preconditions.checkNotNull(endpoint) + " is open.");
+		this.endpoint = endpoint;
+		this.retryAfterNanos = retryAfterNanos;
+	}
+
+	/**
+	 * Gets the {@link Endpoint} whose {@link CircuitBreaker} was open.
+	 * @return The {@link Endpoint}.
+	 */
+	public Endpoint getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * Gets the time until the {@link CircuitBreaker} lets a probe request through, which is zero if it is half-open and
+	 * waiting for the outcome of its probes.
+	 * @param unit The {@link TimeUnit} of the time.
+	 * @return The time until a probe request is let through.
+	 */
+	public long getRetryAfter(TimeUnit unit) {
+		return unit.convert(retryAfterNanos, TimeUnit.NANOSECONDS);
+	}
+}
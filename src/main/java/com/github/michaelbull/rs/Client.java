@@ -1,17 +1,24 @@
 package com.github.michaelbull.rs;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
  * Represents a client that can deserialize JSON and CSV resources into Java {@link Object}s.
  */
-public interface Client {
+public interface Client extends Closeable {
 
 	/**
 	 * The comma-separated CSV format.
@@ -45,4 +52,35 @@ public interface Client {
 	 * @throws IOException If an I/O error occurs.
 	 */
 	ImmutableList<CSVRecord> fromCSV(String url) throws IOException;
+
+	/**
+	 * Deserializes a CSV file from a specified URL by passing its raw bytes to a {@link CSVDecoder}.
+	 * <p>
+	 * The default implementation has no access to the raw bytes, so it re-encodes the {@link CSVRecord}s returned by
+	 * {@link #fromCSV(String)} and decodes those instead.
+	 * @param url The URL to deserialize from.
+	 * @param decoder The {@link CSVDecoder}.
+	 * @param <T> The type of the desired object.
+	 * @return An {@link Optional} containing the decoded object, or {@link Optional#empty()} if the file could not be decoded.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default <T> Optional<T> fromCSV(String url, CSVDecoder<T> decoder) throws IOException {
+		Preconditions.checkNotNull(decoder);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(bytes, StandardCharsets.ISO_8859_1), CSV_FORMAT)) {
+			printer.printRecords(fromCSV(url));
+		}
+
+		return decoder.decode(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	/**
+	 * Releases any resources held by this client. The default implementation holds no resources and does nothing.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	default void close() throws IOException {
+		/* empty */
+	}
 }
@@ -0,0 +1,151 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Throwables;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Client} that coalesces concurrent identical requests to another {@link Client}.
+ * <p>
+ * While a request is in flight, every other thread that makes the same request (the same URL deserialized into the same
+ * target) waits for it instead of making its own, and receives the same deserialized result or exception. Results are
+ * shared between threads, so they should not be mutated.
+ * <p>
+ * A waiting thread gives up with a {@link DeadlineExceededException} once the {@link Deadline} in effect on it passes.
+ * If the request it waited for was abandoned, because the {@link Deadline} of the thread that made it passed or that
+ * thread was interrupted, the waiting threads make the request again rather than sharing that failure, one of them on
+ * behalf of the others.
+ * <p>
+ * Requests decoded with a {@link CSVDecoder}, which may have side effects, are never coalesced.
+ */
+public final class CoalescingClient extends InterceptingClient {
+
+	/**
+	 * The result of waiting for a request that was abandoned by the thread that made it.
+	 */
+	private static final Object ABANDONED = new Object();
+
+	/**
+	 * The requests in flight, mapped to the future of their result.
+	 */
+	private final ConcurrentMap<Call<?>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * The amount of requests that waited for an identical request in flight.
+	 */
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Creates a new {@link CoalescingClient}.
+	 * @param delegate The {@link Client} whose requests are coalesced.
+	 */
+	public CoalescingClient(Client delegate) {
+		super(delegate);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected <T> T intercept(Call<T> call) throws IOException {
+		if (call.getTarget() instanceof CSVDecoder) {
+			return call.proceed();
+		}
+
+		Optional<Deadline> deadline = Deadline.current();
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> leader = inFlight.putIfAbsent(call, future);
+
+		if (leader != null) {
+			coalesced.increment();
+			do {
+				Object value = await(leader, deadline);
+				if (value != ABANDONED) {
+					return (T) value;
+				}
+				inFlight.remove(call, leader);
+			} while ((leader = inFlight.putIfAbsent(call, future)) != null);
+		}
+
+		try {
+			T value = call.proceed();
+			future.complete(value);
+			return value;
+		} catch (Throwable t) {
+			future.completeExceptionally(t);
+			throw t;
+		} finally {
+			inFlight.remove(call, future);
+		}
+	}
+
+	/**
+	 * Waits for the result of a request in flight, for no longer than the {@link Deadline} in effect on the waiting
+	 * thread allows.
+	 * @param future The future of the result.
+	 * @param deadline The {@link Deadline} in effect on the waiting thread, if any.
+	 * @return The result, or {@link #ABANDONED} if the thread that made the request abandoned it.
+	 * @throws DeadlineExceededException If the {@link Deadline} passed before the request completed.
+	 * @throws IOException If the request failed with an I/O error, or the waiting thread was interrupted.
+	 */
+	private static Object await(CompletableFuture<Object> future, Optional<Deadline> deadline) throws IOException {
+		try {
+			if (deadline.isPresent()) {
+				return future.get(deadline.get().remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+			}
+			return future.get();
+		} catch (TimeoutException e) {
+			throw new DeadlineExceededException("Deadline exceeded while waiting for a coalesced request.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a coalesced request.");
+			exception.initCause(e);
+			throw exception;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (isAbandoned(cause)) {
+				return ABANDONED;
+			}
+			Throwables.throwIfInstanceOf(cause, IOException.class);
+			Throwables.throwIfUnchecked(cause);
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Determines whether a request failed because the thread that made it abandoned it, rather than because of the
+	 * server: its {@link Deadline} passed, or it was interrupted. Timeouts of the connection are reported by subclasses
+	 * of {@link InterruptedIOException} too, but they would fail the waiting threads' requests just the same.
+	 * @param failure The failure of the request.
+	 * @return {@code true} if the request was abandoned, otherwise {@code false}.
+	 */
+	private static boolean isAbandoned(Throwable failure) {
+		return failure instanceof DeadlineExceededException
+			|| (failure instanceof InterruptedIOException && !(failure instanceof SocketTimeoutException) && !(failure instanceof ConnectTimeoutException));
+	}
+
+	/**
+	 * Gets the amount of requests that waited for an identical request in flight rather than reaching the delegate.
+	 * @return The amount of coalesced requests.
+	 */
+	public long getCoalescedRequests() {
+		return coalesced.sum();
+	}
+
+	/**
+	 * Gets the amount of distinct requests currently in flight.
+	 * @return The amount of requests in flight.
+	 */
+	public int getInFlightRequests() {
+		return inFlight.size();
+	}
+}
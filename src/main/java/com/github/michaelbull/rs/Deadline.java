@@ -0,0 +1,281 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Represents the point in time by which an operation, and every request it makes, must complete.
+ * <p>
+ * A {@link Deadline} is carried along implicitly by the thread that {@link #enter() enters} it, so that a composite
+ * operation, such as a bestiary {@link com.github.michaelbull.rs.bestiary.Search} or a batch of hiscore lookups, can
+ * bound all of its requests at once. The {@link HttpClient} gives each request only the time that remains, and
+ * abandons requests that can no longer finish with a {@link DeadlineExceededException}. Work handed to other threads
+ * carries the {@link Deadline} along if it is wrapped with {@link #propagate(Runnable)}.
+ * <p>
+ * Deadlines nest: entering a {@link Deadline} while another is in effect keeps whichever is earlier, and is cancelled
+ * along with either of them. A {@link Deadline} can also be {@link #cancel() cancelled} before it passes, which
+ * abandons its requests as though it had.
+ */
+public final class Deadline {
+
+	/**
+	 * Restores the {@link Deadline} that was in effect before another was entered.
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		/**
+		 * The {@link Deadline} that was in effect before, or {@code null}.
+		 */
+		private final Deadline previous;
+
+		/**
+		 * Creates a new {@link Scope}.
+		 * @param previous The {@link Deadline} that was in effect before, or {@code null}.
+		 */
+		private Scope(Deadline previous) {
+			this.previous = previous;
+		}
+
+		/**
+		 * Restores the {@link Deadline} that was in effect before.
+		 */
+		@Override
+		public void close() {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * The {@link Deadline} in effect on each thread.
+	 */
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * The amount of nanoseconds until an unbounded {@link Deadline} passes, which is as far away as
+	 * {@link System#nanoTime()} can compare.
+	 */
+	private static final long UNBOUNDED_NANOS = Long.MAX_VALUE / 2;
+
+	/**
+	 * Creates a {@link Deadline} that passes after a specified amount of time. Amounts too far away for
+	 * {@link System#nanoTime()} to compare create an unbounded {@link Deadline}.
+	 * @param timeout The amount of time.
+	 * @param unit The {@link TimeUnit} of the amount of time.
+	 * @return The {@link Deadline}.
+	 */
+	public static Deadline after(long timeout, TimeUnit unit) {
+		Preconditions.checkArgument(timeout >= 0, "Timeout must not be negative.");
+		return new Deadline(System.nanoTime() + Math.min(unit.toNanos(timeout), UNBOUNDED_NANOS), ImmutableList.of());
+	}
+
+	/**
+	 * Creates a {@link Deadline} that never passes, but can still be cancelled.
+	 * @return The {@link Deadline}.
+	 */
+	static Deadline unbounded() {
+		return new Deadline(System.nanoTime() + UNBOUNDED_NANOS, ImmutableList.of());
+	}
+
+	/**
+	 * Gets the {@link Deadline} in effect on the calling thread.
+	 * @return An {@link Optional} containing the {@link Deadline}, or {@link Optional#empty()} if none is in effect.
+	 */
+	public static Optional<Deadline> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+
+	/**
+	 * Wraps a task so that it runs with the {@link Deadline} in effect on the calling thread, if any, on whichever
+	 * thread it is run.
+	 * @param task The task.
+	 * @return The wrapped task.
+	 */
+	public static Runnable propagate(Runnable task) {
+		Preconditions.checkNotNull(task);
+		Deadline deadline = CURRENT.get();
+		if (deadline == null) {
+			return task;
+		}
+
+		return () -> {
+			Scope scope = deadline.enter();
+			try {
+				task.run();
+			} finally {
+				scope.close();
+			}
+		};
+	}
+
+	/**
+	 * Wraps a task so that it runs with the {@link Deadline} in effect on the calling thread, if any, on whichever
+	 * thread it is run.
+	 * @param task The task.
+	 * @param <T> The type of the task's result.
+	 * @return The wrapped task.
+	 */
+	public static <T> Supplier<T> propagate(Supplier<T> task) {
+		Preconditions.checkNotNull(task);
+		Deadline deadline = CURRENT.get();
+		if (deadline == null) {
+			return task;
+		}
+
+		return () -> {
+			Scope scope = deadline.enter();
+			try {
+				return task.get();
+			} finally {
+				scope.close();
+			}
+		};
+	}
+
+	/**
+	 * The {@link System#nanoTime()} at which this {@link Deadline} passes.
+	 */
+	private final long deadlineNanos;
+
+	/**
+	 * The {@link Deadline}s this one was combined from, which cancel it when they are cancelled.
+	 */
+	private final ImmutableList<Deadline> parents;
+
+	/**
+	 * The listeners run when this {@link Deadline} is cancelled.
+	 */
+	private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Whether this {@link Deadline} was cancelled.
+	 */
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	/**
+	 * Creates a new {@link Deadline}.
+	 * @param deadlineNanos The {@link System#nanoTime()} at which the {@link Deadline} passes.
+	 * @param parents The {@link Deadline}s this one was combined from.
+	 */
+	private Deadline(long deadlineNanos, ImmutableList<Deadline> parents) {
+		this.deadlineNanos = deadlineNanos;
+		this.parents = parents;
+	}
+
+	/**
+	 * Makes this {@link Deadline} the one in effect on the calling thread, unless an earlier one already is, until the
+	 * returned {@link Scope} is closed.
+	 * @return The {@link Scope}, to be closed in a {@code finally} block.
+	 */
+	public Scope enter() {
+		Deadline previous = CURRENT.get();
+		CURRENT.set(earliest(previous));
+		return new Scope(previous);
+	}
+
+	/**
+	 * Combines this and another {@link Deadline} into one that passes when the earliest of them does, and is cancelled
+	 * when either of them is.
+	 * @param other The other {@link Deadline}, or {@code null}.
+	 * @return The combined {@link Deadline}, or this one if the other is {@code null}.
+	 */
+	Deadline earliest(Deadline other) {
+		if (other == null) {
+			return this;
+		}
+		return new Deadline(deadlineNanos - other.deadlineNanos <= 0 ? deadlineNanos : other.deadlineNanos, ImmutableList.of(this, other));
+	}
+
+	/**
+	 * Cancels this {@link Deadline}, so that it is expired from now on and every request running within it is
+	 * abandoned. Cancelling a {@link Deadline} also cancels the ones combined from it, but not the ones it was combined
+	 * from.
+	 */
+	public void cancel() {
+		if (cancelled.compareAndSet(false, true)) {
+			listeners.forEach(Runnable::run);
+		}
+	}
+
+	/**
+	 * Determines whether this {@link Deadline}, or one it was combined from, was cancelled.
+	 * @return {@code true} if it was cancelled, otherwise {@code false}.
+	 */
+	public boolean isCancelled() {
+		return cancelled.get() || parents.stream().anyMatch(Deadline::isCancelled);
+	}
+
+	/**
+	 * Adds a listener that is run, on the cancelling thread, when this {@link Deadline} or one it was combined from is
+	 * cancelled. If it already was, the listener is run immediately. A listener may be run more than once, and must be
+	 * removed with {@link #removeListener(Runnable)} once it is no longer needed.
+	 * @param listener The listener.
+	 */
+	void addListener(Runnable listener) {
+		Preconditions.checkNotNull(listener);
+		listeners.add(listener);
+		parents.forEach(parent -> parent.addListener(listener));
+
+		if (isCancelled()) {
+			listener.run();
+		}
+	}
+
+	/**
+	 * Removes a listener added with {@link #addListener(Runnable)}.
+	 * @param listener The listener.
+	 */
+	void removeListener(Runnable listener) {
+		listeners.remove(listener);
+		parents.forEach(parent -> parent.removeListener(listener));
+	}
+
+	/**
+	 * Gets the time remaining until this {@link Deadline} passes.
+	 * @param unit The {@link TimeUnit} of the time.
+	 * @return The time remaining, or zero if it has passed or was cancelled.
+	 */
+	public long remaining(TimeUnit unit) {
+		if (isCancelled()) {
+			return 0;
+		}
+		return unit.convert(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Determines whether this {@link Deadline} has passed or was cancelled.
+	 * @return {@code true} if it has passed or was cancelled, otherwise {@code false}.
+	 */
+	public boolean isExpired() {
+		return isCancelled() || deadlineNanos - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * Checks that this {@link Deadline} has not passed or been cancelled.
+	 * @throws DeadlineExceededException If it has passed or was cancelled.
+	 */
+	public void check() throws DeadlineExceededException {
+		if (isExpired()) {
+			throw new DeadlineExceededException("Deadline exceeded.");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("remainingMillis", remaining(TimeUnit.MILLISECONDS))
+			.add("cancelled", isCancelled())
+			.toString();
+	}
+}
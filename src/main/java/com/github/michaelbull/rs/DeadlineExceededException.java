@@ -0,0 +1,33 @@
+package com.github.michaelbull.rs;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Signals that a request was abandoned because its {@link Deadline}, or the total timeout of its {@link HttpClient},
+ * passed before it could complete, or because its {@link Deadline} was cancelled.
+ */
+public final class DeadlineExceededException extends InterruptedIOException {
+
+	/**
+	 * The version of the serialized form of {@link DeadlineExceededException}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a new {@link DeadlineExceededException}.
+	 * @param message The detail message.
+	 */
+	public DeadlineExceededException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Creates a new {@link DeadlineExceededException}.
+	 * @param message The detail message.
+	 * @param cause The exception the request was failing with when it was abandoned.
+	 */
+	DeadlineExceededException(String message, Throwable cause) {
+		super(message);
+		initCause(cause);
+	}
+}
@@ -0,0 +1,662 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A cache of raw response bodies, keyed by URL, that is persisted to a directory so that it survives restarts.
+ * <p>
+ * Bodies are appended to a single segment file as checksummed records, each holding the URL, the {@link Charset} of the
+ * body and the wall-clock time at which it expires, as assigned by the {@link CachePolicy}. Only an index of where each
+ * record lies is held in memory; the bodies are read back from the segment file when requested. When the cache is
+ * opened, the segment file is scanned to rebuild the index, and a record left incomplete or corrupt by a crash is
+ * truncated away along with everything after it.
+ * <p>
+ * Once the segment file grows beyond the maximum size, it is compacted: the live records are copied to a new file,
+ * which atomically replaces the old one, dropping superseded and expired records and, if that is not enough, the
+ * records that expire soonest.
+ * <p>
+ * A {@link DiskCache} is used by an {@link HttpClient} configured with {@link HttpClient.Builder#diskCache(DiskCache)},
+ * and must be released by calling {@link #close()} once no longer needed.
+ */
+public final class DiskCache implements Closeable {
+
+	public static final class Builder {
+		private final Path directory;
+		private CachePolicy policy = CachePolicy.defaults();
+		private long maximumBytes = DEFAULT_MAXIMUM_BYTES;
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(Path directory) {
+			this.directory = Preconditions.checkNotNull(directory);
+		}
+
+		public Builder policy(CachePolicy policy) {
+			this.policy = Preconditions.checkNotNull(policy);
+			return this;
+		}
+
+		public Builder maximumBytes(long maximumBytes) {
+			Preconditions.checkArgument(maximumBytes > 0, "Maximum bytes must be positive.");
+			this.maximumBytes = maximumBytes;
+			return this;
+		}
+
+		Builder clock(Clock clock) {
+			this.clock = Preconditions.checkNotNull(clock);
+			return this;
+		}
+
+		public DiskCache open() throws IOException {
+			return new DiskCache(this);
+		}
+	}
+
+	public static Builder builder(Path directory) {
+		return new Builder(directory);
+	}
+
+	/**
+	 * A response body read from the cache.
+	 */
+	static final class Response {
+
+		/**
+		 * The body's bytes.
+		 */
+		private final byte[] body;
+
+		/**
+		 * The {@link Charset} the body is encoded with.
+		 */
+		private final Charset charset;
+
+		/**
+		 * Creates a new {@link Response}.
+		 * @param body The body's bytes.
+		 * @param charset The {@link Charset} the body is encoded with.
+		 */
+		private Response(byte[] body, Charset charset) {
+			this.body = body;
+			this.charset = charset;
+		}
+
+		/**
+		 * Gets the body's bytes.
+		 * @return The body's bytes.
+		 */
+		byte[] getBody() {
+			return body;
+		}
+
+		/**
+		 * Gets the {@link Charset} the body is encoded with.
+		 * @return The {@link Charset}.
+		 */
+		Charset getCharset() {
+			return charset;
+		}
+	}
+
+	/**
+	 * The location of a record in the segment file.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The position of the record in the segment file.
+		 */
+		private final long position;
+
+		/**
+		 * The length of the record in bytes.
+		 */
+		private final int length;
+
+		/**
+		 * The length of the URL and {@link Charset} name that precede the body, in bytes.
+		 */
+		private final int keyLength;
+
+		/**
+		 * The {@link Charset} the body is encoded with.
+		 */
+		private final Charset charset;
+
+		/**
+		 * The wall-clock time in milliseconds at which the body expires.
+		 */
+		private final long expiresAt;
+
+		/**
+		 * Creates a new {@link Entry}.
+		 * @param position The position of the record in the segment file.
+		 * @param length The length of the record in bytes.
+		 * @param keyLength The length of the URL and {@link Charset} name that precede the body, in bytes.
+		 * @param charset The {@link Charset} the body is encoded with.
+		 * @param expiresAt The wall-clock time in milliseconds at which the body expires.
+		 */
+		private Entry(long position, int length, int keyLength, Charset charset, long expiresAt) {
+			this.position = position;
+			this.length = length;
+			this.keyLength = keyLength;
+			this.charset = charset;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * Creates a copy of this {@link Entry} at another position.
+		 * @param position The position of the record.
+		 * @return The {@link Entry}.
+		 */
+		private Entry movedTo(long position) {
+			return new Entry(position, length, keyLength, charset, expiresAt);
+		}
+	}
+
+	/**
+	 * The default maximum size of the segment file in bytes.
+	 */
+	private static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * The name of the segment file.
+	 */
+	private static final String SEGMENT_FILE = "responses.seg";
+
+	/**
+	 * The name of the file a compaction is written to before it replaces the segment file.
+	 */
+	private static final String COMPACTION_FILE = "responses.seg.tmp";
+
+	/**
+	 * The name of the file that is locked to keep other processes out of the directory.
+	 */
+	private static final String LOCK_FILE = "responses.lock";
+
+	/**
+	 * The magic number that begins each record.
+	 */
+	private static final int MAGIC = 0x52534443;
+
+	/**
+	 * The length of a record's header in bytes: the magic number, checksum, expiry time and the lengths of the URL,
+	 * {@link Charset} name and body.
+	 */
+	private static final int HEADER_LENGTH = 4 + 4 + 8 + 4 + 4 + 4;
+
+	/**
+	 * The fraction of the maximum size a compaction shrinks the segment file to, so that it is not compacted again by
+	 * the next few writes.
+	 */
+	private static final double COMPACTION_TARGET = 0.75;
+
+	/**
+	 * The directory the cache is stored in.
+	 */
+	private final Path directory;
+
+	/**
+	 * The {@link CachePolicy} that assigns each URL its time-to-live.
+	 */
+	private final CachePolicy policy;
+
+	/**
+	 * The maximum size of the segment file in bytes.
+	 */
+	private final long maximumBytes;
+
+	/**
+	 * The {@link Clock} that expiry times are read from.
+	 */
+	private final Clock clock;
+
+	/**
+	 * Guards the {@link #segment} and {@link #entries}: reads share it, while writes and compactions hold it exclusively.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The {@link Entry} of the latest record of each URL.
+	 */
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	/**
+	 * The channel of the lock file, which is held open until the cache is closed.
+	 */
+	private final FileChannel lockChannel;
+
+	/**
+	 * The lock held on the {@link #lockChannel}.
+	 */
+	private final FileLock directoryLock;
+
+	/**
+	 * The channel of the segment file.
+	 */
+	private FileChannel segment;
+
+	/**
+	 * Whether the cache has been closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * The amount of requested bodies that were served from the cache.
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * The amount of requested bodies that were absent or expired.
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * The amount of bodies that could not be written to the segment file.
+	 */
+	private final LongAdder writeFailures = new LongAdder();
+
+	/**
+	 * The amount of times the segment file has been compacted.
+	 */
+	private final LongAdder compactions = new LongAdder();
+
+	/**
+	 * Opens a {@link DiskCache}, recovering the records in its segment file.
+	 * @param builder The {@link Builder}.
+	 * @throws IOException If an I/O error occurs, or another process is using the directory.
+	 */
+	private DiskCache(Builder builder) throws IOException {
+		this.directory = builder.directory;
+		this.policy = builder.policy;
+		this.maximumBytes = builder.maximumBytes;
+		this.clock = builder.clock;
+
+		Files.createDirectories(directory);
+		this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		FileLock directoryLock = lockChannel.tryLock();
+		if (directoryLock == null) {
+			lockChannel.close();
+			throw new IOException("Disk cache " + directory + " is in use by another process.");
+		}
+		this.directoryLock = directoryLock;
+
+		try {
+			Files.deleteIfExists(directory.resolve(COMPACTION_FILE));
+			this.segment = FileChannel.open(directory.resolve(SEGMENT_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			recover();
+			if (segment.size() > maximumBytes) {
+				compact();
+			}
+		} catch (IOException e) {
+			if (segment != null) {
+				segment.close();
+			}
+			lockChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Rebuilds the {@link #entries} by scanning the segment file, truncating it at the first record that is incomplete
+	 * or fails its checksum.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void recover() throws IOException {
+		long size = segment.size();
+		long now = clock.millis();
+		long position = 0;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+
+		while (position + HEADER_LENGTH <= size) {
+			header.clear();
+			readFully(header, position);
+			header.flip();
+
+			int magic = header.getInt();
+			int checksum = header.getInt();
+			long expiresAt = header.getLong();
+			int urlLength = header.getInt();
+			int charsetLength = header.getInt();
+			int bodyLength = header.getInt();
+
+			if (magic != MAGIC || urlLength < 0 || charsetLength < 0 || bodyLength < 0) {
+				break;
+			}
+
+			long length = (long) HEADER_LENGTH + urlLength + charsetLength + bodyLength;
+			if (length > Integer.MAX_VALUE || position + length > size) {
+				break;
+			}
+
+			ByteBuffer record = ByteBuffer.allocate((int) length);
+			readFully(record, position);
+			if (checksum(record) != checksum) {
+				break;
+			}
+
+			byte[] url = new byte[urlLength];
+			byte[] charset = new byte[charsetLength];
+			record.position(HEADER_LENGTH);
+			record.get(url).get(charset);
+
+			Entry entry = new Entry(position, (int) length, urlLength + charsetLength, Charset.forName(new String(charset, StandardCharsets.US_ASCII)), expiresAt);
+			String key = new String(url, StandardCharsets.UTF_8);
+			if (expiresAt > now) {
+				entries.put(key, entry);
+			} else {
+				entries.remove(key);
+			}
+
+			position += length;
+		}
+
+		if (position < size) {
+			segment.truncate(position);
+			segment.force(true);
+		}
+	}
+
+	/**
+	 * Computes the checksum of a record, which covers every byte after the checksum itself.
+	 * @param record The record, whose position and limit are left unchanged.
+	 * @return The checksum.
+	 */
+	private static int checksum(ByteBuffer record) {
+		CRC32 crc = new CRC32();
+		ByteBuffer covered = record.duplicate();
+		covered.position(8);
+		covered.limit(record.capacity());
+		crc.update(covered);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Determines whether a response from a URL is cached at all, which is when its {@link CachePolicy} assigns it a
+	 * time-to-live.
+	 * @param url The URL.
+	 * @return {@code true} if the response is cached, otherwise {@code false}.
+	 */
+	boolean isCacheable(String url) {
+		return policy.ttl(url, TimeUnit.MILLISECONDS) > 0;
+	}
+
+	/**
+	 * Gets the body of the response from a URL, if it has been cached and has not yet expired.
+	 * @param url The URL.
+	 * @return An {@link Optional} containing the {@link Response}, or {@link Optional#empty()} if it is not cached.
+	 * @throws IOException If an I/O error occurs while reading the segment file.
+	 */
+	Optional<Response> get(String url) throws IOException {
+		Preconditions.checkNotNull(url);
+
+		lock.readLock().lock();
+		try {
+			Entry entry = closed ? null : entries.get(url);
+			if (entry == null || entry.expiresAt <= clock.millis()) {
+				misses.increment();
+				return Optional.empty();
+			}
+
+			ByteBuffer body = ByteBuffer.allocate(entry.length - HEADER_LENGTH - entry.keyLength);
+			readFully(body, entry.position + HEADER_LENGTH + entry.keyLength);
+			hits.increment();
+			return Optional.of(new Response(body.array(), entry.charset));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Caches the body of the response from a URL for the time-to-live its {@link CachePolicy} assigns, replacing any
+	 * body cached before. The record is forced to the disk before it is indexed.
+	 * <p>
+	 * A body that cannot be written is counted as a {@link #getWriteFailureCount() write failure} rather than thrown,
+	 * as the response it belongs to was still received.
+	 * @param url The URL.
+	 * @param body The body's bytes.
+	 * @param charset The {@link Charset} the body is encoded with.
+	 */
+	void put(String url, byte[] body, Charset charset) {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(body);
+		Preconditions.checkNotNull(charset);
+
+		long ttl = policy.ttl(url, TimeUnit.MILLISECONDS);
+		if (ttl == 0) {
+			return;
+		}
+
+		byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+		byte[] charsetBytes = charset.name().getBytes(StandardCharsets.US_ASCII);
+		long length = (long) HEADER_LENGTH + urlBytes.length + charsetBytes.length + body.length;
+		if (length > maximumBytes * COMPACTION_TARGET) {
+			return;
+		}
+
+		long expiresAt = clock.millis() + ttl;
+		ByteBuffer record = ByteBuffer.allocate((int) length);
+		record.putInt(MAGIC)
+			.putInt(0)
+			.putLong(expiresAt)
+			.putInt(urlBytes.length)
+			.putInt(charsetBytes.length)
+			.putInt(body.length)
+			.put(urlBytes)
+			.put(charsetBytes)
+			.put(body);
+		record.putInt(4, checksum(record));
+		record.flip();
+
+		lock.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+
+			long position = segment.size();
+			try {
+				while (record.hasRemaining()) {
+					segment.write(record, position + record.position());
+				}
+				segment.force(false);
+			} catch (IOException e) {
+				segment.truncate(position);
+				throw e;
+			}
+
+			entries.put(url, new Entry(position, (int) length, urlBytes.length + charsetBytes.length, charset, expiresAt));
+
+			if (segment.size() > maximumBytes) {
+				compact();
+			}
+		} catch (IOException e) {
+			writeFailures.increment();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rewrites the live records to a new segment file that atomically replaces the current one. Expired records are
+	 * dropped, and then the records that expire soonest, oldest first, until the live records fit in the
+	 * {@link #COMPACTION_TARGET target size}. Must be called while holding the write lock.
+	 * @throws IOException If an I/O error occurs, in which case the current segment file is left in place.
+	 */
+	private void compact() throws IOException {
+		long now = clock.millis();
+		long target = (long) (maximumBytes * COMPACTION_TARGET);
+
+		List<Map.Entry<String, Entry>> live = new ArrayList<>(entries.entrySet());
+		live.removeIf(entry -> entry.getValue().expiresAt <= now);
+		live.sort(Comparator.comparingLong((Map.Entry<String, Entry> entry) -> entry.getValue().expiresAt)
+			.thenComparingLong(entry -> entry.getValue().position)
+			.reversed());
+
+		long retainedBytes = 0;
+		int retained = 0;
+		while (retained < live.size() && retainedBytes + live.get(retained).getValue().length <= target) {
+			retainedBytes += live.get(retained++).getValue().length;
+		}
+		live = live.subList(0, retained);
+
+		/* keep the records in the order they were written */
+		live.sort(Comparator.comparingLong(entry -> entry.getValue().position));
+
+		Path compaction = directory.resolve(COMPACTION_FILE);
+		Map<String, Entry> moved = new HashMap<>();
+		try (FileChannel out = FileChannel.open(compaction, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			long position = 0;
+			for (Map.Entry<String, Entry> entry : live) {
+				Entry record = entry.getValue();
+				long transferred = 0;
+				while (transferred < record.length) {
+					transferred += segment.transferTo(record.position + transferred, record.length - transferred, out);
+				}
+				moved.put(entry.getKey(), record.movedTo(position));
+				position += record.length;
+			}
+			out.force(true);
+		}
+
+		Path segmentFile = directory.resolve(SEGMENT_FILE);
+		Files.move(compaction, segmentFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		segment.close();
+		segment = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		entries.clear();
+		entries.putAll(moved);
+		compactions.increment();
+	}
+
+	/**
+	 * Fills a {@link ByteBuffer} from the segment file.
+	 * @param buffer The {@link ByteBuffer}.
+	 * @param position The position in the segment file to read from.
+	 * @throws IOException If an I/O error occurs, or the segment file ends first.
+	 */
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (segment.read(buffer, position + buffer.position()) == -1) {
+				throw new EOFException("Unexpected end of disk cache segment.");
+			}
+		}
+	}
+
+	/**
+	 * Gets the amount of bodies cached.
+	 * @return The amount of bodies cached.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the size of the segment file in bytes, which includes superseded and expired records until it is compacted.
+	 * @return The size of the segment file in bytes.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public long getSizeBytes() throws IOException {
+		lock.readLock().lock();
+		try {
+			return closed ? 0 : segment.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the amount of requested bodies that were served from the cache.
+	 * @return The amount of hits.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the amount of requested bodies that were absent or expired.
+	 * @return The amount of misses.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the amount of bodies that could not be written to the disk.
+	 * @return The amount of write failures.
+	 */
+	public long getWriteFailureCount() {
+		return writeFailures.sum();
+	}
+
+	/**
+	 * Gets the amount of times the segment file has been compacted.
+	 * @return The amount of compactions.
+	 */
+	public long getCompactionCount() {
+		return compactions.sum();
+	}
+
+	/**
+	 * Closes the segment file and releases the directory to other processes. Further requests miss the cache.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		lock.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			entries.clear();
+			try {
+				segment.close();
+			} finally {
+				directoryLock.release();
+				lockChannel.close();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("directory", directory)
+			.add("size", size())
+			.add("maximumBytes", maximumBytes)
+			.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Represents one of the RuneScape web-services that a {@link Client} requests from.
+ */
+public enum Endpoint {
+
+	/**
+	 * The Grand Exchange catalogue, prices and graphs.
+	 */
+	GRAND_EXCHANGE("/m=itemdb_rs/api/"),
+
+	/**
+	 * The bestiary.
+	 */
+	BESTIARY("/m=itemdb_rs/bestiary/"),
+
+	/**
+	 * The player hiscores, of every hiscore table.
+	 */
+	HISCORES("/m=hiscore[a-z_]*/index_lite\\.ws"),
+
+	/**
+	 * The clan hiscores.
+	 */
+	CLAN_HISCORES("/m=clan-hiscores/");
+
+	/**
+	 * Gets the {@link Endpoint} a URL belongs to.
+	 * @param url The URL.
+	 * @return The {@link Endpoint}, or {@link Optional#empty()} if the URL belongs to none.
+	 */
+	public static Optional<Endpoint> of(String url) {
+		Preconditions.checkNotNull(url);
+
+		for (Endpoint endpoint : values()) {
+			if (endpoint.pattern.matcher(url).find()) {
+				return Optional.of(endpoint);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * The {@link Pattern} searched for in the URLs of this {@link Endpoint}.
+	 */
+	private final Pattern pattern;
+
+	/**
+	 * Creates a new {@link Endpoint}.
+	 * @param regex The regular expression searched for in the URLs of this {@link Endpoint}.
+	 */
+	Endpoint(String regex) {
+		this.pattern = Pattern.compile(regex);
+	}
+}
@@ -0,0 +1,452 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Client} that hedges the requests made to each {@link Endpoint} of another {@link Client}: if a request has
+ * not completed once it has taken longer than a percentile of the recent requests to its {@link Endpoint}, an identical
+ * copy is sent, and whichever copy succeeds first is used. The other copy is abandoned by cancelling its
+ * {@link Deadline}. As every request is an idempotent {@code GET}, the copies are interchangeable, and the slowest few
+ * requests no longer dominate the tail latency. The latency recorded for a hedged request is the one its caller
+ * observed, from when the primary copy was sent, so that winning hedges do not hide how slow the primary copies were.
+ * <p>
+ * Hedges are limited by a budget shared by every request, so that even when every request is slow, hedging adds no more
+ * than a fraction of the requests to the load. Until an {@link Endpoint} has completed enough requests to estimate the
+ * percentile, its requests are not hedged. Requests decoded with a {@link CSVDecoder}, which may have side effects,
+ * and requests to URLs that belong to no {@link Endpoint} are never hedged.
+ * <p>
+ * Both copies run on threads owned by the client, which are stopped when it is closed.
+ */
+public final class HedgingClient extends InterceptingClient {
+
+	/**
+	 * Represents a copy of a hedged request.
+	 */
+	public enum Copy {
+
+		/**
+		 * The request as it was first sent.
+		 */
+		PRIMARY,
+
+		/**
+		 * The copy sent once the primary request was late.
+		 */
+		HEDGE
+	}
+
+	public static final class Builder {
+		private final Client delegate;
+		private double percentile = DEFAULT_PERCENTILE;
+		private int windowSize = DEFAULT_WINDOW_SIZE;
+		private int minimumSamples = DEFAULT_MINIMUM_SAMPLES;
+		private double budgetRatio = DEFAULT_BUDGET_RATIO;
+		private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+		private Ticker ticker = Ticker.systemTicker();
+
+		private Builder(Client delegate) {
+			this.delegate = Preconditions.checkNotNull(delegate);
+		}
+
+		public Builder percentile(double percentile) {
+			Preconditions.checkArgument(percentile > 0 && percentile < 1, "Percentile must be between zero and one (exclusive).");
+			this.percentile = percentile;
+			return this;
+		}
+
+		public Builder window(int windowSize, int minimumSamples) {
+			Preconditions.checkArgument(windowSize > 0, "Window size must be positive.");
+			Preconditions.checkArgument(minimumSamples > 0 && minimumSamples <= windowSize, "Minimum samples must be positive and must not exceed the window size.");
+			this.windowSize = windowSize;
+			this.minimumSamples = minimumSamples;
+			return this;
+		}
+
+		public Builder budget(double ratio, int reserve) {
+			Preconditions.checkArgument(ratio >= 0, "Budget ratio must not be negative.");
+			Preconditions.checkArgument(reserve >= 0, "Budget reserve must not be negative.");
+			this.budgetRatio = ratio;
+			this.budgetReserve = reserve;
+			return this;
+		}
+
+		Builder ticker(Ticker ticker) {
+			this.ticker = Preconditions.checkNotNull(ticker);
+			return this;
+		}
+
+		public HedgingClient build() {
+			return new HedgingClient(this);
+		}
+	}
+
+	public static Builder builder(Client delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * The default percentile of recent latencies after which a request is hedged.
+	 */
+	private static final double DEFAULT_PERCENTILE = 0.95;
+
+	/**
+	 * The default amount of most recent latencies the percentile is estimated from.
+	 */
+	private static final int DEFAULT_WINDOW_SIZE = 100;
+
+	/**
+	 * The default minimum amount of latencies before requests are hedged.
+	 */
+	private static final int DEFAULT_MINIMUM_SAMPLES = 20;
+
+	/**
+	 * The default fraction of a hedge each request earns the budget.
+	 */
+	private static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+	/**
+	 * The default maximum amount of hedges held by the budget.
+	 */
+	private static final int DEFAULT_BUDGET_RESERVE = 10;
+
+	/**
+	 * The recent latencies of the successful requests to an {@link Endpoint}, as a ring buffer.
+	 */
+	private static final class Latencies {
+
+		/**
+		 * The latencies in nanoseconds.
+		 */
+		private final long[] nanos;
+
+		/**
+		 * The amount of latencies in the window.
+		 */
+		private int size;
+
+		/**
+		 * The index in the window the next latency is recorded at.
+		 */
+		private int next;
+
+		/**
+		 * Creates a new {@link Latencies}.
+		 * @param windowSize The amount of most recent latencies kept.
+		 */
+		private Latencies(int windowSize) {
+			this.nanos = new long[windowSize];
+		}
+
+		/**
+		 * Records a latency, replacing the oldest once the window is full.
+		 * @param latencyNanos The latency in nanoseconds.
+		 */
+		private synchronized void add(long latencyNanos) {
+			nanos[next] = latencyNanos;
+			next = (next + 1) % nanos.length;
+			size = Math.min(size + 1, nanos.length);
+		}
+
+		/**
+		 * Estimates a percentile of the latencies in the window, by the nearest rank.
+		 * @param percentile The percentile, between zero and one.
+		 * @param minimumSamples The minimum amount of latencies needed for an estimate.
+		 * @return The percentile in nanoseconds, or {@code -1} if the window holds too few latencies.
+		 */
+		private synchronized long percentile(double percentile, int minimumSamples) {
+			if (size < minimumSamples) {
+				return -1;
+			}
+
+			long[] sorted = Arrays.copyOf(nanos, size);
+			Arrays.sort(sorted);
+			return sorted[Math.max(0, (int) Math.ceil(percentile * size) - 1)];
+		}
+	}
+
+	/**
+	 * The outcome of a copy of a request.
+	 * @param <T> The type of the result of the request.
+	 */
+	private static final class Outcome<T> {
+
+		/**
+		 * The {@link Copy}.
+		 */
+		private final Copy copy;
+
+		/**
+		 * The result, or {@code null} if the copy failed.
+		 */
+		private final T result;
+
+		/**
+		 * The failure, or {@code null} if the copy succeeded.
+		 */
+		private final Throwable failure;
+
+		/**
+		 * Creates a new {@link Outcome}.
+		 * @param copy The {@link Copy}.
+		 * @param result The result, or {@code null} if the copy failed.
+		 * @param failure The failure, or {@code null} if the copy succeeded.
+		 */
+		private Outcome(Copy copy, T result, Throwable failure) {
+			this.copy = copy;
+			this.result = result;
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * The percentile of recent latencies after which a request is hedged.
+	 */
+	private final double percentile;
+
+	/**
+	 * The minimum amount of latencies before requests are hedged.
+	 */
+	private final int minimumSamples;
+
+	/**
+	 * The {@link RetryBudget} of hedges shared by every request.
+	 */
+	private final RetryBudget budget;
+
+	/**
+	 * The {@link Ticker} that measures requests.
+	 */
+	private final Ticker ticker;
+
+	/**
+	 * The {@link ExecutorService} that runs the copies of requests.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The recent {@link Latencies} of each {@link Endpoint}.
+	 */
+	private final ImmutableMap<Endpoint, Latencies> latencies;
+
+	/**
+	 * The amount of hedges sent to each {@link Endpoint}.
+	 */
+	private final ImmutableMap<Endpoint, LongAdder> hedges;
+
+	/**
+	 * The amount of hedged requests to each {@link Endpoint} won by each {@link Copy}.
+	 */
+	private final ImmutableMap<Endpoint, ImmutableMap<Copy, LongAdder>> wins;
+
+	/**
+	 * The amount of hedges not sent because the budget was spent.
+	 */
+	private final LongAdder hedgesRefused = new LongAdder();
+
+	/**
+	 * Creates a new {@link HedgingClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private HedgingClient(Builder builder) {
+		super(builder.delegate);
+		this.percentile = builder.percentile;
+		this.minimumSamples = builder.minimumSamples;
+		this.budget = new RetryBudget(builder.budgetRatio, builder.budgetReserve);
+		this.ticker = builder.ticker;
+		this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("hedging-client-%d")
+			.setDaemon(true)
+			.build());
+
+		EnumSet<Endpoint> endpoints = EnumSet.allOf(Endpoint.class);
+		this.latencies = Maps.immutableEnumMap(Maps.toMap(endpoints, endpoint -> new Latencies(builder.windowSize)));
+		this.hedges = Maps.immutableEnumMap(Maps.toMap(endpoints, endpoint -> new LongAdder()));
+		this.wins = Maps.immutableEnumMap(Maps.toMap(endpoints, endpoint ->
+			Maps.immutableEnumMap(Maps.toMap(EnumSet.allOf(Copy.class), copy -> new LongAdder()))));
+	}
+
+	@Override
+	protected <T> T intercept(Call<T> call) throws IOException {
+		Optional<Endpoint> endpoint = Endpoint.of(call.getUrl());
+		if (!endpoint.isPresent() || call.getTarget() instanceof CSVDecoder) {
+			return call.proceed();
+		}
+
+		Latencies recent = latencies.get(endpoint.get());
+		long delay = recent.percentile(percentile, minimumSamples);
+		budget.deposit();
+
+		long start = ticker.read();
+		if (delay < 0) {
+			T result = call.proceed();
+			recent.add(ticker.read() - start);
+			return result;
+		}
+
+		Outcome<T> outcome = race(endpoint.get(), call, delay);
+		if (outcome.failure != null) {
+			Throwables.throwIfInstanceOf(outcome.failure, IOException.class);
+			Throwables.throwIfUnchecked(outcome.failure);
+			throw new IOException(outcome.failure);
+		}
+
+		/* the latency the caller observed, which is also how long an abandoned primary had run without completing */
+		recent.add(ticker.read() - start);
+		return outcome.result;
+	}
+
+	/**
+	 * Sends the primary copy of a request, and a hedge if the primary copy has not completed after a delay, then waits
+	 * for the first copy to succeed, or for every copy to fail. The copy that did not win is cancelled.
+	 * @param endpoint The {@link Endpoint} of the request.
+	 * @param call The {@link Call}.
+	 * @param delayNanos The delay in nanoseconds before the hedge is sent.
+	 * @param <T> The type of the result of the request.
+	 * @return The {@link Outcome} of the winning copy, or of the primary copy if every copy failed.
+	 * @throws InterruptedIOException If the calling thread is interrupted while waiting.
+	 */
+	private <T> Outcome<T> race(Endpoint endpoint, Call<T> call, long delayNanos) throws InterruptedIOException {
+		Deadline parent = Deadline.current().orElse(null);
+		BlockingQueue<Outcome<T>> finished = new LinkedBlockingQueue<>();
+		Deadline primary = send(Copy.PRIMARY, call, parent, finished);
+		Deadline hedge = null;
+
+		try {
+			Outcome<T> outcome = finished.poll(delayNanos, TimeUnit.NANOSECONDS);
+			if (outcome != null) {
+				return outcome;
+			}
+
+			if (!budget.tryWithdraw()) {
+				hedgesRefused.increment();
+				return finished.take();
+			}
+
+			hedges.get(endpoint).increment();
+			hedge = send(Copy.HEDGE, call, parent, finished);
+
+			Outcome<T> first = finished.take();
+			if (first.failure == null) {
+				wins.get(endpoint).get(first.copy).increment();
+				return first;
+			}
+
+			Outcome<T> second = finished.take();
+			if (second.failure == null) {
+				wins.get(endpoint).get(second.copy).increment();
+				return second;
+			}
+
+			Outcome<T> failed = first.copy == Copy.PRIMARY ? first : second;
+			failed.failure.addSuppressed(failed == first ? second.failure : first.failure);
+			return failed;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a hedged request to " + endpoint + ".");
+			exception.initCause(e);
+			throw exception;
+		} finally {
+			primary.cancel();
+			if (hedge != null) {
+				hedge.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Sends a copy of a request, within a {@link Deadline} of its own that can be cancelled without affecting the other
+	 * copy, adding its {@link Outcome} to a queue once it completes.
+	 * @param copy The {@link Copy}.
+	 * @param call The {@link Call}.
+	 * @param parent The {@link Deadline} in effect on the calling thread, or {@code null}.
+	 * @param finished The queue of {@link Outcome}s.
+	 * @param <T> The type of the result of the request.
+	 * @return The {@link Deadline} of the copy.
+	 */
+	private <T> Deadline send(Copy copy, Call<T> call, Deadline parent, BlockingQueue<Outcome<T>> finished) {
+		Deadline deadline = Deadline.unbounded().earliest(parent);
+
+		executor.execute(() -> {
+			Deadline.Scope scope = deadline.enter();
+			try {
+				T result = call.proceed();
+				finished.add(new Outcome<>(copy, result, null));
+			} catch (IOException | RuntimeException | Error e) {
+				finished.add(new Outcome<>(copy, null, e));
+			} finally {
+				scope.close();
+			}
+		});
+
+		return deadline;
+	}
+
+	/**
+	 * Gets the delay after which requests to an {@link Endpoint} are currently hedged.
+	 * @param endpoint The {@link Endpoint}.
+	 * @param unit The {@link TimeUnit} of the delay.
+	 * @return An {@link OptionalLong} containing the delay, or {@link OptionalLong#empty()} if too few requests to the
+	 * {@link Endpoint} have completed for its requests to be hedged.
+	 */
+	public OptionalLong getHedgeDelay(Endpoint endpoint, TimeUnit unit) {
+		long delay = latencies.get(Preconditions.checkNotNull(endpoint)).percentile(percentile, minimumSamples);
+		return delay < 0 ? OptionalLong.empty() : OptionalLong.of(unit.convert(delay, TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Gets the amount of hedges sent to an {@link Endpoint}.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return The amount of hedges.
+	 */
+	public long getHedgeCount(Endpoint endpoint) {
+		return hedges.get(Preconditions.checkNotNull(endpoint)).sum();
+	}
+
+	/**
+	 * Gets the amount of hedged requests to an {@link Endpoint} won by a {@link Copy}. Hedged requests whose copies both
+	 * failed were won by neither.
+	 * @param endpoint The {@link Endpoint}.
+	 * @param copy The {@link Copy}.
+	 * @return The amount of hedged requests won.
+	 */
+	public long getWinCount(Endpoint endpoint, Copy copy) {
+		return wins.get(Preconditions.checkNotNull(endpoint)).get(Preconditions.checkNotNull(copy)).sum();
+	}
+
+	/**
+	 * Gets the amount of hedges not sent because the budget was spent.
+	 * @return The amount of refused hedges.
+	 */
+	public long getHedgesRefusedCount() {
+		return hedgesRefused.sum();
+	}
+
+	/**
+	 * Stops the threads that run the copies of requests, cancelling any still running, and closes the {@link Client}
+	 * being decorated.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		executor.shutdownNow();
+		super.close();
+	}
+}
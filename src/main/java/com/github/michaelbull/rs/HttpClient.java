@@ -1,54 +1,748 @@
 package com.github.michaelbull.rs;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.DeflateInputStream;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
 
 /**
  * A {@link Client} that wraps a {@link org.apache.http.client.HttpClient} to interact with the RuneScape web-services API.
+ * <p>
+ * Connections are kept alive in a pool that is shared by every request made through this client, and must be released
+ * by calling {@link #close()} once the client is no longer needed.
+ * <p>
+ * If configured with a {@link DiskCache}, the raw bodies of successful responses are persisted to the disk, and later
+ * requests for the same URLs are served from it until they expire, including after a restart. The bodies streamed to a
+ * {@link CSVDecoder} are served from it too, but never persisted, as that would buffer them whole before decoding.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} validators of the most recent responses are remembered along with the
+ * objects deserialized from them, and sent back as {@code If-None-Match} and {@code If-Modified-Since} the next time
+ * the same URL is deserialized into the same type. If the server answers {@code 304 Not Modified}, the remembered
+ * object is returned again without downloading or parsing the body, so it must not be mutated by its callers.
+ * <p>
+ * Responses are requested with gzip or deflate compression, and decompressed as they are parsed. The bytes received
+ * and decoded from each {@link Endpoint} are reported by {@link #stats()}.
+ * <p>
+ * Server errors, and the throttling page served in place of the requested data, are reported with a
+ * {@link ServiceUnavailableException}, and a {@code 200 OK} body that is not well-formed JSON with a
+ * {@link MalformedResponseException}, while JSON of the wrong shape and the bodies of other statuses, such as the page
+ * of a {@code 404 Not Found}, are reported as {@link Optional#empty()}. Requests are never retried by this client; wrap
+ * it in a {@link RetryingClient} to retry transient failures.
+ * <p>
+ * Every request has a connect timeout, a read timeout between the bytes of its response, and a total timeout, which
+ * bounds each attempt a {@link RetryingClient} makes rather than all of them together. The total timeout is shortened
+ * by the {@link Deadline} in effect on the calling thread, if any, and a request still running when it passes, or when
+ * it is cancelled, is aborted with a {@link DeadlineExceededException}. A {@link CSVDecoder} may hand what it decodes
+ * to a consumer as it goes, so the total timeout of its request only bounds the time until the response arrives; the
+ * body is then read for as long as the {@link Deadline} in effect allows.
  */
 public final class HttpClient implements Client {
 
+	public static final class Builder {
+		private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+		private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		private long idleTimeout = DEFAULT_IDLE_TIMEOUT_SECONDS;
+		private TimeUnit idleTimeoutUnit = TimeUnit.SECONDS;
+		private DiskCache diskCache;
+		private int maxValidators = DEFAULT_MAX_VALIDATORS;
+		private long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+		private long connectionRequestTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+		private long readTimeoutMillis = TimeUnit.SECONDS.toMillis(DEFAULT_READ_TIMEOUT_SECONDS);
+		private long totalTimeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TOTAL_TIMEOUT_SECONDS);
+
+		private Builder() {
+			/* empty */
+		}
+
+		public Builder maxConnections(int maxConnections) {
+			Preconditions.checkArgument(maxConnections > 0, "Maximum connections must be positive.");
+			this.maxConnections = maxConnections;
+			return this;
+		}
+
+		public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			Preconditions.checkArgument(maxConnectionsPerRoute > 0, "Maximum connections per route must be positive.");
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+			return this;
+		}
+
+		public Builder idleTimeout(long idleTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(idleTimeout > 0, "Idle timeout must be positive.");
+			this.idleTimeout = idleTimeout;
+			this.idleTimeoutUnit = Preconditions.checkNotNull(unit);
+			return this;
+		}
+
+		public Builder diskCache(DiskCache diskCache) {
+			this.diskCache = Preconditions.checkNotNull(diskCache);
+			return this;
+		}
+
+		public Builder maxValidators(int maxValidators) {
+			Preconditions.checkArgument(maxValidators >= 0, "Maximum validators must not be negative.");
+			this.maxValidators = maxValidators;
+			return this;
+		}
+
+		public Builder connectTimeout(long connectTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(connectTimeout > 0, "Connect timeout must be positive.");
+			this.connectTimeoutMillis = unit.toMillis(connectTimeout);
+			return this;
+		}
+
+		public Builder connectionRequestTimeout(long connectionRequestTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(connectionRequestTimeout > 0, "Connection request timeout must be positive.");
+			this.connectionRequestTimeoutMillis = unit.toMillis(connectionRequestTimeout);
+			return this;
+		}
+
+		public Builder readTimeout(long readTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(readTimeout > 0, "Read timeout must be positive.");
+			this.readTimeoutMillis = unit.toMillis(readTimeout);
+			return this;
+		}
+
+		public Builder totalTimeout(long totalTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(totalTimeout > 0, "Total timeout must be positive.");
+			this.totalTimeoutNanos = unit.toNanos(totalTimeout);
+			return this;
+		}
+
+		public HttpClient build() {
+			Preconditions.checkState(maxConnectionsPerRoute <= maxConnections, "Maximum connections per route must not exceed the maximum connections.");
+			return new HttpClient(this);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Reads the body of a response to a request from a specified URL.
+	 * @param <T> The type of object read from the body.
+	 */
+	@FunctionalInterface
+	interface BodyReader<T> {
+		/**
+		 * Reads an object from the body of a response.
+		 * @param in The {@link InputStream} of the body's bytes.
+		 * @param charset The {@link Charset} the body is encoded with.
+		 * @return The object.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		T read(InputStream in, Charset charset) throws IOException;
+	}
+
+	/**
+	 * The validators of the last successful response from a URL, together with the object deserialized from it.
+	 */
+	private static final class Validated {
+
+		/**
+		 * The key of the {@link BodyReader} that deserialized the {@link #value}.
+		 */
+		private final Object readerKey;
+
+		/**
+		 * The value of the {@code ETag} header, or {@code null}.
+		 */
+		private final String etag;
+
+		/**
+		 * The value of the {@code Last-Modified} header, or {@code null}.
+		 */
+		private final String lastModified;
+
+		/**
+		 * The object deserialized from the response.
+		 */
+		private final Object value;
+
+		/**
+		 * The length of the response's body in bytes.
+		 */
+		private final long length;
+
+		/**
+		 * Creates a new {@link Validated}.
+		 * @param readerKey The key of the {@link BodyReader} that deserialized the value.
+		 * @param etag The value of the {@code ETag} header, or {@code null}.
+		 * @param lastModified The value of the {@code Last-Modified} header, or {@code null}.
+		 * @param value The object deserialized from the response.
+		 * @param length The length of the response's body in bytes.
+		 */
+		private Validated(Object readerKey, String etag, String lastModified, Object value, long length) {
+			this.readerKey = readerKey;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.value = value;
+			this.length = length;
+		}
+	}
+
 	/**
 	 * The URL to the RuneScape public web-services.
 	 */
 	public static final String WEB_SERVICES_URL = "http://services.runescape.com";
 
+	/**
+	 * The default maximum amount of pooled connections.
+	 */
+	private static final int DEFAULT_MAX_CONNECTIONS = 64;
+
+	/**
+	 * The default maximum amount of pooled connections to a single route.
+	 */
+	private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 32;
+
+	/**
+	 * The default amount of seconds a pooled connection may remain idle before it is evicted.
+	 */
+	private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * The default amount of seconds to wait to establish a connection, or to lease one from the pool.
+	 */
+	private static final long DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * The default amount of seconds to wait for the next bytes of a response.
+	 */
+	private static final long DEFAULT_READ_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * The default amount of seconds a single attempt at a request may take in total.
+	 */
+	private static final long DEFAULT_TOTAL_TIMEOUT_SECONDS = 60;
+
+	/**
+	 * The default maximum amount of URLs whose validators are remembered.
+	 */
+	private static final int DEFAULT_MAX_VALIDATORS = 1_000;
+
+	/**
+	 * The key of the {@link BodyReader} that reads a list of {@link CSVRecord}s.
+	 */
+	private static final Object CSV_RECORDS = new Object();
+
+	/**
+	 * The {@code 429 Too Many Requests} status code, which {@link HttpStatus} predates.
+	 */
+	static final int SC_TOO_MANY_REQUESTS = 429;
+
+	/**
+	 * The maximum amount of leading bytes peeked at to recognise a throttling page.
+	 */
+	private static final int THROTTLING_PAGE_PEEK_LENGTH = 64;
+
 	/**
 	 * The {@link Gson} instance.
 	 */
 	private final Gson gson = new Gson();
 
 	/**
-	 * Reads a {@link String} from a specified URL.
+	 * The underlying {@link CloseableHttpClient}, which owns the connection pool.
+	 */
+	private final CloseableHttpClient client;
+
+	/**
+	 * The {@link DiskCache} response bodies are persisted to, or {@code null}.
+	 */
+	private final DiskCache diskCache;
+
+	/**
+	 * The {@link Validated} responses, by URL.
+	 */
+	private final Cache<String, Validated> validated;
+
+	/**
+	 * The amount of requests sent with validators.
+	 */
+	private final LongAdder conditionalRequests = new LongAdder();
+
+	/**
+	 * The amount of conditional requests answered with {@code 304 Not Modified}.
+	 */
+	private final LongAdder notModified = new LongAdder();
+
+	/**
+	 * The amount of body bytes that were not downloaded again thanks to {@code 304 Not Modified} responses.
+	 */
+	private final LongAdder bytesSaved = new LongAdder();
+
+	/**
+	 * The amount of body bytes received from each {@link Endpoint}, before decompression.
+	 */
+	private final ImmutableMap<Endpoint, LongAdder> bytesReceived = counters();
+
+	/**
+	 * The amount of body bytes decoded from each {@link Endpoint}, after decompression.
+	 */
+	private final ImmutableMap<Endpoint, LongAdder> bytesDecoded = counters();
+
+	/**
+	 * The {@link RequestConfig} of requests given their full timeouts.
+	 */
+	private final RequestConfig requestConfig;
+
+	/**
+	 * The amount of nanoseconds a single attempt at a request may take in total.
+	 */
+	private final long totalTimeoutNanos;
+
+	/**
+	 * The {@link ScheduledExecutorService} that aborts requests once their time is up.
+	 */
+	private final ScheduledExecutorService timer;
+
+	/**
+	 * Creates a new {@link HttpClient} with the default configuration.
+	 */
+	public HttpClient() {
+		this(builder());
+	}
+
+	/**
+	 * Creates a new {@link HttpClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private HttpClient(Builder builder) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(builder.maxConnections);
+		connectionManager.setDefaultMaxPerRoute(builder.maxConnectionsPerRoute);
+
+		this.requestConfig = RequestConfig.custom()
+			.setConnectTimeout(Ints.saturatedCast(builder.connectTimeoutMillis))
+			.setConnectionRequestTimeout(Ints.saturatedCast(builder.connectionRequestTimeoutMillis))
+			.setSocketTimeout(Ints.saturatedCast(builder.readTimeoutMillis))
+			.build();
+
+		/* read decompresses bodies itself, so that the compressed bytes can be counted, and only requests whose pooled connection was closed are resent */
+		this.client = HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(requestConfig)
+			.disableContentCompression()
+			.setRetryHandler(new DefaultHttpRequestRetryHandler(1, false))
+			.evictExpiredConnections()
+			.evictIdleConnections(builder.idleTimeoutUnit.toMillis(builder.idleTimeout), TimeUnit.MILLISECONDS)
+			.build();
+		this.diskCache = builder.diskCache;
+		this.validated = CacheBuilder.newBuilder().maximumSize(builder.maxValidators).build();
+		this.totalTimeoutNanos = builder.totalTimeoutNanos;
+
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+			.setNameFormat("http-client-timer")
+			.setDaemon(true)
+			.build());
+		timer.setRemoveOnCancelPolicy(true);
+		this.timer = timer;
+	}
+
+	/**
+	 * Gets the {@link Charset} of an {@link HttpEntity}, falling back to the default of its mime type.
+	 * @param entity The {@link HttpEntity}.
+	 * @return The {@link Charset}.
+	 */
+	static Charset charsetOf(HttpEntity entity) {
+		ContentType contentType = ContentType.getOrDefault(entity);
+		Charset charset = contentType.getCharset();
+
+		if (charset == null) {
+			ContentType mimeType = ContentType.getByMimeType(contentType.getMimeType());
+			charset = mimeType == null ? null : mimeType.getCharset();
+		}
+
+		return charset == null ? HTTP.DEF_CONTENT_CHARSET : charset;
+	}
+
+	/**
+	 * Creates a counter for each {@link Endpoint}.
+	 * @return An {@link ImmutableMap} of {@link Endpoint}s to their counters.
+	 */
+	private static ImmutableMap<Endpoint, LongAdder> counters() {
+		return Maps.immutableEnumMap(Maps.toMap(EnumSet.allOf(Endpoint.class), endpoint -> new LongAdder()));
+	}
+
+	/**
+	 * Wraps the {@link InputStream} of a body in the decompressing {@link InputStream} its content coding requires.
+	 * @param in The {@link InputStream} of the body's bytes, as received.
+	 * @param contentEncoding The {@code Content-Encoding} header, or {@code null}.
+	 * @return The {@link InputStream} of the body's decompressed bytes.
+	 * @throws IOException If an I/O error occurs, or the content coding is unsupported.
+	 */
+	static InputStream decompress(InputStream in, Header contentEncoding) throws IOException {
+		String coding = contentEncoding == null ? "identity" : contentEncoding.getValue().trim().toLowerCase(Locale.ROOT);
+		switch (coding) {
+			case "identity":
+			case "":
+				return in;
+			case "gzip":
+			case "x-gzip":
+				return new GZIPInputStream(in);
+			case "deflate":
+				return new DeflateInputStream(in);
+			default:
+				throw new IOException("Unsupported content encoding: " + coding);
+		}
+	}
+
+	/**
+	 * Rethrows the {@link IOException} that interrupted a streaming deserialization, which {@link Gson} reports as a
+	 * {@link JsonParseException}.
+	 * @param e The {@link JsonParseException}.
+	 * @throws IOException If the {@link JsonParseException} was caused by an I/O error rather than malformed JSON.
+	 */
+	static void rethrowIOException(JsonParseException e) throws IOException {
+		Throwable cause = e.getCause();
+		if (cause instanceof IOException && !isMalformed(e)) {
+			throw (IOException) cause;
+		}
+	}
+
+	/**
+	 * Determines whether a {@link JsonParseException} was caused by JSON that is not well-formed, or that ended early,
+	 * rather than by well-formed JSON of the wrong shape.
+	 * @param e The {@link JsonParseException}.
+	 * @return {@code true} if the JSON was malformed, otherwise {@code false}.
+	 */
+	private static boolean isMalformed(JsonParseException e) {
+		Throwable cause = e.getCause();
+		return cause instanceof MalformedJsonException || cause instanceof EOFException;
+	}
+
+	/**
+	 * Reads an object from the body of the response to a request from a specified URL.
+	 * <p>
+	 * The body is decompressed and decoded straight from the connection's {@link InputStream} without being buffered,
+	 * and the connection is released back to the pool once the {@link BodyReader} returns. Bodies that the {@link DiskCache}
+	 * holds are read from it instead, and bodies that it should hold are buffered so they can be written to it once
+	 * the {@link BodyReader} has read them without error, unless the request is streaming, as buffering the body would
+	 * hold the {@link BodyReader} back until the whole body had arrived.
+	 * <p>
+	 * If a reader key is given, the request is made conditional on the validators of the last response read by the
+	 * same key, and the object read from that response is returned again if the server answers
+	 * {@code 304 Not Modified}.
+	 * <p>
+	 * The request must complete within the total timeout and the {@link Deadline} in effect, if any. The response to a
+	 * streaming request must only arrive within the total timeout, as the time its {@link BodyReader} takes to read the
+	 * body includes the time spent by whoever it passes the body on to.
 	 * @param url The URL to request from.
-	 * @return The {@link String}.
+	 * @param readerKey The key that identifies what the {@link BodyReader} reads, or {@code null} if its objects must
+	 * not be reused.
+	 * @param bodyReader The {@link BodyReader}.
+	 * @param streaming Whether the {@link BodyReader} streams the body to a consumer.
+	 * @param <T> The type of object read from the body.
+	 * @return The object.
 	 * @throws IOException If an I/O error occurs.
 	 */
-	private static String stringFrom(String url) throws IOException {
+	private <T> T read(String url, Object readerKey, BodyReader<T> bodyReader, boolean streaming) throws IOException {
 		Preconditions.checkNotNull(url);
-		HttpUriRequest request = new HttpGet(url);
+
+		if (diskCache != null) {
+			Optional<DiskCache.Response> cached = diskCache.get(url);
+			if (cached.isPresent()) {
+				return bodyReader.read(new ByteArrayInputStream(cached.get().getBody()), cached.get().getCharset());
+			}
+		}
+
+		Deadline current = Deadline.current().orElse(null);
+		Deadline deadline = Deadline.after(totalTimeoutNanos, TimeUnit.NANOSECONDS).earliest(current);
+		if (deadline.isExpired()) {
+			throw new DeadlineExceededException("Deadline exceeded before requesting " + url + ".");
+		}
+
+		boolean cacheable = !streaming && diskCache != null && diskCache.isCacheable(url);
+		return fetch(url, readerKey, bodyReader, cacheable, deadline, streaming ? current : deadline);
+	}
+
+	/**
+	 * Makes a single attempt at reading an object from the body of the response to a request from a specified URL.
+	 * <p>
+	 * The connect timeouts are shortened to the time remaining until the {@link Deadline}, and the read timeout to the
+	 * time remaining until the body {@link Deadline}. The request is aborted, wherever it is, when the {@link Deadline}
+	 * passes before the response arrives, when the body {@link Deadline} passes, or when either is cancelled. A request
+	 * that fails once the {@link Deadline} it was bound by has expired failed because of it.
+	 * @param url The URL to request from.
+	 * @param readerKey The key that identifies what the {@link BodyReader} reads, or {@code null}.
+	 * @param bodyReader The {@link BodyReader}.
+	 * @param cacheable Whether a successful body is written to the {@link DiskCache}.
+	 * @param deadline The {@link Deadline} by which the response must arrive.
+	 * @param bodyDeadline The {@link Deadline} by which the body must be read, or {@code null} if it may take as long
+	 * as the read timeout allows between its bytes.
+	 * @param <T> The type of object read from the body.
+	 * @return The object.
+	 * @throws ServiceUnavailableException If the server answered with a server error, or the client was throttled.
+	 * @throws DeadlineExceededException If the request was aborted because its {@link Deadline} expired.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private <T> T fetch(String url, Object readerKey, BodyReader<T> bodyReader, boolean cacheable, Deadline deadline, Deadline bodyDeadline) throws IOException {
+		HttpGet request = new HttpGet(url);
+		int remainingMillis = remainingMillis(deadline);
+		request.setConfig(RequestConfig.copy(requestConfig)
+			.setConnectTimeout(Math.min(requestConfig.getConnectTimeout(), remainingMillis))
+			.setConnectionRequestTimeout(Math.min(requestConfig.getConnectionRequestTimeout(), remainingMillis))
+			.setSocketTimeout(bodyDeadline == null ? requestConfig.getSocketTimeout() : Math.min(requestConfig.getSocketTimeout(), remainingMillis(bodyDeadline)))
+			.build());
+
+		AtomicBoolean responded = new AtomicBoolean();
+		Runnable abort = request::abort;
+		ScheduledFuture<?> timeout = timer.schedule(() -> {
+			if (!responded.get()) {
+				request.abort();
+			}
+		}, deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+		ScheduledFuture<?> bodyTimeout = bodyDeadline == null || bodyDeadline == deadline ? null : timer.schedule(abort, bodyDeadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+		deadline.addListener(abort);
+
+		try {
+			return execute(request, url, readerKey, bodyReader, cacheable, () -> {
+				if (bodyDeadline != deadline) {
+					responded.set(true);
+				}
+			});
+		} catch (IOException | RuntimeException e) {
+			Deadline expired = responded.get() ? bodyDeadline : deadline;
+			if (expired != null && expired.isExpired()) {
+				throw new DeadlineExceededException("Deadline exceeded while requesting " + url + ".", e);
+			}
+			throw e;
+		} finally {
+			deadline.removeListener(abort);
+			timeout.cancel(false);
+			if (bodyTimeout != null) {
+				bodyTimeout.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Gets the time remaining until a {@link Deadline} passes as a timeout of the underlying client, rounded up so that a
+	 * timeout cut short by the {@link Deadline} only fires once it has passed.
+	 * @param deadline The {@link Deadline}.
+	 * @return The amount of milliseconds.
+	 */
+	private static int remainingMillis(Deadline deadline) {
+		return Ints.saturatedCast(TimeUnit.NANOSECONDS.toMillis(deadline.remaining(TimeUnit.NANOSECONDS) + 999_999) + 1);
+	}
+
+	/**
+	 * Executes a request, and reads an object from the body of its response.
+	 * @param request The request.
+	 * @param url The URL to request from.
+	 * @param readerKey The key that identifies what the {@link BodyReader} reads, or {@code null}.
+	 * @param bodyReader The {@link BodyReader}.
+	 * @param cacheable Whether a successful body is written to the {@link DiskCache}.
+	 * @param responded Run once the response has arrived, before its body is read.
+	 * @param <T> The type of object read from the body.
+	 * @return The object.
+	 * @throws ServiceUnavailableException If the server answered with a server error, or the client was throttled.
+	 * @throws MalformedResponseException If the server answered with {@code 200 OK} but the body was malformed JSON.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T execute(HttpGet request, String url, Object readerKey, BodyReader<T> bodyReader, boolean cacheable, Runnable responded) throws IOException {
 		request.addHeader("accept", "application/json");
 		request.addHeader("accept", "text/csv");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+		Validated previous = readerKey == null ? null : validated.getIfPresent(url);
+		if (previous != null && previous.readerKey.equals(readerKey)) {
+			if (previous.etag != null) {
+				request.addHeader(HttpHeaders.IF_NONE_MATCH, previous.etag);
+			}
+			if (previous.lastModified != null) {
+				request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified);
+			}
+			conditionalRequests.increment();
+		} else {
+			previous = null;
+		}
+
+		try (CloseableHttpResponse response = client.execute(request)) {
+			responded.run();
+			HttpEntity entity = response.getEntity();
+			int status = response.getStatusLine().getStatusCode();
 
-		try (CloseableHttpClient client = HttpClients.createDefault();
-			 CloseableHttpResponse response = client.execute(request)) {
-			return EntityUtils.toString(response.getEntity());
+			if (previous != null && status == HttpStatus.SC_NOT_MODIFIED) {
+				EntityUtils.consume(entity);
+				notModified.increment();
+				bytesSaved.add(previous.length);
+				return (T) previous.value;
+			}
+
+			if (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR || status == SC_TOO_MANY_REQUESTS) {
+				EntityUtils.consume(entity);
+				throw new ServiceUnavailableException(url, status, status == SC_TOO_MANY_REQUESTS);
+			}
+
+			if (entity == null) {
+				return bodyReader.read(new ByteArrayInputStream(new byte[0]), HTTP.DEF_CONTENT_CHARSET);
+			}
+
+			Charset charset = charsetOf(entity);
+			CountingInputStream received = new CountingInputStream(entity.getContent());
+			T result;
+
+			try (CountingInputStream decoded = new CountingInputStream(new BufferedInputStream(decompress(received, entity.getContentEncoding())))) {
+				try {
+					if (status == HttpStatus.SC_OK && isThrottlingPage(entity, decoded)) {
+						throw new ServiceUnavailableException(url, status, true);
+					}
+
+					if (cacheable && status == HttpStatus.SC_OK) {
+						byte[] body = ByteStreams.toByteArray(decoded);
+						result = bodyReader.read(new ByteArrayInputStream(body), charset);
+						diskCache.put(url, body, charset);
+					} else {
+						result = bodyReader.read(decoded, charset);
+					}
+				} catch (JsonSyntaxException e) {
+					if (status == HttpStatus.SC_OK && isMalformed(e)) {
+						throw new MalformedResponseException(url, e);
+					}
+					throw e;
+				} finally {
+					count(url, received.getCount(), decoded.getCount());
+				}
+			} finally {
+				received.close();
+			}
+
+			if (readerKey != null) {
+				remember(url, readerKey, response, status, result, received.getCount());
+			}
+
+			return result;
+		}
+	}
+
+	/**
+	 * Streams the body of the response to a request from a specified URL to a {@link BodyReader} that may pass it on
+	 * as it is read, without ever reusing the object read from an earlier response.
+	 * @param url The URL to request from.
+	 * @param bodyReader The {@link BodyReader}.
+	 * @param <T> The type of object read from the body.
+	 * @return The object.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private <T> T stream(String url, BodyReader<T> bodyReader) throws IOException {
+		return read(url, null, bodyReader, true);
+	}
+
+	/**
+	 * Determines whether a body is the HTML page the RuneScape services serve in place of the requested data while
+	 * throttling the client. Only the bodies of {@code 200 OK} responses are checked, as other statuses, such as the
+	 * {@code 404 Not Found} of an unknown player, come with HTML pages of their own. The body's first bytes are peeked
+	 * at without being consumed.
+	 * @param entity The {@link HttpEntity} of the response.
+	 * @param in The {@link InputStream} of the body's decompressed bytes, which must support marks.
+	 * @return {@code true} if the body is an HTML page, otherwise {@code false}.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static boolean isThrottlingPage(HttpEntity entity, InputStream in) throws IOException {
+		if (!ContentType.TEXT_HTML.getMimeType().equalsIgnoreCase(ContentType.getOrDefault(entity).getMimeType())) {
+			return false;
+		}
+
+		in.mark(THROTTLING_PAGE_PEEK_LENGTH);
+		try {
+			for (int i = 0; i < THROTTLING_PAGE_PEEK_LENGTH; i++) {
+				int next = in.read();
+				if (next == -1 || !Character.isWhitespace(next)) {
+					return next == '<';
+				}
+			}
+			return false;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Adds the bytes read from a response to the counters of the {@link Endpoint} it came from, if any.
+	 * @param url The URL the response is from.
+	 * @param received The amount of body bytes received, before decompression.
+	 * @param decoded The amount of body bytes decoded, after decompression.
+	 */
+	private void count(String url, long received, long decoded) {
+		Endpoint.of(url).ifPresent(endpoint -> {
+			bytesReceived.get(endpoint).add(received);
+			bytesDecoded.get(endpoint).add(decoded);
+		});
+	}
+
+	/**
+	 * Remembers the validators of a response along with the object read from it, or forgets the validators of the URL
+	 * if the response has none.
+	 * @param url The URL the response is from.
+	 * @param readerKey The key that identifies what the object was read as.
+	 * @param response The response.
+	 * @param status The status code of the response.
+	 * @param value The object read from the response, or {@code null}.
+	 * @param length The length of the response's body in bytes.
+	 */
+	private void remember(String url, Object readerKey, HttpResponse response, int status, Object value, long length) {
+		Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+		Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+
+		if (status != HttpStatus.SC_OK || value == null || (etag == null && lastModified == null)) {
+			validated.invalidate(url);
+			return;
 		}
+
+		validated.put(url, new Validated(readerKey,
+			etag == null ? null : etag.getValue(),
+			lastModified == null ? null : lastModified.getValue(),
+			value, length));
 	}
 
 	/**
@@ -57,6 +751,7 @@ public final class HttpClient implements Client {
 	 * @param typeOfT The specific genericized type of src.
 	 * @param <T> The type of the desired object
 	 * @return An {@link Optional} containing object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 * @throws MalformedResponseException If the server answered with {@code 200 OK} but the body was malformed JSON.
 	 * @throws IOException If an I/O error occurs.
 	 */
 	@Override
@@ -65,8 +760,9 @@ public final class HttpClient implements Client {
 		Preconditions.checkNotNull(typeOfT);
 
 		try {
-			return Optional.ofNullable(gson.fromJson(stringFrom(url), typeOfT));
-		} catch (JsonSyntaxException | JsonIOException ignored) {
+			return Optional.ofNullable(read(url, typeOfT, (in, charset) -> gson.fromJson(new InputStreamReader(in, charset), typeOfT), false));
+		} catch (JsonSyntaxException | JsonIOException e) {
+			rethrowIOException(e);
 			return Optional.empty();
 		}
 	}
@@ -77,6 +773,7 @@ public final class HttpClient implements Client {
 	 * @param classOfT The class of T.
 	 * @param <T> The type of the desired object
 	 * @return An optional of object of type T from the json, or {@link Optional#empty()} if the URL could not be deserialized.
+	 * @throws MalformedResponseException If the server answered with {@code 200 OK} but the body was malformed JSON.
 	 * @throws IOException If an I/O error occurs.
 	 */
 	@Override
@@ -85,8 +782,9 @@ public final class HttpClient implements Client {
 		Preconditions.checkNotNull(classOfT);
 
 		try {
-			return Optional.ofNullable(gson.fromJson(stringFrom(url), classOfT));
-		} catch (JsonSyntaxException | JsonIOException ignored) {
+			return Optional.ofNullable(read(url, classOfT, (in, charset) -> gson.fromJson(new InputStreamReader(in, charset), classOfT), false));
+		} catch (JsonSyntaxException | JsonIOException e) {
+			rethrowIOException(e);
 			return Optional.empty();
 		}
 	}
@@ -101,8 +799,58 @@ public final class HttpClient implements Client {
 	public ImmutableList<CSVRecord> fromCSV(String url) throws IOException {
 		Preconditions.checkNotNull(url);
 
-		try (CSVParser parser = CSVParser.parse(stringFrom(url), CSV_FORMAT)) {
-			return ImmutableList.copyOf(parser.getRecords());
-		}
+		return read(url, CSV_RECORDS, (in, charset) -> {
+			try (CSVParser parser = CSV_FORMAT.parse(new InputStreamReader(in, charset))) {
+				return ImmutableList.copyOf(parser.getRecords());
+			}
+		}, false);
+	}
+
+	/**
+	 * Deserializes a CSV file from a specified URL by passing its raw bytes to a {@link CSVDecoder}.
+	 * <p>
+	 * The total timeout only bounds the time until the response arrives, so that a decoder that passes what it decodes
+	 * on to a slow consumer is not aborted. The {@link Deadline} in effect, if any, still bounds the whole request.
+	 * <p>
+	 * The file is passed to the decoder as it arrives. It is served from the {@link DiskCache}, if any, when
+	 * {@link #fromCSV(String)} has cached it, but never written to it from here.
+	 * @param url The URL to deserialize from.
+	 * @param decoder The {@link CSVDecoder}.
+	 * @param <T> The type of the desired object.
+	 * @return An {@link Optional} containing the decoded object, or {@link Optional#empty()} if the file could not be decoded.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public <T> Optional<T> fromCSV(String url, CSVDecoder<T> decoder) throws IOException {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(decoder);
+		return stream(url, (in, charset) -> decoder.decode(in));
+	}
+
+	/**
+	 * Gets a snapshot of the statistics of this client.
+	 * @return The {@link HttpStats}.
+	 */
+	public HttpStats stats() {
+		return new HttpStats(validated.size(), conditionalRequests.sum(), notModified.sum(), bytesSaved.sum(), sums(bytesReceived), sums(bytesDecoded));
+	}
+
+	/**
+	 * Sums the counters of each {@link Endpoint}.
+	 * @param counters The counters of each {@link Endpoint}.
+	 * @return An {@link ImmutableMap} of {@link Endpoint}s to their sums.
+	 */
+	private static ImmutableMap<Endpoint, Long> sums(ImmutableMap<Endpoint, LongAdder> counters) {
+		return Maps.immutableEnumMap(Maps.transformValues(counters, LongAdder::sum));
+	}
+
+	/**
+	 * Closes the connection pool, releasing every connection it holds. The {@link DiskCache}, if any, is left open.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		timer.shutdownNow();
+		client.close();
 	}
 }
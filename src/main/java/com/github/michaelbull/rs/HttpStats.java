@@ -0,0 +1,148 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Objects;
+
+/**
+ * Represents a snapshot of the statistics of an {@link HttpClient}.
+ */
+public final class HttpStats {
+
+	/**
+	 * The amount of URLs whose validators are remembered.
+	 */
+	private final long validatorCount;
+
+	/**
+	 * The amount of requests sent with validators.
+	 */
+	private final long conditionalRequestCount;
+
+	/**
+	 * The amount of conditional requests answered with {@code 304 Not Modified}.
+	 */
+	private final long notModifiedCount;
+
+	/**
+	 * The amount of body bytes that were not downloaded again thanks to {@code 304 Not Modified} responses.
+	 */
+	private final long bytesSaved;
+
+	/**
+	 * The amount of body bytes received from each {@link Endpoint}, before decompression.
+	 */
+	private final ImmutableMap<Endpoint, Long> bytesReceived;
+
+	/**
+	 * The amount of body bytes decoded from each {@link Endpoint}, after decompression.
+	 */
+	private final ImmutableMap<Endpoint, Long> bytesDecoded;
+
+	/**
+	 * Creates a new {@link HttpStats}.
+	 * @param validatorCount The amount of URLs whose validators are remembered.
+	 * @param conditionalRequestCount The amount of requests sent with validators.
+	 * @param notModifiedCount The amount of conditional requests answered with {@code 304 Not Modified}.
+	 * @param bytesSaved The amount of body bytes that were not downloaded again.
+	 * @param bytesReceived The amount of body bytes received from each {@link Endpoint}, before decompression.
+	 * @param bytesDecoded The amount of body bytes decoded from each {@link Endpoint}, after decompression.
+	 */
+	HttpStats(long validatorCount, long conditionalRequestCount, long notModifiedCount, long bytesSaved, ImmutableMap<Endpoint, Long> bytesReceived, ImmutableMap<Endpoint, Long> bytesDecoded) {
+		this.validatorCount = validatorCount;
+		this.conditionalRequestCount = conditionalRequestCount;
+		this.notModifiedCount = notModifiedCount;
+		this.bytesSaved = bytesSaved;
+		this.bytesReceived = Preconditions.checkNotNull(bytesReceived);
+		this.bytesDecoded = Preconditions.checkNotNull(bytesDecoded);
+	}
+
+	/**
+	 * Gets the amount of URLs whose validators ({@code ETag} or {@code Last-Modified}) are remembered.
+	 * @return The amount of validators.
+	 */
+	public long getValidatorCount() {
+		return validatorCount;
+	}
+
+	/**
+	 * Gets the amount of requests sent with {@code If-None-Match} or {@code If-Modified-Since}.
+	 * @return The amount of conditional requests.
+	 */
+	public long getConditionalRequestCount() {
+		return conditionalRequestCount;
+	}
+
+	/**
+	 * Gets the amount of conditional requests answered with {@code 304 Not Modified}, whose previously deserialized
+	 * object was reused.
+	 * @return The amount of {@code 304 Not Modified} responses.
+	 */
+	public long getNotModifiedCount() {
+		return notModifiedCount;
+	}
+
+	/**
+	 * Gets the amount of body bytes that were not downloaded again thanks to {@code 304 Not Modified} responses,
+	 * measured by the size of the body each one revalidated.
+	 * @return The amount of bytes saved.
+	 */
+	public long getBytesSaved() {
+		return bytesSaved;
+	}
+
+	/**
+	 * Gets the amount of body bytes received from an {@link Endpoint}, before decompression.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return The amount of bytes received.
+	 */
+	public long getBytesReceived(Endpoint endpoint) {
+		return bytesReceived.getOrDefault(Preconditions.checkNotNull(endpoint), 0L);
+	}
+
+	/**
+	 * Gets the amount of body bytes decoded from an {@link Endpoint}, after decompression. Compared to the
+	 * {@link #getBytesReceived(Endpoint) bytes received}, this shows how much compression saved.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return The amount of bytes decoded.
+	 */
+	public long getBytesDecoded(Endpoint endpoint) {
+		return bytesDecoded.getOrDefault(Preconditions.checkNotNull(endpoint), 0L);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		HttpStats that = (HttpStats) o;
+		return validatorCount == that.validatorCount
+			&& conditionalRequestCount == that.conditionalRequestCount
+			&& notModifiedCount == that.notModifiedCount
+			&& bytesSaved == that.bytesSaved
+			&& Objects.equals(bytesReceived, that.bytesReceived)
+			&& Objects.equals(bytesDecoded, that.bytesDecoded);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(validatorCount, conditionalRequestCount, notModifiedCount, bytesSaved, bytesReceived, bytesDecoded);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("validatorCount", validatorCount)
+			.add("conditionalRequestCount", conditionalRequestCount)
+			.add("notModifiedCount", notModifiedCount)
+			.add("bytesSaved", bytesSaved)
+			.add("bytesReceived", bytesReceived)
+			.add("bytesDecoded", bytesDecoded)
+			.toString();
+	}
+}
@@ -0,0 +1,178 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Client} that decorates another {@link Client}, passing each of its requests through
+ * {@link #intercept(Call)} before it reaches the delegate.
+ */
+public abstract class InterceptingClient implements Client {
+
+	/**
+	 * Represents a single request made through an {@link InterceptingClient}.
+	 * <p>
+	 * Two {@link Call}s are equal if they request the same URL into the same target, where the target is the
+	 * {@link Type}, {@link Class} or {@link CSVDecoder} the response is deserialized with.
+	 * @param <T> The type of the result of the request.
+	 */
+	public static final class Call<T> {
+
+		/**
+		 * Performs a request through the delegate {@link Client}.
+		 * @param <T> The type of the result of the request.
+		 */
+		@FunctionalInterface
+		private interface Proceeding<T> {
+			T proceed() throws IOException;
+		}
+
+		/**
+		 * The target of a request that is deserialized into {@link CSVRecord}s.
+		 */
+		private static final Object CSV_RECORDS = new Object() {
+			@Override
+			public String toString() {
+				return "CSVRecord";
+			}
+		};
+
+		/**
+		 * The URL requested.
+		 */
+		private final String url;
+
+		/**
+		 * The target the response is deserialized with.
+		 */
+		private final Object target;
+
+		/**
+		 * The {@link Proceeding} that performs this request through the delegate {@link Client}.
+		 */
+		private final Proceeding<T> proceeding;
+
+		/**
+		 * Creates a new {@link Call}.
+		 * @param url The URL requested.
+		 * @param target The target the response is deserialized with.
+		 * @param proceeding The {@link Proceeding} that performs this request through the delegate {@link Client}.
+		 */
+		private Call(String url, Object target, Proceeding<T> proceeding) {
+			this.url = Preconditions.checkNotNull(url);
+			this.target = Preconditions.checkNotNull(target);
+			this.proceeding = proceeding;
+		}
+
+		/**
+		 * Gets the URL requested.
+		 * @return The URL requested.
+		 */
+		public String getUrl() {
+			return url;
+		}
+
+		/**
+		 * Gets the target the response is deserialized with.
+		 * @return The {@link Type}, {@link Class} or {@link CSVDecoder} the response is deserialized with, or an opaque
+		 * marker if the response is deserialized into {@link CSVRecord}s.
+		 */
+		public Object getTarget() {
+			return target;
+		}
+
+		/**
+		 * Performs this request through the delegate {@link Client}.
+		 * @return The result of the request.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public T proceed() throws IOException {
+			return proceeding.proceed();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Call<?> call = (Call<?>) o;
+			return Objects.equals(url, call.url)
+				&& Objects.equals(target, call.target);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(url, target);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("url", url)
+				.add("target", target)
+				.toString();
+		}
+	}
+
+	/**
+	 * The {@link Client} being decorated.
+	 */
+	private final Client delegate;
+
+	/**
+	 * Creates a new {@link InterceptingClient}.
+	 * @param delegate The {@link Client} being decorated.
+	 */
+	protected InterceptingClient(Client delegate) {
+		this.delegate = Preconditions.checkNotNull(delegate);
+	}
+
+	/**
+	 * Intercepts a request made through this client. Implementations perform the request by calling
+	 * {@link Call#proceed()}, or answer it themselves.
+	 * @param call The {@link Call}.
+	 * @param <T> The type of the result of the request.
+	 * @return The result of the request.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected abstract <T> T intercept(Call<T> call) throws IOException;
+
+	@Override
+	public final <T> Optional<T> fromJson(String url, Type typeOfT) throws IOException {
+		return intercept(new Call<>(url, typeOfT, () -> delegate.fromJson(url, typeOfT)));
+	}
+
+	@Override
+	public final <T> Optional<T> fromJson(String url, Class<T> classOfT) throws IOException {
+		return intercept(new Call<>(url, classOfT, () -> delegate.fromJson(url, classOfT)));
+	}
+
+	@Override
+	public final ImmutableList<CSVRecord> fromCSV(String url) throws IOException {
+		return intercept(new Call<>(url, Call.CSV_RECORDS, () -> delegate.fromCSV(url)));
+	}
+
+	@Override
+	public final <T> Optional<T> fromCSV(String url, CSVDecoder<T> decoder) throws IOException {
+		return intercept(new Call<>(url, decoder, () -> delegate.fromCSV(url, decoder)));
+	}
+
+	/**
+	 * Closes the {@link Client} being decorated.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
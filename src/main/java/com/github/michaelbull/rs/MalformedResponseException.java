@@ -0,0 +1,25 @@
+package com.github.michaelbull.rs;
+
+import java.io.IOException;
+
+/**
+ * Signals that a RuneScape web-service answered a request with {@code 200 OK} but a body that is not well-formed JSON,
+ * such as one cut short or garbled in transit. A {@link RetryingClient} retries requests that fail with it as its
+ * {@link RetryPolicy} allows.
+ */
+public final class MalformedResponseException extends IOException {
+
+	/**
+	 * The version of the serialized form of {@link MalformedResponseException}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a new {@link MalformedResponseException}.
+	 * @param url The URL requested.
+	 * @param cause The exception the body failed to parse with.
+	 */
+	MalformedResponseException(String url, Throwable cause) {
+		super("Malformed response from " + url, cause);
+	}
+}
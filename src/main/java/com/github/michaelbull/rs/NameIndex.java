@@ -0,0 +1,301 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable in-memory index of names, such as the labels of bestiary search results or the names of Grand Exchange
+ * items, that finds the names starting with a prefix, or containing a word starting with a prefix, without a request
+ * to the web-services.
+ * <p>
+ * Rather than a tree of nodes, the index is a trie flattened into sorted arrays: every name is stored in a single
+ * {@code char[]} in case-insensitive order, so the names sharing a prefix form a contiguous range that is found by
+ * binary search, and the start of every word is stored in a second array sorted by the text that follows it. A lookup
+ * costs {@code O(log n)} comparisons plus one step per match returned, and an index of tens of thousands of names
+ * occupies a few hundred kilobytes, as reported by {@link #getEstimatedBytes()}.
+ */
+public final class NameIndex {
+
+	public static final class Builder {
+		private final Map<Integer, String> names = new LinkedHashMap<>();
+
+		private Builder() {
+			/* empty */
+		}
+
+		public Builder put(int id, String name) {
+			Preconditions.checkNotNull(name);
+			names.put(id, name);
+			return this;
+		}
+
+		public Builder putAll(Map<Integer, String> names) {
+			names.forEach(this::put);
+			return this;
+		}
+
+		public NameIndex build() {
+			return new NameIndex(names);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a {@link NameIndex} of ids to names, such as the results of a bestiary search.
+	 * @param names A {@link Map} of ids to names.
+	 * @return The {@link NameIndex}.
+	 */
+	public static NameIndex of(Map<Integer, String> names) {
+		return builder().putAll(names).build();
+	}
+
+	/**
+	 * The approximate size of an object header or array header, in bytes.
+	 */
+	private static final int HEADER_BYTES = 16;
+
+	/**
+	 * The ids of the names, by ordinal.
+	 */
+	private final int[] ids;
+
+	/**
+	 * The characters of every name, concatenated in case-insensitive order.
+	 */
+	private final char[] chars;
+
+	/**
+	 * The offsets of each name within {@link #chars}, by ordinal, followed by the length of {@link #chars}.
+	 */
+	private final int[] offsets;
+
+	/**
+	 * The offsets within {@link #chars} at which each word starts, in case-insensitive order of the text that follows.
+	 */
+	private final int[] words;
+
+	/**
+	 * The ordinals of the names containing each word, parallel to the {@link #words}.
+	 */
+	private final int[] wordOrdinals;
+
+	/**
+	 * Creates a new {@link NameIndex}.
+	 * @param names A {@link Map} of ids to names.
+	 */
+	private NameIndex(Map<Integer, String> names) {
+		List<Map.Entry<Integer, String>> entries = new ArrayList<>(names.entrySet());
+		entries.sort(Comparator.comparing((Map.Entry<Integer, String> entry) -> entry.getValue(), String.CASE_INSENSITIVE_ORDER)
+			.thenComparing(Map.Entry::getKey));
+
+		int size = entries.size();
+		this.ids = new int[size];
+		this.offsets = new int[size + 1];
+
+		StringBuilder builder = new StringBuilder();
+		for (int ordinal = 0; ordinal < size; ordinal++) {
+			Map.Entry<Integer, String> entry = entries.get(ordinal);
+			ids[ordinal] = entry.getKey();
+			offsets[ordinal] = builder.length();
+			builder.append(entry.getValue());
+		}
+		offsets[size] = builder.length();
+
+		this.chars = new char[builder.length()];
+		builder.getChars(0, builder.length(), chars, 0);
+
+		List<int[]> starts = new ArrayList<>();
+		for (int ordinal = 0; ordinal < size; ordinal++) {
+			for (int offset = offsets[ordinal]; offset < offsets[ordinal + 1]; offset++) {
+				boolean wordStart = offset == offsets[ordinal] || !Character.isLetterOrDigit(chars[offset - 1]);
+				if (wordStart && Character.isLetterOrDigit(chars[offset])) {
+					starts.add(new int[] { offset, ordinal });
+				}
+			}
+		}
+		starts.sort((a, b) -> compare(a[0], offsets[a[1] + 1], b[0], offsets[b[1] + 1]));
+
+		this.words = new int[starts.size()];
+		this.wordOrdinals = new int[starts.size()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = starts.get(i)[0];
+			wordOrdinals[i] = starts.get(i)[1];
+		}
+	}
+
+	/**
+	 * Gets the amount of names in this index.
+	 * @return The amount of names.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Gets the amount of words in this index.
+	 * @return The amount of words.
+	 */
+	public int getWords() {
+		return words.length;
+	}
+
+	/**
+	 * Estimates the amount of memory occupied by this index.
+	 * @return The approximate amount of bytes.
+	 */
+	public long getEstimatedBytes() {
+		return HEADER_BYTES * 6
+			+ (long) Character.BYTES * chars.length
+			+ (long) Integer.BYTES * (ids.length + offsets.length + words.length + wordOrdinals.length);
+	}
+
+	/**
+	 * Finds the names that start with a prefix, ignoring case.
+	 * @param prefix The prefix.
+	 * @param limit The maximum amount of names to find.
+	 * @return An {@link ImmutableMap} of ids to names, in case-insensitive order of name.
+	 */
+	public ImmutableMap<Integer, String> startingWith(String prefix, int limit) {
+		Preconditions.checkNotNull(prefix);
+		Preconditions.checkArgument(limit >= 0, "Limit must not be negative.");
+
+		ImmutableMap.Builder<Integer, String> builder = ImmutableMap.builder();
+		int low = 0;
+		int high = ids.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (comparePrefix(offsets[middle], offsets[middle + 1], prefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		int end = low + Math.min(limit, ids.length - low);
+		for (int ordinal = low; ordinal < end && comparePrefix(offsets[ordinal], offsets[ordinal + 1], prefix) == 0; ordinal++) {
+			builder.put(ids[ordinal], name(ordinal));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Finds the names that contain a word starting with a prefix, ignoring case. Words are runs of letters and digits,
+	 * so a prefix of {@code "she"} finds both {@code "Sheep"} and {@code "Golden sheep"}.
+	 * @param prefix The prefix.
+	 * @param limit The maximum amount of names to find.
+	 * @return An {@link ImmutableMap} of ids to names, in case-insensitive order of the matching word.
+	 */
+	public ImmutableMap<Integer, String> containingWord(String prefix, int limit) {
+		Preconditions.checkNotNull(prefix);
+		Preconditions.checkArgument(limit >= 0, "Limit must not be negative.");
+
+		ImmutableMap.Builder<Integer, String> builder = ImmutableMap.builder();
+		int low = 0;
+		int high = words.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (comparePrefix(words[middle], offsets[wordOrdinals[middle] + 1], prefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		BitSet found = new BitSet(ids.length);
+		int count = 0;
+		for (int i = low; i < words.length && count < limit; i++) {
+			int ordinal = wordOrdinals[i];
+			if (comparePrefix(words[i], offsets[ordinal + 1], prefix) != 0) {
+				break;
+			}
+			if (!found.get(ordinal)) {
+				found.set(ordinal);
+				count++;
+				builder.put(ids[ordinal], name(ordinal));
+			}
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Gets a name by its ordinal.
+	 * @param ordinal The ordinal.
+	 * @return The name.
+	 */
+	private String name(int ordinal) {
+		return new String(chars, offsets[ordinal], offsets[ordinal + 1] - offsets[ordinal]);
+	}
+
+	/**
+	 * Compares the start of a range of {@link #chars} to a prefix, ignoring case.
+	 * @param start The offset of the range, inclusive.
+	 * @param end The offset of the range, exclusive.
+	 * @param prefix The prefix.
+	 * @return Zero if the range starts with the prefix, or a negative or positive integer if the range is ordered before
+	 * or after the names that start with the prefix.
+	 */
+	private int comparePrefix(int start, int end, String prefix) {
+		int length = Math.min(end - start, prefix.length());
+		for (int i = 0; i < length; i++) {
+			int difference = fold(chars[start + i]) - fold(prefix.charAt(i));
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return end - start < prefix.length() ? -1 : 0;
+	}
+
+	/**
+	 * Compares two ranges of {@link #chars}, ignoring case.
+	 * @param start The offset of the first range, inclusive.
+	 * @param end The offset of the first range, exclusive.
+	 * @param otherStart The offset of the second range, inclusive.
+	 * @param otherEnd The offset of the second range, exclusive.
+	 * @return A negative integer, zero, or a positive integer if the first range is less than, equal to, or greater than
+	 * the second.
+	 */
+	private int compare(int start, int end, int otherStart, int otherEnd) {
+		int length = Math.min(end - start, otherEnd - otherStart);
+		for (int i = 0; i < length; i++) {
+			int difference = fold(chars[start + i]) - fold(chars[otherStart + i]);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return Ints.compare(end - start, otherEnd - otherStart);
+	}
+
+	/**
+	 * Folds the case of a character, in the same manner as {@link String#CASE_INSENSITIVE_ORDER}.
+	 * @param c The character.
+	 * @return The folded character.
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("names", size())
+			.add("words", getWords())
+			.add("estimatedBytes", getEstimatedBytes())
+			.toString();
+	}
+}
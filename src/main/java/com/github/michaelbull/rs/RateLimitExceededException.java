@@ -0,0 +1,56 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals that a {@link RateLimitedClient} refused a request because the {@link TokenBucket} of its {@link Endpoint}
+ * was empty.
+ */
+public final class RateLimitExceededException extends IOException {
+
+	/**
+	 * The version of the serialized form of {@link RateLimitExceededException}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The {@link Endpoint} whose {@link TokenBucket} was empty.
+	 */
+	private final Endpoint endpoint;
+
+	/**
+	 * The amount of nanoseconds until a permit will be available.
+	 */
+	private final long retryAfterNanos;
+
+	/**
+	 * Creates a new {@link RateLimitExceededException}.
+	 * @param endpoint The {@link Endpoint} whose {@link TokenBucket} was empty.
+	 * @param retryAfterNanos The amount of nanoseconds until a permit will be available.
+	 */
+	RateLimitExceededException(Endpoint endpoint, long retryAfterNanos) {
+		super("Rate limit of " + Preconditions.checkNotNull(endpoint) + " exceeded, retry after " + TimeUnit.NANOSECONDS.toMillis(retryAfterNanos) + "ms.");
+		this.endpoint = endpoint;
+		this.retryAfterNanos = retryAfterNanos;
+	}
+
+	/**
+	 * Gets the {@link Endpoint} whose {@link TokenBucket} was empty.
+	 * @return The {@link Endpoint}.
+	 */
+	public Endpoint getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * Gets the time until a permit will be available, assuming no other request takes it first.
+	 * @param unit The {@link TimeUnit} of the time.
+	 * @return The time until a permit will be available.
+	 */
+	public long getRetryAfter(TimeUnit unit) {
+		return unit.convert(retryAfterNanos, TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,175 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Client} that paces the requests made to each {@link Endpoint} of another {@link Client} with a
+ * {@link TokenBucket}, so that large fan-outs stay below the rate at which the RuneScape services start throttling.
+ * <p>
+ * When the bucket of an {@link Endpoint} is empty, a request either waits until its permit is due (the default), or,
+ * if the client fails fast, is refused with a {@link RateLimitExceededException}. Requests to URLs that belong to no
+ * limited {@link Endpoint} are never delayed. A request never waits past the {@link Deadline} in effect, if any: if its
+ * permit would not be due in time, it is refused with a {@link DeadlineExceededException} without taking the permit.
+ * <p>
+ * A {@link RetryingClient} belongs outside this client, so that every retry takes a permit of its own.
+ */
+public final class RateLimitedClient extends InterceptingClient {
+
+	public static final class Builder {
+		private final Client delegate;
+		private final Map<Endpoint, Limit> limits = new EnumMap<>(Endpoint.class);
+		private boolean failFast = false;
+		private Ticker ticker = Ticker.systemTicker();
+
+		private Builder(Client delegate) {
+			this.delegate = Preconditions.checkNotNull(delegate);
+		}
+
+		public Builder limit(Endpoint endpoint, int permits, long period, TimeUnit unit, int burst) {
+			Preconditions.checkNotNull(endpoint);
+			Preconditions.checkNotNull(unit);
+			Preconditions.checkArgument(permits > 0, "Permits must be positive.");
+			Preconditions.checkArgument(period > 0, "Period must be positive.");
+			Preconditions.checkArgument(burst > 0, "Burst must be positive.");
+			limits.put(endpoint, new Limit(permits, unit.toNanos(period), burst));
+			return this;
+		}
+
+		public Builder failFast() {
+			this.failFast = true;
+			return this;
+		}
+
+		Builder ticker(Ticker ticker) {
+			this.ticker = Preconditions.checkNotNull(ticker);
+			return this;
+		}
+
+		public RateLimitedClient build() {
+			return new RateLimitedClient(this);
+		}
+	}
+
+	public static Builder builder(Client delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * The rate configured for an {@link Endpoint}.
+	 */
+	private static final class Limit {
+
+		/**
+		 * The amount of permits refilled per period.
+		 */
+		private final int permits;
+
+		/**
+		 * The period in nanoseconds.
+		 */
+		private final long periodNanos;
+
+		/**
+		 * The maximum amount of permits held at once.
+		 */
+		private final int burst;
+
+		/**
+		 * Creates a new {@link Limit}.
+		 * @param permits The amount of permits refilled per period.
+		 * @param periodNanos The period in nanoseconds.
+		 * @param burst The maximum amount of permits held at once.
+		 */
+		private Limit(int permits, long periodNanos, int burst) {
+			this.permits = permits;
+			this.periodNanos = periodNanos;
+			this.burst = burst;
+		}
+	}
+
+	/**
+	 * The {@link TokenBucket} of each limited {@link Endpoint}.
+	 */
+	private final ImmutableMap<Endpoint, TokenBucket> buckets;
+
+	/**
+	 * Whether requests are refused rather than delayed when their bucket is empty.
+	 */
+	private final boolean failFast;
+
+	/**
+	 * Creates a new {@link RateLimitedClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private RateLimitedClient(Builder builder) {
+		super(builder.delegate);
+		this.buckets = Maps.immutableEnumMap(Maps.transformValues(builder.limits, limit ->
+			new TokenBucket(limit.permits, limit.periodNanos, TimeUnit.NANOSECONDS, limit.burst, builder.ticker)));
+		this.failFast = builder.failFast;
+	}
+
+	@Override
+	protected <T> T intercept(Call<T> call) throws IOException {
+		Optional<Endpoint> endpoint = Endpoint.of(call.getUrl());
+		TokenBucket bucket = endpoint.isPresent() ? buckets.get(endpoint.get()) : null;
+
+		if (bucket != null) {
+			acquire(endpoint.get(), bucket);
+		}
+
+		return call.proceed();
+	}
+
+	/**
+	 * Takes a permit from the {@link TokenBucket} of an {@link Endpoint}.
+	 * @param endpoint The {@link Endpoint}.
+	 * @param bucket The {@link TokenBucket}.
+	 * @throws RateLimitExceededException If the client fails fast and the bucket is empty.
+	 * @throws DeadlineExceededException If the permit would not be due before the {@link Deadline} in effect.
+	 * @throws InterruptedIOException If the calling thread is interrupted while waiting for its permit.
+	 */
+	private void acquire(Endpoint endpoint, TokenBucket bucket) throws IOException {
+		if (failFast) {
+			long wait = bucket.tryAcquire();
+			if (wait > 0) {
+				throw new RateLimitExceededException(endpoint, wait);
+			}
+			return;
+		}
+
+		long maxWait = Deadline.current().map(deadline -> deadline.remaining(TimeUnit.NANOSECONDS)).orElse(Long.MAX_VALUE);
+		long wait = bucket.reserve(maxWait);
+		if (wait < 0) {
+			throw new DeadlineExceededException("Deadline exceeded before the rate limit of " + endpoint + " would allow a request.");
+		} else if (wait > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for the rate limit of " + endpoint + ".");
+				exception.initCause(e);
+				throw exception;
+			}
+		}
+	}
+
+	/**
+	 * Gets the {@link TokenBucket} of an {@link Endpoint}.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return An {@link Optional} containing the {@link TokenBucket}, or {@link Optional#empty()} if the
+	 * {@link Endpoint} is not limited.
+	 */
+	public Optional<TokenBucket> getBucket(Endpoint endpoint) {
+		return Optional.ofNullable(buckets.get(Preconditions.checkNotNull(endpoint)));
+	}
+}
@@ -0,0 +1,66 @@
+package com.github.michaelbull.rs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A budget of extra requests, such as the retries of a {@link RetryingClient} or the hedges of a {@link HedgingClient},
+ * shared by every request of a client. Each request earns the budget a fraction of an extra request, up to a reserve.
+ * <p>
+ * The balance is held in thousandths of a retry, so that the fraction each request earns can be added without locks.
+ */
+final class RetryBudget {
+
+	/**
+	 * The amount of thousandths in a retry.
+	 */
+	private static final long SCALE = 1_000;
+
+	/**
+	 * The thousandths of a retry each request earns.
+	 */
+	private final long deposit;
+
+	/**
+	 * The maximum balance in thousandths of a retry.
+	 */
+	private final long capacity;
+
+	/**
+	 * The balance in thousandths of a retry.
+	 */
+	private final AtomicLong balance;
+
+	/**
+	 * Creates a new {@link RetryBudget}, which starts with its reserve.
+	 * @param ratio The fraction of a retry each request earns.
+	 * @param reserve The maximum amount of retries held by the budget.
+	 */
+	RetryBudget(double ratio, int reserve) {
+		this.deposit = Math.round(ratio * SCALE);
+		this.capacity = Math.max(1, reserve) * SCALE;
+		this.balance = new AtomicLong(reserve * SCALE);
+	}
+
+	/**
+	 * Earns the budget the fraction of a retry that a request is worth.
+	 */
+	void deposit() {
+		balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+	}
+
+	/**
+	 * Spends a retry from the budget, if it holds one.
+	 * @return {@code true} if a retry was spent, otherwise {@code false}.
+	 */
+	boolean tryWithdraw() {
+		while (true) {
+			long current = balance.get();
+			if (current < SCALE) {
+				return false;
+			}
+			if (balance.compareAndSet(current, current - SCALE)) {
+				return true;
+			}
+		}
+	}
+}
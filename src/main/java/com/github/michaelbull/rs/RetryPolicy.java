@@ -0,0 +1,209 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the policy that determines how a {@link RetryingClient} retries requests that failed transiently.
+ * <p>
+ * The delay before each retry is drawn with decorrelated jitter: uniformly between the base delay and three times the
+ * previous delay, capped at the maximum delay, so that clients that failed together do not retry together.
+ * <p>
+ * Every attempt at a request, and the waits between them, must fit within a total timeout, which is shortened by the
+ * {@link Deadline} in effect on the calling thread, if any.
+ * <p>
+ * Retries are also limited by a budget shared by every request of the client. The budget holds up to a reserve of
+ * retries, each request earns it a fraction of a retry, and each retry spends a whole one. While the service is
+ * healthy the reserve stays full, but during an outage retries can add no more than that fraction to the load.
+ */
+public final class RetryPolicy {
+
+	public static final class Builder {
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		private long baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BASE_DELAY_MILLIS);
+		private long maxDelayNanos = TimeUnit.SECONDS.toNanos(DEFAULT_MAX_DELAY_SECONDS);
+		private long totalTimeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TOTAL_TIMEOUT_SECONDS);
+		private double budgetRatio = DEFAULT_BUDGET_RATIO;
+		private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+
+		private Builder() {
+			/* empty */
+		}
+
+		public Builder maxAttempts(int maxAttempts) {
+			Preconditions.checkArgument(maxAttempts > 0, "Maximum attempts must be positive.");
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		public Builder backoff(long baseDelay, long maxDelay, TimeUnit unit) {
+			Preconditions.checkArgument(baseDelay >= 0, "Base delay must not be negative.");
+			Preconditions.checkArgument(maxDelay >= baseDelay, "Maximum delay must not be less than the base delay.");
+			this.baseDelayNanos = unit.toNanos(baseDelay);
+			this.maxDelayNanos = unit.toNanos(maxDelay);
+			return this;
+		}
+
+		public Builder totalTimeout(long totalTimeout, TimeUnit unit) {
+			Preconditions.checkArgument(totalTimeout > 0, "Total timeout must be positive.");
+			this.totalTimeoutNanos = unit.toNanos(totalTimeout);
+			return this;
+		}
+
+		public Builder budget(double ratio, int reserve) {
+			Preconditions.checkArgument(ratio >= 0, "Budget ratio must not be negative.");
+			Preconditions.checkArgument(reserve >= 0, "Budget reserve must not be negative.");
+			this.budgetRatio = ratio;
+			this.budgetReserve = reserve;
+			return this;
+		}
+
+		public RetryPolicy build() {
+			return new RetryPolicy(maxAttempts, baseDelayNanos, maxDelayNanos, totalTimeoutNanos, budgetRatio, budgetReserve);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a {@link RetryPolicy} that makes up to three attempts within 60 seconds, backing off from 100 milliseconds
+	 * to 5 seconds, with retries budgeted to a tenth of the requests beyond a reserve of ten.
+	 * @return The {@link RetryPolicy}.
+	 */
+	public static RetryPolicy defaults() {
+		return builder().build();
+	}
+
+	/**
+	 * Creates a {@link RetryPolicy} that never retries.
+	 * @return The {@link RetryPolicy}.
+	 */
+	public static RetryPolicy none() {
+		return builder().maxAttempts(1).build();
+	}
+
+	/**
+	 * The default maximum amount of attempts of a request, including the first.
+	 */
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/**
+	 * The default base delay in milliseconds.
+	 */
+	private static final long DEFAULT_BASE_DELAY_MILLIS = 100;
+
+	/**
+	 * The default maximum delay in seconds.
+	 */
+	private static final long DEFAULT_MAX_DELAY_SECONDS = 5;
+
+	/**
+	 * The default amount of seconds a request may take in total, including its retries.
+	 */
+	private static final long DEFAULT_TOTAL_TIMEOUT_SECONDS = 60;
+
+	/**
+	 * The default fraction of a retry each request earns the budget.
+	 */
+	private static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+	/**
+	 * The default maximum amount of retries held by the budget.
+	 */
+	private static final int DEFAULT_BUDGET_RESERVE = 10;
+
+	/**
+	 * The maximum amount of attempts of a request, including the first.
+	 */
+	private final int maxAttempts;
+
+	/**
+	 * The minimum delay before a retry, in nanoseconds.
+	 */
+	private final long baseDelayNanos;
+
+	/**
+	 * The maximum delay before a retry, in nanoseconds.
+	 */
+	private final long maxDelayNanos;
+
+	/**
+	 * The amount of nanoseconds a request may take in total, including its retries.
+	 */
+	private final long totalTimeoutNanos;
+
+	/**
+	 * The fraction of a retry each request earns the budget.
+	 */
+	private final double budgetRatio;
+
+	/**
+	 * The maximum amount of retries held by the budget, which it starts with.
+	 */
+	private final int budgetReserve;
+
+	/**
+	 * Creates a new {@link RetryPolicy}.
+	 * @param maxAttempts The maximum amount of attempts of a request, including the first.
+	 * @param baseDelayNanos The minimum delay before a retry, in nanoseconds.
+	 * @param maxDelayNanos The maximum delay before a retry, in nanoseconds.
+	 * @param totalTimeoutNanos The amount of nanoseconds a request may take in total, including its retries.
+	 * @param budgetRatio The fraction of a retry each request earns the budget.
+	 * @param budgetReserve The maximum amount of retries held by the budget.
+	 */
+	private RetryPolicy(int maxAttempts, long baseDelayNanos, long maxDelayNanos, long totalTimeoutNanos, double budgetRatio, int budgetReserve) {
+		this.maxAttempts = maxAttempts;
+		this.baseDelayNanos = baseDelayNanos;
+		this.maxDelayNanos = maxDelayNanos;
+		this.totalTimeoutNanos = totalTimeoutNanos;
+		this.budgetRatio = budgetRatio;
+		this.budgetReserve = budgetReserve;
+	}
+
+	/**
+	 * Draws the delay before the next retry.
+	 * @param previousDelayNanos The delay before the previous retry in nanoseconds, or zero before the first retry.
+	 * @return The delay in nanoseconds.
+	 */
+	long nextDelay(long previousDelayNanos) {
+		long upper = Math.min(maxDelayNanos, Math.max(baseDelayNanos, previousDelayNanos) * 3);
+		return upper <= baseDelayNanos ? baseDelayNanos : ThreadLocalRandom.current().nextLong(baseDelayNanos, upper + 1);
+	}
+
+	/**
+	 * Gets the maximum amount of attempts of a request, including the first.
+	 * @return The maximum amount of attempts.
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Gets the amount of time a request may take in total, including its retries.
+	 * @param unit The {@link TimeUnit} of the amount of time.
+	 * @return The total timeout.
+	 */
+	public long getTotalTimeout(TimeUnit unit) {
+		return unit.convert(totalTimeoutNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the fraction of a retry each request earns the budget.
+	 * @return The budget ratio.
+	 */
+	public double getBudgetRatio() {
+		return budgetRatio;
+	}
+
+	/**
+	 * Gets the maximum amount of retries held by the budget, which it starts with.
+	 * @return The budget reserve.
+	 */
+	public int getBudgetReserve() {
+		return budgetReserve;
+	}
+}
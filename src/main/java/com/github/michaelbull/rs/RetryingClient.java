@@ -0,0 +1,205 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.TruncatedChunkException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Client} that retries the requests of another {@link Client} that failed transiently, as its
+ * {@link RetryPolicy} allows: requests that timed out, whose connection was refused or dropped, or that failed with a
+ * {@link ServiceUnavailableException} or a {@link MalformedResponseException}. Requests decoded with a {@link CSVDecoder}, which may have side effects, are
+ * only retried if they failed before any of the body could have been decoded.
+ * <p>
+ * Every attempt is a request of its own to the {@link Client} being decorated, so this client belongs outside any
+ * {@link RateLimitedClient} or {@link CircuitBreakerClient}, where each retry takes a permit and counts towards the
+ * breaker:
+ * <pre>{@code
+ * Client client = RetryingClient.builder(
+ *     RateLimitedClient.builder(
+ *         CircuitBreakerClient.builder(new HttpClient()).build()
+ *     ).limit(Endpoint.HISCORES, 10, 1, TimeUnit.SECONDS, 10).build()
+ * ).build();
+ * }</pre>
+ * Every attempt, and the waits between them, must fit within the total timeout of the {@link RetryPolicy}, which is
+ * entered as a {@link Deadline} for the {@link Client} being decorated, and a retry is never made if its delay would
+ * outlast it. Requests decoded with a {@link CSVDecoder} may hand what they decode to a consumer for as long as it
+ * takes, so they are only bounded by the {@link Deadline} already in effect, if any.
+ */
+public final class RetryingClient extends InterceptingClient {
+
+	public static final class Builder {
+		private final Client delegate;
+		private RetryPolicy policy = RetryPolicy.defaults();
+
+		private Builder(Client delegate) {
+			this.delegate = Preconditions.checkNotNull(delegate);
+		}
+
+		public Builder policy(RetryPolicy policy) {
+			this.policy = Preconditions.checkNotNull(policy);
+			return this;
+		}
+
+		public RetryingClient build() {
+			return new RetryingClient(this);
+		}
+	}
+
+	public static Builder builder(Client delegate) {
+		return new Builder(delegate);
+	}
+
+	/**
+	 * The {@link RetryPolicy}.
+	 */
+	private final RetryPolicy policy;
+
+	/**
+	 * The {@link RetryBudget} shared by every request.
+	 */
+	private final RetryBudget budget;
+
+	/**
+	 * The amount of requests retried to each {@link Endpoint}.
+	 */
+	private final ImmutableMap<Endpoint, LongAdder> retries = Maps.immutableEnumMap(Maps.toMap(EnumSet.allOf(Endpoint.class), endpoint -> new LongAdder()));
+
+	/**
+	 * The amount of retries refused because the {@link #budget} was spent.
+	 */
+	private final LongAdder retriesRefused = new LongAdder();
+
+	/**
+	 * Creates a new {@link RetryingClient}.
+	 * @param builder The {@link Builder}.
+	 */
+	private RetryingClient(Builder builder) {
+		super(builder.delegate);
+		this.policy = builder.policy;
+		this.budget = new RetryBudget(builder.policy.getBudgetRatio(), builder.policy.getBudgetReserve());
+	}
+
+	@Override
+	protected <T> T intercept(Call<T> call) throws IOException {
+		if (call.getTarget() instanceof CSVDecoder) {
+			return retry(call, Deadline.current());
+		}
+
+		Deadline.Scope scope = Deadline.after(policy.getTotalTimeout(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS).enter();
+		try {
+			return retry(call, Deadline.current());
+		} finally {
+			scope.close();
+		}
+	}
+
+	/**
+	 * Makes a request, retrying it as the {@link RetryPolicy} allows while it fails transiently.
+	 * @param call The {@link Call}.
+	 * @param deadline The {@link Deadline} every attempt and wait must fit within, if any.
+	 * @param <T> The type of the result.
+	 * @return The result.
+	 * @throws IOException If the last attempt failed.
+	 */
+	private <T> T retry(Call<T> call, Optional<Deadline> deadline) throws IOException {
+		budget.deposit();
+		long delayNanos = 0;
+
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return call.proceed();
+			} catch (IOException e) {
+				if (attempt >= policy.getMaxAttempts() || !isTransient(e, call)) {
+					throw e;
+				}
+
+				delayNanos = policy.nextDelay(delayNanos);
+				if (deadline.isPresent() && delayNanos >= deadline.get().remaining(TimeUnit.NANOSECONDS)) {
+					throw e;
+				}
+				if (!budget.tryWithdraw()) {
+					retriesRefused.increment();
+					throw e;
+				}
+
+				Endpoint.of(call.getUrl()).ifPresent(endpoint -> retries.get(endpoint).increment());
+				sleep(delayNanos, e);
+			}
+		}
+	}
+
+	/**
+	 * Determines whether a request failed transiently and may succeed if retried: it timed out, its connection was
+	 * refused or dropped, including part way through a body, or the response was a server error, a throttling page or
+	 * malformed JSON. A request decoded with a {@link CSVDecoder} is only retried if it failed before its body was read:
+	 * the connection could not be made or was dropped before the response, or the response was a server error or a
+	 * throttling page.
+	 * @param e The exception the request failed with.
+	 * @param call The {@link Call}.
+	 * @return {@code true} if the failure is transient, otherwise {@code false}.
+	 */
+	private static boolean isTransient(IOException e, Call<?> call) {
+		boolean beforeBody = e instanceof ServiceUnavailableException
+			|| e instanceof ConnectTimeoutException
+			|| e instanceof ConnectException
+			|| e instanceof NoHttpResponseException;
+
+		boolean duringBody = e instanceof SocketTimeoutException
+			|| e instanceof SocketException
+			|| e instanceof ConnectionClosedException
+			|| e instanceof TruncatedChunkException
+			|| e instanceof MalformedResponseException;
+
+		return beforeBody || (!(call.getTarget() instanceof CSVDecoder) && duringBody);
+	}
+
+	/**
+	 * Waits before retrying a request.
+	 * @param delayNanos The amount of nanoseconds to wait.
+	 * @param failure The exception the request failed with, which is suppressed by the exception thrown if the wait is
+	 * interrupted.
+	 * @throws InterruptedIOException If the calling thread is interrupted while waiting.
+	 */
+	private static void sleep(long delayNanos, IOException failure) throws InterruptedIOException {
+		try {
+			TimeUnit.NANOSECONDS.sleep(delayNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting to retry a request.");
+			exception.initCause(e);
+			exception.addSuppressed(failure);
+			throw exception;
+		}
+	}
+
+	/**
+	 * Gets the amount of times requests to an {@link Endpoint} were retried.
+	 * @param endpoint The {@link Endpoint}.
+	 * @return The amount of retries.
+	 */
+	public long getRetryCount(Endpoint endpoint) {
+		return retries.get(Preconditions.checkNotNull(endpoint)).sum();
+	}
+
+	/**
+	 * Gets the amount of retries refused because the retry budget was spent.
+	 * @return The amount of refused retries.
+	 */
+	public long getRetriesRefusedCount() {
+		return retriesRefused.sum();
+	}
+}
@@ -1,13 +1,20 @@
 package com.github.michaelbull.rs;
 
+import com.github.michaelbull.rs.bestiary.AsyncBestiary;
 import com.github.michaelbull.rs.bestiary.Bestiary;
+import com.github.michaelbull.rs.ge.AsyncGrandExchange;
 import com.github.michaelbull.rs.ge.GrandExchange;
+import com.github.michaelbull.rs.hiscores.AsyncHiscores;
 import com.github.michaelbull.rs.hiscores.Hiscores;
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 /**
  * Represents an instance of the RuneScape web-services API.
  */
-public final class RuneScapeAPI {
+public final class RuneScapeAPI implements Closeable {
 
 	/**
 	 * Creates a new {@link RuneScapeAPI} backed by a specific {@link Client} implementation.
@@ -15,7 +22,17 @@ public final class RuneScapeAPI {
 	 * @return The {@link RuneScapeAPI}.
 	 */
 	public static RuneScapeAPI create(Client client) {
-		return new RuneScapeAPI(client);
+		return new RuneScapeAPI(client, null);
+	}
+
+	/**
+	 * Creates a new {@link RuneScapeAPI} backed by a specific {@link Client} and {@link AsyncClient} implementation.
+	 * @param client The {@link Client} implementation.
+	 * @param asyncClient The {@link AsyncClient} implementation.
+	 * @return The {@link RuneScapeAPI}.
+	 */
+	public static RuneScapeAPI create(Client client, AsyncClient asyncClient) {
+		return new RuneScapeAPI(client, Preconditions.checkNotNull(asyncClient));
 	}
 
 	/**
@@ -26,6 +43,24 @@ public final class RuneScapeAPI {
 		return create(new HttpClient());
 	}
 
+	/**
+	 * Creates a new {@link RuneScapeAPI} backed by a {@link HttpClient} and an {@link AsyncHttpClient}.
+	 * @return The {@link RuneScapeAPI}.
+	 */
+	public static RuneScapeAPI createAsyncHttp() {
+		return create(new HttpClient(), new AsyncHttpClient());
+	}
+
+	/**
+	 * The {@link Client} backing this API.
+	 */
+	private final Client client;
+
+	/**
+	 * The {@link AsyncClient} backing this API, or {@code null} if it was created without one.
+	 */
+	private final AsyncClient asyncClient;
+
 	/**
 	 * The {@link Bestiary}.
 	 */
@@ -44,8 +79,11 @@ public final class RuneScapeAPI {
 	/**
 	 * Creates a new {@link RuneScapeAPI}.
 	 * @param client The {@link Client} to use.
+	 * @param asyncClient The {@link AsyncClient} to use, or {@code null}.
 	 */
-	private RuneScapeAPI(Client client) {
+	private RuneScapeAPI(Client client, AsyncClient asyncClient) {
+		this.client = Preconditions.checkNotNull(client);
+		this.asyncClient = asyncClient;
 		this.bestiary = new Bestiary(client);
 		this.grandExchange = new GrandExchange(client);
 		this.hiscores = new Hiscores(client);
@@ -74,4 +112,56 @@ public final class RuneScapeAPI {
 	public Hiscores hiscores() {
 		return hiscores;
 	}
+
+	/**
+	 * Gets an {@link AsyncBestiary}.
+	 * @return The {@link AsyncBestiary}.
+	 * @throws IllegalStateException If this API was created without an {@link AsyncClient}.
+	 */
+	public AsyncBestiary asyncBestiary() {
+		return new AsyncBestiary(asyncClient());
+	}
+
+	/**
+	 * Gets an {@link AsyncGrandExchange}.
+	 * @return The {@link AsyncGrandExchange}.
+	 * @throws IllegalStateException If this API was created without an {@link AsyncClient}.
+	 */
+	public AsyncGrandExchange asyncGrandExchange() {
+		return new AsyncGrandExchange(asyncClient());
+	}
+
+	/**
+	 * Gets an {@link AsyncHiscores}.
+	 * @return The {@link AsyncHiscores}.
+	 * @throws IllegalStateException If this API was created without an {@link AsyncClient}.
+	 */
+	public AsyncHiscores asyncHiscores() {
+		return new AsyncHiscores(asyncClient());
+	}
+
+	/**
+	 * Gets the {@link AsyncClient} backing this API.
+	 * @return The {@link AsyncClient}.
+	 * @throws IllegalStateException If this API was created without an {@link AsyncClient}.
+	 */
+	private AsyncClient asyncClient() {
+		Preconditions.checkState(asyncClient != null, "This API was created without an AsyncClient.");
+		return asyncClient;
+	}
+
+	/**
+	 * Closes the {@link Client} and {@link AsyncClient} backing this API.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			client.close();
+		} finally {
+			if (asyncClient != null) {
+				asyncClient.close();
+			}
+		}
+	}
 }
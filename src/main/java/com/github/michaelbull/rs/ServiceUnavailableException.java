@@ -0,0 +1,54 @@
+package com.github.michaelbull.rs;
+
+import java.io.IOException;
+
+/**
+ * Signals that a RuneScape web-service failed to serve a request, either by answering with a server error or by
+ * throttling the client. A {@link RetryingClient} retries requests that fail with it as its {@link RetryPolicy} allows.
+ */
+public final class ServiceUnavailableException extends IOException {
+
+	/**
+	 * The version of the serialized form of {@link ServiceUnavailableException}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The status code of the last response.
+	 */
+	private final int statusCode;
+
+	/**
+	 * Whether the last response was a throttling page rather than a server error.
+	 */
+	private final boolean throttled;
+
+	/**
+	 * Creates a new {@link ServiceUnavailableException}.
+	 * @param url The URL requested.
+	 * @param statusCode The status code of the last response.
+	 * @param throttled Whether the last response was a throttling page rather than a server error.
+	 */
+	ServiceUnavailableException(String url, int statusCode, boolean throttled) {
+		super((throttled ? "Throttled by " : "Server error " + statusCode + " from ") + url);
+		this.statusCode = statusCode;
+		this.throttled = throttled;
+	}
+
+	/**
+	 * Gets the status code of the last response.
+	 * @return The status code.
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Determines whether the service was throttling the client, either with {@code 429 Too Many Requests} or an HTML
+	 * page served in place of the requested data.
+	 * @return {@code true} if the client was throttled, otherwise {@code false}.
+	 */
+	public boolean isThrottled() {
+		return throttled;
+	}
+}
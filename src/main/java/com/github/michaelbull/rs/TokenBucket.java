@@ -0,0 +1,227 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket that paces the requests made to a single {@link Endpoint} by a {@link RateLimitedClient}.
+ * <p>
+ * The bucket is implemented as a generic cell rate algorithm: rather than a count of tokens that is refilled over
+ * time, it holds a single theoretical arrival time, which each permit pushes back by one emission interval. A permit
+ * is available immediately as long as the theoretical arrival time lies no further ahead than the burst allows, so
+ * taking a permit is a single compare-and-set, without locks or a refilling thread.
+ */
+public final class TokenBucket {
+
+	/**
+	 * The {@link Ticker} that reads the time.
+	 */
+	private final Ticker ticker;
+
+	/**
+	 * The amount of nanoseconds it takes to refill a single permit.
+	 */
+	private final long intervalNanos;
+
+	/**
+	 * The maximum amount of permits held at once.
+	 */
+	private final int burst;
+
+	/**
+	 * The amount of nanoseconds the theoretical arrival time may lie ahead of the current time, which is the time it
+	 * takes to refill the whole bucket.
+	 */
+	private final long toleranceNanos;
+
+	/**
+	 * The theoretical arrival time of the next permit, in {@link Ticker} nanoseconds.
+	 */
+	private final AtomicLong arrival;
+
+	/**
+	 * The amount of permits that were taken without waiting.
+	 */
+	private final LongAdder immediate = new LongAdder();
+
+	/**
+	 * The amount of permits that were taken after waiting.
+	 */
+	private final LongAdder delayed = new LongAdder();
+
+	/**
+	 * The amount of permits that were refused rather than waited for.
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * The total amount of nanoseconds waited for permits.
+	 */
+	private final LongAdder waitedNanos = new LongAdder();
+
+	/**
+	 * Creates a new {@link TokenBucket}, which starts full.
+	 * @param permits The amount of permits refilled per period.
+	 * @param period The period.
+	 * @param unit The {@link TimeUnit} of the period.
+	 * @param burst The maximum amount of permits held at once.
+	 * @param ticker The {@link Ticker} that reads the time.
+	 */
+	TokenBucket(int permits, long period, TimeUnit unit, int burst, Ticker ticker) {
+		Preconditions.checkArgument(permits > 0, "Permits must be positive.");
+		Preconditions.checkArgument(period > 0, "Period must be positive.");
+		Preconditions.checkArgument(burst > 0, "Burst must be positive.");
+
+		this.ticker = Preconditions.checkNotNull(ticker);
+		this.intervalNanos = Math.max(1, unit.toNanos(period) / permits);
+		this.burst = burst;
+		this.toleranceNanos = intervalNanos * burst;
+		this.arrival = new AtomicLong(ticker.read());
+	}
+
+	/**
+	 * Takes a permit if one is available without waiting.
+	 * @return Zero if a permit was taken, otherwise the amount of nanoseconds until one will be available.
+	 */
+	long tryAcquire() {
+		while (true) {
+			long now = ticker.read();
+			long current = arrival.get();
+			long next = Math.max(current, now) + intervalNanos;
+			long wait = next - now - toleranceNanos;
+
+			if (wait > 0) {
+				rejected.increment();
+				return wait;
+			}
+
+			if (arrival.compareAndSet(current, next)) {
+				immediate.increment();
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Reserves a permit, which may lie in the future.
+	 * @return The amount of nanoseconds the caller must wait before using the permit, or zero if it is available now.
+	 */
+	long reserve() {
+		return reserve(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Reserves a permit, unless it lies further in the future than the caller can wait.
+	 * @param maxWaitNanos The maximum amount of nanoseconds the caller can wait.
+	 * @return The amount of nanoseconds the caller must wait before using the permit, zero if it is available now, or
+	 * {@code -1} if it was refused.
+	 */
+	long reserve(long maxWaitNanos) {
+		while (true) {
+			long now = ticker.read();
+			long current = arrival.get();
+			long next = Math.max(current, now) + intervalNanos;
+
+			if (next - now - toleranceNanos > maxWaitNanos) {
+				rejected.increment();
+				return -1;
+			}
+
+			if (arrival.compareAndSet(current, next)) {
+				long wait = Math.max(0, next - now - toleranceNanos);
+				if (wait == 0) {
+					immediate.increment();
+				} else {
+					delayed.increment();
+					waitedNanos.add(wait);
+				}
+				return wait;
+			}
+		}
+	}
+
+	/**
+	 * Gets the amount of permits currently available without waiting.
+	 * @return The amount of permits, between zero and the burst, including a fraction of the permit being refilled.
+	 */
+	public double getAvailablePermits() {
+		long ahead = Math.max(0, arrival.get() - ticker.read());
+		return Math.max(0, (double) (toleranceNanos - ahead) / intervalNanos);
+	}
+
+	/**
+	 * Gets the fraction of the bucket currently filled.
+	 * @return The fill level, between zero and one.
+	 */
+	public double getFillLevel() {
+		return getAvailablePermits() / burst;
+	}
+
+	/**
+	 * Gets the maximum amount of permits held at once.
+	 * @return The burst.
+	 */
+	public int getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Gets the amount of permits that were taken without waiting.
+	 * @return The amount of immediate permits.
+	 */
+	public long getImmediateCount() {
+		return immediate.sum();
+	}
+
+	/**
+	 * Gets the amount of permits that were taken after waiting.
+	 * @return The amount of delayed permits.
+	 */
+	public long getDelayedCount() {
+		return delayed.sum();
+	}
+
+	/**
+	 * Gets the amount of permits that were refused rather than waited for.
+	 * @return The amount of rejected permits.
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Gets the total time waited for permits.
+	 * @param unit The {@link TimeUnit} of the time.
+	 * @return The total time waited.
+	 */
+	public long getTotalWait(TimeUnit unit) {
+		return unit.convert(waitedNanos.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the average time waited by the permits that were taken after waiting.
+	 * @param unit The {@link TimeUnit} of the time.
+	 * @return The average time waited, or zero if no permit waited.
+	 */
+	public long getAverageWait(TimeUnit unit) {
+		long count = delayed.sum();
+		return count == 0 ? 0 : unit.convert(waitedNanos.sum() / count, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("availablePermits", getAvailablePermits())
+			.add("burst", burst)
+			.add("immediate", getImmediateCount())
+			.add("delayed", getDelayedCount())
+			.add("rejected", getRejectedCount())
+			.add("totalWaitMillis", getTotalWait(TimeUnit.MILLISECONDS))
+			.toString();
+	}
+}
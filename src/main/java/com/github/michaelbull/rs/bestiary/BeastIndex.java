@@ -0,0 +1,347 @@
+package com.github.michaelbull.rs.bestiary;
+
+import com.github.michaelbull.rs.NameIndex;
+import com.google.common.base.Ascii;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable index of {@link Beast}s, as mirrored by a {@link BestiaryMirror}.
+ * <p>
+ * Each {@link Beast} is assigned an ordinal by ascending id, and every area, weakness, Slayer category and bucket of
+ * combat levels maps to a {@link BitSet} posting list of the ordinals of its {@link Beast}s. The posting lists of
+ * several filters are combined a word at a time with {@link BitSet#and(BitSet)} and {@link BitSet#or(BitSet)}, without
+ * boxing a single id. The {@link BitSet}s returned by an index are never modified by it, and must not be modified by the
+ * caller.
+ */
+final class BeastIndex {
+
+	/**
+	 * The weakness of {@link Beast}s that are not weak to anything.
+	 */
+	private static final String NO_WEAKNESS = "None";
+
+	/**
+	 * The amount of combat levels covered by each level bucket.
+	 */
+	private static final int LEVELS_PER_BUCKET = 10;
+
+	/**
+	 * An empty posting list.
+	 */
+	private static final BitSet EMPTY = new BitSet();
+
+	/**
+	 * Every {@link Beast}, keyed and ordered by id.
+	 */
+	private final ImmutableSortedMap<Integer, Beast> beasts;
+
+	/**
+	 * The ids of every {@link Beast}, by ordinal.
+	 */
+	private final int[] ids;
+
+	/**
+	 * The names of every {@link Beast}, by ordinal.
+	 */
+	private final String[] names;
+
+	/**
+	 * The combat levels of every {@link Beast}, by ordinal.
+	 */
+	private final int[] combatLevels;
+
+	/**
+	 * The Slayer category names to their ids.
+	 */
+	private final ImmutableMap<String, Integer> slayerCategories;
+
+	/**
+	 * The weakness names to their ids.
+	 */
+	private final ImmutableMap<String, Integer> weaknesses;
+
+	/**
+	 * The area names to the posting lists of the {@link Beast}s found in them.
+	 */
+	private final ImmutableMap<String, BitSet> areaPostings;
+
+	/**
+	 * The Slayer category names to the posting lists of the {@link Beast}s that belong to them.
+	 */
+	private final ImmutableMap<String, BitSet> slayerCategoryPostings;
+
+	/**
+	 * The weakness names to the posting lists of the {@link Beast}s weak to them.
+	 */
+	private final ImmutableMap<String, BitSet> weaknessPostings;
+
+	/**
+	 * The posting lists of the {@link Beast}s in each bucket of {@link #LEVELS_PER_BUCKET} combat levels.
+	 */
+	private final BitSet[] levelPostings;
+
+	/**
+	 * The {@link NameIndex} of every {@link Beast}'s name, built when first requested.
+	 */
+	private final Supplier<NameIndex> nameIndex = Suppliers.memoize(this::buildNameIndex);
+
+	/**
+	 * The time at which the {@link Beast}s were fetched.
+	 */
+	private final Instant timestamp;
+
+	/**
+	 * Creates a new {@link BeastIndex}, indexing every {@link Beast}.
+	 * @param beasts Every {@link Beast}, keyed and ordered by id.
+	 * @param slayerCategories The Slayer category names to their ids.
+	 * @param weaknesses The weakness names to their ids.
+	 * @param timestamp The time at which the {@link Beast}s were fetched.
+	 */
+	BeastIndex(ImmutableSortedMap<Integer, Beast> beasts, ImmutableMap<String, Integer> slayerCategories, ImmutableMap<String, Integer> weaknesses, Instant timestamp) {
+		this.beasts = Preconditions.checkNotNull(beasts);
+		this.slayerCategories = Preconditions.checkNotNull(slayerCategories);
+		this.weaknesses = Preconditions.checkNotNull(weaknesses);
+		this.timestamp = Preconditions.checkNotNull(timestamp);
+
+		int size = beasts.size();
+		this.ids = new int[size];
+		this.names = new String[size];
+		this.combatLevels = new int[size];
+
+		Map<String, BitSet> areas = new HashMap<>();
+		Map<String, BitSet> categories = new HashMap<>();
+		Map<String, BitSet> weaknessGroups = new HashMap<>();
+		int maxLevel = 0;
+		int ordinal = 0;
+
+		for (Beast beast : beasts.values()) {
+			int current = ordinal++;
+			ids[current] = beast.getId();
+			names[current] = beast.getName();
+			combatLevels[current] = beast.getCombatLevel();
+			maxLevel = Math.max(maxLevel, beast.getCombatLevel());
+
+			for (String area : beast.getAreas()) {
+				areas.computeIfAbsent(area, key -> new BitSet(size)).set(current);
+			}
+
+			beast.getSlayerCategory().ifPresent(category -> categories.computeIfAbsent(category, key -> new BitSet(size)).set(current));
+			weaknessGroups.computeIfAbsent(beast.getWeakness().orElse(NO_WEAKNESS), key -> new BitSet(size)).set(current);
+		}
+
+		this.areaPostings = ImmutableMap.copyOf(areas);
+		this.slayerCategoryPostings = ImmutableMap.copyOf(categories);
+		this.weaknessPostings = ImmutableMap.copyOf(weaknessGroups);
+
+		this.levelPostings = new BitSet[maxLevel / LEVELS_PER_BUCKET + 1];
+		for (int i = 0; i < levelPostings.length; i++) {
+			levelPostings[i] = new BitSet(size);
+		}
+		for (int i = 0; i < size; i++) {
+			levelPostings[combatLevels[i] / LEVELS_PER_BUCKET].set(i);
+		}
+	}
+
+	/**
+	 * Gets the time at which the {@link Beast}s were fetched.
+	 * @return The {@link Instant}.
+	 */
+	Instant getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Gets the {@link NameIndex} of every {@link Beast}'s name.
+	 * @return The {@link NameIndex}.
+	 */
+	NameIndex getNameIndex() {
+		return nameIndex.get();
+	}
+
+	/**
+	 * Builds the {@link NameIndex} of every {@link Beast}'s name.
+	 * @return The {@link NameIndex}.
+	 */
+	private NameIndex buildNameIndex() {
+		NameIndex.Builder builder = NameIndex.builder();
+		for (int i = 0; i < ids.length; i++) {
+			builder.put(ids[i], names[i]);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Gets every {@link Beast}.
+	 * @return An {@link ImmutableSortedMap} of {@link Beast} ids to {@link Beast}s.
+	 */
+	ImmutableSortedMap<Integer, Beast> getBeasts() {
+		return beasts;
+	}
+
+	/**
+	 * Gets the Slayer category names to their ids.
+	 * @return An {@link ImmutableMap} of Slayer category names to ids.
+	 */
+	ImmutableMap<String, Integer> getSlayerCategories() {
+		return slayerCategories;
+	}
+
+	/**
+	 * Gets the weakness names to their ids.
+	 * @return An {@link ImmutableMap} of weakness names to ids.
+	 */
+	ImmutableMap<String, Integer> getWeaknesses() {
+		return weaknesses;
+	}
+
+	/**
+	 * Finds the {@link Beast}s that have any of a set of terms within their name, ignoring case.
+	 * @param terms The terms.
+	 * @return The posting list.
+	 */
+	BitSet terms(String... terms) {
+		String[] lowerCaseTerms = new String[terms.length];
+		for (int i = 0; i < terms.length; i++) {
+			lowerCaseTerms[i] = Ascii.toLowerCase(terms[i]);
+		}
+
+		BitSet postings = new BitSet(names.length);
+		for (int i = 0; i < names.length; i++) {
+			String name = Ascii.toLowerCase(names[i]);
+			for (String term : lowerCaseTerms) {
+				if (name.contains(term)) {
+					postings.set(i);
+					break;
+				}
+			}
+		}
+		return postings;
+	}
+
+	/**
+	 * Finds the {@link Beast}s whose name starts with a letter, ignoring case.
+	 * @param letter The letter.
+	 * @return The posting list.
+	 */
+	BitSet firstLetter(char letter) {
+		char upperCaseLetter = Character.toUpperCase(letter);
+
+		BitSet postings = new BitSet(names.length);
+		for (int i = 0; i < names.length; i++) {
+			if (!names[i].isEmpty() && Character.toUpperCase(names[i].charAt(0)) == upperCaseLetter) {
+				postings.set(i);
+			}
+		}
+		return postings;
+	}
+
+	/**
+	 * Finds the {@link Beast}s found in an area.
+	 * @param area The name of the area.
+	 * @return The posting list.
+	 */
+	BitSet area(String area) {
+		return areaPostings.getOrDefault(area, EMPTY);
+	}
+
+	/**
+	 * Finds the {@link Beast}s that belong to a Slayer category.
+	 * @param categoryId The id of the Slayer category.
+	 * @return The posting list.
+	 */
+	BitSet slayerCategory(int categoryId) {
+		for (Map.Entry<String, Integer> entry : slayerCategories.entrySet()) {
+			if (entry.getValue() == categoryId) {
+				return slayerCategory(entry.getKey());
+			}
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Finds the {@link Beast}s that belong to a Slayer category.
+	 * @param categoryName The name of the Slayer category.
+	 * @return The posting list.
+	 */
+	BitSet slayerCategory(String categoryName) {
+		return slayerCategoryPostings.getOrDefault(categoryName, EMPTY);
+	}
+
+	/**
+	 * Finds the {@link Beast}s that are weak to a weakness.
+	 * @param weaknessId The id of the weakness.
+	 * @return The posting list.
+	 */
+	BitSet weakness(int weaknessId) {
+		for (Map.Entry<String, Integer> entry : weaknesses.entrySet()) {
+			if (entry.getValue() == weaknessId) {
+				return weakness(entry.getKey());
+			}
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Finds the {@link Beast}s that are weak to a weakness.
+	 * @param weaknessName The name of the weakness.
+	 * @return The posting list.
+	 */
+	BitSet weakness(String weaknessName) {
+		return weaknessPostings.getOrDefault(weaknessName, EMPTY);
+	}
+
+	/**
+	 * Finds the {@link Beast}s that have a combat level between the lower and upper bound inclusively. The buckets that
+	 * lie entirely within the bounds are united whole, and only the {@link Beast}s in the buckets at either bound are
+	 * checked individually.
+	 * @param lowerBound The lowest combat level.
+	 * @param upperBound The highest combat level.
+	 * @return The posting list.
+	 */
+	BitSet levelGroup(int lowerBound, int upperBound) {
+		BitSet postings = new BitSet(names.length);
+
+		int lowerBucket = Math.max(0, lowerBound) / LEVELS_PER_BUCKET;
+		int upperBucket = Math.min(upperBound / LEVELS_PER_BUCKET, levelPostings.length - 1);
+
+		for (int bucket = lowerBucket; bucket <= upperBucket; bucket++) {
+			BitSet bucketPostings = levelPostings[bucket];
+			int bucketLowest = bucket * LEVELS_PER_BUCKET;
+			int bucketHighest = bucketLowest + LEVELS_PER_BUCKET - 1;
+
+			if (bucketLowest >= lowerBound && bucketHighest <= upperBound) {
+				postings.or(bucketPostings);
+			} else {
+				for (int i = bucketPostings.nextSetBit(0); i >= 0; i = bucketPostings.nextSetBit(i + 1)) {
+					if (combatLevels[i] >= lowerBound && combatLevels[i] <= upperBound) {
+						postings.set(i);
+					}
+				}
+			}
+		}
+
+		return postings;
+	}
+
+	/**
+	 * Gets the names of the {@link Beast}s in a posting list.
+	 * @param postings The posting list.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names, in ascending order of id.
+	 */
+	ImmutableMap<Integer, String> names(BitSet postings) {
+		ImmutableMap.Builder<Integer, String> builder = ImmutableMap.builder();
+		for (int i = postings.nextSetBit(0); i >= 0; i = postings.nextSetBit(i + 1)) {
+			builder.put(ids[i], names[i]);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,83 @@
+package com.github.michaelbull.rs.bestiary;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+
+/**
+ * Represents a source that answers queries for {@link Beast}s, such as the remote {@link Bestiary} or a local
+ * {@link BestiaryMirror}.
+ */
+public interface BeastSource {
+
+	/**
+	 * Creates a new {@link Search} that will use results from this source, in whichever way suits it best.
+	 * @return The {@link Search}.
+	 */
+	Search search();
+
+	/**
+	 * Searches for a {@link Beast}'s id by a set of terms.
+	 * @param terms The terms to search by.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> searchByTerms(String... terms) throws IOException;
+
+	/**
+	 * Searches for a {@link Beast} by the first letter in it's name.
+	 * @param letter The letter to search by.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> searchByFirstLetter(char letter) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s in a given area.
+	 * @param area The name of the area to search for.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsInArea(String area) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s in a given Slayer category.
+	 * @param categoryId The id of the Slayer category.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsInSlayerCategory(int categoryId) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s in a given Slayer category.
+	 * @param categoryName The name of the Slayer category.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsInSlayerCategory(String categoryName) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s that are weak to a specific weakness.
+	 * @param weaknessId The id of the weakness.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsWeakTo(int weaknessId) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s that are weak to a specific weakness.
+	 * @param weaknessName The name of the weakness.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsWeakTo(String weaknessName) throws IOException;
+
+	/**
+	 * Searches for the {@link Beast}s that have a combat level between the lower and upper bound inclusively.
+	 * @param lowerBound The lowest combat level.
+	 * @param upperBound The highest combat level.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	ImmutableMap<Integer, String> beastsInLevelGroup(int lowerBound, int upperBound) throws IOException;
+}
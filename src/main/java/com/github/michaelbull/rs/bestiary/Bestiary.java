@@ -12,73 +12,74 @@ import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 /**
  * Represents the RuneScape Bestiary API.
  * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#API">Bestiary APIs</a>
  */
-public final class Bestiary {
+public final class Bestiary implements BeastSource {
 
 	/**
 	 * A {@link TypeToken} which represents a {@link Map} of {@link String}s to {@link Integer}s.
 	 */
-	private static final Type TYPE_TOKEN = new TypeToken<Map<String, Integer>>() { }.getType();
+	static final Type TYPE_TOKEN = new TypeToken<Map<String, Integer>>() { }.getType();
 
 	/**
 	 * The URL to the Bestiary web-service.
 	 */
-	private static final String BESTIARY_URL = HttpClient.WEB_SERVICES_URL + "/m=itemdb_rs/bestiary";
+	static final String BESTIARY_URL = HttpClient.WEB_SERVICES_URL + "/m=itemdb_rs/bestiary";
 
 	/**
 	 * The format of the URL to fetch a {@link Beast}.
 	 */
-	private static final String BEAST_DATA_URL_FORMAT = BESTIARY_URL + "/beastData.json?beastid=%d";
+	static final String BEAST_DATA_URL_FORMAT = BESTIARY_URL + "/beastData.json?beastid=%d";
 
 	/**
 	 * The format of the URL to search for a {@link Beast}.
 	 */
-	private static final String BEAST_SEARCH_URL_FORMAT = BESTIARY_URL + "/beastSearch.json?term=%s";
+	static final String BEAST_SEARCH_URL_FORMAT = BESTIARY_URL + "/beastSearch.json?term=%s";
 
 	/**
 	 * The format of the URL to search for a bestiary name.
 	 */
-	private static final String BESTIARY_NAMES_URL_FORMAT = BESTIARY_URL + "/bestiaryNames.json?letter=%c";
+	static final String BESTIARY_NAMES_URL_FORMAT = BESTIARY_URL + "/bestiaryNames.json?letter=%c";
 
 	/**
 	 * The URL to fetch the list of area names.
 	 */
-	private static final String AREA_NAMES_URL = BESTIARY_URL + "/areaNames.json";
+	static final String AREA_NAMES_URL = BESTIARY_URL + "/areaNames.json";
 
 	/**
 	 * The format of the URL to the search for {@link Beast}s in an area.
 	 */
-	private static final String AREA_BEASTS_URL_FORMAT = BESTIARY_URL + "/areaBeasts.json?identifier=%s";
+	static final String AREA_BEASTS_URL_FORMAT = BESTIARY_URL + "/areaBeasts.json?identifier=%s";
 
 	/**
 	 * The URL to fetch the list of Slayer category names.
 	 */
-	private static final String SLAYER_CATEGORY_NAMES_URL = BESTIARY_URL + "/slayerCatNames.json";
+	static final String SLAYER_CATEGORY_NAMES_URL = BESTIARY_URL + "/slayerCatNames.json";
 
 	/**
 	 * The format of the URL to search for a {@link Beast} in a given Slayer category.
 	 */
-	private static final String SLAYER_BEASTS_URL_FORMAT = BESTIARY_URL + "/slayerBeasts.json?identifier=%d";
+	static final String SLAYER_BEASTS_URL_FORMAT = BESTIARY_URL + "/slayerBeasts.json?identifier=%d";
 
 	/**
 	 * The URL to fetch the list of weakness names.
 	 */
-	private static final String WEAKNESS_NAMES_URL = BESTIARY_URL + "/weaknessNames.json";
+	static final String WEAKNESS_NAMES_URL = BESTIARY_URL + "/weaknessNames.json";
 
 	/**
 	 * The format of the URL to search for a {@link Beast} weak to a given weakness.
 	 */
-	private static final String WEAKNESS_BEASTS_URL_FORMAT = BESTIARY_URL + "/weaknessBeasts.json?identifier=%d";
+	static final String WEAKNESS_BEASTS_URL_FORMAT = BESTIARY_URL + "/weaknessBeasts.json?identifier=%d";
 
 	/**
 	 * The format of the URL to search for a {@link Beast} in a combat level range.
 	 */
-	private static final String LEVEL_GROUP_URL_FORMAT = BESTIARY_URL + "/levelGroup.json?identifier=%d-%d";
+	static final String LEVEL_GROUP_URL_FORMAT = BESTIARY_URL + "/levelGroup.json?identifier=%d-%d";
 
 	/**
 	 * The {@link Pattern} that is replaced with '+' symbols when parsing a beast's name.
@@ -90,7 +91,7 @@ public final class Bestiary {
 	 * @param results The array of {@link SearchResult}s.
 	 * @return An {@link ImmutableMap} of {@link Integer}s to {@link String}s.
 	 */
-	private static ImmutableMap<Integer, String> resultsToImmutableMap(SearchResult... results) {
+	static ImmutableMap<Integer, String> resultsToImmutableMap(SearchResult... results) {
 		if (results == null) {
 			return ImmutableMap.of();
 		}
@@ -104,6 +105,29 @@ public final class Bestiary {
 		return builder.build();
 	}
 
+	/**
+	 * Formats the URL to search for a {@link Beast} by a set of terms.
+	 * @param terms The terms to search by.
+	 * @return The URL.
+	 */
+	static String beastSearchUrl(String... terms) {
+		StringJoiner joiner = new StringJoiner("+");
+		for (String term : terms) {
+			joiner.add(term);
+		}
+
+		return String.format(BEAST_SEARCH_URL_FORMAT, joiner.toString());
+	}
+
+	/**
+	 * Formats the URL to search for the {@link Beast}s in a given area.
+	 * @param area The name of the area.
+	 * @return The URL.
+	 */
+	static String areaBeastsUrl(String area) {
+		return String.format(AREA_BEASTS_URL_FORMAT, NAME_SPACER.matcher(area).replaceAll("+"));
+	}
+
 	/**
 	 * The web-services {@link Client}.
 	 */
@@ -118,11 +142,24 @@ public final class Bestiary {
 	}
 
 	/**
-	 * Creates a new {@link Search} that will use results from this {@link Bestiary}.
+	 * Creates a new {@link Search} that will use results from this {@link Bestiary}, requesting the results of its
+	 * filters concurrently on a few threads of its own that are stopped once each search completes.
 	 * @return The {@link Search}.
+	 * @see #search(Executor)
 	 */
+	@Override
 	public Search search() {
-		return new Search(this);
+		return new RemoteSearch(this, null);
+	}
+
+	/**
+	 * Creates a new {@link Search} that will use results from this {@link Bestiary}, requesting the results of its
+	 * filters concurrently on an {@link Executor}.
+	 * @param executor The {@link Executor} that requests the results of each filter.
+	 * @return The {@link Search}.
+	 */
+	public Search search(Executor executor) {
+		return new RemoteSearch(this, Preconditions.checkNotNull(executor));
 	}
 
 	/**
@@ -144,15 +181,11 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#beastSearch">Searching Names</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> searchByTerms(String... terms) throws IOException {
 		Preconditions.checkNotNull(terms);
 
-		StringJoiner joiner = new StringJoiner("+");
-		for (String term : terms) {
-			joiner.add(term);
-		}
-
-		String url = String.format(BEAST_SEARCH_URL_FORMAT, joiner.toString());
+		String url = beastSearchUrl(terms);
 		return resultsToImmutableMap(client.fromJson(url, SearchResult[].class).orElse(null));
 	}
 
@@ -163,6 +196,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#bestiaryNames">Beasts A to Z</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> searchByFirstLetter(char letter) throws IOException {
 		String url = String.format(BESTIARY_NAMES_URL_FORMAT, letter);
 		return resultsToImmutableMap(client.fromJson(url, SearchResult[].class).orElse(null));
@@ -186,9 +220,10 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#areaBeasts">Beasts by Area - areaBeasts</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsInArea(String area) throws IOException {
 		Preconditions.checkNotNull(area);
-		String url = String.format(AREA_BEASTS_URL_FORMAT, NAME_SPACER.matcher(area).replaceAll("+"));
+		String url = areaBeastsUrl(area);
 		return resultsToImmutableMap(client.fromJson(url, SearchResult[].class).orElse(null));
 	}
 
@@ -210,6 +245,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#slayerBeasts">Beasts by Slayer Category - slayerBeasts</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsInSlayerCategory(int categoryId) throws IOException {
 		String url = String.format(SLAYER_BEASTS_URL_FORMAT, categoryId);
 		return resultsToImmutableMap(client.fromJson(url, SearchResult[].class).orElse(null));
@@ -222,6 +258,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#slayerBeasts">Beasts by Slayer Category - slayerBeasts</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsInSlayerCategory(String categoryName) throws IOException {
 		Preconditions.checkNotNull(categoryName);
 		ImmutableMap<String, Integer> categories = slayerCategories();
@@ -246,6 +283,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#weaknessBeasts">Beasts by Weakness - weaknessBeasts</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsWeakTo(int weaknessId) throws IOException {
 		String url = String.format(WEAKNESS_BEASTS_URL_FORMAT, weaknessId);
 		return resultsToImmutableMap(client.fromJson(url, SearchResult[].class).orElse(null));
@@ -258,6 +296,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#weaknessBeasts">Beasts by Weakness - weaknessBeasts</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsWeakTo(String weaknessName) throws IOException {
 		Preconditions.checkNotNull(weaknessName);
 		ImmutableMap<String, Integer> weaknesses = weaknesses();
@@ -272,6 +311,7 @@ public final class Bestiary {
 	 * @throws IOException If an I/O error occurs.
 	 * @see <a href="https://runescape.wiki/w/RuneScape_Bestiary#levelGroup">Beasts by Level</a>
 	 */
+	@Override
 	public ImmutableMap<Integer, String> beastsInLevelGroup(int lowerBound, int upperBound) throws IOException {
 		Preconditions.checkArgument(upperBound > lowerBound, "The upper combat level bound must be higher than the lower combat level bound.");
 		String url = String.format(LEVEL_GROUP_URL_FORMAT, lowerBound, upperBound);
@@ -0,0 +1,416 @@
+package com.github.michaelbull.rs.bestiary;
+
+import com.github.michaelbull.rs.Deadline;
+import com.github.michaelbull.rs.NameIndex;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local copy of every {@link Beast} in the RuneScape {@link Bestiary}, which answers the same queries as the
+ * {@link Bestiary} from in-memory indexes instead of the remote web-service.
+ * <p>
+ * A mirror is populated by enumerating {@link Bestiary#searchByFirstLetter(char)} for every letter and fetching the
+ * {@link Bestiary#beastData(int)} of each {@link Beast} found. Queries read an immutable snapshot of the indexes and
+ * never block, while {@link #refresh()} builds a new snapshot and replaces the old one. Results are labelled with each
+ * {@link Beast}'s name.
+ * <p>
+ * A {@link Beast} that cannot be fetched during a refresh keeps the {@link Beast} mirrored before, if any, and its id
+ * is reported by {@link #getFailedBeastIds()}, so that one failure does not throw away the rest of the refresh.
+ */
+public final class BestiaryMirror implements BeastSource {
+
+	/**
+	 * The letters enumerated to find every {@link Beast}.
+	 */
+	private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	/**
+	 * The amount of threads each refresh starts of its own to fetch {@link Beast}s, unless an {@link Executor} was given.
+	 */
+	private static final int DEFAULT_THREADS = 8;
+
+	/**
+	 * Creates a {@link BestiaryMirror} of a {@link Bestiary}, fetching each {@link Beast} on a few threads of its own
+	 * that are stopped once each refresh completes.
+	 * @param bestiary The {@link Bestiary} to mirror.
+	 * @return The {@link BestiaryMirror}.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static BestiaryMirror snapshot(Bestiary bestiary) throws IOException {
+		BestiaryMirror mirror = new BestiaryMirror(bestiary, null, Clock.systemUTC());
+		mirror.refresh();
+		return mirror;
+	}
+
+	/**
+	 * Creates a {@link BestiaryMirror} of a {@link Bestiary}.
+	 * @param bestiary The {@link Bestiary} to mirror.
+	 * @param executor The {@link Executor} that fetches each {@link Beast}.
+	 * @return The {@link BestiaryMirror}.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static BestiaryMirror snapshot(Bestiary bestiary, Executor executor) throws IOException {
+		BestiaryMirror mirror = new BestiaryMirror(bestiary, Preconditions.checkNotNull(executor), Clock.systemUTC());
+		mirror.refresh();
+		return mirror;
+	}
+
+	/**
+	 * The {@link Bestiary} being mirrored.
+	 */
+	private final Bestiary bestiary;
+
+	/**
+	 * The {@link Executor} that fetches each {@link Beast}, or {@code null} if each refresh starts threads of its own.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The {@link Clock} that timestamps each {@link BeastIndex}.
+	 */
+	private final Clock clock;
+
+	/**
+	 * The current {@link BeastIndex}.
+	 */
+	private volatile BeastIndex index;
+
+	/**
+	 * The ids of the {@link Beast}s that could not be fetched during the last refresh.
+	 */
+	private volatile ImmutableList<Integer> failedBeastIds = ImmutableList.of();
+
+	/**
+	 * Creates a new {@link BestiaryMirror} that contains no {@link Beast}s until it is refreshed.
+	 * @param bestiary The {@link Bestiary} being mirrored.
+	 * @param executor The {@link Executor} that fetches each {@link Beast}, or {@code null} if each refresh should start
+	 * threads of its own.
+	 * @param clock The {@link Clock} that timestamps each {@link BeastIndex}.
+	 */
+	BestiaryMirror(Bestiary bestiary, Executor executor, Clock clock) {
+		this.bestiary = Preconditions.checkNotNull(bestiary);
+		this.executor = executor;
+		this.clock = Preconditions.checkNotNull(clock);
+		this.index = new BeastIndex(ImmutableSortedMap.of(), ImmutableMap.of(), ImmutableMap.of(), Instant.EPOCH);
+	}
+
+	/**
+	 * Refreshes this mirror incrementally. Every letter is enumerated again, but the {@link Beast#getId() ids} that are
+	 * already mirrored keep their {@link Beast}, so only {@link Beast}s that are new to the {@link Bestiary} are fetched.
+	 * {@link Beast}s that are no longer listed are removed.
+	 * @throws IOException If the {@link Beast}s could not be listed, or the refresh was interrupted or its
+	 * {@link Deadline} passed, in which case the fetches still outstanding are cancelled and this mirror is left as it
+	 * was.
+	 */
+	public void refresh() throws IOException {
+		refresh(ImmutableList.of());
+	}
+
+	/**
+	 * Refreshes this mirror incrementally, fetching the given {@link Beast}s again even if they are already mirrored.
+	 * @param beastIds The ids of the {@link Beast}s to fetch again.
+	 * @throws IOException If the {@link Beast}s could not be listed, or the refresh was interrupted or its
+	 * {@link Deadline} passed.
+	 * @see #refresh()
+	 */
+	public synchronized void refresh(Collection<Integer> beastIds) throws IOException {
+		Preconditions.checkNotNull(beastIds);
+
+		if (executor != null) {
+			refresh(beastIds, executor);
+			return;
+		}
+
+		ExecutorService threads = Executors.newFixedThreadPool(DEFAULT_THREADS, new ThreadFactoryBuilder()
+			.setNameFormat("bestiary-mirror-%d")
+			.setDaemon(true)
+			.build());
+
+		try {
+			refresh(beastIds, threads);
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	/**
+	 * Refreshes this mirror incrementally, fetching {@link Beast}s on an {@link Executor}.
+	 * @param beastIds The ids of the {@link Beast}s to fetch again.
+	 * @param executor The {@link Executor} that fetches each {@link Beast}.
+	 * @throws IOException If the {@link Beast}s could not be listed, or the refresh was interrupted or its
+	 * {@link Deadline} passed.
+	 */
+	private void refresh(Collection<Integer> beastIds, Executor executor) throws IOException {
+		Instant timestamp = clock.instant();
+		ImmutableMap<String, Integer> slayerCategories = bestiary.slayerCategories();
+		ImmutableMap<String, Integer> weaknesses = bestiary.weaknesses();
+
+		SortedSet<Integer> ids = new TreeSet<>();
+		for (int i = 0; i < LETTERS.length(); i++) {
+			ids.addAll(bestiary.searchByFirstLetter(LETTERS.charAt(i)).keySet());
+		}
+
+		BeastIndex current = index;
+		Map<Integer, CompletableFuture<Optional<Beast>>> fetches = new HashMap<>();
+		for (int id : ids) {
+			if (beastIds.contains(id) || !current.getBeasts().containsKey(id)) {
+				fetches.put(id, CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+					try {
+						return bestiary.beastData(id);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}), executor));
+			}
+		}
+
+		ImmutableSortedMap.Builder<Integer, Beast> beasts = ImmutableSortedMap.naturalOrder();
+		ImmutableList.Builder<Integer> failed = ImmutableList.builder();
+		try {
+			for (int id : ids) {
+				CompletableFuture<Optional<Beast>> fetch = fetches.get(id);
+				Optional<Beast> beast;
+				if (fetch == null) {
+					beast = Optional.of(current.getBeasts().get(id));
+				} else {
+					try {
+						beast = await(fetch);
+					} catch (InterruptedIOException e) {
+						throw e;
+					} catch (IOException e) {
+						failed.add(id);
+						beast = Optional.ofNullable(current.getBeasts().get(id));
+					}
+				}
+				beast.ifPresent(value -> beasts.put(id, value));
+			}
+		} catch (IOException | RuntimeException e) {
+			fetches.values().forEach(fetch -> fetch.cancel(false));
+			throw e;
+		}
+
+		index = new BeastIndex(beasts.build(), slayerCategories, weaknesses, timestamp);
+		failedBeastIds = failed.build();
+	}
+
+	/**
+	 * Waits for a {@link Beast} to be fetched.
+	 * @param fetch The future of the {@link Beast}.
+	 * @return An {@link Optional} containing the {@link Beast}, or {@link Optional#empty()} if it was not found.
+	 * @throws IOException If an I/O error occurs, or the calling thread is interrupted.
+	 */
+	private static Optional<Beast> await(CompletableFuture<Optional<Beast>> fetch) throws IOException {
+		try {
+			return fetch.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while mirroring the bestiary.");
+			exception.initCause(e);
+			throw exception;
+		} catch (ExecutionException | CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			Throwables.throwIfUnchecked(cause);
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Gets the ids of the {@link Beast}s that could not be fetched during the last refresh, which kept the
+	 * {@link Beast} mirrored before, if any.
+	 * @return The ids of the {@link Beast}s.
+	 */
+	public ImmutableList<Integer> getFailedBeastIds() {
+		return failedBeastIds;
+	}
+
+	/**
+	 * Gets the time at which the current snapshot of the {@link Bestiary} was taken.
+	 * @return The {@link Instant}, or {@link Instant#EPOCH} if this mirror has never been refreshed.
+	 */
+	public Instant getLastRefreshed() {
+		return index.getTimestamp();
+	}
+
+	/**
+	 * Gets how long ago the current snapshot of the {@link Bestiary} was taken.
+	 * @param unit The {@link TimeUnit} of the age.
+	 * @return The age of the snapshot.
+	 */
+	public long getAge(TimeUnit unit) {
+		return unit.convert(clock.millis() - index.getTimestamp().toEpochMilli(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Checks whether the current snapshot of the {@link Bestiary} is older than a given age.
+	 * @param maxAge The maximum age.
+	 * @param unit The {@link TimeUnit} of the maximum age.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	public boolean isStale(long maxAge, TimeUnit unit) {
+		return getAge(TimeUnit.MILLISECONDS) > unit.toMillis(maxAge);
+	}
+
+	/**
+	 * Gets a {@link NameIndex} of the names of every mirrored {@link Beast}, for completing names as they are typed.
+	 * @return The {@link NameIndex}.
+	 */
+	public NameIndex names() {
+		return index.getNameIndex();
+	}
+
+	/**
+	 * Gets the amount of mirrored {@link Beast}s.
+	 * @return The amount of {@link Beast}s.
+	 */
+	public int size() {
+		return index.getBeasts().size();
+	}
+
+	/**
+	 * Gets a mirrored {@link Beast} by its id.
+	 * @param beastId The id of the {@link Beast}.
+	 * @return An {@link Optional} containing the {@link Beast}, or {@link Optional#empty()} if no {@link Beast} of that id was mirrored.
+	 */
+	public Optional<Beast> beastData(int beastId) {
+		return Optional.ofNullable(index.getBeasts().get(beastId));
+	}
+
+	/**
+	 * Creates a new {@link Search} that will use results from this mirror, intersecting the posting lists of its filters
+	 * on the calling thread.
+	 * @return The {@link Search}.
+	 */
+	@Override
+	public Search search() {
+		return new MirrorSearch(this);
+	}
+
+	/**
+	 * Gets the current {@link BeastIndex}, which a {@link Search} reads once so that every filter sees the same
+	 * {@link Beast}s.
+	 * @return The {@link BeastIndex}.
+	 */
+	BeastIndex index() {
+		return index;
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that have any of a set of terms within their name, ignoring case.
+	 * @param terms The terms to search by.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> searchByTerms(String... terms) {
+		Preconditions.checkNotNull(terms);
+		BeastIndex current = index;
+		return current.names(current.terms(terms));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s whose name starts with a letter, ignoring case.
+	 * @param letter The letter to search by.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> searchByFirstLetter(char letter) {
+		BeastIndex current = index;
+		return current.names(current.firstLetter(letter));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s found in an area.
+	 * @param area The name of the area.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsInArea(String area) {
+		Preconditions.checkNotNull(area);
+		BeastIndex current = index;
+		return current.names(current.area(area));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that belong to a Slayer category.
+	 * @param categoryId The id of the Slayer category.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsInSlayerCategory(int categoryId) {
+		BeastIndex current = index;
+		return current.names(current.slayerCategory(categoryId));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that belong to a Slayer category.
+	 * @param categoryName The name of the Slayer category.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsInSlayerCategory(String categoryName) {
+		Preconditions.checkNotNull(categoryName);
+		BeastIndex current = index;
+		return current.names(current.slayerCategory(categoryName));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that are weak to a weakness.
+	 * @param weaknessId The id of the weakness.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsWeakTo(int weaknessId) {
+		BeastIndex current = index;
+		return current.names(current.weakness(weaknessId));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that are weak to a weakness.
+	 * @param weaknessName The name of the weakness.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsWeakTo(String weaknessName) {
+		Preconditions.checkNotNull(weaknessName);
+		BeastIndex current = index;
+		return current.names(current.weakness(weaknessName));
+	}
+
+	/**
+	 * Searches for the {@link Beast}s that have a combat level between the lower and upper bound inclusively.
+	 * @param lowerBound The lowest combat level.
+	 * @param upperBound The highest combat level.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> beastsInLevelGroup(int lowerBound, int upperBound) {
+		Preconditions.checkArgument(upperBound > lowerBound, "The upper combat level bound must be higher than the lower combat level bound.");
+		BeastIndex current = index;
+		return current.names(current.levelGroup(lowerBound, upperBound));
+	}
+}
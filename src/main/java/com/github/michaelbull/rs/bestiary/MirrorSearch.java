@@ -0,0 +1,47 @@
+package com.github.michaelbull.rs.bestiary;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A {@link Search} of a local {@link BestiaryMirror}, which intersects the posting lists of its {@link Search.Filter}s
+ * in the mirror's {@link BeastIndex} on the calling thread.
+ */
+final class MirrorSearch extends Search {
+
+	/**
+	 * The {@link BestiaryMirror} to search in.
+	 */
+	private final BestiaryMirror mirror;
+
+	/**
+	 * Creates a new {@link MirrorSearch}.
+	 * @param mirror The {@link BestiaryMirror} to search in.
+	 */
+	MirrorSearch(BestiaryMirror mirror) {
+		super(mirror);
+		this.mirror = Preconditions.checkNotNull(mirror);
+	}
+
+	/**
+	 * Executes the search, intersecting the posting lists of every {@link Search.Filter} a word at a time and stopping
+	 * as soon as the intersection so far is empty. Only the names of the {@link Beast}s in the final intersection are
+	 * looked up.
+	 * @return An {@link ImmutableMap} of the {@link Beast} ids found by every {@link Search.Filter} to their
+	 * {@link Beast} names.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> results() {
+		List<Filter> filters = filters();
+		BeastIndex index = mirror.index();
+
+		BitSet intersection = (BitSet) filters.get(0).postings(index).clone();
+		for (int i = 1; i < filters.size() && !intersection.isEmpty(); i++) {
+			intersection.and(filters.get(i).postings(index));
+		}
+		return index.names(intersection);
+	}
+}
@@ -0,0 +1,215 @@
+package com.github.michaelbull.rs.bestiary;
+
+import com.github.michaelbull.rs.Deadline;
+import com.github.michaelbull.rs.DeadlineExceededException;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Search} of a remote {@link Bestiary}, which requests the results of every {@link Search.Filter} concurrently
+ * and intersects them.
+ */
+final class RemoteSearch extends Search {
+
+	/**
+	 * The maximum amount of threads a search starts of its own to request the results of its {@link Search.Filter}s.
+	 */
+	private static final int MAXIMUM_THREADS = 8;
+
+	/**
+	 * The {@link Executor} that requests the results of each {@link Search.Filter}, or {@code null} if each search
+	 * starts threads of its own.
+	 */
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link RemoteSearch}.
+	 * @param bestiary The {@link Bestiary} to search in.
+	 * @param executor The {@link Executor} that requests the results of each {@link Search.Filter}, or {@code null} if
+	 * each search should start threads of its own.
+	 */
+	RemoteSearch(Bestiary bestiary, Executor executor) {
+		super(bestiary);
+		this.executor = executor;
+	}
+
+	/**
+	 * Executes the search, requesting the results of every {@link Search.Filter} concurrently.
+	 * <p>
+	 * The results are intersected from the smallest to the largest, and the search stops as soon as any result or
+	 * intermediate intersection is empty, aborting the requests that are still running. The names, and their order, are
+	 * those of the first {@link Search.Filter}'s result, as the endpoints label {@link Beast}s differently.
+	 * <p>
+	 * The {@link Deadline} in effect on the calling thread, if any, is carried along to each request, and the search
+	 * stops waiting once it passes.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws DeadlineExceededException If the {@link Deadline} in effect passed before the search completed.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public ImmutableMap<Integer, String> results() throws IOException {
+		List<Filter> filters = filters();
+		if (filters.size() == 1) {
+			return ImmutableMap.copyOf(filters.get(0).results());
+		}
+
+		if (executor != null) {
+			return results(filters, executor);
+		}
+
+		ExecutorService threads = Executors.newFixedThreadPool(Math.min(filters.size(), MAXIMUM_THREADS), new ThreadFactoryBuilder()
+			.setNameFormat("bestiary-search-%d")
+			.setDaemon(true)
+			.build());
+
+		try {
+			return results(filters, threads);
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	/**
+	 * Requests the results of several {@link Search.Filter}s concurrently and intersects them.
+	 * @param filters The {@link Search.Filter}s.
+	 * @param executor The {@link Executor} that requests the results of each {@link Search.Filter}.
+	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
+	 * @throws DeadlineExceededException If the {@link Deadline} in effect passed before the search completed.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static ImmutableMap<Integer, String> results(List<Filter> filters, Executor executor) throws IOException {
+		Optional<Deadline> deadline = Deadline.current();
+
+		/* cancelled once the search completes, which aborts the requests that are still running */
+		Deadline search = Deadline.after(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+		BlockingQueue<CompletableFuture<Map<Integer, String>>> completed = new LinkedBlockingQueue<>();
+		List<CompletableFuture<Map<Integer, String>>> futures = new ArrayList<>(filters.size());
+
+		try {
+			Deadline.Scope scope = search.enter();
+			try {
+				for (Filter filter : filters) {
+					CompletableFuture<Map<Integer, String>> future = CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+						try {
+							return filter.results();
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}), executor);
+
+					futures.add(future);
+					future.whenComplete((results, throwable) -> completed.add(future));
+				}
+			} finally {
+				scope.close();
+			}
+
+			List<Map<Integer, String>> results = new ArrayList<>(Collections.nCopies(filters.size(), null));
+
+			for (int i = 0; i < filters.size(); i++) {
+				CompletableFuture<Map<Integer, String>> future = next(completed, deadline);
+				Map<Integer, String> result = await(future);
+				if (result.isEmpty()) {
+					return ImmutableMap.of();
+				}
+				results.set(futures.indexOf(future), result);
+			}
+
+			return intersect(results);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for the search results.");
+			exception.initCause(e);
+			throw exception;
+		} finally {
+			search.cancel();
+			futures.forEach(future -> future.cancel(false));
+		}
+	}
+
+	/**
+	 * Waits for the next {@link Search.Filter} to complete.
+	 * @param completed The queue of completed futures.
+	 * @param deadline The {@link Deadline} in effect, if any.
+	 * @return The future of the completed {@link Search.Filter}.
+	 * @throws DeadlineExceededException If the {@link Deadline} passed first.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting.
+	 */
+	private static CompletableFuture<Map<Integer, String>> next(BlockingQueue<CompletableFuture<Map<Integer, String>>> completed, Optional<Deadline> deadline) throws DeadlineExceededException, InterruptedException {
+		if (!deadline.isPresent()) {
+			return completed.take();
+		}
+
+		CompletableFuture<Map<Integer, String>> future = completed.poll(deadline.get().remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+		if (future == null) {
+			throw new DeadlineExceededException("Deadline exceeded while waiting for the search results.");
+		}
+		return future;
+	}
+
+	/**
+	 * Gets the result of a completed {@link Search.Filter}.
+	 * @param future The future of the result.
+	 * @return The result.
+	 * @throws IOException If the {@link Search.Filter} failed with an I/O error.
+	 */
+	private static Map<Integer, String> await(CompletableFuture<Map<Integer, String>> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			Throwables.throwIfUnchecked(cause);
+			throw e;
+		}
+	}
+
+	/**
+	 * Intersects the ids of the results of several {@link Search.Filter}s, starting from the smallest, so that the cost of each
+	 * step is linear in the size of the intersection so far. The names are then taken from the first result, in its
+	 * order.
+	 * @param results The results of each {@link Search.Filter}, in the order the {@link Search.Filter}s were applied.
+	 * @return An {@link ImmutableMap} of the {@link Beast} ids found in every result to their {@link Beast} names.
+	 */
+	private static ImmutableMap<Integer, String> intersect(List<Map<Integer, String>> results) {
+		List<Map<Integer, String>> bySize = new ArrayList<>(results);
+		bySize.sort(Comparator.comparingInt(Map::size));
+
+		Set<Integer> ids = new HashSet<>(bySize.get(0).keySet());
+		for (int i = 1; i < bySize.size() && !ids.isEmpty(); i++) {
+			ids.retainAll(bySize.get(i).keySet());
+		}
+
+		ImmutableMap.Builder<Integer, String> intersection = ImmutableMap.builder();
+		results.get(0).forEach((id, name) -> {
+			if (ids.contains(id)) {
+				intersection.put(id, name);
+			}
+		});
+		return intersection.build();
+	}
+}
@@ -3,37 +3,86 @@ package com.github.michaelbull.rs.bestiary;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
- * Facilitates searching of the RuneScape {@link Bestiary} by applying various {@link Filter}s to the search.
+ * Facilitates searching of a {@link BeastSource} by applying various {@link Filter}s to the search.
+ * <p>
+ * Each {@link BeastSource} creates the kind of {@link Search} that suits it: a remote {@link Bestiary} requests the
+ * results of every {@link Filter} and intersects them, whereas a local {@link BestiaryMirror} intersects their posting
+ * lists directly.
  */
-public final class Search {
+public abstract class Search {
 
 	/**
 	 * Represents a filter that may be applied to a {@link Search}.
 	 */
-	@FunctionalInterface
-	private interface Filter {
+	static final class Filter {
+
+		/**
+		 * Requests the results of a filter from a {@link BeastSource}.
+		 */
+		@FunctionalInterface
+		private interface Query {
+			/**
+			 * Requests the results of the filter.
+			 * @return A {@link Map} of {@link Beast} ids to {@link Beast} names.
+			 * @throws IOException If an I/O error occurs.
+			 */
+			Map<Integer, String> results() throws IOException;
+		}
+
+		/**
+		 * The {@link Query} that requests the results from the {@link BeastSource}.
+		 */
+		private final Query query;
+
+		/**
+		 * The function that finds the posting list of the filter in a {@link BeastIndex}.
+		 */
+		private final Function<BeastIndex, BitSet> postings;
+
+		/**
+		 * Creates a new {@link Filter}.
+		 * @param query The {@link Query} that requests the results from the {@link BeastSource}.
+		 * @param postings The function that finds the posting list of the filter in a {@link BeastIndex}.
+		 */
+		private Filter(Query query, Function<BeastIndex, BitSet> postings) {
+			this.query = query;
+			this.postings = postings;
+		}
+
 		/**
 		 * The results of applying the filter to the {@link Search}.
 		 * @return A {@link Map} of {@link Beast} ids to {@link Beast} names.
 		 * @throws IOException If an I/O error occurs.
 		 */
-		Map<Integer, String> results() throws IOException;
+		Map<Integer, String> results() throws IOException {
+			return query.results();
+		}
+
+		/**
+		 * The posting list of applying the filter to a {@link BeastIndex}.
+		 * @param index The {@link BeastIndex}.
+		 * @return The posting list, which must not be modified.
+		 */
+		BitSet postings(BeastIndex index) {
+			return postings.apply(index);
+		}
 	}
 
 	/**
-	 * The {@link Bestiary} to search in.
+	 * The {@link BeastSource} to search in.
 	 */
-	private final Bestiary bestiary;
+	private final BeastSource source;
 
 	/**
 	 * The {@link Filter}s to apply to the search.
@@ -42,10 +91,10 @@ public final class Search {
 
 	/**
 	 * Creates a new {@link Search}.
-	 * @param bestiary The {@link Bestiary}.
+	 * @param source The {@link BeastSource}.
 	 */
-	Search(Bestiary bestiary) {
-		this.bestiary = Preconditions.checkNotNull(bestiary);
+	Search(BeastSource source) {
+		this.source = Preconditions.checkNotNull(source);
 	}
 
 	/**
@@ -53,9 +102,9 @@ public final class Search {
 	 * @param terms The terms to search by.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByNameTerms(String... terms) {
+	public final Search filterByNameTerms(String... terms) {
 		Preconditions.checkNotNull(terms);
-		filters.add(() -> bestiary.searchByTerms(terms));
+		filters.add(new Filter(() -> source.searchByTerms(terms), index -> index.terms(terms)));
 		return this;
 	}
 
@@ -64,8 +113,8 @@ public final class Search {
 	 * @param letter The starting letter.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByNameFirstLetter(char letter) {
-		filters.add(() -> bestiary.searchByFirstLetter(letter));
+	public final Search filterByNameFirstLetter(char letter) {
+		filters.add(new Filter(() -> source.searchByFirstLetter(letter), index -> index.firstLetter(letter)));
 		return this;
 	}
 
@@ -74,9 +123,9 @@ public final class Search {
 	 * @param areaName The name of the area.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByArea(String areaName) {
+	public final Search filterByArea(String areaName) {
 		Preconditions.checkNotNull(areaName);
-		filters.add(() -> bestiary.beastsInArea(areaName));
+		filters.add(new Filter(() -> source.beastsInArea(areaName), index -> index.area(areaName)));
 		return this;
 	}
 
@@ -85,8 +134,8 @@ public final class Search {
 	 * @param categoryId The id of the Slayer category.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterBySlayerCategory(int categoryId) {
-		filters.add(() -> bestiary.beastsInSlayerCategory(categoryId));
+	public final Search filterBySlayerCategory(int categoryId) {
+		filters.add(new Filter(() -> source.beastsInSlayerCategory(categoryId), index -> index.slayerCategory(categoryId)));
 		return this;
 	}
 
@@ -95,9 +144,9 @@ public final class Search {
 	 * @param categoryName The name of the Slayer category.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterBySlayerCategory(String categoryName) {
+	public final Search filterBySlayerCategory(String categoryName) {
 		Preconditions.checkNotNull(categoryName);
-		filters.add(() -> bestiary.beastsInSlayerCategory(categoryName));
+		filters.add(new Filter(() -> source.beastsInSlayerCategory(categoryName), index -> index.slayerCategory(categoryName)));
 		return this;
 	}
 
@@ -106,8 +155,8 @@ public final class Search {
 	 * @param weaknessId The id of the weakness.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByWeakness(int weaknessId) {
-		filters.add(() -> bestiary.beastsWeakTo(weaknessId));
+	public final Search filterByWeakness(int weaknessId) {
+		filters.add(new Filter(() -> source.beastsWeakTo(weaknessId), index -> index.weakness(weaknessId)));
 		return this;
 	}
 
@@ -116,9 +165,9 @@ public final class Search {
 	 * @param weaknessName The name of the weakness.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByWeakness(String weaknessName) {
+	public final Search filterByWeakness(String weaknessName) {
 		Preconditions.checkNotNull(weaknessName);
-		filters.add(() -> bestiary.beastsWeakTo(weaknessName));
+		filters.add(new Filter(() -> source.beastsWeakTo(weaknessName), index -> index.weakness(weaknessName)));
 		return this;
 	}
 
@@ -128,9 +177,9 @@ public final class Search {
 	 * @param upperBound The highest combat level.
 	 * @return The {@link Search}, for chaining.
 	 */
-	public Search filterByLevel(int lowerBound, int upperBound) {
+	public final Search filterByLevel(int lowerBound, int upperBound) {
 		Preconditions.checkArgument(upperBound > lowerBound, "The upper combat level bound must be higher than the lower combat level bound.");
-		filters.add(() -> bestiary.beastsInLevelGroup(lowerBound, upperBound));
+		filters.add(new Filter(() -> source.beastsInLevelGroup(lowerBound, upperBound), index -> index.levelGroup(lowerBound, upperBound)));
 		return this;
 	}
 
@@ -139,17 +188,15 @@ public final class Search {
 	 * @return An {@link ImmutableMap} of {@link Beast} ids to {@link Beast} names.
 	 * @throws IOException If an I/O error occurs.
 	 */
-	public ImmutableMap<Integer, String> results() throws IOException {
-		Iterator<Filter> it = filters.iterator();
-		Preconditions.checkState(it.hasNext(), "At least one filter must be applied to the search.");
-
-		Map<Integer, String> results = it.next().results();
-		while (it.hasNext()) {
-			Map<Integer, String> results2 = it.next().results();
-			results = Maps.filterKeys(results, results2::containsKey);
-		}
+	public abstract ImmutableMap<Integer, String> results() throws IOException;
 
-		return ImmutableMap.copyOf(results);
+	/**
+	 * Gets the {@link Filter}s applied to the search, in the order they were applied.
+	 * @return The {@link Filter}s.
+	 */
+	final List<Filter> filters() {
+		Preconditions.checkState(!filters.isEmpty(), "At least one filter must be applied to the search.");
+		return Collections.unmodifiableList(filters);
 	}
 
 	@Override
@@ -161,19 +208,19 @@ public final class Search {
 			return false;
 		}
 		Search search = (Search) o;
-		return Objects.equals(bestiary, search.bestiary)
+		return Objects.equals(source, search.source)
 			&& Objects.equals(filters, search.filters);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(bestiary, filters);
+		return Objects.hash(source, filters);
 	}
 
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
-			.add("bestiary", bestiary)
+			.add("source", source)
 			.add("filters", filters)
 			.toString();
 	}
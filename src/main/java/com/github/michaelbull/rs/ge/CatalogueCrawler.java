@@ -0,0 +1,569 @@
+package com.github.michaelbull.rs.ge;
+
+import com.github.michaelbull.rs.Deadline;
+import com.github.michaelbull.rs.DeadlineExceededException;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.math.IntMath;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Crawls every {@link Item} in the {@link GrandExchange} catalogue.
+ * <p>
+ * Each {@link Category} is fetched to plan its pages from the amount of items under each letter, and every planned page
+ * is then fetched in parallel by a bounded amount of threads, optionally throttled by a rate limit. {@link Item}s are
+ * passed to the consumer as soon as their page arrives.
+ * <p>
+ * Each category and page is requested once, and recorded as failed if its request fails or finds nothing. Transient
+ * failures are left to the {@link com.github.michaelbull.rs.Client} of the {@link GrandExchange}, which may be a
+ * {@link com.github.michaelbull.rs.RetryingClient}, so that retries are neither multiplied nor spent on pages that do
+ * not exist.
+ * <p>
+ * A crawl made while a {@link Deadline} is in effect stops once it passes: the requests in flight are abandoned, and
+ * the categories and pages not yet crawled are left out of the {@link CrawlProgress}, which is then incomplete.
+ */
+public final class CatalogueCrawler {
+
+	public static final class Builder {
+		private final GrandExchange grandExchange;
+		private ImmutableList<Integer> categoryIds = ALL_CATEGORY_IDS;
+		private int concurrency = DEFAULT_CONCURRENCY;
+		private double permitsPerSecond = Double.POSITIVE_INFINITY;
+		private Consumer<? super CrawlProgress> progressListener = progress -> { };
+
+		private Builder(GrandExchange grandExchange) {
+			this.grandExchange = Preconditions.checkNotNull(grandExchange);
+		}
+
+		public Builder categories(int... categoryIds) {
+			ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+			for (int categoryId : categoryIds) {
+				Preconditions.checkElementIndex(categoryId, GrandExchange.CATEGORIES.size(), "Category id must be between 0 and " + (GrandExchange.CATEGORIES.size() - 1) + " inclusive.");
+				builder.add(categoryId);
+			}
+			this.categoryIds = builder.build();
+			return this;
+		}
+
+		public Builder concurrency(int concurrency) {
+			Preconditions.checkArgument(concurrency > 0, "Concurrency must be positive.");
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		public Builder rateLimit(double permitsPerSecond) {
+			Preconditions.checkArgument(permitsPerSecond > 0, "Rate limit must be positive.");
+			this.permitsPerSecond = permitsPerSecond;
+			return this;
+		}
+
+		public Builder progressListener(Consumer<? super CrawlProgress> progressListener) {
+			this.progressListener = Preconditions.checkNotNull(progressListener);
+			return this;
+		}
+
+		public CatalogueCrawler build() {
+			return new CatalogueCrawler(this);
+		}
+	}
+
+	public static Builder builder(GrandExchange grandExchange) {
+		return new Builder(grandExchange);
+	}
+
+	/**
+	 * Represents a single page of {@link CategoryPrices} to crawl.
+	 */
+	public static final class Page {
+
+		/**
+		 * The id of the {@link Category}.
+		 */
+		private final int categoryId;
+
+		/**
+		 * The prefix of the {@link Item}s on the page.
+		 */
+		private final String prefix;
+
+		/**
+		 * The page number, starting from one.
+		 */
+		private final int page;
+
+		/**
+		 * Creates a new {@link Page}.
+		 * @param categoryId The id of the {@link Category}.
+		 * @param prefix The prefix of the {@link Item}s on the page.
+		 * @param page The page number, starting from one.
+		 */
+		Page(int categoryId, String prefix, int page) {
+			this.categoryId = categoryId;
+			this.prefix = Preconditions.checkNotNull(prefix);
+			this.page = page;
+		}
+
+		/**
+		 * Gets the id of the {@link Category}.
+		 * @return The id of the {@link Category}.
+		 */
+		public int getCategoryId() {
+			return categoryId;
+		}
+
+		/**
+		 * Gets the prefix of the {@link Item}s on the page.
+		 * @return The prefix.
+		 */
+		public String getPrefix() {
+			return prefix;
+		}
+
+		/**
+		 * Gets the page number, starting from one.
+		 * @return The page number.
+		 */
+		public int getPage() {
+			return page;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Page that = (Page) o;
+			return categoryId == that.categoryId
+				&& page == that.page
+				&& Objects.equals(prefix, that.prefix);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(categoryId, prefix, page);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("categoryId", categoryId)
+				.add("prefix", prefix)
+				.add("page", page)
+				.toString();
+		}
+	}
+
+	/**
+	 * Fetches a resource from the {@link GrandExchange}.
+	 * @param <T> The type of the resource.
+	 */
+	@FunctionalInterface
+	private interface Fetch<T> {
+		Optional<T> fetch() throws IOException;
+	}
+
+	/**
+	 * The ids of every {@link Category}.
+	 */
+	private static final ImmutableList<Integer> ALL_CATEGORY_IDS;
+
+	static {
+		ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+		for (int categoryId = 0; categoryId < GrandExchange.CATEGORIES.size(); categoryId++) {
+			builder.add(categoryId);
+		}
+		ALL_CATEGORY_IDS = builder.build();
+	}
+
+	/**
+	 * The default amount of requests in flight at once.
+	 */
+	private static final int DEFAULT_CONCURRENCY = 4;
+
+	/**
+	 * The amount of milliseconds between checks for interruption and the {@link Deadline} while waiting for a permit
+	 * of the {@link RateLimiter}.
+	 */
+	private static final long PERMIT_POLL_MILLIS = 50;
+
+	/**
+	 * The {@link GrandExchange} to crawl.
+	 */
+	private final GrandExchange grandExchange;
+
+	/**
+	 * The ids of the categories to crawl.
+	 */
+	private final ImmutableList<Integer> categoryIds;
+
+	/**
+	 * The amount of requests in flight at once.
+	 */
+	private final int concurrency;
+
+	/**
+	 * The maximum amount of requests per second.
+	 */
+	private final double permitsPerSecond;
+
+	/**
+	 * The listener notified of the {@link CrawlProgress} after each category and page.
+	 */
+	private final Consumer<? super CrawlProgress> progressListener;
+
+	/**
+	 * Creates a new {@link CatalogueCrawler}.
+	 * @param builder The {@link Builder}.
+	 */
+	private CatalogueCrawler(Builder builder) {
+		this.grandExchange = builder.grandExchange;
+		this.categoryIds = builder.categoryIds;
+		this.concurrency = builder.concurrency;
+		this.permitsPerSecond = builder.permitsPerSecond;
+		this.progressListener = builder.progressListener;
+	}
+
+	/**
+	 * Crawls the catalogue, blocking until every page has been crawled or has failed.
+	 * <p>
+	 * The consumer and the progress listener are called from the crawling threads, but never concurrently, so neither
+	 * needs to be thread-safe. If either throws, the crawl is abandoned and the exception is rethrown.
+	 * @param consumer The consumer of the crawled {@link Item}s.
+	 * @return The final {@link CrawlProgress}.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for the crawl.
+	 */
+	public CrawlProgress crawl(Consumer<? super Item> consumer) throws InterruptedException {
+		Preconditions.checkNotNull(consumer);
+
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder()
+			.setNameFormat("catalogue-crawler-%d")
+			.setDaemon(true)
+			.build());
+
+		Crawl crawl = new Crawl(executor, consumer);
+		try {
+			return crawl.run();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * The state of a single crawl.
+	 */
+	private final class Crawl {
+
+		/**
+		 * The {@link ExecutorService} that runs the requests.
+		 */
+		private final ExecutorService executor;
+
+		/**
+		 * The consumer of the crawled {@link Item}s.
+		 */
+		private final Consumer<? super Item> consumer;
+
+		/**
+		 * The {@link RateLimiter}, or {@code null} if requests are not rate limited.
+		 */
+		private final RateLimiter rateLimiter = Double.isInfinite(permitsPerSecond) ? null : RateLimiter.create(permitsPerSecond);
+
+		/**
+		 * The {@link Phaser} that tracks the outstanding requests.
+		 */
+		private final Phaser outstanding = new Phaser(1);
+
+		/**
+		 * The lock held while calling the consumer and the progress listener.
+		 */
+		private final Object lock = new Object();
+
+		/**
+		 * The first exception thrown by the consumer or the progress listener.
+		 */
+		private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+		/**
+		 * Whether the crawl was stopped because its {@link Deadline} passed.
+		 */
+		private final AtomicBoolean deadlineExceeded = new AtomicBoolean();
+
+		/**
+		 * The amount of categories whose pages have been planned.
+		 */
+		private final AtomicInteger categoriesPlanned = new AtomicInteger();
+
+		/**
+		 * The amount of pages planned so far.
+		 */
+		private final AtomicInteger pagesPlanned = new AtomicInteger();
+
+		/**
+		 * The amount of pages crawled successfully.
+		 */
+		private final AtomicInteger pagesCrawled = new AtomicInteger();
+
+		/**
+		 * The amount of {@link Item}s crawled.
+		 */
+		private final LongAdder items = new LongAdder();
+
+		/**
+		 * The ids of the categories that could not be planned.
+		 */
+		private final Queue<Integer> failedCategories = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * The pages that could not be crawled.
+		 */
+		private final Queue<Page> failedPages = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * The {@link System#nanoTime()} at which this crawl started.
+		 */
+		private final long start = System.nanoTime();
+
+		/**
+		 * Creates a new {@link Crawl}.
+		 * @param executor The {@link ExecutorService} that runs the requests.
+		 * @param consumer The consumer of the crawled {@link Item}s.
+		 */
+		private Crawl(ExecutorService executor, Consumer<? super Item> consumer) {
+			this.executor = executor;
+			this.consumer = consumer;
+		}
+
+		/**
+		 * Runs the crawl.
+		 * @return The final {@link CrawlProgress}.
+		 * @throws InterruptedException If the calling thread is interrupted while waiting for the crawl.
+		 */
+		private CrawlProgress run() throws InterruptedException {
+			for (int categoryId : categoryIds) {
+				submit(() -> planCategory(categoryId));
+			}
+
+			outstanding.awaitAdvanceInterruptibly(outstanding.arriveAndDeregister());
+
+			RuntimeException exception = failure.get();
+			if (exception != null) {
+				throw exception;
+			}
+
+			return progress();
+		}
+
+		/**
+		 * Submits a task to the {@link #executor}, tracking it as outstanding until it completes.
+		 * @param task The task.
+		 */
+		private void submit(Runnable task) {
+			outstanding.register();
+			try {
+				executor.execute(Deadline.propagate(() -> {
+					try {
+						if (failure.get() == null && !deadlineExceeded.get()) {
+							task.run();
+						}
+					} catch (RuntimeException e) {
+						if (failure.compareAndSet(null, e)) {
+							stop();
+						}
+					} finally {
+						outstanding.arriveAndDeregister();
+					}
+				}));
+			} catch (RejectedExecutionException e) {
+				outstanding.arriveAndDeregister();
+			}
+		}
+
+		/**
+		 * Stops the crawl, interrupting the requests in flight and discarding the tasks not yet started.
+		 */
+		private void stop() {
+			for (int i = executor.shutdownNow().size(); i > 0; i--) {
+				outstanding.arriveAndDeregister();
+			}
+		}
+
+		/**
+		 * Stops the crawl if the {@link Deadline} in effect has passed.
+		 * @return {@code true} if the crawl was stopped because its {@link Deadline} passed, otherwise {@code false}.
+		 */
+		private boolean checkDeadline() {
+			if (!deadlineExceeded.get() && Deadline.current().map(Deadline::isExpired).orElse(false)) {
+				expire();
+			}
+			return deadlineExceeded.get();
+		}
+
+		/**
+		 * Stops the crawl because its {@link Deadline} passed.
+		 */
+		private void expire() {
+			if (deadlineExceeded.compareAndSet(false, true)) {
+				stop();
+			}
+		}
+
+		/**
+		 * Fetches a {@link Category} and submits each of its pages.
+		 * @param categoryId The id of the {@link Category}.
+		 */
+		private void planCategory(int categoryId) {
+			Optional<Category> category = fetch(() -> grandExchange.category(categoryId));
+			if (!category.isPresent() && deadlineExceeded.get()) {
+				return;
+			}
+
+			if (category.isPresent()) {
+				for (SearchResult result : category.get().getAlpha()) {
+					int pages = IntMath.divide(result.getItems(), Category.ITEMS_PER_PAGE, RoundingMode.CEILING);
+					pagesPlanned.addAndGet(pages);
+
+					for (int page = 1; page <= pages; page++) {
+						Page next = new Page(categoryId, result.getLetter(), page);
+						submit(() -> crawlPage(next));
+					}
+				}
+			} else {
+				failedCategories.add(categoryId);
+			}
+
+			categoriesPlanned.incrementAndGet();
+			report(null);
+		}
+
+		/**
+		 * Fetches a {@link Page} and passes its {@link Item}s to the consumer.
+		 * @param page The {@link Page}.
+		 */
+		private void crawlPage(Page page) {
+			Optional<CategoryPrices> prices = fetch(() -> grandExchange.categoryPrices(page.categoryId, page.prefix, page.page));
+			if (!prices.isPresent() && deadlineExceeded.get()) {
+				return;
+			}
+
+			if (prices.isPresent()) {
+				ImmutableList<Item> pageItems = prices.get().getItems();
+				items.add(pageItems.size());
+				pagesCrawled.incrementAndGet();
+				report(pageItems);
+			} else {
+				failedPages.add(page);
+				report(null);
+			}
+		}
+
+		/**
+		 * Fetches a resource once, unless the crawl was interrupted or its {@link Deadline} passed.
+		 * @param fetch The {@link Fetch}.
+		 * @param <T> The type of the resource.
+		 * @return An {@link Optional} containing the resource, or {@link Optional#empty()} if it could not be fetched, or
+		 * the crawl was interrupted or its {@link Deadline} passed.
+		 */
+		private <T> Optional<T> fetch(Fetch<T> fetch) {
+			if (Thread.currentThread().isInterrupted() || checkDeadline()) {
+				return Optional.empty();
+			}
+
+			if (!acquirePermit()) {
+				return Optional.empty();
+			}
+
+			try {
+				return fetch.fetch();
+			} catch (DeadlineExceededException e) {
+				expire();
+				return Optional.empty();
+			} catch (IOException e) {
+				return Optional.empty();
+			}
+		}
+
+		/**
+		 * Waits for a permit of the {@link RateLimiter}, if any, unless the crawl is interrupted or its {@link Deadline}
+		 * passes first.
+		 * @return {@code true} if a permit was acquired, or {@code false} if the crawl was interrupted or its
+		 * {@link Deadline} passed.
+		 */
+		private boolean acquirePermit() {
+			if (rateLimiter == null) {
+				return true;
+			}
+
+			while (!rateLimiter.tryAcquire(PERMIT_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (Thread.currentThread().isInterrupted() || checkDeadline()) {
+					return false;
+				}
+
+				/* tryAcquire returns at once when no permit is due within the timeout */
+				try {
+					Thread.sleep(PERMIT_POLL_MILLIS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Passes the {@link Item}s of a page to the consumer, then notifies the progress listener.
+		 * @param pageItems The {@link Item}s, or {@code null} if there are none to consume.
+		 */
+		private void report(ImmutableList<Item> pageItems) {
+			synchronized (lock) {
+				if (failure.get() != null) {
+					return;
+				}
+
+				if (pageItems != null) {
+					pageItems.forEach(consumer);
+				}
+				progressListener.accept(progress());
+			}
+		}
+
+		/**
+		 * Takes a snapshot of the progress of this crawl.
+		 * @return The {@link CrawlProgress}.
+		 */
+		private CrawlProgress progress() {
+			return new CrawlProgress(
+				categoryIds.size(),
+				categoriesPlanned.get(),
+				pagesPlanned.get(),
+				pagesCrawled.get(),
+				items.sum(),
+				System.nanoTime() - start,
+				ImmutableList.copyOf(failedCategories),
+				ImmutableList.copyOf(failedPages)
+			);
+		}
+	}
+}
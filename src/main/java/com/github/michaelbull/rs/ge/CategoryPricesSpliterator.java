@@ -0,0 +1,244 @@
+package com.github.michaelbull.rs.ge;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.math.IntMath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the {@link Item}s on the pages of {@link CategoryPrices} for a {@link Category} and prefix.
+ * <p>
+ * Pages are fetched lazily, as the {@link Item}s are consumed. Once the second {@link Item} of a page has been
+ * consumed, the next page is fetched in the background, so a stream that only needs the first {@link Item} makes a
+ * single request. The first page reveals the total amount of {@link Item}s, after which the remaining pages can be split
+ * into ranges that are fetched independently.
+ */
+final class CategoryPricesSpliterator implements Spliterator<Item> {
+
+	/**
+	 * Fetches a page of {@link CategoryPrices}.
+	 */
+	@FunctionalInterface
+	interface PageFetcher {
+		/**
+		 * Fetches a page of {@link CategoryPrices}.
+		 * @param page The page number, starting from one.
+		 * @return An {@link Optional} containing the {@link CategoryPrices}, or {@link Optional#empty()} if no
+		 * {@link CategoryPrices} were found.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		Optional<CategoryPrices> fetch(int page) throws IOException;
+	}
+
+	/**
+	 * The value of {@link #endPage} before the total amount of pages is known.
+	 */
+	private static final int UNKNOWN = -1;
+
+	/**
+	 * The {@link PageFetcher}.
+	 */
+	private final PageFetcher fetcher;
+
+	/**
+	 * The {@link Executor} that fetches the next page in the background.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The number of the next page that has not yet been requested.
+	 */
+	private int nextPage;
+
+	/**
+	 * The number of the page after the last page covered by this spliterator, or {@link #UNKNOWN}.
+	 */
+	private int endPage;
+
+	/**
+	 * The {@link Item}s of the current page.
+	 */
+	private ImmutableList<Item> buffer = ImmutableList.of();
+
+	/**
+	 * The index of the next {@link Item} to consume from the {@link #buffer}.
+	 */
+	private int bufferIndex;
+
+	/**
+	 * The page being fetched in the background, which is the page before {@link #nextPage}, or {@code null}.
+	 */
+	private CompletableFuture<Optional<CategoryPrices>> prefetch;
+
+	/**
+	 * Whether an empty page was found before the total amount of pages was known.
+	 */
+	private boolean exhausted;
+
+	/**
+	 * Creates a new {@link CategoryPricesSpliterator} that starts at the first page.
+	 * @param fetcher The {@link PageFetcher}.
+	 * @param executor The {@link Executor} that fetches the next page in the background.
+	 */
+	CategoryPricesSpliterator(PageFetcher fetcher, Executor executor) {
+		this(fetcher, executor, 1, UNKNOWN);
+	}
+
+	/**
+	 * Creates a new {@link CategoryPricesSpliterator}.
+	 * @param fetcher The {@link PageFetcher}.
+	 * @param executor The {@link Executor} that fetches the next page in the background.
+	 * @param nextPage The number of the first page.
+	 * @param endPage The number of the page after the last page, or {@link #UNKNOWN}.
+	 */
+	private CategoryPricesSpliterator(PageFetcher fetcher, Executor executor, int nextPage, int endPage) {
+		this.fetcher = Preconditions.checkNotNull(fetcher);
+		this.executor = Preconditions.checkNotNull(executor);
+		this.nextPage = nextPage;
+		this.endPage = endPage;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Item> action) {
+		Preconditions.checkNotNull(action);
+
+		while (bufferIndex == buffer.size()) {
+			if (!nextBuffer()) {
+				return false;
+			}
+		}
+
+		Item item = buffer.get(bufferIndex++);
+		if (bufferIndex == 2) {
+			prefetchNextPage();
+		}
+
+		action.accept(item);
+		return true;
+	}
+
+	@Override
+	public Spliterator<Item> trySplit() {
+		/* the first page reveals how many pages there are to split */
+		while (endPage == UNKNOWN) {
+			if (!nextBuffer()) {
+				return null;
+			}
+		}
+
+		int unrequested = endPage - nextPage;
+		if (unrequested < 2) {
+			return null;
+		}
+
+		int middlePage = nextPage + unrequested / 2;
+		CategoryPricesSpliterator prefix = new CategoryPricesSpliterator(fetcher, executor, nextPage, middlePage);
+		prefix.buffer = buffer;
+		prefix.bufferIndex = bufferIndex;
+		prefix.prefetch = prefetch;
+
+		buffer = ImmutableList.of();
+		bufferIndex = 0;
+		prefetch = null;
+		nextPage = middlePage;
+
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		if (endPage == UNKNOWN) {
+			return exhausted ? 0 : Long.MAX_VALUE;
+		}
+
+		int pages = endPage - nextPage + (prefetch == null ? 0 : 1);
+		return (buffer.size() - bufferIndex) + (long) pages * Category.ITEMS_PER_PAGE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+	/**
+	 * Replaces the {@link #buffer} with the {@link Item}s of the next page, waiting for it if it is being fetched in the
+	 * background.
+	 * @return {@code true} if a page was fetched, {@code false} if there are no pages left.
+	 * @throws UncheckedIOException If an I/O error occurs.
+	 */
+	private boolean nextBuffer() {
+		Optional<CategoryPrices> page;
+
+		if (prefetch != null) {
+			try {
+				page = prefetch.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			} finally {
+				prefetch = null;
+			}
+		} else if (hasUnrequestedPage()) {
+			page = fetch(nextPage++);
+		} else {
+			return false;
+		}
+
+		if (!page.isPresent()) {
+			exhausted = endPage == UNKNOWN;
+			buffer = ImmutableList.of();
+		} else {
+			if (endPage == UNKNOWN) {
+				endPage = nextPage + IntMath.divide(page.get().getTotal(), Category.ITEMS_PER_PAGE, RoundingMode.CEILING) - 1;
+			}
+			buffer = page.get().getItems();
+		}
+
+		bufferIndex = 0;
+		return true;
+	}
+
+	/**
+	 * Starts fetching the next page in the background, if there is one and it is not already being fetched.
+	 */
+	private void prefetchNextPage() {
+		if (prefetch == null && hasUnrequestedPage()) {
+			int page = nextPage++;
+			prefetch = CompletableFuture.supplyAsync(() -> fetch(page), executor);
+		}
+	}
+
+	/**
+	 * Checks whether there are pages covered by this spliterator that have not yet been requested.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	private boolean hasUnrequestedPage() {
+		return endPage == UNKNOWN ? !exhausted : nextPage < endPage;
+	}
+
+	/**
+	 * Fetches a page.
+	 * @param page The page number.
+	 * @return An {@link Optional} containing the {@link CategoryPrices}, or {@link Optional#empty()} if no
+	 * {@link CategoryPrices} were found.
+	 * @throws UncheckedIOException If an I/O error occurs.
+	 */
+	private Optional<CategoryPrices> fetch(int page) {
+		try {
+			return fetcher.fetch(page);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.github.michaelbull.rs.ge;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a snapshot of the progress of a {@link CatalogueCrawler}.
+ */
+public final class CrawlProgress {
+
+	/**
+	 * The amount of categories to crawl.
+	 */
+	private final int categories;
+
+	/**
+	 * The amount of categories whose pages have been planned.
+	 */
+	private final int categoriesPlanned;
+
+	/**
+	 * The amount of pages planned so far.
+	 */
+	private final int pagesPlanned;
+
+	/**
+	 * The amount of pages crawled successfully.
+	 */
+	private final int pagesCrawled;
+
+	/**
+	 * The amount of {@link Item}s crawled.
+	 */
+	private final long items;
+
+	/**
+	 * The amount of nanoseconds elapsed since the crawl started.
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * The ids of the categories that could not be planned.
+	 */
+	private final ImmutableList<Integer> failedCategories;
+
+	/**
+	 * The pages that could not be crawled.
+	 */
+	private final ImmutableList<CatalogueCrawler.Page> failedPages;
+
+	/**
+	 * Creates a new {@link CrawlProgress}.
+	 * @param categories The amount of categories to crawl.
+	 * @param categoriesPlanned The amount of categories whose pages have been planned.
+	 * @param pagesPlanned The amount of pages planned so far.
+	 * @param pagesCrawled The amount of pages crawled successfully.
+	 * @param items The amount of {@link Item}s crawled.
+	 * @param elapsedNanos The amount of nanoseconds elapsed since the crawl started.
+	 * @param failedCategories The ids of the categories that could not be planned.
+	 * @param failedPages The pages that could not be crawled.
+	 */
+	CrawlProgress(int categories, int categoriesPlanned, int pagesPlanned, int pagesCrawled, long items, long elapsedNanos, ImmutableList<Integer> failedCategories, ImmutableList<CatalogueCrawler.Page> failedPages) {
+		this.categories = categories;
+		this.categoriesPlanned = categoriesPlanned;
+		this.pagesPlanned = pagesPlanned;
+		this.pagesCrawled = pagesCrawled;
+		this.items = items;
+		this.elapsedNanos = elapsedNanos;
+		this.failedCategories = Preconditions.checkNotNull(failedCategories);
+		this.failedPages = Preconditions.checkNotNull(failedPages);
+	}
+
+	/**
+	 * Gets the amount of categories to crawl.
+	 * @return The amount of categories to crawl.
+	 */
+	public int getCategories() {
+		return categories;
+	}
+
+	/**
+	 * Gets the amount of categories whose pages have been planned, including those that could not be planned.
+	 * @return The amount of categories planned.
+	 */
+	public int getCategoriesPlanned() {
+		return categoriesPlanned;
+	}
+
+	/**
+	 * Gets the amount of pages planned so far. The amount grows until every category has been planned.
+	 * @return The amount of pages planned.
+	 */
+	public int getPagesPlanned() {
+		return pagesPlanned;
+	}
+
+	/**
+	 * Gets the amount of pages crawled successfully.
+	 * @return The amount of pages crawled.
+	 */
+	public int getPagesCrawled() {
+		return pagesCrawled;
+	}
+
+	/**
+	 * Gets the amount of {@link Item}s crawled.
+	 * @return The amount of {@link Item}s crawled.
+	 */
+	public long getItems() {
+		return items;
+	}
+
+	/**
+	 * Gets the time elapsed since the crawl started.
+	 * @param unit The {@link TimeUnit} of the elapsed time.
+	 * @return The elapsed time.
+	 */
+	public long getElapsed(TimeUnit unit) {
+		return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the average amount of {@link Item}s crawled per second.
+	 * @return The amount of {@link Item}s crawled per second.
+	 */
+	public double getItemsPerSecond() {
+		return elapsedNanos == 0 ? 0 : items * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Gets the average amount of pages crawled per second.
+	 * @return The amount of pages crawled per second.
+	 */
+	public double getPagesPerSecond() {
+		return elapsedNanos == 0 ? 0 : pagesCrawled * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Gets the ids of the categories that could not be planned after every attempt.
+	 * @return The ids of the categories.
+	 */
+	public ImmutableList<Integer> getFailedCategories() {
+		return failedCategories;
+	}
+
+	/**
+	 * Gets the pages that could not be crawled after every attempt.
+	 * @return The pages.
+	 */
+	public ImmutableList<CatalogueCrawler.Page> getFailedPages() {
+		return failedPages;
+	}
+
+	/**
+	 * Checks whether every category has been planned and every planned page has either been crawled or failed.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	public boolean isComplete() {
+		return categoriesPlanned == categories && pagesCrawled + failedPages.size() == pagesPlanned;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("categories", categoriesPlanned + "/" + categories)
+			.add("pages", pagesCrawled + "/" + pagesPlanned)
+			.add("items", items)
+			.add("itemsPerSecond", String.format("%.1f", getItemsPerSecond()))
+			.add("failedCategories", failedCategories.size())
+			.add("failedPages", failedPages.size())
+			.toString();
+	}
+}
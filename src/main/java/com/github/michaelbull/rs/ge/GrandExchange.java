@@ -5,9 +5,16 @@ import com.github.michaelbull.rs.HttpClient;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the RuneScape Grand Exchange API.
@@ -18,27 +25,27 @@ public final class GrandExchange {
 	/**
 	 * The URL to the Grand Exchange web-service.
 	 */
-	private static final String GRAND_EXCHANGE_URL = HttpClient.WEB_SERVICES_URL + "/m=itemdb_rs/api";
+	static final String GRAND_EXCHANGE_URL = HttpClient.WEB_SERVICES_URL + "/m=itemdb_rs/api";
 
 	/**
 	 * The format of the URL to fetch a {@link Category}.
 	 */
-	private static final String CATEGORY_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/category.json?category=%d";
+	static final String CATEGORY_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/category.json?category=%d";
 
 	/**
 	 * The format of the URL to fetch an {@link Item}.
 	 */
-	private static final String ITEMS_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/items.json?category=%d&alpha=%s&page=%d";
+	static final String ITEMS_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/items.json?category=%d&alpha=%s&page=%d";
 
 	/**
 	 * The format of the URL to fetch {@link GraphingData}.
 	 */
-	private static final String GRAPH_URL_FORMAT = GRAND_EXCHANGE_URL + "/graph/%d.json";
+	static final String GRAPH_URL_FORMAT = GRAND_EXCHANGE_URL + "/graph/%d.json";
 
 	/**
 	 * The format of the URL to fetch {@link ItemPriceInformation}.
 	 */
-	private static final String DETAILS_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/detail.json?item=%d";
+	static final String DETAILS_URL_FORMAT = GRAND_EXCHANGE_URL + "/catalogue/detail.json?item=%d";
 
 	/**
 	 * The categories of {@link Item}s on the Grand Exchange.
@@ -87,6 +94,27 @@ public final class GrandExchange {
 		/* 39 */ "Salvage"
 	);
 
+	/**
+	 * The amount of threads a {@link Stream} of {@link Item}s starts of its own to fetch pages in the background,
+	 * unless an {@link Executor} was given.
+	 */
+	private static final int DEFAULT_PREFETCH_THREADS = 4;
+
+	/**
+	 * Converts an item's prefix to the alpha parameter of the {@link #ITEMS_URL_FORMAT}, percent-encoding numeric prefixes
+	 * and the {@code #} letter under which the {@link Category}'s numeric prefixes are grouped.
+	 * @param prefix The item's prefix.
+	 * @return The alpha parameter.
+	 */
+	static String alpha(String prefix) {
+		if (prefix.equals("#")) {
+			return "%23";
+		}
+
+		Integer prefixPercentage = Ints.tryParse(prefix);
+		return prefixPercentage != null ? "%" + prefixPercentage : prefix;
+	}
+
 	/**
 	 * The web-services {@link Client}.
 	 */
@@ -139,15 +167,7 @@ public final class GrandExchange {
 		Preconditions.checkElementIndex(categoryId, CATEGORIES.size(), "Category id must be between 0 and " + (CATEGORIES.size() - 1) + " inclusive.");
 		Preconditions.checkArgument(!prefix.isEmpty(), "Prefix must be at least 1 character long.");
 
-		String alpha;
-		Integer prefixPercentage = Ints.tryParse(prefix);
-		if (prefixPercentage != null) {
-			alpha = "%" + prefixPercentage;
-		} else {
-			alpha = prefix;
-		}
-
-		String url = String.format(ITEMS_URL_FORMAT, categoryId, alpha, page);
+		String url = String.format(ITEMS_URL_FORMAT, categoryId, alpha(prefix), page);
 		return client.fromJson(url, CategoryPrices.class);
 	}
 
@@ -166,6 +186,60 @@ public final class GrandExchange {
 		return categoryPrices(CATEGORIES.indexOf(categoryName), prefix, page);
 	}
 
+	/**
+	 * Gets a lazy {@link Stream} of the {@link Item}s on every page of {@link CategoryPrices} for a {@link Category}'s id
+	 * and an item's prefix. The next page is fetched in the background by a few threads of the {@link Stream}'s own,
+	 * which are stopped when it is closed, and stop on their own once it is no longer consumed.
+	 * @param categoryId The id of the {@link Category}.
+	 * @param prefix An item's prefix.
+	 * @return The {@link Stream} of {@link Item}s, which throws an {@link java.io.UncheckedIOException} if an I/O error occurs.
+	 * @see #items(int, String, Executor)
+	 */
+	public Stream<Item> items(int categoryId, String prefix) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_PREFETCH_THREADS, DEFAULT_PREFETCH_THREADS, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+			.setNameFormat("grand-exchange-prefetch-%d")
+			.setDaemon(true)
+			.build());
+
+		/* idle threads time out, so that a stream that is never closed does not keep them */
+		executor.allowCoreThreadTimeOut(true);
+		return items(categoryId, prefix, executor).onClose(executor::shutdownNow);
+	}
+
+	/**
+	 * Gets a lazy {@link Stream} of the {@link Item}s on every page of {@link CategoryPrices} for a {@link Category}'s id
+	 * and an item's prefix.
+	 * <p>
+	 * No pages are fetched until the {@link Stream} is consumed, and short-circuiting operations stop fetching pages once
+	 * they are satisfied. A parallel {@link Stream} splits the pages into ranges that are fetched independently.
+	 * @param categoryId The id of the {@link Category}.
+	 * @param prefix An item's prefix.
+	 * @param executor The {@link Executor} that fetches the next page in the background.
+	 * @return The {@link Stream} of {@link Item}s, which throws an {@link java.io.UncheckedIOException} if an I/O error occurs.
+	 * @see <a href="https://runescape.wiki/w/Application_programming_interface#items">Category price details</a>
+	 */
+	public Stream<Item> items(int categoryId, String prefix, Executor executor) {
+		Preconditions.checkElementIndex(categoryId, CATEGORIES.size(), "Category id must be between 0 and " + (CATEGORIES.size() - 1) + " inclusive.");
+		Preconditions.checkArgument(!prefix.isEmpty(), "Prefix must be at least 1 character long.");
+		Preconditions.checkNotNull(executor);
+
+		CategoryPricesSpliterator spliterator = new CategoryPricesSpliterator(page -> categoryPrices(categoryId, prefix, page), executor);
+		return StreamSupport.stream(spliterator, false);
+	}
+
+	/**
+	 * Gets a lazy {@link Stream} of the {@link Item}s on every page of {@link CategoryPrices} for a {@link Category}'s name
+	 * and an item's prefix.
+	 * @param categoryName The name of the {@link Category}.
+	 * @param prefix An item's prefix.
+	 * @return The {@link Stream} of {@link Item}s, which throws an {@link java.io.UncheckedIOException} if an I/O error occurs.
+	 * @see #items(int, String, Executor)
+	 */
+	public Stream<Item> items(String categoryName, String prefix) {
+		Preconditions.checkNotNull(categoryName);
+		return items(CATEGORIES.indexOf(categoryName), prefix);
+	}
+
 	/**
 	 * Gets the {@link GraphingData} of an {@link Item}.
 	 * @param itemId The id of the {@link Item}.
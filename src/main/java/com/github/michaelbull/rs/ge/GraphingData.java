@@ -2,29 +2,151 @@ package com.github.michaelbull.rs.ge;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.time.Instant;
+import java.io.IOException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the data used to graphically display an {@link Item}s price history on the RuneScape {@link GrandExchange}.
+ * <p>
+ * The daily and average prices are each stored as a {@link PriceSeries}. The {@link ImmutableMap} views returned by
+ * {@link #getDailyPrices()} and {@link #getAveragePrices()} are created once, when first requested.
  * @see <a href="https://runescape.wiki/w/Application_programming_interface#Graph">Graphing Data</a>
  */
+@JsonAdapter(GraphingData.Adapter.class)
 public final class GraphingData {
 
 	/**
-	 * Converts a {@link LocalDate} to the number of milliseconds from the epoch of 1970-01-01T00:00:00Z.
-	 * @param date The {@link LocalDate}.
-	 * @return The number of milliseconds from the epoch of 1970-01-01T00:00:00Z.
+	 * The {@link TypeAdapter} that reads {@link GraphingData} from the {@link GrandExchange}'s JSON, in which each price
+	 * is keyed by its datecode.
 	 */
-	private static long localDateToEpochMilli(LocalDate date) {
-		return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+	static final class Adapter extends TypeAdapter<GraphingData> {
+		@Override
+		public void write(JsonWriter out, GraphingData value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+
+			out.beginObject();
+			out.name("daily");
+			writeSeries(out, value.daily);
+			out.name("average");
+			writeSeries(out, value.average);
+			out.endObject();
+		}
+
+		/**
+		 * Writes a {@link PriceSeries} as an object of datecodes to prices.
+		 * @param out The {@link JsonWriter}.
+		 * @param series The {@link PriceSeries}.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		private static void writeSeries(JsonWriter out, PriceSeries series) throws IOException {
+			out.beginObject();
+			for (int i = 0; i < series.size(); i++) {
+				out.name(String.valueOf(TimeUnit.DAYS.toMillis(series.getEpochDayAt(i))));
+				out.value(series.getPriceAt(i));
+			}
+			out.endObject();
+		}
+
+		@Override
+		public GraphingData read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+
+			PriceSeries daily = null;
+			PriceSeries average = null;
+
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "daily":
+						daily = readSeries(in);
+						break;
+
+					case "average":
+						average = readSeries(in);
+						break;
+
+					default:
+						in.skipValue();
+						break;
+				}
+			}
+			in.endObject();
+
+			if (daily == null || average == null) {
+				throw new JsonParseException("Graphing data requires daily and average prices.");
+			}
+
+			return new GraphingData(daily, average);
+		}
+
+		/**
+		 * Reads an object of datecodes to prices into a {@link PriceSeries}.
+		 * @param in The {@link JsonReader}.
+		 * @return The {@link PriceSeries}.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		private static PriceSeries readSeries(JsonReader in) throws IOException {
+			long[] epochDays = new long[INITIAL_SERIES_CAPACITY];
+			int[] prices = new int[INITIAL_SERIES_CAPACITY];
+			int size = 0;
+
+			in.beginObject();
+			while (in.hasNext()) {
+				if (size == epochDays.length) {
+					epochDays = Arrays.copyOf(epochDays, size * 2);
+					prices = Arrays.copyOf(prices, size * 2);
+				}
+
+				epochDays[size] = datecodeToEpochDay(in.nextName());
+				prices[size] = in.nextInt();
+				size++;
+			}
+			in.endObject();
+
+			return PriceSeries.of(epochDays, prices, size);
+		}
+	}
+
+	/**
+	 * The initial capacity of the arrays a {@link PriceSeries} is read into, which fits the 180 days of prices the
+	 * {@link GrandExchange} provides.
+	 */
+	private static final int INITIAL_SERIES_CAPACITY = 180;
+
+	/**
+	 * Converts a datecode (milliseconds since the epoch of 1970-01-01T00:00:00Z) to the number of days from the epoch of
+	 * 1970-01-01 on the UTC time-zone.
+	 * @param datecode The datecode.
+	 * @return The number of days from the epoch of 1970-01-01.
+	 * @throws JsonParseException If the datecode is not a number.
+	 */
+	private static long datecodeToEpochDay(String datecode) {
+		try {
+			return Math.floorDiv(Long.parseLong(datecode), TimeUnit.DAYS.toMillis(1));
+		} catch (NumberFormatException e) {
+			throw new JsonParseException("Invalid datecode: " + datecode, e);
+		}
 	}
 
 	/**
@@ -34,7 +156,7 @@ public final class GraphingData {
 	 * @return The {@link GraphingData}.
 	 */
 	public static GraphingData fromDatecodes(Map<String, Integer> daily, Map<String, Integer> average) {
-		return new GraphingData(Preconditions.checkNotNull(daily), Preconditions.checkNotNull(average));
+		return new GraphingData(datecodesToSeries(daily), datecodesToSeries(average));
 	}
 
 	/**
@@ -44,58 +166,68 @@ public final class GraphingData {
 	 * @return The {@link GraphingData}.
 	 */
 	public static GraphingData fromLocalDates(Map<LocalDate, Integer> daily, Map<LocalDate, Integer> average) {
-		Preconditions.checkNotNull(daily);
-		Preconditions.checkNotNull(average);
-
-		ImmutableMap.Builder<String, Integer> dailyBuilder = ImmutableMap.builder();
-		for (Map.Entry<LocalDate, Integer> entry : daily.entrySet()) {
-			dailyBuilder.put(String.valueOf(localDateToEpochMilli(entry.getKey())), entry.getValue());
-		}
-
-		ImmutableMap.Builder<String, Integer> averageBuilder = ImmutableMap.builder();
-		for (Map.Entry<LocalDate, Integer> entry : average.entrySet()) {
-			averageBuilder.put(String.valueOf(localDateToEpochMilli(entry.getKey())), entry.getValue());
-		}
-
-		return new GraphingData(dailyBuilder.build(), averageBuilder.build());
+		return new GraphingData(PriceSeries.of(daily), PriceSeries.of(average));
 	}
 
 	/**
-	 * Gets an {@link ImmutableMap} of {@link LocalDate}s to prices.
+	 * Converts a {@link Map} of datecodes to prices into a {@link PriceSeries}.
 	 * @param prices A {@link Map} of datecodes to prices.
-	 * @return An {@link ImmutableMap} of {@link LocalDate} to prices.
+	 * @return The {@link PriceSeries}.
 	 */
-	private static ImmutableMap<LocalDate, Integer> getPrices(Map<String, Integer> prices) {
-		ImmutableMap.Builder<LocalDate, Integer> builder = ImmutableMap.builder();
+	private static PriceSeries datecodesToSeries(Map<String, Integer> prices) {
+		Preconditions.checkNotNull(prices);
 
-		for (Map.Entry<String, Integer> entry : prices.entrySet()) {
-			long epochMilli = Long.parseLong(entry.getKey());
-			LocalDate dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC).toLocalDate();
+		long[] epochDays = new long[prices.size()];
+		int[] values = new int[prices.size()];
+		int size = 0;
 
-			builder.put(dateTime, entry.getValue());
+		for (Map.Entry<String, Integer> entry : prices.entrySet()) {
+			epochDays[size] = datecodeToEpochDay(entry.getKey());
+			values[size] = entry.getValue();
+			size++;
 		}
 
-		return builder.build();
+		return PriceSeries.of(epochDays, values, size);
 	}
 
 	/**
-	 * A {@link Map} of datecodes to daily price values.
+	 * The {@link PriceSeries} of daily price values.
+	 */
+	private final PriceSeries daily;
+
+	/**
+	 * The {@link PriceSeries} of average price values.
 	 */
-	private final Map<String, Integer> daily;
+	private final PriceSeries average;
 
 	/**
-	 * A {@link Map} of datecodes to average price values.
+	 * The {@link ImmutableMap} view of the daily price values, created when first requested.
 	 */
-	private final Map<String, Integer> average;
+	private final Supplier<ImmutableMap<LocalDate, Integer>> dailyPrices;
+
+	/**
+	 * The {@link ImmutableMap} view of the average price values, created when first requested.
+	 */
+	private final Supplier<ImmutableMap<LocalDate, Integer>> averagePrices;
 
 	/**
 	 * Creates new {@link GraphingData}.
 	 * @param daily The daily price values.
 	 * @param average The average price values.
 	 */
-	private GraphingData(Map<String, Integer> daily, Map<String, Integer> average) {
+	private GraphingData(PriceSeries daily, PriceSeries average) {
 		this.daily = Preconditions.checkNotNull(daily);
 		this.average = Preconditions.checkNotNull(average);
+		this.dailyPrices = Suppliers.memoize(daily::toMap);
+		this.averagePrices = Suppliers.memoize(average::toMap);
+	}
+
+	/**
+	 * Gets the {@link PriceSeries} of daily prices.
+	 * @return The {@link PriceSeries} of daily prices.
+	 */
+	public PriceSeries getDailySeries() {
+		return daily;
 	}
 
 	/**
@@ -103,7 +235,7 @@ public final class GraphingData {
 	 * @return An {@link ImmutableMap} of {@link LocalDate}s to daily prices.
 	 */
 	public ImmutableMap<LocalDate, Integer> getDailyPrices() {
-		return getPrices(daily);
+		return dailyPrices.get();
 	}
 
 	/**
@@ -112,8 +244,15 @@ public final class GraphingData {
 	 * @return An {@link OptionalInt} containing the price, or {@link OptionalInt#empty()} if no daily value was recorded on this date.
 	 */
 	public OptionalInt getDailyPrice(LocalDate dateTime) {
-		Integer price = daily.get(String.valueOf(localDateToEpochMilli(dateTime)));
-		return price == null ? OptionalInt.empty() : OptionalInt.of(price);
+		return daily.getPrice(dateTime);
+	}
+
+	/**
+	 * Gets the {@link PriceSeries} of average prices.
+	 * @return The {@link PriceSeries} of average prices.
+	 */
+	public PriceSeries getAverageSeries() {
+		return average;
 	}
 
 	/**
@@ -121,7 +260,7 @@ public final class GraphingData {
 	 * @return An {@link ImmutableMap} of {@link LocalDate}s to average prices.
 	 */
 	public ImmutableMap<LocalDate, Integer> getAveragePrices() {
-		return getPrices(average);
+		return averagePrices.get();
 	}
 
 	/**
@@ -130,8 +269,7 @@ public final class GraphingData {
 	 * @return An {@link OptionalInt} containing the price, or {@link OptionalInt#empty()} if no average value was recorded on this date.
 	 */
 	public OptionalInt getAveragePrice(LocalDate dateTime) {
-		Integer price = average.get(String.valueOf(localDateToEpochMilli(dateTime)));
-		return price == null ? OptionalInt.empty() : OptionalInt.of(price);
+		return average.getPrice(dateTime);
 	}
 
 	@Override
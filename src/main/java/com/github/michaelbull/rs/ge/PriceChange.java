@@ -2,50 +2,153 @@ package com.github.michaelbull.rs.ge;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
 
 /**
  * Represents the change in price of an {@link Item} on the RuneScape {@link GrandExchange}.
+ * <p>
+ * The amount of change is parsed into a percentage once, when the {@link PriceChange} is created. A trend or amount of
+ * change that cannot be parsed is kept as it was displayed rather than failing the item it belongs to.
  */
+@JsonAdapter(PriceChange.Adapter.class)
 public final class PriceChange {
 
 	/**
-	 * The trend.
+	 * The {@link TypeAdapter} that reads a {@link PriceChange} from the {@link GrandExchange}'s JSON.
 	 */
-	private final String trend;
+	static final class Adapter extends TypeAdapter<PriceChange> {
+		@Override
+		public void write(JsonWriter out, PriceChange value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+
+			out.beginObject();
+			out.name("trend").value(value.trendName);
+			out.name("change").value(value.change);
+			out.endObject();
+		}
+
+		@Override
+		public PriceChange read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+
+			String trend = null;
+			String change = null;
+
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "trend":
+						trend = in.nextString();
+						break;
+
+					case "change":
+						change = in.nextString();
+						break;
+
+					default:
+						in.skipValue();
+						break;
+				}
+			}
+			in.endObject();
+
+			if (trend == null || change == null) {
+				throw new JsonParseException("A price change requires a trend and a change.");
+			}
+
+			return new PriceChange(trend, change);
+		}
+	}
+
+	/**
+	 * The trend, as it was displayed.
+	 */
+	private final String trendName;
+
+	/**
+	 * The {@link Trend}, or {@code null} if the trend is unknown.
+	 */
+	private final Trend trend;
 
 	/**
-	 * The amount of change.
+	 * The amount of change, as it was displayed.
 	 */
 	private final String change;
 
+	/**
+	 * The amount of change as a percentage, or {@link OptionalDouble#empty()} if it is not a percentage.
+	 */
+	private final OptionalDouble percentage;
+
 	/**
 	 * Creates a new {@link PriceChange}.
 	 * @param trend The trend.
 	 * @param change The amount of change.
 	 */
 	public PriceChange(String trend, String change) {
-		this.trend = Preconditions.checkNotNull(trend);
+		this.trendName = Preconditions.checkNotNull(trend);
+		this.trend = Trend.from(trend).orElse(null);
 		this.change = Preconditions.checkNotNull(change);
+		this.percentage = Prices.tryParsePercentage(change);
+	}
+
+	/**
+	 * Creates a new {@link PriceChange}.
+	 * @param trend The {@link Trend}.
+	 * @param change The amount of change.
+	 */
+	public PriceChange(Trend trend, String change) {
+		this(trend.getName(), change);
 	}
 
 	/**
-	 * Gets the trend.
+	 * Gets the {@link Trend}.
+	 * @return An {@link Optional} containing the {@link Trend}, or {@link Optional#empty()} if the trend is unknown.
+	 */
+	public Optional<Trend> getTrend() {
+		return Optional.ofNullable(trend);
+	}
+
+	/**
+	 * Gets the trend, as it was displayed (e.g. {@code "positive"}).
 	 * @return The trend.
 	 */
-	public String getTrend() {
-		return trend;
+	public String getTrendName() {
+		return trendName;
 	}
 
 	/**
-	 * Gets the amount of change.
+	 * Gets the amount of change, as it was displayed (e.g. {@code "+5.0%"}).
 	 * @return The amount of change.
 	 */
 	public String getChange() {
 		return change;
 	}
 
+	/**
+	 * Gets the amount of change as a percentage (e.g. {@code 5.0} for {@code "+5.0%"}).
+	 * @return The amount of change as a percentage, or {@link OptionalDouble#empty()} if it is not a percentage.
+	 */
+	public OptionalDouble getPercentage() {
+		return percentage;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -55,20 +158,21 @@ public final class PriceChange {
 			return false;
 		}
 		PriceChange that = (PriceChange) o;
-		return Objects.equals(trend, that.trend)
+		return Objects.equals(trendName, that.trendName)
 			&& Objects.equals(change, that.change);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(trend, change);
+		return Objects.hash(trendName, change);
 	}
 
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
-			.add("trend", trend)
+			.add("trend", trendName)
 			.add("change", change)
+			.add("percentage", percentage)
 			.toString();
 	}
 }
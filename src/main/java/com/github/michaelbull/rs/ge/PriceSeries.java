@@ -0,0 +1,305 @@
+package com.github.michaelbull.rs.ge;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Represents a series of prices of an {@link Item}, one per day, in ascending order of date.
+ * <p>
+ * The series is stored as parallel arrays of epoch days and prices. Looking up the price on a date is a binary search,
+ * slicing a series shares the arrays of the original, and {@link #forEach(PricePointConsumer)} iterates without
+ * allocating.
+ */
+public final class PriceSeries {
+
+	/**
+	 * Accepts the price of an {@link Item} on a single day.
+	 */
+	@FunctionalInterface
+	public interface PricePointConsumer {
+		/**
+		 * Accepts the price of an {@link Item} on a single day.
+		 * @param epochDay The day, as a count of days from the epoch of 1970-01-01.
+		 * @param price The price.
+		 */
+		void accept(long epochDay, int price);
+	}
+
+	/**
+	 * The {@link PriceSeries} that contains no prices.
+	 */
+	private static final PriceSeries EMPTY = new PriceSeries(new long[0], new int[0], 0, 0);
+
+	/**
+	 * Creates a {@link PriceSeries} from parallel arrays of epoch days and prices, which are sorted by date if they are
+	 * not already. If a day occurs more than once, the price that occurs last is kept.
+	 * @param epochDays The epoch days, which the {@link PriceSeries} takes ownership of.
+	 * @param prices The prices, which the {@link PriceSeries} takes ownership of.
+	 * @param size The amount of prices in the arrays.
+	 * @return The {@link PriceSeries}.
+	 */
+	static PriceSeries of(long[] epochDays, int[] prices, int size) {
+		Preconditions.checkArgument(size <= epochDays.length && size <= prices.length, "Size exceeds the length of the arrays.");
+
+		if (size == 0) {
+			return EMPTY;
+		}
+
+		boolean sorted = true;
+		for (int i = 1; i < size && sorted; i++) {
+			sorted = epochDays[i - 1] < epochDays[i];
+		}
+
+		if (!sorted) {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+
+			/* the sort is stable, so the last of several prices on the same day remains last */
+			Arrays.sort(order, Comparator.comparingLong(i -> epochDays[i]));
+
+			long[] sortedDays = new long[size];
+			int[] sortedPrices = new int[size];
+			int unique = 0;
+
+			for (int i = 0; i < size; i++) {
+				int index = order[i];
+				if (unique > 0 && sortedDays[unique - 1] == epochDays[index]) {
+					unique--;
+				}
+
+				sortedDays[unique] = epochDays[index];
+				sortedPrices[unique] = prices[index];
+				unique++;
+			}
+
+			return new PriceSeries(sortedDays, sortedPrices, 0, unique);
+		}
+
+		return new PriceSeries(epochDays, prices, 0, size);
+	}
+
+	/**
+	 * Creates a {@link PriceSeries} from a {@link Map} of {@link LocalDate}s to prices.
+	 * @param prices The {@link Map} of {@link LocalDate}s to prices.
+	 * @return The {@link PriceSeries}.
+	 */
+	public static PriceSeries of(Map<LocalDate, Integer> prices) {
+		Preconditions.checkNotNull(prices);
+
+		long[] epochDays = new long[prices.size()];
+		int[] values = new int[prices.size()];
+		int size = 0;
+
+		for (Map.Entry<LocalDate, Integer> entry : prices.entrySet()) {
+			epochDays[size] = entry.getKey().toEpochDay();
+			values[size] = entry.getValue();
+			size++;
+		}
+
+		return of(epochDays, values, size);
+	}
+
+	/**
+	 * The epoch days, in ascending order, shared with any slices of this series.
+	 */
+	private final long[] epochDays;
+
+	/**
+	 * The prices, parallel to the {@link #epochDays}.
+	 */
+	private final int[] prices;
+
+	/**
+	 * The index of the first price in this series, inclusive.
+	 */
+	private final int from;
+
+	/**
+	 * The index of the last price in this series, exclusive.
+	 */
+	private final int to;
+
+	/**
+	 * Creates a new {@link PriceSeries}.
+	 * @param epochDays The epoch days, in ascending order.
+	 * @param prices The prices, parallel to the epoch days.
+	 * @param from The index of the first price in this series, inclusive.
+	 * @param to The index of the last price in this series, exclusive.
+	 */
+	private PriceSeries(long[] epochDays, int[] prices, int from, int to) {
+		this.epochDays = epochDays;
+		this.prices = prices;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Gets the amount of prices in this series.
+	 * @return The amount of prices.
+	 */
+	public int size() {
+		return to - from;
+	}
+
+	/**
+	 * Checks whether this series contains no prices.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return from == to;
+	}
+
+	/**
+	 * Gets the day of the price at an index, as a count of days from the epoch of 1970-01-01.
+	 * @param index The index.
+	 * @return The epoch day.
+	 * @throws IndexOutOfBoundsException If the index is out of range.
+	 */
+	public long getEpochDayAt(int index) {
+		return epochDays[from + Preconditions.checkElementIndex(index, size())];
+	}
+
+	/**
+	 * Gets the date of the price at an index.
+	 * @param index The index.
+	 * @return The {@link LocalDate}.
+	 * @throws IndexOutOfBoundsException If the index is out of range.
+	 */
+	public LocalDate getDateAt(int index) {
+		return LocalDate.ofEpochDay(getEpochDayAt(index));
+	}
+
+	/**
+	 * Gets the price at an index.
+	 * @param index The index.
+	 * @return The price.
+	 * @throws IndexOutOfBoundsException If the index is out of range.
+	 */
+	public int getPriceAt(int index) {
+		return prices[from + Preconditions.checkElementIndex(index, size())];
+	}
+
+	/**
+	 * Gets the price on an epoch day.
+	 * @param epochDay The day, as a count of days from the epoch of 1970-01-01.
+	 * @return An {@link OptionalInt} containing the price, or {@link OptionalInt#empty()} if no price was recorded on this day.
+	 */
+	public OptionalInt getPrice(long epochDay) {
+		int index = Arrays.binarySearch(epochDays, from, to, epochDay);
+		return index < 0 ? OptionalInt.empty() : OptionalInt.of(prices[index]);
+	}
+
+	/**
+	 * Gets the price on a {@link LocalDate}.
+	 * @param date The {@link LocalDate}.
+	 * @return An {@link OptionalInt} containing the price, or {@link OptionalInt#empty()} if no price was recorded on this date.
+	 */
+	public OptionalInt getPrice(LocalDate date) {
+		return getPrice(date.toEpochDay());
+	}
+
+	/**
+	 * Gets the slice of this series between two indices. The slice shares the arrays of this series.
+	 * @param fromIndex The index of the first price in the slice, inclusive.
+	 * @param toIndex The index of the last price in the slice, exclusive.
+	 * @return The slice.
+	 * @throws IndexOutOfBoundsException If either index is out of range, or the indices are out of order.
+	 */
+	public PriceSeries slice(int fromIndex, int toIndex) {
+		Preconditions.checkPositionIndexes(fromIndex, toIndex, size());
+		return new PriceSeries(epochDays, prices, from + fromIndex, from + toIndex);
+	}
+
+	/**
+	 * Gets the slice of this series between two dates. The slice shares the arrays of this series.
+	 * @param fromDate The first date in the slice, inclusive.
+	 * @param toDate The last date in the slice, exclusive.
+	 * @return The slice.
+	 */
+	public PriceSeries between(LocalDate fromDate, LocalDate toDate) {
+		Preconditions.checkArgument(!toDate.isBefore(fromDate), "The dates must be in order.");
+		int fromIndex = indexOf(fromDate.toEpochDay());
+		int toIndex = indexOf(toDate.toEpochDay());
+		return new PriceSeries(epochDays, prices, fromIndex, toIndex);
+	}
+
+	/**
+	 * Gets the index in the arrays of the first epoch day in this series that is on or after a given epoch day.
+	 * @param epochDay The epoch day.
+	 * @return The index.
+	 */
+	private int indexOf(long epochDay) {
+		int index = Arrays.binarySearch(epochDays, from, to, epochDay);
+		return index < 0 ? -(index + 1) : index;
+	}
+
+	/**
+	 * Passes each price in this series, in ascending order of date, to a {@link PricePointConsumer}.
+	 * @param consumer The {@link PricePointConsumer}.
+	 */
+	public void forEach(PricePointConsumer consumer) {
+		Preconditions.checkNotNull(consumer);
+
+		for (int i = from; i < to; i++) {
+			consumer.accept(epochDays[i], prices[i]);
+		}
+	}
+
+	/**
+	 * Gets an {@link ImmutableMap} of {@link LocalDate}s to the prices in this series, in ascending order of date.
+	 * @return The {@link ImmutableMap}.
+	 */
+	public ImmutableMap<LocalDate, Integer> toMap() {
+		ImmutableMap.Builder<LocalDate, Integer> builder = ImmutableMap.builder();
+		forEach((epochDay, price) -> builder.put(LocalDate.ofEpochDay(epochDay), price));
+		return builder.build();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		PriceSeries that = (PriceSeries) o;
+		if (size() != that.size()) {
+			return false;
+		}
+		for (int i = 0; i < size(); i++) {
+			if (epochDays[from + i] != that.epochDays[that.from + i] || prices[from + i] != that.prices[that.from + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = from; i < to; i++) {
+			result = 31 * result + Long.hashCode(epochDays[i]);
+			result = 31 * result + prices[i];
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("from", isEmpty() ? null : getDateAt(0))
+			.add("to", isEmpty() ? null : getDateAt(size() - 1))
+			.add("size", size())
+			.toString();
+	}
+}
@@ -2,32 +2,111 @@ package com.github.michaelbull.rs.ge;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Represents the trend and price of an {@link Item}.
+ * <p>
+ * The price is parsed into an amount of coins once, when the {@link PriceTrend} is created, so that prices can be
+ * compared and aggregated without parsing their abbreviated form (e.g. {@code "1.2k"}) again. A trend or price that
+ * cannot be parsed is kept as it was displayed rather than failing the page or item it belongs to.
  */
+@JsonAdapter(PriceTrend.Adapter.class)
 public final class PriceTrend {
 
 	/**
-	 * The trend.
+	 * The {@link TypeAdapter} that reads a {@link PriceTrend} from the {@link GrandExchange}'s JSON.
 	 */
-	private final String trend;
+	static final class Adapter extends TypeAdapter<PriceTrend> {
+		@Override
+		public void write(JsonWriter out, PriceTrend value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+
+			out.beginObject();
+			out.name("trend").value(value.trendName);
+			out.name("price").value(value.price);
+			out.endObject();
+		}
+
+		@Override
+		public PriceTrend read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+
+			String trend = null;
+			String price = null;
+
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "trend":
+						trend = in.nextString();
+						break;
+
+					case "price":
+						price = in.nextString();
+						break;
+
+					default:
+						in.skipValue();
+						break;
+				}
+			}
+			in.endObject();
+
+			if (trend == null || price == null) {
+				throw new JsonParseException("A price trend requires a trend and a price.");
+			}
+
+			return new PriceTrend(trend, price);
+		}
+	}
+
+	/**
+	 * The trend, as it was displayed.
+	 */
+	private final String trendName;
+
+	/**
+	 * The {@link Trend}, or {@code null} if the trend is unknown.
+	 */
+	private final Trend trend;
 
 	/**
-	 * The price.
+	 * The price, as it was displayed.
 	 */
 	private final String price;
 
+	/**
+	 * The price in coins, or {@link OptionalLong#empty()} if the price is not an amount of coins.
+	 */
+	private final OptionalLong coins;
+
 	/**
 	 * Creates a new {@link PriceTrend}.
 	 * @param trend The trend.
 	 * @param price The price.
 	 */
 	public PriceTrend(String trend, String price) {
-		this.trend = Preconditions.checkNotNull(trend);
+		this.trendName = Preconditions.checkNotNull(trend);
+		this.trend = Trend.from(trend).orElse(null);
 		this.price = Preconditions.checkNotNull(price);
+		this.coins = Prices.tryParseCoins(price);
 	}
 
 	/**
@@ -40,21 +119,47 @@ public final class PriceTrend {
 	}
 
 	/**
-	 * Gets the trend.
+	 * Creates a new {@link PriceTrend}.
+	 * @param trend The {@link Trend}.
+	 * @param price The price.
+	 */
+	public PriceTrend(Trend trend, String price) {
+		this(trend.getName(), price);
+	}
+
+	/**
+	 * Gets the {@link Trend}.
+	 * @return An {@link Optional} containing the {@link Trend}, or {@link Optional#empty()} if the trend is unknown.
+	 */
+	public Optional<Trend> getTrend() {
+		return Optional.ofNullable(trend);
+	}
+
+	/**
+	 * Gets the trend, as it was displayed (e.g. {@code "positive"}).
 	 * @return The trend.
 	 */
-	public String getTrend() {
-		return trend;
+	public String getTrendName() {
+		return trendName;
 	}
 
 	/**
-	 * Gets the price.
+	 * Gets the price, as it was displayed (e.g. {@code "1.2k"}).
 	 * @return The price.
 	 */
 	public String getPrice() {
 		return price;
 	}
 
+	/**
+	 * Gets the price in coins (e.g. {@code 1200} for {@code "1.2k"}). Abbreviated prices are only as precise as they
+	 * were displayed.
+	 * @return The price in coins, or {@link OptionalLong#empty()} if the price is not an amount of coins.
+	 */
+	public OptionalLong getCoins() {
+		return coins;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -64,20 +169,21 @@ public final class PriceTrend {
 			return false;
 		}
 		PriceTrend that = (PriceTrend) o;
-		return Objects.equals(trend, that.trend)
+		return Objects.equals(trendName, that.trendName)
 			&& Objects.equals(price, that.price);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(trend, price);
+		return Objects.hash(trendName, price);
 	}
 
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
-			.add("trend", trend)
+			.add("trend", trendName)
 			.add("price", price)
+			.add("coins", coins)
 			.toString();
 	}
 }
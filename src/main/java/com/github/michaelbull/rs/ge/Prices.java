@@ -0,0 +1,125 @@
+package com.github.michaelbull.rs.ge;
+
+import com.google.common.base.Preconditions;
+
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+/**
+ * Contains methods for parsing the abbreviated prices and percentages found on the RuneScape {@link GrandExchange}.
+ */
+final class Prices {
+
+	/**
+	 * Parses an abbreviated amount of coins, such as {@code "247"}, {@code "1,234"}, {@code "1.2k"}, {@code "+5.1m"},
+	 * {@code "- 125"} or {@code "2.1b"}.
+	 * @param text The text to parse.
+	 * @return The amount of coins.
+	 * @throws IllegalArgumentException If the text is not an amount of coins.
+	 */
+	static long parseCoins(String text) {
+		String number = strip(text);
+		Preconditions.checkArgument(!number.isEmpty(), "Invalid amount of coins: %s", text);
+
+		long multiplier = 1;
+		switch (number.charAt(number.length() - 1)) {
+			case 'k':
+			case 'K':
+				multiplier = 1_000L;
+				break;
+
+			case 'm':
+			case 'M':
+				multiplier = 1_000_000L;
+				break;
+
+			case 'b':
+			case 'B':
+				multiplier = 1_000_000_000L;
+				break;
+		}
+
+		if (multiplier != 1) {
+			number = number.substring(0, number.length() - 1);
+		}
+
+		try {
+			if (multiplier == 1 && number.indexOf('.') == -1) {
+				return Long.parseLong(number);
+			}
+
+			return Math.round(Double.parseDouble(number) * multiplier);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid amount of coins: " + text, e);
+		}
+	}
+
+	/**
+	 * Parses an amount of coins, as {@link #parseCoins(String)} does, without failing on text that is not one.
+	 * @param text The text to parse.
+	 * @return An {@link OptionalLong} containing the amount of coins, or {@link OptionalLong#empty()} if the text is
+	 * not an amount of coins.
+	 */
+	static OptionalLong tryParseCoins(String text) {
+		try {
+			return OptionalLong.of(parseCoins(text));
+		} catch (IllegalArgumentException e) {
+			return OptionalLong.empty();
+		}
+	}
+
+	/**
+	 * Parses a percentage, such as {@code "+5.0%"} or {@code "-13.0%"}.
+	 * @param text The text to parse.
+	 * @return The percentage, e.g. {@code 5.0} for {@code "+5.0%"}.
+	 * @throws IllegalArgumentException If the text is not a percentage.
+	 */
+	static double parsePercentage(String text) {
+		String number = strip(text);
+		if (number.endsWith("%")) {
+			number = number.substring(0, number.length() - 1);
+		}
+
+		try {
+			return Double.parseDouble(number);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid percentage: " + text, e);
+		}
+	}
+
+	/**
+	 * Parses a percentage, as {@link #parsePercentage(String)} does, without failing on text that is not one.
+	 * @param text The text to parse.
+	 * @return An {@link OptionalDouble} containing the percentage, or {@link OptionalDouble#empty()} if the text is
+	 * not a percentage.
+	 */
+	static OptionalDouble tryParsePercentage(String text) {
+		try {
+			return OptionalDouble.of(parsePercentage(text));
+		} catch (IllegalArgumentException e) {
+			return OptionalDouble.empty();
+		}
+	}
+
+	/**
+	 * Strips the whitespace, thousands separators and leading plus sign from a number.
+	 * @param text The number.
+	 * @return The stripped number.
+	 */
+	private static String strip(String text) {
+		StringBuilder builder = new StringBuilder(text.length());
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c != ',' && !Character.isWhitespace(c) && !(c == '+' && builder.length() == 0)) {
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private Prices() {
+		/* empty */
+	}
+}
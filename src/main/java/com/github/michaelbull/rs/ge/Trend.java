@@ -0,0 +1,52 @@
+package com.github.michaelbull.rs.ge;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+
+/**
+ * Represents the direction in which the price of an {@link Item} is moving on the RuneScape {@link GrandExchange}.
+ */
+public enum Trend {
+
+	/**
+	 * The price is rising.
+	 */
+	POSITIVE,
+
+	/**
+	 * The price is steady.
+	 */
+	NEUTRAL,
+
+	/**
+	 * The price is falling.
+	 */
+	NEGATIVE;
+
+	/**
+	 * Gets a {@link Trend} from its name, as it appears in the {@link GrandExchange}'s JSON (e.g. {@code "positive"}).
+	 * @param name The name of the {@link Trend}, which is case-insensitive.
+	 * @return The {@link Trend} or {@link Optional#empty()} if no trend was found.
+	 */
+	public static Optional<Trend> from(String name) {
+		Preconditions.checkNotNull(name);
+
+		for (Trend trend : Trend.values()) {
+			if (trend.name().equalsIgnoreCase(name)) {
+				return Optional.of(trend);
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * Gets the name of this {@link Trend} as it appears in the {@link GrandExchange}'s JSON.
+	 * @return The name of this {@link Trend}.
+	 */
+	public String getName() {
+		return Ascii.toLowerCase(name());
+	}
+}
@@ -0,0 +1,198 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+
+/**
+ * Represents a type of activity ranked on the RuneScape {@link Hiscores}. Each {@link HiscoreTable} ranks a
+ * different selection of activities.
+ */
+public enum ActivityType {
+
+	/**
+	 * The Bounty Hunter activity.
+	 */
+	BOUNTY_HUNTER("Bounty Hunter"),
+
+	/**
+	 * The B.H. Rogues activity.
+	 */
+	BH_ROGUES("B.H. Rogues"),
+
+	/**
+	 * The Dominion Tower activity.
+	 */
+	DOMINION_TOWER("Dominion Tower"),
+
+	/**
+	 * The The Crucible activity.
+	 */
+	THE_CRUCIBLE("The Crucible"),
+
+	/**
+	 * The Castle Wars games activity.
+	 */
+	CASTLE_WARS_GAMES("Castle Wars games"),
+
+	/**
+	 * The B.A. Attackers activity.
+	 */
+	BA_ATTACKERS("B.A. Attackers"),
+
+	/**
+	 * The B.A. Defenders activity.
+	 */
+	BA_DEFENDERS("B.A. Defenders"),
+
+	/**
+	 * The B.A. Collectors activity.
+	 */
+	BA_COLLECTORS("B.A. Collectors"),
+
+	/**
+	 * The B.A. Healers activity.
+	 */
+	BA_HEALERS("B.A. Healers"),
+
+	/**
+	 * The Duel Tournament activity.
+	 */
+	DUEL_TOURNAMENT("Duel Tournament"),
+
+	/**
+	 * The Mobilising Armies activity.
+	 */
+	MOBILISING_ARMIES("Mobilising Armies"),
+
+	/**
+	 * The Conquest activity.
+	 */
+	CONQUEST("Conquest"),
+
+	/**
+	 * The Fist of Guthix activity.
+	 */
+	FIST_OF_GUTHIX("Fist of Guthix"),
+
+	/**
+	 * The GG: Athletics activity.
+	 */
+	GG_ATHLETICS("GG: Athletics"),
+
+	/**
+	 * The GG: Resource Race activity.
+	 */
+	GG_RESOURCE_RACE("GG: Resource Race"),
+
+	/**
+	 * The WE2: Armadyl Lifetime Contribution activity.
+	 */
+	WE2_ARMADYL_LIFETIME_CONTRIBUTION("WE2: Armadyl Lifetime Contribution"),
+
+	/**
+	 * The WE2: Bandos Lifetime Contribution activity.
+	 */
+	WE2_BANDOS_LIFETIME_CONTRIBUTION("WE2: Bandos Lifetime Contribution"),
+
+	/**
+	 * The WE2: Armadyl PvP kills activity.
+	 */
+	WE2_ARMADYL_PVP_KILLS("WE2: Armadyl PvP kills"),
+
+	/**
+	 * The WE2: Bandos PvP kills activity.
+	 */
+	WE2_BANDOS_PVP_KILLS("WE2: Bandos PvP kills"),
+
+	/**
+	 * The Heist Guard Level activity.
+	 */
+	HEIST_GUARD_LEVEL("Heist Guard Level"),
+
+	/**
+	 * The Heist Robber Level activity.
+	 */
+	HEIST_ROBBER_LEVEL("Heist Robber Level"),
+
+	/**
+	 * The CFP: 5 game average activity.
+	 */
+	CFP_5_GAME_AVERAGE("CFP: 5 game average"),
+
+	/**
+	 * The AF15: Cow Tipping activity.
+	 */
+	AF15_COW_TIPPING("AF15: Cow Tipping"),
+
+	/**
+	 * The AF15: Rats killed after the miniquest activity.
+	 */
+	AF15_RATS_KILLED_AFTER_THE_MINIQUEST("AF15: Rats killed after the miniquest"),
+
+	/**
+	 * The Clue Scrolls (easy) activity.
+	 */
+	CLUE_SCROLLS_EASY("Clue Scrolls (easy)"),
+
+	/**
+	 * The Clue Scrolls (medium) activity.
+	 */
+	CLUE_SCROLLS_MEDIUM("Clue Scrolls (medium)"),
+
+	/**
+	 * The Clue Scrolls (hard) activity.
+	 */
+	CLUE_SCROLLS_HARD("Clue Scrolls (hard)"),
+
+	/**
+	 * The Clue Scrolls (elite) activity.
+	 */
+	CLUE_SCROLLS_ELITE("Clue Scrolls (elite)"),
+
+	/**
+	 * The Clue Scrolls (master) activity.
+	 */
+	CLUE_SCROLLS_MASTER("Clue Scrolls (master)"),
+
+	/**
+	 * The Clues activity, ranked on the oldschool {@link Hiscores}.
+	 */
+	CLUES("Clues");
+
+	/**
+	 * Gets an {@link ActivityType} from its {@link #name}.
+	 * @param name The name of the activity.
+	 * @return The {@link ActivityType} or {@link Optional#empty()} if no activity was found.
+	 */
+	public static Optional<ActivityType> from(String name) {
+		for (ActivityType type : values()) {
+			if (type.name.equals(name)) {
+				return Optional.of(type);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * The name of this activity, as found in {@link Hiscores#ACTIVITY_NAMES} or
+	 * {@link Hiscores#OLDSCHOOL_ACTIVITY_NAMES}.
+	 */
+	private final String name;
+
+	/**
+	 * Creates a new {@link ActivityType}.
+	 * @param name The name.
+	 */
+	ActivityType(String name) {
+		this.name = Preconditions.checkNotNull(name);
+	}
+
+	/**
+	 * Gets the name of this activity.
+	 * @return The name of this activity.
+	 */
+	public String getName() {
+		return name;
+	}
+}
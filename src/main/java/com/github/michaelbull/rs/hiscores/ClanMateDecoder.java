@@ -0,0 +1,71 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.github.michaelbull.rs.CSVDecoder;
+import com.github.michaelbull.rs.Client;
+import com.google.common.base.Preconditions;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CSVDecoder} that passes each {@link ClanMate} in a {@code members_lite.ws} file to a consumer as soon as its
+ * line is parsed, rather than after the whole file has been read. The consumer may block to slow down the reading of
+ * the file.
+ */
+final class ClanMateDecoder implements CSVDecoder<Integer> {
+
+	/**
+	 * The consumer of the {@link ClanMate}s.
+	 */
+	private final Consumer<? super ClanMate> consumer;
+
+	/**
+	 * Creates a new {@link ClanMateDecoder}.
+	 * @param consumer The consumer of the {@link ClanMate}s.
+	 */
+	ClanMateDecoder(Consumer<? super ClanMate> consumer) {
+		this.consumer = Preconditions.checkNotNull(consumer);
+	}
+
+	/**
+	 * Decodes the {@link ClanMate}s, skipping the header record.
+	 * @param in The {@link InputStream} of the file's bytes.
+	 * @return An {@link Optional} containing the amount of {@link ClanMate}s passed to the consumer.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public Optional<Integer> decode(InputStream in) throws IOException {
+		CSVParser parser = Client.CSV_FORMAT.parse(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+		Iterator<CSVRecord> records = parser.iterator();
+		int count = 0;
+
+		try {
+			if (records.hasNext()) {
+				records.next();
+			}
+
+			while (records.hasNext()) {
+				Optional<ClanMate> clanMate = ClanMate.fromCsv(records.next());
+				if (clanMate.isPresent()) {
+					consumer.accept(clanMate.get());
+					count++;
+				}
+			}
+		} catch (IllegalStateException e) {
+			/* the parser's iterator reports the I/O errors of the file unchecked */
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw e;
+		}
+
+		return Optional.of(count);
+	}
+}
@@ -0,0 +1,85 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Represents a {@link ClanMate} together with the {@link PlayerLookup} of their hiscores, as produced by a
+ * {@link ClanRoster}.
+ */
+public final class ClanMember {
+
+	/**
+	 * The {@link ClanMate}.
+	 */
+	private final ClanMate clanMate;
+
+	/**
+	 * The {@link PlayerLookup} of the {@link ClanMate}'s hiscores.
+	 */
+	private final PlayerLookup lookup;
+
+	/**
+	 * Creates a new {@link ClanMember}.
+	 * @param clanMate The {@link ClanMate}.
+	 * @param lookup The {@link PlayerLookup} of the {@link ClanMate}'s hiscores.
+	 */
+	ClanMember(ClanMate clanMate, PlayerLookup lookup) {
+		this.clanMate = Preconditions.checkNotNull(clanMate);
+		this.lookup = Preconditions.checkNotNull(lookup);
+	}
+
+	/**
+	 * Gets the {@link ClanMate}.
+	 * @return The {@link ClanMate}.
+	 */
+	public ClanMate getClanMate() {
+		return clanMate;
+	}
+
+	/**
+	 * Gets the {@link PlayerLookup} of the {@link ClanMate}'s hiscores.
+	 * @return The {@link PlayerLookup}.
+	 */
+	public PlayerLookup getLookup() {
+		return lookup;
+	}
+
+	/**
+	 * Gets the {@link ClanMate}'s hiscores.
+	 * @return An {@link Optional} containing the {@link Player}, or {@link Optional#empty()} if they were not found or
+	 * the lookup failed.
+	 */
+	public Optional<Player> getPlayer() {
+		return lookup.getPlayer();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ClanMember that = (ClanMember) o;
+		return Objects.equals(clanMate, that.clanMate)
+			&& Objects.equals(lookup, that.lookup);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(clanMate, lookup);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("clanMate", clanMate)
+			.add("lookup", lookup)
+			.toString();
+	}
+}
@@ -0,0 +1,174 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.github.michaelbull.rs.Deadline;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Enriches every {@link ClanMate} in a clan with their {@link Player} hiscores.
+ * <p>
+ * The clan's member list is streamed, and each {@link ClanMate} is looked up on the {@link Hiscores} as soon as their
+ * line is read, with a bounded amount of lookups in flight. Once every slot is taken, reading the member list waits
+ * for a lookup to finish, so a large clan never queues more than that amount of work. A lookup that fails only fails
+ * its own {@link ClanMember}.
+ */
+public final class ClanRoster {
+
+	public static final class Builder {
+		private final Hiscores hiscores;
+		private HiscoreTable table = HiscoreTable.DEFAULT;
+		private int parallelism = DEFAULT_PARALLELISM;
+
+		private Builder(Hiscores hiscores) {
+			this.hiscores = Preconditions.checkNotNull(hiscores);
+		}
+
+		public Builder table(HiscoreTable table) {
+			this.table = Preconditions.checkNotNull(table);
+			return this;
+		}
+
+		public Builder parallelism(int parallelism) {
+			Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive.");
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		public ClanRoster build() {
+			return new ClanRoster(this);
+		}
+	}
+
+	public static Builder builder(Hiscores hiscores) {
+		return new Builder(hiscores);
+	}
+
+	/**
+	 * The default amount of lookups in flight at once.
+	 */
+	private static final int DEFAULT_PARALLELISM = 16;
+
+	/**
+	 * The {@link Hiscores} to look up {@link ClanMate}s on.
+	 */
+	private final Hiscores hiscores;
+
+	/**
+	 * The table of {@link Hiscores} to look up {@link ClanMate}s on.
+	 */
+	private final HiscoreTable table;
+
+	/**
+	 * The amount of lookups in flight at once.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Creates a new {@link ClanRoster}.
+	 * @param builder The {@link Builder}.
+	 */
+	private ClanRoster(Builder builder) {
+		this.hiscores = builder.hiscores;
+		this.table = builder.table;
+		this.parallelism = builder.parallelism;
+	}
+
+	/**
+	 * Enriches every {@link ClanMate} in a clan, blocking until every {@link ClanMember} has been passed to the consumer.
+	 * <p>
+	 * The consumer is called from the lookup threads, but never concurrently, so it needs not be thread-safe. If it
+	 * throws, the rest of the clan is abandoned and the exception is rethrown. However enrichment fails, the consumer is
+	 * never called once this method has returned or thrown: the lookups still in flight are interrupted and waited for,
+	 * and their {@link ClanMember}s discarded.
+	 * @param clanName The clan's name.
+	 * @param consumer The consumer of the {@link ClanMember}s, in the order their lookups finish.
+	 * @return The amount of {@link ClanMember}s passed to the consumer.
+	 * @throws IOException If an I/O error occurs while reading the member list, or the calling thread is interrupted.
+	 */
+	public int enrich(String clanName, Consumer<? super ClanMember> consumer) throws IOException {
+		Preconditions.checkNotNull(clanName);
+		Preconditions.checkNotNull(consumer);
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+			.setNameFormat("clan-roster-%d")
+			.setDaemon(true)
+			.build());
+
+		Semaphore slots = new Semaphore(parallelism);
+		Object lock = new Object();
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		boolean drained = false;
+
+		try {
+			int members = hiscores.clanInformation(clanName, clanMate -> {
+				RuntimeException exception = failure.get();
+				if (exception != null) {
+					throw exception;
+				}
+
+				acquire(slots, 1);
+				executor.execute(Deadline.propagate(() -> {
+					try {
+						ClanMember member = new ClanMember(clanMate, hiscores.lookup(clanMate.getName(), table));
+						synchronized (lock) {
+							if (failure.get() == null) {
+								consumer.accept(member);
+							}
+						}
+					} catch (RuntimeException e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						slots.release();
+					}
+				}));
+			});
+
+			acquire(slots, parallelism);
+			drained = true;
+
+			RuntimeException exception = failure.get();
+			if (exception != null) {
+				throw exception;
+			}
+
+			return members;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			if (!drained) {
+				failure.compareAndSet(null, new CancellationException("Clan enrichment abandoned."));
+				/* lookups that never started release no slot of their own */
+				slots.release(executor.shutdownNow().size());
+				slots.acquireUninterruptibly(parallelism);
+			}
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Acquires lookup slots, waiting until they are available.
+	 * @param slots The {@link Semaphore} of lookup slots.
+	 * @param permits The amount of slots to acquire.
+	 * @throws UncheckedIOException If the calling thread is interrupted while waiting.
+	 */
+	private static void acquire(Semaphore slots, int permits) {
+		try {
+			slots.acquire(permits);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a clan member lookup.");
+			exception.initCause(e);
+			throw new UncheckedIOException(exception);
+		}
+	}
+}
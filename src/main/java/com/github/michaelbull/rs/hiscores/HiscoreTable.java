@@ -75,6 +75,16 @@ public enum HiscoreTable {
 	 */
 	private final ImmutableList<String> activityNames;
 
+	/**
+	 * The types of skills found on this hiscore board, in order.
+	 */
+	private final ImmutableList<SkillType> skillTypes;
+
+	/**
+	 * The types of activities found on this hiscore board, in order.
+	 */
+	private final ImmutableList<ActivityType> activityTypes;
+
 	/**
 	 * Creates a new {@link HiscoreTable}.
 	 * @param name The name.
@@ -85,6 +95,8 @@ public enum HiscoreTable {
 		this.name = Preconditions.checkNotNull(name);
 		this.skillNames = Preconditions.checkNotNull(skillNames);
 		this.activityNames = Preconditions.checkNotNull(activityNames);
+		this.skillTypes = skillNames.stream().map(skillName -> SkillType.from(skillName).get()).collect(ImmutableList.toImmutableList());
+		this.activityTypes = activityNames.stream().map(activityName -> ActivityType.from(activityName).get()).collect(ImmutableList.toImmutableList());
 	}
 
 	/**
@@ -111,6 +123,22 @@ public enum HiscoreTable {
 		return activityNames;
 	}
 
+	/**
+	 * Gets the types of skills found on this hiscore table.
+	 * @return The types of skills found on this hiscore table, in order.
+	 */
+	public ImmutableList<SkillType> getSkillTypes() {
+		return skillTypes;
+	}
+
+	/**
+	 * Gets the types of activities found on this hiscore table.
+	 * @return The types of activities found on this hiscore table, in order.
+	 */
+	public ImmutableList<ActivityType> getActivityTypes() {
+		return activityTypes;
+	}
+
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
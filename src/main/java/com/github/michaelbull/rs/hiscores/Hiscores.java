@@ -10,6 +10,7 @@ import org.apache.commons.csv.CSVRecord;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -21,12 +22,12 @@ public final class Hiscores {
 	/**
 	 * The format of the URL to fetch a {@link Player}.
 	 */
-	private static final String PLAYER_INFORMATION_URL_FORMAT = HttpClient.WEB_SERVICES_URL + "/m=%s/index_lite.ws?player=%s";
+	static final String PLAYER_INFORMATION_URL_FORMAT = HttpClient.WEB_SERVICES_URL + "/m=%s/index_lite.ws?player=%s";
 
 	/**
 	 * The format of the URL to fetch a list of {@link ClanMate}s.
 	 */
-	private static final String CLAN_INFORMATION_URL_FORMAT = HttpClient.WEB_SERVICES_URL + "/m=clan-hiscores/members_lite.ws?clanName=%s";
+	static final String CLAN_INFORMATION_URL_FORMAT = HttpClient.WEB_SERVICES_URL + "/m=clan-hiscores/members_lite.ws?clanName=%s";
 
 	/**
 	 * The RuneScape skill names.
@@ -182,17 +183,87 @@ public final class Hiscores {
 		return builder.build();
 	}
 
+	/**
+	 * Formats the URL to fetch a {@link Player} from.
+	 * @param displayName The player's display name.
+	 * @param table The table of {@link Hiscores}.
+	 * @return The URL.
+	 */
+	static String playerInformationUrl(String displayName, HiscoreTable table) {
+		String escapedName = NAME_SPACER.matcher(displayName).replaceAll("+");
+		return String.format(PLAYER_INFORMATION_URL_FORMAT, table.getName(), escapedName);
+	}
+
+	/**
+	 * Formats the URL to fetch a list of {@link ClanMate}s from.
+	 * @param clanName The clan's name.
+	 * @return The URL.
+	 */
+	static String clanInformationUrl(String clanName) {
+		String escapedName = NAME_SPACER.matcher(clanName).replaceAll("+");
+		return String.format(CLAN_INFORMATION_URL_FORMAT, escapedName);
+	}
+
+	/**
+	 * Reads a {@link Player} from an {@link ImmutableList} of {@link CSVRecord}s.
+	 * @param records The {@link CSVRecord}s.
+	 * @param table The table of {@link Hiscores} the records were read from.
+	 * @return An {@link Optional} containing the {@link Player}, or {@link Optional#empty()} if there were too few records.
+	 */
+	static Optional<Player> readPlayer(ImmutableList<CSVRecord> records, HiscoreTable table) {
+		ImmutableList<String> skillNames = table.getSkillNames();
+		ImmutableList<String> activityNames = table.getActivityNames();
+
+		if (records.size() >= (skillNames.size() + activityNames.size())) {
+			ImmutableMap<String, Skill> skills = readSkills(records, skillNames);
+			ImmutableMap<String, HiscoreActivity> activities = readActivities(records, skillNames, activityNames);
+			return Optional.of(new Player(skills, activities));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Reads the {@link ClanMate}s from an {@link ImmutableList} of {@link CSVRecord}s, skipping the header record.
+	 * @param records The {@link CSVRecord}s.
+	 * @return An {@link ImmutableList} of {@link ClanMate}s.
+	 */
+	static ImmutableList<ClanMate> readClanMates(ImmutableList<CSVRecord> records) {
+		ImmutableList.Builder<ClanMate> builder = ImmutableList.builder();
+		for (int i = 1; i < records.size(); i++) {
+			CSVRecord record = records.get(i);
+			ClanMate.fromCsv(record).ifPresent(builder::add);
+		}
+
+		return builder.build();
+	}
+
 	/**
 	 * The web-services {@link Client}.
 	 */
 	private final Client client;
 
 	/**
-	 * Creates a new {@link Hiscores}.
+	 * The {@link PlayerParser} used to parse {@link Player}s.
+	 */
+	private final PlayerParser parser;
+
+	/**
+	 * Creates a new {@link Hiscores} that parses {@link Player}s with the {@link PlayerParser#INDEX_LITE} parser.
 	 * @param client The web-services {@link Client}.
 	 */
 	public Hiscores(Client client) {
+		this(client, PlayerParser.INDEX_LITE);
+	}
+
+	/**
+	 * Creates a new {@link Hiscores}.
+	 * @param client The web-services {@link Client}.
+	 * @param parser The {@link PlayerParser} used to parse {@link Player}s.
+	 */
+	public Hiscores(Client client, PlayerParser parser) {
 		this.client = Preconditions.checkNotNull(client);
+		this.parser = Preconditions.checkNotNull(parser);
 	}
 
 	/**
@@ -209,22 +280,45 @@ public final class Hiscores {
 		Preconditions.checkNotNull(displayName);
 		Preconditions.checkNotNull(table);
 
-		String escapedName = NAME_SPACER.matcher(displayName).replaceAll("+");
-		String url = String.format(PLAYER_INFORMATION_URL_FORMAT, table.getName(), escapedName);
-		ImmutableList<CSVRecord> records = client.fromCSV(url);
+		String url = playerInformationUrl(displayName, table);
+		switch (parser) {
+			case CSV_RECORDS:
+				return readPlayer(client.fromCSV(url), table);
 
-		ImmutableList<String> skillNames = table.getSkillNames();
-		ImmutableList<String> activityNames = table.getActivityNames();
+			default:
+				return client.fromCSV(url, IndexLiteDecoder.forTable(table));
+		}
+	}
 
-		if (records.size() >= (skillNames.size() + activityNames.size())) {
-			ImmutableMap<String, Skill> skills = readSkills(records, skillNames);
-			ImmutableMap<String, HiscoreActivity> activities = readActivities(records, skillNames, activityNames);
-			return Optional.of(new Player(skills, activities));
-		} else {
-			return Optional.empty();
+	/**
+	 * Looks up a {@link Player}, capturing any failure in the {@link PlayerLookup} instead of throwing it.
+	 * @param displayName The player's display name.
+	 * @param table The table of {@link Hiscores}.
+	 * @return The {@link PlayerLookup}.
+	 */
+	PlayerLookup lookup(String displayName, HiscoreTable table) {
+		try {
+			return PlayerLookup.completed(displayName, playerInformation(displayName, table));
+		} catch (IOException e) {
+			return PlayerLookup.failed(displayName, e);
+		} catch (RuntimeException e) {
+			return PlayerLookup.failed(displayName, new IOException(e));
 		}
 	}
 
+	/**
+	 * Gets many {@link Player}s based on their display names, with the default {@link PlayerBatch} settings. A name
+	 * whose request fails does not fail the others.
+	 * @param displayNames The players' display names.
+	 * @param table The table of {@link Hiscores}.
+	 * @return An {@link ImmutableMap} of display names to {@link PlayerLookup}s, in the order of the display names.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for the requests.
+	 * @see PlayerBatch
+	 */
+	public ImmutableMap<String, PlayerLookup> playerInformation(Collection<String> displayNames, HiscoreTable table) throws InterruptedException {
+		return PlayerBatch.builder(this).build().lookup(displayNames, table);
+	}
+
 	/**
 	 * Gets an {@link ImmutableList} of {@link ClanMate}s within a clan, based on the clan's name.
 	 * @param clanName The clan's name.
@@ -235,16 +329,23 @@ public final class Hiscores {
 	public ImmutableList<ClanMate> clanInformation(String clanName) throws IOException {
 		Preconditions.checkNotNull(clanName);
 
-		String escapedName = NAME_SPACER.matcher(clanName).replaceAll("+");
-		String url = String.format(CLAN_INFORMATION_URL_FORMAT, escapedName);
-		ImmutableList<CSVRecord> records = client.fromCSV(url);
+		return readClanMates(client.fromCSV(clanInformationUrl(clanName)));
+	}
 
-		ImmutableList.Builder<ClanMate> builder = ImmutableList.builder();
-		for (int i = 1; i < records.size(); i++) {
-			CSVRecord record = records.get(i);
-			ClanMate.fromCsv(record).ifPresent(builder::add);
-		}
+	/**
+	 * Streams the {@link ClanMate}s within a clan, based on the clan's name. Each {@link ClanMate} is passed to the
+	 * consumer as soon as it is read, while the rest of the list is still being downloaded, and a consumer that blocks
+	 * slows the download down.
+	 * @param clanName The clan's name.
+	 * @param consumer The consumer of the {@link ClanMate}s.
+	 * @return The amount of {@link ClanMate}s passed to the consumer.
+	 * @throws IOException If an I/O error occurs.
+	 * @see ClanRoster
+	 */
+	public int clanInformation(String clanName, Consumer<? super ClanMate> consumer) throws IOException {
+		Preconditions.checkNotNull(clanName);
+		Preconditions.checkNotNull(consumer);
 
-		return builder.build();
+		return client.fromCSV(clanInformationUrl(clanName), new ClanMateDecoder(consumer)).orElse(0);
 	}
 }
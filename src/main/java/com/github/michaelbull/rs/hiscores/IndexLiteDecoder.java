@@ -0,0 +1,204 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.github.michaelbull.rs.CSVDecoder;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link CSVDecoder} that reads a {@link Player} from the raw bytes of an {@code index_lite.ws} file.
+ * <p>
+ * The file is a fixed-shape list of {@code rank,level,experience} lines for each skill followed by {@code rank,score}
+ * lines for each activity. The bytes are scanned once and each field is accumulated straight into a primitive, without
+ * creating {@link org.apache.commons.csv.CSVRecord}s or substrings. Malformed lines are skipped in the same manner as
+ * {@link Skill#fromCsv} and {@link HiscoreActivity#fromCsv}.
+ */
+final class IndexLiteDecoder implements CSVDecoder<Player> {
+
+	/**
+	 * The size of the buffer the file is read into.
+	 */
+	private static final int BUFFER_SIZE = 4096;
+
+	/**
+	 * The maximum amount of fields read from a single line.
+	 */
+	private static final int MAX_FIELDS = 3;
+
+	/**
+	 * The {@link IndexLiteDecoder} for each {@link HiscoreTable}.
+	 */
+	private static final ImmutableMap<HiscoreTable, IndexLiteDecoder> DECODERS;
+
+	static {
+		Map<HiscoreTable, IndexLiteDecoder> decoders = new EnumMap<>(HiscoreTable.class);
+		for (HiscoreTable table : HiscoreTable.values()) {
+			decoders.put(table, new IndexLiteDecoder(table));
+		}
+		DECODERS = Maps.immutableEnumMap(decoders);
+	}
+
+	/**
+	 * Gets the {@link IndexLiteDecoder} for a {@link HiscoreTable}.
+	 * @param table The {@link HiscoreTable}.
+	 * @return The {@link IndexLiteDecoder}.
+	 */
+	static IndexLiteDecoder forTable(HiscoreTable table) {
+		return DECODERS.get(Preconditions.checkNotNull(table));
+	}
+
+	/**
+	 * Checks whether a value fits in an {@code int}.
+	 * @param value The value.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	private static boolean isInt(long value) {
+		return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Checks that the fields of a line hold a valid {@link Skill}, in the same manner as the {@link Skill} constructor.
+	 * @param fields The rank, level and experience.
+	 * @throws IllegalArgumentException If the fields are out of range.
+	 */
+	private static void checkSkill(long[] fields) {
+		Preconditions.checkArgument(fields[0] == -1 || fields[0] > 0, "Rank must be either -1 (unranked) or positive.");
+		Preconditions.checkArgument(fields[1] >= 0, "Level must be either 0 (unranked) or positive.");
+		Preconditions.checkArgument(fields[2] == -1 || fields[2] > 0, "Experience must be either -1 (unranked) or positive.");
+	}
+
+	/**
+	 * Checks that the fields of a line hold a valid {@link HiscoreActivity}, in the same manner as the
+	 * {@link HiscoreActivity} constructor.
+	 * @param fields The rank and score.
+	 * @throws IllegalArgumentException If the fields are out of range.
+	 */
+	private static void checkActivity(long[] fields) {
+		Preconditions.checkArgument(fields[0] == -1 || fields[0] > 0, "Rank must be either -1 (unranked) or positive.");
+		Preconditions.checkArgument(fields[1] >= -1, "Score must be either -1 (unranked) or non-negative.");
+	}
+
+	/**
+	 * The {@link HiscoreTable} that determines the layout of the file.
+	 */
+	private final HiscoreTable table;
+
+	/**
+	 * Creates a new {@link IndexLiteDecoder}.
+	 * @param table The {@link HiscoreTable} that determines the layout of the file.
+	 */
+	private IndexLiteDecoder(HiscoreTable table) {
+		this.table = table;
+	}
+
+	@Override
+	public Optional<Player> decode(InputStream in) throws IOException {
+		PlayerLayout layout = PlayerLayout.of(table);
+		int skillCount = layout.getSkillNames().size();
+		int activityCount = layout.getActivityNames().size();
+
+		int[] skillRanks = new int[skillCount];
+		int[] skillLevels = new int[skillCount];
+		long[] skillExperience = new long[skillCount];
+		int[] activityRanks = new int[activityCount];
+		int[] activityScores = new int[activityCount];
+		Arrays.fill(skillLevels, Player.ABSENT_LEVEL);
+
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long[] fields = new long[MAX_FIELDS];
+		int validFields = 0;
+		int field = 0;
+		long value = 0;
+		boolean negative = false;
+		boolean digits = false;
+		boolean malformed = false;
+		boolean emptyLine = true;
+		int records = 0;
+
+		boolean eof = false;
+		while (!eof) {
+			int read = in.read(buffer);
+			eof = read == -1;
+
+			for (int i = 0; i < (eof ? 1 : read); i++) {
+				/* a final line without a trailing line break is terminated as if it had one */
+				byte b = eof ? (byte) '\n' : buffer[i];
+
+				if (b == '\r') {
+					continue;
+				} else if (b != ',' && b != '\n') {
+					emptyLine = false;
+
+					if (b >= '0' && b <= '9') {
+						int digit = b - '0';
+						if (value > (Long.MAX_VALUE - digit) / 10) {
+							malformed = true;
+						} else {
+							value = value * 10 + digit;
+							digits = true;
+						}
+					} else if (b == '-' && !negative && !digits) {
+						negative = true;
+					} else {
+						malformed = true;
+					}
+					continue;
+				}
+
+				if (b == '\n' && emptyLine) {
+					continue;
+				}
+
+				/* end of field */
+				emptyLine = false;
+				if (field < MAX_FIELDS) {
+					fields[field] = negative ? -value : value;
+					if (digits && !malformed) {
+						validFields |= 1 << field;
+					}
+				}
+				field++;
+				value = 0;
+				negative = false;
+				digits = false;
+				malformed = false;
+
+				if (b == '\n') {
+					/* end of record */
+					if (records < skillCount) {
+						if (validFields == 0b111 && isInt(fields[0]) && isInt(fields[1])) {
+							checkSkill(fields);
+							skillRanks[records] = (int) fields[0];
+							skillLevels[records] = (int) fields[1];
+							skillExperience[records] = fields[2];
+						}
+					} else if (records < skillCount + activityCount) {
+						if ((validFields & 0b11) == 0b11 && isInt(fields[0]) && isInt(fields[1])) {
+							checkActivity(fields);
+							activityRanks[records - skillCount] = (int) fields[0];
+							activityScores[records - skillCount] = (int) fields[1];
+						}
+					}
+
+					records++;
+					field = 0;
+					validFields = 0;
+					emptyLine = true;
+				}
+			}
+		}
+
+		if (records >= (skillCount + activityCount)) {
+			return Optional.of(new Player(layout, skillRanks, skillLevels, skillExperience, activityRanks, activityScores));
+		} else {
+			return Optional.empty();
+		}
+	}
+}
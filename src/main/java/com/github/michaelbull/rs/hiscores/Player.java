@@ -2,12 +2,22 @@ package com.github.michaelbull.rs.hiscores;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 /**
  * Represents a player ranked on the RuneScape {@link Hiscores}.
+ * <p>
+ * The rankings are held in flat primitive arrays, ordered by the skills and activities of the {@link HiscoreTable}
+ * they were read from, rather than in maps of {@link Skill} and {@link HiscoreActivity} objects. Prefer the lookups by
+ * {@link SkillType} and {@link ActivityType}, which index the arrays directly; the maps returned by {@link #getSkills()}
+ * and {@link #getActivities()} are built each time they are requested.
  */
 public final class Player {
 
@@ -24,11 +34,19 @@ public final class Player {
 			return this;
 		}
 
+		public Builder skill(SkillType type, Skill skill) {
+			return skill(type.getName(), skill);
+		}
+
 		public Builder activity(String name, HiscoreActivity activity) {
 			activities.put(name, activity);
 			return this;
 		}
 
+		public Builder activity(ActivityType type, HiscoreActivity activity) {
+			return activity(type.getName(), activity);
+		}
+
 		public Player build() {
 			return new Player(skills.build(), activities.build());
 		}
@@ -39,14 +57,44 @@ public final class Player {
 	}
 
 	/**
-	 * An {@link ImmutableMap} of {@link Skill} names to the player's {@link Skill} rankings.
+	 * The level of a skill the player is not ranked in at all.
+	 */
+	static final int ABSENT_LEVEL = -1;
+
+	/**
+	 * The rank of an activity the player is not ranked in at all.
+	 */
+	static final int ABSENT_RANK = 0;
+
+	/**
+	 * The {@link PlayerLayout} that orders the arrays.
+	 */
+	private final PlayerLayout layout;
+
+	/**
+	 * The player's rank in each skill, or {@code -1} if unranked.
+	 */
+	private final int[] skillRanks;
+
+	/**
+	 * The player's level in each skill, or {@link #ABSENT_LEVEL} if the skill is absent.
 	 */
-	private final ImmutableMap<String, Skill> skills;
+	private final int[] skillLevels;
 
 	/**
-	 * An {@link ImmutableMap} of {@link HiscoreActivity} names to the player's {@link HiscoreActivity} rankings.
+	 * The player's experience in each skill, or {@code -1} if unranked.
 	 */
-	private final ImmutableMap<String, HiscoreActivity> activities;
+	private final long[] skillExperience;
+
+	/**
+	 * The player's rank in each activity, {@code -1} if unranked, or {@link #ABSENT_RANK} if the activity is absent.
+	 */
+	private final int[] activityRanks;
+
+	/**
+	 * The player's score in each activity, or {@code -1} if unranked.
+	 */
+	private final int[] activityScores;
 
 	/**
 	 * Creates a new {@link Player}.
@@ -54,8 +102,91 @@ public final class Player {
 	 * @param activities The player's activity rankings.
 	 */
 	public Player(ImmutableMap<String, Skill> skills, ImmutableMap<String, HiscoreActivity> activities) {
-		this.skills = Preconditions.checkNotNull(skills);
-		this.activities = Preconditions.checkNotNull(activities);
+		Preconditions.checkNotNull(skills);
+		Preconditions.checkNotNull(activities);
+
+		this.layout = PlayerLayout.containing(skills.keySet(), activities.keySet());
+		this.skillRanks = new int[layout.getSkillNames().size()];
+		this.skillLevels = new int[layout.getSkillNames().size()];
+		this.skillExperience = new long[layout.getSkillNames().size()];
+		this.activityRanks = new int[layout.getActivityNames().size()];
+		this.activityScores = new int[layout.getActivityNames().size()];
+
+		Arrays.fill(skillLevels, ABSENT_LEVEL);
+		skills.forEach((name, skill) -> {
+			int index = layout.indexOfSkill(name);
+			skillRanks[index] = skill.getRank().orElse(-1);
+			skillLevels[index] = skill.getLevel();
+			skillExperience[index] = skill.getExperience().orElse(-1);
+		});
+
+		activities.forEach((name, activity) -> {
+			int index = layout.indexOfActivity(name);
+			activityRanks[index] = activity.getRank().orElse(-1);
+			activityScores[index] = activity.getScore().orElse(-1);
+		});
+	}
+
+	/**
+	 * Creates a new {@link Player} from its arrays, which are not copied.
+	 * @param layout The {@link PlayerLayout} that orders the arrays.
+	 * @param skillRanks The player's rank in each skill.
+	 * @param skillLevels The player's level in each skill, or {@link #ABSENT_LEVEL} if the skill is absent.
+	 * @param skillExperience The player's experience in each skill.
+	 * @param activityRanks The player's rank in each activity, or {@link #ABSENT_RANK} if the activity is absent.
+	 * @param activityScores The player's score in each activity.
+	 */
+	Player(PlayerLayout layout, int[] skillRanks, int[] skillLevels, long[] skillExperience, int[] activityRanks, int[] activityScores) {
+		this.layout = Preconditions.checkNotNull(layout);
+		this.skillRanks = Preconditions.checkNotNull(skillRanks);
+		this.skillLevels = Preconditions.checkNotNull(skillLevels);
+		this.skillExperience = Preconditions.checkNotNull(skillExperience);
+		this.activityRanks = Preconditions.checkNotNull(activityRanks);
+		this.activityScores = Preconditions.checkNotNull(activityScores);
+	}
+
+	/**
+	 * Gets the player's ranking in a skill.
+	 * @param type The {@link SkillType}.
+	 * @return An {@link Optional} containing the {@link Skill}, or {@link Optional#empty()} if the skill is not on the
+	 * player's hiscore table.
+	 */
+	public Optional<Skill> getSkill(SkillType type) {
+		int index = layout.indexOfSkill(type);
+		return index == -1 ? Optional.empty() : skill(index);
+	}
+
+	/**
+	 * Gets the level the player has in a skill.
+	 * @param type The {@link SkillType}.
+	 * @return An {@link OptionalInt} containing the level, or {@link OptionalInt#empty()} if the skill is not on the
+	 * player's hiscore table.
+	 */
+	public OptionalInt getLevel(SkillType type) {
+		int index = layout.indexOfSkill(type);
+		return index == -1 || skillLevels[index] == ABSENT_LEVEL ? OptionalInt.empty() : OptionalInt.of(skillLevels[index]);
+	}
+
+	/**
+	 * Gets the amount of experience the player has earned in a skill.
+	 * @param type The {@link SkillType}.
+	 * @return An {@link OptionalLong} containing the amount of experience, or {@link OptionalLong#empty()} if the player
+	 * is unranked or the skill is not on the player's hiscore table.
+	 */
+	public OptionalLong getExperience(SkillType type) {
+		int index = layout.indexOfSkill(type);
+		return index == -1 || skillLevels[index] == ABSENT_LEVEL || skillExperience[index] == -1 ? OptionalLong.empty() : OptionalLong.of(skillExperience[index]);
+	}
+
+	/**
+	 * Gets the player's ranking in an activity.
+	 * @param type The {@link ActivityType}.
+	 * @return An {@link Optional} containing the {@link HiscoreActivity}, or {@link Optional#empty()} if the activity is
+	 * not on the player's hiscore table.
+	 */
+	public Optional<HiscoreActivity> getActivity(ActivityType type) {
+		int index = layout.indexOfActivity(type);
+		return index == -1 ? Optional.empty() : activity(index);
 	}
 
 	/**
@@ -63,7 +194,13 @@ public final class Player {
 	 * @return An {@link ImmutableMap} of {@link Skill} names to the player's {@link Skill} rankings.
 	 */
 	public ImmutableMap<String, Skill> getSkills() {
-		return skills;
+		ImmutableList<String> names = layout.getSkillNames();
+		ImmutableMap.Builder<String, Skill> builder = ImmutableMap.builder();
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			skill(i).ifPresent(skill -> builder.put(name, skill));
+		}
+		return builder.build();
 	}
 
 	/**
@@ -71,7 +208,38 @@ public final class Player {
 	 * @return An {@link ImmutableMap} of {@link HiscoreActivity} names to the player's {@link HiscoreActivity} rankings.
 	 */
 	public ImmutableMap<String, HiscoreActivity> getActivities() {
-		return activities;
+		ImmutableList<String> names = layout.getActivityNames();
+		ImmutableMap.Builder<String, HiscoreActivity> builder = ImmutableMap.builder();
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			activity(i).ifPresent(activity -> builder.put(name, activity));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Gets the player's ranking in the skill at an index of the {@link #layout}.
+	 * @param index The index.
+	 * @return An {@link Optional} containing the {@link Skill}, or {@link Optional#empty()} if the skill is absent.
+	 */
+	private Optional<Skill> skill(int index) {
+		if (skillLevels[index] == ABSENT_LEVEL) {
+			return Optional.empty();
+		}
+		return Optional.of(new Skill(skillRanks[index], skillLevels[index], skillExperience[index]));
+	}
+
+	/**
+	 * Gets the player's ranking in the activity at an index of the {@link #layout}.
+	 * @param index The index.
+	 * @return An {@link Optional} containing the {@link HiscoreActivity}, or {@link Optional#empty()} if the activity is
+	 * absent.
+	 */
+	private Optional<HiscoreActivity> activity(int index) {
+		if (activityRanks[index] == ABSENT_RANK) {
+			return Optional.empty();
+		}
+		return Optional.of(new HiscoreActivity(activityRanks[index], activityScores[index]));
 	}
 
 	@Override
@@ -83,20 +251,44 @@ public final class Player {
 			return false;
 		}
 		Player player = (Player) o;
-		return Objects.equals(skills, player.skills)
-			&& Objects.equals(activities, player.activities);
+		if (layout == player.layout) {
+			return Arrays.equals(skillRanks, player.skillRanks)
+				&& Arrays.equals(skillLevels, player.skillLevels)
+				&& Arrays.equals(skillExperience, player.skillExperience)
+				&& Arrays.equals(activityRanks, player.activityRanks)
+				&& Arrays.equals(activityScores, player.activityScores);
+		}
+		return Objects.equals(getSkills(), player.getSkills())
+			&& Objects.equals(getActivities(), player.getActivities());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(skills, activities);
+		/* the same hash code as the maps, computed without building them */
+		ImmutableList<String> skillNames = layout.getSkillNames();
+		int skillsHash = 0;
+		for (int i = 0; i < skillNames.size(); i++) {
+			if (skillLevels[i] != ABSENT_LEVEL) {
+				skillsHash += skillNames.get(i).hashCode() ^ Objects.hash(skillRanks[i], skillLevels[i], skillExperience[i]);
+			}
+		}
+
+		ImmutableList<String> activityNames = layout.getActivityNames();
+		int activitiesHash = 0;
+		for (int i = 0; i < activityNames.size(); i++) {
+			if (activityRanks[i] != ABSENT_RANK) {
+				activitiesHash += activityNames.get(i).hashCode() ^ Objects.hash(activityRanks[i], activityScores[i]);
+			}
+		}
+
+		return Objects.hash(skillsHash, activitiesHash);
 	}
 
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
-			.add("skills", skills)
-			.add("activities", activities)
+			.add("skills", getSkills())
+			.add("activities", getActivities())
 			.toString();
 	}
 }
@@ -0,0 +1,215 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.github.michaelbull.rs.Deadline;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Looks up many {@link Player}s on the {@link Hiscores} at once.
+ * <p>
+ * A bounded amount of requests are kept in flight, and each {@link PlayerLookup} is passed to the consumer as soon as
+ * its request completes, fails, or times out, so results can be persisted as they arrive. A request that fails only
+ * fails its own {@link PlayerLookup}, never the batch.
+ * <p>
+ * A request that times out is abandoned through the {@link Deadline} it runs within, so that a
+ * {@link com.github.michaelbull.rs.HttpClient} aborts its connection, and its thread is interrupted. Its slot is only
+ * given to the next request once it has actually ended, so no more than the configured amount of requests ever run at
+ * once.
+ */
+public final class PlayerBatch {
+
+	public static final class Builder {
+		private final Hiscores hiscores;
+		private int parallelism = DEFAULT_PARALLELISM;
+		private long timeoutNanos = 0;
+
+		private Builder(Hiscores hiscores) {
+			this.hiscores = Preconditions.checkNotNull(hiscores);
+		}
+
+		public Builder parallelism(int parallelism) {
+			Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive.");
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		public Builder timeout(long timeout, TimeUnit unit) {
+			Preconditions.checkArgument(timeout > 0, "Timeout must be positive.");
+			this.timeoutNanos = unit.toNanos(timeout);
+			return this;
+		}
+
+		public PlayerBatch build() {
+			return new PlayerBatch(this);
+		}
+	}
+
+	public static Builder builder(Hiscores hiscores) {
+		return new Builder(hiscores);
+	}
+
+	/**
+	 * The default amount of requests in flight at once.
+	 */
+	private static final int DEFAULT_PARALLELISM = 8;
+
+	/**
+	 * The {@link Hiscores} to look up {@link Player}s on.
+	 */
+	private final Hiscores hiscores;
+
+	/**
+	 * The amount of requests in flight at once.
+	 */
+	private final int parallelism;
+
+	/**
+	 * The amount of nanoseconds after which each request times out, or zero if requests never time out.
+	 */
+	private final long timeoutNanos;
+
+	/**
+	 * Creates a new {@link PlayerBatch}.
+	 * @param builder The {@link Builder}.
+	 */
+	private PlayerBatch(Builder builder) {
+		this.hiscores = builder.hiscores;
+		this.parallelism = builder.parallelism;
+		this.timeoutNanos = builder.timeoutNanos;
+	}
+
+	/**
+	 * Looks up every {@link Player}, blocking until every request has completed, failed, or timed out.
+	 * @param displayNames The players' display names. Duplicate names are looked up once.
+	 * @param table The table of {@link Hiscores}.
+	 * @return An {@link ImmutableMap} of display names to {@link PlayerLookup}s, in the order of the display names.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for the requests.
+	 */
+	public ImmutableMap<String, PlayerLookup> lookup(Collection<String> displayNames, HiscoreTable table) throws InterruptedException {
+		Map<String, PlayerLookup> lookups = new HashMap<>();
+		lookup(displayNames, table, lookup -> lookups.put(lookup.getDisplayName(), lookup));
+
+		ImmutableMap.Builder<String, PlayerLookup> builder = ImmutableMap.builder();
+		for (String displayName : ImmutableSet.copyOf(displayNames)) {
+			builder.put(displayName, lookups.get(displayName));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Looks up every {@link Player}, passing each {@link PlayerLookup} to the consumer in the order the requests finish.
+	 * <p>
+	 * The consumer is called on the calling thread, so it needs not be thread-safe. If it throws, the outstanding
+	 * requests are abandoned and the exception is rethrown.
+	 * @param displayNames The players' display names. Duplicate names are looked up once.
+	 * @param table The table of {@link Hiscores}.
+	 * @param consumer The consumer of the {@link PlayerLookup}s.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for the requests.
+	 */
+	public void lookup(Collection<String> displayNames, HiscoreTable table, Consumer<? super PlayerLookup> consumer) throws InterruptedException {
+		Preconditions.checkNotNull(displayNames);
+		Preconditions.checkNotNull(table);
+		Preconditions.checkNotNull(consumer);
+
+		ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("player-batch-%d")
+			.setDaemon(true)
+			.build());
+
+		ScheduledExecutorService timer = timeoutNanos == 0 ? null : Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("player-batch-timer")
+			.setDaemon(true)
+			.build());
+
+		BlockingQueue<PlayerLookup> finished = new LinkedBlockingQueue<>();
+		Iterator<String> remaining = ImmutableSet.copyOf(displayNames).iterator();
+		int inFlight = 0;
+
+		try {
+			while (true) {
+				while (inFlight < parallelism && remaining.hasNext()) {
+					start(remaining.next(), table, executor, timer, finished);
+					inFlight++;
+				}
+
+				if (inFlight == 0) {
+					break;
+				}
+
+				PlayerLookup lookup = finished.take();
+				inFlight--;
+				consumer.accept(lookup);
+			}
+		} finally {
+			executor.shutdownNow();
+			if (timer != null) {
+				timer.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Starts the request for a single {@link Player}, adding its {@link PlayerLookup} to a queue once it ends.
+	 * @param displayName The player's display name.
+	 * @param table The table of {@link Hiscores}.
+	 * @param executor The {@link ExecutorService} that runs the request.
+	 * @param timer The {@link ScheduledExecutorService} that times out the request, or {@code null}.
+	 * @param finished The queue of finished {@link PlayerLookup}s.
+	 */
+	private void start(String displayName, HiscoreTable table, ExecutorService executor, ScheduledExecutorService timer, BlockingQueue<PlayerLookup> finished) {
+		executor.execute(Deadline.propagate(() -> {
+			PlayerLookup lookup = timer == null ? hiscores.lookup(displayName, table) : lookup(displayName, table, timer);
+			finished.add(lookup);
+		}));
+	}
+
+	/**
+	 * Looks up a single {@link Player} within a {@link Deadline} of the timeout, interrupting the calling thread if the
+	 * request is still running once it passes.
+	 * @param displayName The player's display name.
+	 * @param table The table of {@link Hiscores}.
+	 * @param timer The {@link ScheduledExecutorService} that interrupts the request.
+	 * @return The {@link PlayerLookup}.
+	 */
+	private PlayerLookup lookup(String displayName, HiscoreTable table, ScheduledExecutorService timer) {
+		Thread worker = Thread.currentThread();
+		AtomicBoolean running = new AtomicBoolean(true);
+
+		ScheduledFuture<?> interrupt = timer.schedule(() -> {
+			synchronized (running) {
+				if (running.get()) {
+					worker.interrupt();
+				}
+			}
+		}, timeoutNanos, TimeUnit.NANOSECONDS);
+
+		Deadline.Scope scope = Deadline.after(timeoutNanos, TimeUnit.NANOSECONDS).enter();
+		try {
+			return hiscores.lookup(displayName, table);
+		} finally {
+			scope.close();
+			interrupt.cancel(false);
+			synchronized (running) {
+				running.set(false);
+			}
+			/* an interrupt that arrived too late must not leak into the next request on this thread */
+			Thread.interrupted();
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The order of the skills and activities in the arrays of a {@link Player}.
+ * <p>
+ * A layout is shared by every {@link Player} read from the same {@link HiscoreTable}, so each {@link Player} only holds
+ * its own ranks, levels, experience and scores.
+ */
+final class PlayerLayout {
+
+	/**
+	 * The {@link PlayerLayout} of each {@link HiscoreTable}. Tables that rank the same skills and activities share a
+	 * layout.
+	 */
+	private static final ImmutableMap<HiscoreTable, PlayerLayout> TABLE_LAYOUTS;
+
+	static {
+		Map<List<ImmutableList<String>>, PlayerLayout> layouts = new HashMap<>();
+		Map<HiscoreTable, PlayerLayout> tableLayouts = new EnumMap<>(HiscoreTable.class);
+		for (HiscoreTable table : HiscoreTable.values()) {
+			PlayerLayout layout = layouts.computeIfAbsent(ImmutableList.of(table.getSkillNames(), table.getActivityNames()), key -> new PlayerLayout(table.getSkillNames(), table.getActivityNames()));
+			tableLayouts.put(table, layout);
+		}
+		TABLE_LAYOUTS = Maps.immutableEnumMap(tableLayouts);
+	}
+
+	/**
+	 * Gets the {@link PlayerLayout} of a {@link HiscoreTable}.
+	 * @param table The {@link HiscoreTable}.
+	 * @return The {@link PlayerLayout}.
+	 */
+	static PlayerLayout of(HiscoreTable table) {
+		return TABLE_LAYOUTS.get(Preconditions.checkNotNull(table));
+	}
+
+	/**
+	 * Gets a {@link PlayerLayout} that contains a set of skill names and activity names. The layout of a
+	 * {@link HiscoreTable} is shared if it contains every name, otherwise a new layout is created in the order given.
+	 * @param skillNames The skill names.
+	 * @param activityNames The activity names.
+	 * @return The {@link PlayerLayout}.
+	 */
+	static PlayerLayout containing(Set<String> skillNames, Set<String> activityNames) {
+		for (PlayerLayout layout : TABLE_LAYOUTS.values()) {
+			if (layout.skillIndices.keySet().containsAll(skillNames) && layout.activityIndices.keySet().containsAll(activityNames)) {
+				return layout;
+			}
+		}
+		return new PlayerLayout(ImmutableList.copyOf(skillNames), ImmutableList.copyOf(activityNames));
+	}
+
+	/**
+	 * Gets the index of each name in a list.
+	 * @param names The names.
+	 * @return An {@link ImmutableMap} of names to their indices.
+	 */
+	private static ImmutableMap<String, Integer> indices(ImmutableList<String> names) {
+		ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+		for (int i = 0; i < names.size(); i++) {
+			builder.put(names.get(i), i);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * The skill names, in order.
+	 */
+	private final ImmutableList<String> skillNames;
+
+	/**
+	 * The activity names, in order.
+	 */
+	private final ImmutableList<String> activityNames;
+
+	/**
+	 * The skill names to their indices.
+	 */
+	private final ImmutableMap<String, Integer> skillIndices;
+
+	/**
+	 * The activity names to their indices.
+	 */
+	private final ImmutableMap<String, Integer> activityIndices;
+
+	/**
+	 * The index of each {@link SkillType}, by ordinal, or {@code -1} if the layout has no such skill.
+	 */
+	private final int[] skillTypeIndices = new int[SkillType.values().length];
+
+	/**
+	 * The index of each {@link ActivityType}, by ordinal, or {@code -1} if the layout has no such activity.
+	 */
+	private final int[] activityTypeIndices = new int[ActivityType.values().length];
+
+	/**
+	 * Creates a new {@link PlayerLayout}.
+	 * @param skillNames The skill names, in order.
+	 * @param activityNames The activity names, in order.
+	 */
+	private PlayerLayout(ImmutableList<String> skillNames, ImmutableList<String> activityNames) {
+		this.skillNames = Preconditions.checkNotNull(skillNames);
+		this.activityNames = Preconditions.checkNotNull(activityNames);
+		this.skillIndices = indices(skillNames);
+		this.activityIndices = indices(activityNames);
+
+		Arrays.fill(skillTypeIndices, -1);
+		for (SkillType type : SkillType.values()) {
+			skillTypeIndices[type.ordinal()] = skillIndices.getOrDefault(type.getName(), -1);
+		}
+
+		Arrays.fill(activityTypeIndices, -1);
+		for (ActivityType type : ActivityType.values()) {
+			activityTypeIndices[type.ordinal()] = activityIndices.getOrDefault(type.getName(), -1);
+		}
+	}
+
+	/**
+	 * Gets the skill names, in order.
+	 * @return The skill names.
+	 */
+	ImmutableList<String> getSkillNames() {
+		return skillNames;
+	}
+
+	/**
+	 * Gets the activity names, in order.
+	 * @return The activity names.
+	 */
+	ImmutableList<String> getActivityNames() {
+		return activityNames;
+	}
+
+	/**
+	 * Gets the index of a skill.
+	 * @param name The name of the skill.
+	 * @return The index, or {@code -1} if the layout has no such skill.
+	 */
+	int indexOfSkill(String name) {
+		return skillIndices.getOrDefault(name, -1);
+	}
+
+	/**
+	 * Gets the index of a skill.
+	 * @param type The {@link SkillType}.
+	 * @return The index, or {@code -1} if the layout has no such skill.
+	 */
+	int indexOfSkill(SkillType type) {
+		return skillTypeIndices[type.ordinal()];
+	}
+
+	/**
+	 * Gets the index of an activity.
+	 * @param name The name of the activity.
+	 * @return The index, or {@code -1} if the layout has no such activity.
+	 */
+	int indexOfActivity(String name) {
+		return activityIndices.getOrDefault(name, -1);
+	}
+
+	/**
+	 * Gets the index of an activity.
+	 * @param type The {@link ActivityType}.
+	 * @return The index, or {@code -1} if the layout has no such activity.
+	 */
+	int indexOfActivity(ActivityType type) {
+		return activityTypeIndices[type.ordinal()];
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		PlayerLayout that = (PlayerLayout) o;
+		return Objects.equals(skillNames, that.skillNames)
+			&& Objects.equals(activityNames, that.activityNames);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(skillNames, activityNames);
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Represents the outcome of looking up a single {@link Player} as part of a {@link PlayerBatch}.
+ */
+public final class PlayerLookup {
+
+	/**
+	 * Creates a {@link PlayerLookup} for a request that completed.
+	 * @param displayName The player's display name.
+	 * @param player An {@link Optional} containing the {@link Player}, or {@link Optional#empty()} if no {@link Player}
+	 * was found with that name.
+	 * @return The {@link PlayerLookup}.
+	 */
+	static PlayerLookup completed(String displayName, Optional<Player> player) {
+		return new PlayerLookup(displayName, player.orElse(null), null);
+	}
+
+	/**
+	 * Creates a {@link PlayerLookup} for a request that failed.
+	 * @param displayName The player's display name.
+	 * @param failure The {@link IOException} that caused the request to fail.
+	 * @return The {@link PlayerLookup}.
+	 */
+	static PlayerLookup failed(String displayName, IOException failure) {
+		return new PlayerLookup(displayName, null, Preconditions.checkNotNull(failure));
+	}
+
+	/**
+	 * The player's display name.
+	 */
+	private final String displayName;
+
+	/**
+	 * The {@link Player}, or {@code null} if none was found or the request failed.
+	 */
+	private final Player player;
+
+	/**
+	 * The {@link IOException} that caused the request to fail, or {@code null} if it completed.
+	 */
+	private final IOException failure;
+
+	/**
+	 * Creates a new {@link PlayerLookup}.
+	 * @param displayName The player's display name.
+	 * @param player The {@link Player}, or {@code null} if none was found or the request failed.
+	 * @param failure The {@link IOException} that caused the request to fail, or {@code null} if it completed.
+	 */
+	private PlayerLookup(String displayName, Player player, IOException failure) {
+		this.displayName = Preconditions.checkNotNull(displayName);
+		this.player = player;
+		this.failure = failure;
+	}
+
+	/**
+	 * Gets the player's display name.
+	 * @return The player's display name.
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Gets the {@link Player} that was found.
+	 * @return An {@link Optional} containing the {@link Player}, or {@link Optional#empty()} if no {@link Player} was
+	 * found with that name or the request failed.
+	 */
+	public Optional<Player> getPlayer() {
+		return Optional.ofNullable(player);
+	}
+
+	/**
+	 * Gets the reason the request failed. A request that timed out fails with an
+	 * {@link java.io.InterruptedIOException}.
+	 * @return An {@link Optional} containing the {@link IOException}, or {@link Optional#empty()} if the request
+	 * completed.
+	 */
+	public Optional<IOException> getFailure() {
+		return Optional.ofNullable(failure);
+	}
+
+	/**
+	 * Checks whether the request failed, as opposed to completing with or without a {@link Player}.
+	 * @return {@code true} if so, {@code false} otherwise.
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		PlayerLookup that = (PlayerLookup) o;
+		return Objects.equals(displayName, that.displayName)
+			&& Objects.equals(player, that.player)
+			&& Objects.equals(failure, that.failure);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(displayName, player, failure);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("displayName", displayName)
+			.add("player", player)
+			.add("failure", failure)
+			.toString();
+	}
+}
@@ -0,0 +1,17 @@
+package com.github.michaelbull.rs.hiscores;
+
+/**
+ * Represents the strategy used by the {@link Hiscores} to parse a {@link Player} from an {@code index_lite.ws} file.
+ */
+public enum PlayerParser {
+
+	/**
+	 * Parses the file into {@link org.apache.commons.csv.CSVRecord}s, then parses each field of each record.
+	 */
+	CSV_RECORDS,
+
+	/**
+	 * Scans the raw bytes of the file once, accumulating each field straight into a primitive.
+	 */
+	INDEX_LITE
+}
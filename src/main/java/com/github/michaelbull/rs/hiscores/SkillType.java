@@ -0,0 +1,187 @@
+package com.github.michaelbull.rs.hiscores;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+
+/**
+ * Represents a type of skill ranked on the RuneScape {@link Hiscores}. The oldschool {@link HiscoreTable}s rank
+ * the skills up to and including {@link #CONSTRUCTION}.
+ */
+public enum SkillType {
+
+	/**
+	 * The Overall skill.
+	 */
+	OVERALL("Overall"),
+
+	/**
+	 * The Attack skill.
+	 */
+	ATTACK("Attack"),
+
+	/**
+	 * The Defence skill.
+	 */
+	DEFENCE("Defence"),
+
+	/**
+	 * The Strength skill.
+	 */
+	STRENGTH("Strength"),
+
+	/**
+	 * The Constitution skill.
+	 */
+	CONSTITUTION("Constitution"),
+
+	/**
+	 * The Ranged skill.
+	 */
+	RANGED("Ranged"),
+
+	/**
+	 * The Prayer skill.
+	 */
+	PRAYER("Prayer"),
+
+	/**
+	 * The Magic skill.
+	 */
+	MAGIC("Magic"),
+
+	/**
+	 * The Cooking skill.
+	 */
+	COOKING("Cooking"),
+
+	/**
+	 * The Woodcutting skill.
+	 */
+	WOODCUTTING("Woodcutting"),
+
+	/**
+	 * The Fletching skill.
+	 */
+	FLETCHING("Fletching"),
+
+	/**
+	 * The Fishing skill.
+	 */
+	FISHING("Fishing"),
+
+	/**
+	 * The Firemaking skill.
+	 */
+	FIREMAKING("Firemaking"),
+
+	/**
+	 * The Crafting skill.
+	 */
+	CRAFTING("Crafting"),
+
+	/**
+	 * The Smithing skill.
+	 */
+	SMITHING("Smithing"),
+
+	/**
+	 * The Mining skill.
+	 */
+	MINING("Mining"),
+
+	/**
+	 * The Herblore skill.
+	 */
+	HERBLORE("Herblore"),
+
+	/**
+	 * The Agility skill.
+	 */
+	AGILITY("Agility"),
+
+	/**
+	 * The Thieving skill.
+	 */
+	THIEVING("Thieving"),
+
+	/**
+	 * The Slayer skill.
+	 */
+	SLAYER("Slayer"),
+
+	/**
+	 * The Farming skill.
+	 */
+	FARMING("Farming"),
+
+	/**
+	 * The Runecrafting skill.
+	 */
+	RUNECRAFTING("Runecrafting"),
+
+	/**
+	 * The Hunter skill.
+	 */
+	HUNTER("Hunter"),
+
+	/**
+	 * The Construction skill.
+	 */
+	CONSTRUCTION("Construction"),
+
+	/**
+	 * The Summoning skill.
+	 */
+	SUMMONING("Summoning"),
+
+	/**
+	 * The Dungeoneering skill.
+	 */
+	DUNGEONEERING("Dungeoneering"),
+
+	/**
+	 * The Divination skill.
+	 */
+	DIVINATION("Divination"),
+
+	/**
+	 * The Invention skill.
+	 */
+	INVENTION("Invention");
+
+	/**
+	 * Gets a {@link SkillType} from its {@link #name}.
+	 * @param name The name of the skill.
+	 * @return The {@link SkillType} or {@link Optional#empty()} if no skill was found.
+	 */
+	public static Optional<SkillType> from(String name) {
+		for (SkillType type : values()) {
+			if (type.name.equals(name)) {
+				return Optional.of(type);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * The name of this skill, as found in {@link Hiscores#SKILL_NAMES}.
+	 */
+	private final String name;
+
+	/**
+	 * Creates a new {@link SkillType}.
+	 * @param name The name.
+	 */
+	SkillType(String name) {
+		this.name = Preconditions.checkNotNull(name);
+	}
+
+	/**
+	 * Gets the name of this skill.
+	 * @return The name of this skill.
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,159 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public final class AsyncHttpClientTest {
+
+	private static final String ITEM_JSON = "{\"item\":{\"id\":4151,\"name\":\"Abyssal whip\"}}";
+	private static final String PLAYER_CSV = "1,99,13034431\n2,99,13034431\n";
+	private static final String DETAIL_PATH = "/m=itemdb_rs/api/catalogue/detail.json";
+	private static final String PLAYER_PATH = "/m=hiscore/index_lite.ws";
+	private static final String UNAVAILABLE_PATH = "/m=itemdb_rs/bestiary/beastData.json";
+	private static final String SLOW_PATH = "/m=itemdb_rs/bestiary/levelGroup.json";
+	private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+	private HttpServer server;
+	private AsyncHttpClient client;
+	private String baseUrl;
+	private volatile String acceptEncoding;
+	private final CountDownLatch slowStarted = new CountDownLatch(1);
+	private final CountDownLatch slowReleased = new CountDownLatch(1);
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext(DETAIL_PATH, exchange -> {
+			acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(ITEM_JSON.getBytes(StandardCharsets.UTF_8));
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+			exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+			exchange.sendResponseHeaders(200, compressed.size());
+			try (OutputStream out = exchange.getResponseBody()) {
+				compressed.writeTo(out);
+			}
+		});
+		server.createContext(PLAYER_PATH, exchange -> {
+			byte[] bytes = PLAYER_CSV.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "text/csv");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		});
+		server.createContext(UNAVAILABLE_PATH, exchange -> {
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+		});
+		server.createContext(SLOW_PATH, exchange -> {
+			byte[] bytes = ITEM_JSON.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes, 0, 10);
+				out.flush();
+				slowStarted.countDown();
+				slowReleased.await(10, TimeUnit.SECONDS);
+				out.write(bytes, 10, bytes.length - 10);
+			} catch (InterruptedException | IOException e) {
+				/* the client gave up */
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+		client = AsyncHttpClient.builder()
+			.maxConnections(1)
+			.maxConnectionsPerRoute(1)
+			.readTimeout(500, TimeUnit.MILLISECONDS)
+			.build();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		slowReleased.countDown();
+		client.close();
+		server.stop(0);
+	}
+
+	@Test
+	public void testFromJson() throws InterruptedException, ExecutionException {
+		Optional<Map<String, Object>> item = client.<Map<String, Object>>fromJson(baseUrl + DETAIL_PATH, MAP_TYPE).get();
+
+		assertThat(item.isPresent(), is(true));
+		assertThat(((Map<?, ?>) item.get().get("item")).get("name"), is("Abyssal whip"));
+		assertThat(acceptEncoding, is("gzip, deflate"));
+	}
+
+	@Test
+	public void testFromCSV() throws InterruptedException, ExecutionException {
+		ImmutableList<CSVRecord> records = client.fromCSV(baseUrl + PLAYER_PATH).get();
+
+		assertThat(records.size(), is(2));
+		assertThat(records.get(1).get(0), is("2"));
+	}
+
+	@Test
+	public void testServiceUnavailable() throws InterruptedException {
+		try {
+			client.fromJson(baseUrl + UNAVAILABLE_PATH, MAP_TYPE).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), instanceOf(ServiceUnavailableException.class));
+		}
+	}
+
+	@Test
+	public void testReadTimeout() throws InterruptedException {
+		/* the body never completes until the test ends, so only the read timeout can end the request */
+		long start = System.nanoTime();
+		try {
+			client.fromJson(baseUrl + SLOW_PATH, MAP_TYPE).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), instanceOf(SocketTimeoutException.class));
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000, is(true));
+		}
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException, ExecutionException, TimeoutException {
+		CompletableFuture<Optional<Map<String, Object>>> slow = client.fromJson(baseUrl + SLOW_PATH, MAP_TYPE);
+		assertThat(slowStarted.await(5, TimeUnit.SECONDS), is(true));
+		slow.cancel(true);
+
+		/* the only connection is held until the test ends unless the slow request is aborted */
+		Optional<Map<String, Object>> item = client.<Map<String, Object>>fromJson(baseUrl + DETAIL_PATH, MAP_TYPE).get(5, TimeUnit.SECONDS);
+		assertThat(item.isPresent(), is(true));
+	}
+}
@@ -0,0 +1,53 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link AsyncClient} that answers every request from a {@link Client} on the calling thread, so that the
+ * asynchronous facades can be tested against the same fakes as their blocking counterparts.
+ */
+public final class BlockingAsyncClient implements AsyncClient {
+
+	@FunctionalInterface
+	private interface Request<T> {
+		T get() throws IOException;
+	}
+
+	private final Client client;
+
+	public BlockingAsyncClient(Client client) {
+		this.client = Preconditions.checkNotNull(client);
+	}
+
+	private static <T> CompletableFuture<T> complete(Request<T> request) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			future.complete(request.get());
+		} catch (IOException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	@Override
+	public <T> CompletableFuture<Optional<T>> fromJson(String url, Type typeOfT) {
+		return complete(() -> client.fromJson(url, typeOfT));
+	}
+
+	@Override
+	public <T> CompletableFuture<Optional<T>> fromJson(String url, Class<T> classOfT) {
+		return complete(() -> client.fromJson(url, classOfT));
+	}
+
+	@Override
+	public CompletableFuture<ImmutableList<CSVRecord>> fromCSV(String url) {
+		return complete(() -> client.fromCSV(url));
+	}
+}
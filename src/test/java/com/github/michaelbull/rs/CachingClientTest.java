@@ -0,0 +1,69 @@
+package com.github.michaelbull.rs;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class CachingClientTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+	private static final String MISSING_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=0";
+	private static final String PLAYER_URL = "http://services.runescape.com/m=hiscore/index_lite.ws?player=Max";
+
+	private static final class MissingItemClient extends FakeClient {
+		@Override
+		<T> Optional<T> answer(int request, String url, Class<T> classOfT) throws IOException {
+			return url.equals(MISSING_URL) ? Optional.empty() : super.answer(request, url, classOfT);
+		}
+	}
+
+	private final FakeClient delegate = new MissingItemClient();
+	private final FakeTicker ticker = new FakeTicker();
+
+	private final CachePolicy policy = CachePolicy.builder()
+		.ttl("/catalogue/", 5, TimeUnit.MINUTES)
+		.build();
+
+	private final CachingClient client = new CachingClient(delegate, policy, ticker);
+
+	@Test
+	public void testResponsesAreCachedUntilExpiry() throws IOException {
+		assertThat(client.fromJson(ITEM_URL, String.class), is(Optional.of(ITEM_URL)));
+		assertThat(client.fromJson(ITEM_URL, String.class), is(Optional.of(ITEM_URL)));
+		assertThat(delegate.getRequests(), is(1));
+
+		ticker.advance(5, TimeUnit.MINUTES);
+		client.fromJson(ITEM_URL, String.class);
+		assertThat(delegate.getRequests(), is(2));
+
+		assertThat(client.stats().hitCount(), is(1L));
+		assertThat(client.stats().missCount(), is(2L));
+	}
+
+	@Test
+	public void testUncachedResponses() throws IOException {
+		client.fromJson(MISSING_URL, String.class);
+		client.fromJson(MISSING_URL, String.class);
+		client.fromCSV(PLAYER_URL);
+		client.fromCSV(PLAYER_URL);
+
+		assertThat(delegate.getRequests(), is(4));
+		assertThat(client.size(), is(0L));
+	}
+
+	@Test
+	public void testDecodedResponsesAreNotCached() throws IOException {
+		CSVDecoder<String> decoder = in -> Optional.of(ITEM_URL);
+		assertThat(client.fromCSV(ITEM_URL, decoder), is(Optional.of(ITEM_URL)));
+		assertThat(client.fromCSV(ITEM_URL, decoder), is(Optional.of(ITEM_URL)));
+
+		assertThat(delegate.getRequests(), is(2));
+		assertThat(client.size(), is(0L));
+		assertThat(client.stats().requestCount(), is(0L));
+	}
+}
@@ -0,0 +1,114 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public final class CircuitBreakerClientTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+	private static final String PLAYER_URL = "http://services.runescape.com/m=hiscore/index_lite.ws?player=Max";
+
+	private static final class FlakyClient extends FakeClient {
+		private final FakeTicker ticker;
+		private boolean hiscoresDown;
+		private long latencyMillis;
+
+		private FlakyClient(FakeTicker ticker) {
+			this.ticker = ticker;
+		}
+
+		@Override
+		<T> Optional<T> answer(int request, String url, Class<T> classOfT) throws IOException {
+			ticker.advance(latencyMillis, TimeUnit.MILLISECONDS);
+			return super.answer(request, url, classOfT);
+		}
+
+		@Override
+		ImmutableList<CSVRecord> answerCSV(String url) throws IOException {
+			if (hiscoresDown) {
+				throw new IOException("Hiscores are down.");
+			}
+			return super.answerCSV(url);
+		}
+	}
+
+	private final FakeTicker ticker = new FakeTicker();
+	private final FlakyClient delegate = new FlakyClient(ticker);
+	private final List<String> transitions = new ArrayList<>();
+
+	private final CircuitBreakerClient client = CircuitBreakerClient.builder(delegate)
+		.window(10, 4)
+		.failureRateThreshold(0.5)
+		.slowCallRateThreshold(0.5, 1, TimeUnit.SECONDS)
+		.openDuration(30, TimeUnit.SECONDS)
+		.probes(2)
+		.listener((breaker, from, to) -> transitions.add(breaker.getEndpoint() + ":" + from + "->" + to))
+		.ticker(ticker)
+		.build();
+
+	@Test
+	public void testFailureRate() throws IOException {
+		delegate.hiscoresDown = true;
+		for (int i = 0; i < 4; i++) {
+			try {
+				client.fromCSV(PLAYER_URL);
+				fail();
+			} catch (IOException e) {
+				assertThat(e instanceof CircuitBreakerOpenException, is(false));
+			}
+		}
+
+		assertThat(client.getBreaker(Endpoint.HISCORES).getState(), is(CircuitBreaker.State.OPEN));
+
+		try {
+			client.fromCSV(PLAYER_URL);
+			fail();
+		} catch (CircuitBreakerOpenException e) {
+			assertThat(e.getEndpoint(), is(Endpoint.HISCORES));
+			assertThat(e.getRetryAfter(TimeUnit.SECONDS), is(30L));
+		}
+
+		/* other endpoints are unaffected */
+		client.fromJson(ITEM_URL, String.class);
+		assertThat(client.getBreaker(Endpoint.GRAND_EXCHANGE).getState(), is(CircuitBreaker.State.CLOSED));
+		assertThat(delegate.getRequests(), is(5));
+
+		ticker.advance(30, TimeUnit.SECONDS);
+		delegate.hiscoresDown = false;
+		client.fromCSV(PLAYER_URL);
+		assertThat(client.getBreaker(Endpoint.HISCORES).getState(), is(CircuitBreaker.State.HALF_OPEN));
+		client.fromCSV(PLAYER_URL);
+
+		assertThat(client.getBreaker(Endpoint.HISCORES).getState(), is(CircuitBreaker.State.CLOSED));
+		assertThat(transitions, contains("HISCORES:CLOSED->OPEN", "HISCORES:OPEN->HALF_OPEN", "HISCORES:HALF_OPEN->CLOSED"));
+	}
+
+	@Test
+	public void testSlowCallRate() throws IOException {
+		delegate.latencyMillis = 2_000;
+		for (int i = 0; i < 4; i++) {
+			client.fromJson(ITEM_URL, String.class);
+		}
+
+		assertThat(client.getBreaker(Endpoint.GRAND_EXCHANGE).getState(), is(CircuitBreaker.State.OPEN));
+
+		/* a slow probe reopens the breaker */
+		ticker.advance(30, TimeUnit.SECONDS);
+		client.fromJson(ITEM_URL, String.class);
+
+		assertThat(client.getBreaker(Endpoint.GRAND_EXCHANGE).getState(), is(CircuitBreaker.State.OPEN));
+		assertThat(transitions, contains("GRAND_EXCHANGE:CLOSED->OPEN", "GRAND_EXCHANGE:OPEN->HALF_OPEN", "GRAND_EXCHANGE:HALF_OPEN->OPEN"));
+	}
+}
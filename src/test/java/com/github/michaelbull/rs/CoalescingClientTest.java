@@ -0,0 +1,177 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public final class CoalescingClientTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+	private static final int THREADS = 64;
+
+	private static final class BlockingClient extends FakeClient {
+		private final CountDownLatch release = new CountDownLatch(1);
+		private volatile boolean abandonFirst;
+
+		@Override
+		<T> Optional<T> answer(int request, String url, Class<T> classOfT) throws IOException {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+
+			if (abandonFirst && request == 1) {
+				throw new DeadlineExceededException("Abandoned.");
+			}
+
+			return super.answer(request, url, classOfT);
+		}
+
+		@Override
+		ImmutableList<CSVRecord> answerCSV(String url) throws IOException {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+
+			return super.answerCSV(url);
+		}
+	}
+
+	@Test
+	public void testConcurrentRequestsAreCoalesced() throws Exception {
+		BlockingClient delegate = new BlockingClient();
+		CoalescingClient client = new CoalescingClient(delegate);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		try {
+			List<Future<Optional<String>>> results = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				results.add(executor.submit(() -> client.fromJson(ITEM_URL, String.class)));
+			}
+
+			while (client.getCoalescedRequests() < THREADS - 1) {
+				Thread.sleep(1);
+			}
+			delegate.release.countDown();
+
+			for (Future<Optional<String>> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS), is(Optional.of(ITEM_URL)));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(delegate.getRequests(), is(1));
+		assertThat(client.getInFlightRequests(), is(0));
+	}
+
+	@Test
+	public void testWaitingRequestsHonourTheirDeadline() throws Exception {
+		BlockingClient delegate = new BlockingClient();
+		CoalescingClient client = new CoalescingClient(delegate);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			Future<Optional<String>> leader = executor.submit(() -> client.fromJson(ITEM_URL, String.class));
+			while (delegate.getRequests() < 1) {
+				Thread.sleep(1);
+			}
+
+			long start = System.nanoTime();
+			Deadline.Scope scope = Deadline.after(100, TimeUnit.MILLISECONDS).enter();
+			try {
+				client.fromJson(ITEM_URL, String.class);
+				fail();
+			} catch (DeadlineExceededException e) {
+				assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, is(true));
+			} finally {
+				scope.close();
+			}
+
+			delegate.release.countDown();
+			assertThat(leader.get(5, TimeUnit.SECONDS), is(Optional.of(ITEM_URL)));
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(delegate.getRequests(), is(1));
+	}
+
+	@Test
+	public void testAbandonedRequestsAreMadeAgain() throws Exception {
+		BlockingClient delegate = new BlockingClient();
+		delegate.abandonFirst = true;
+		CoalescingClient client = new CoalescingClient(delegate);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			Future<Optional<String>> leader = executor.submit(() -> client.fromJson(ITEM_URL, String.class));
+			while (delegate.getRequests() < 1) {
+				Thread.sleep(1);
+			}
+
+			Future<Optional<String>> follower = executor.submit(() -> client.fromJson(ITEM_URL, String.class));
+			while (client.getCoalescedRequests() < 1) {
+				Thread.sleep(1);
+			}
+			delegate.release.countDown();
+
+			try {
+				leader.get(5, TimeUnit.SECONDS);
+				fail();
+			} catch (ExecutionException e) {
+				assertThat(e.getCause(), instanceOf(DeadlineExceededException.class));
+			}
+			assertThat(follower.get(5, TimeUnit.SECONDS), is(Optional.of(ITEM_URL)));
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(delegate.getRequests(), is(2));
+		assertThat(client.getInFlightRequests(), is(0));
+	}
+
+	@Test
+	public void testDecodedRequestsAreNotCoalesced() throws Exception {
+		BlockingClient delegate = new BlockingClient();
+		CoalescingClient client = new CoalescingClient(delegate);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			CSVDecoder<String> decoder = in -> Optional.of(ITEM_URL);
+			Future<Optional<String>> first = executor.submit(() -> client.fromCSV(ITEM_URL, decoder));
+			Future<Optional<String>> second = executor.submit(() -> client.fromCSV(ITEM_URL, decoder));
+			while (delegate.getRequests() < 2) {
+				Thread.sleep(1);
+			}
+			delegate.release.countDown();
+
+			assertThat(first.get(5, TimeUnit.SECONDS), is(Optional.of(ITEM_URL)));
+			assertThat(second.get(5, TimeUnit.SECONDS), is(Optional.of(ITEM_URL)));
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(client.getCoalescedRequests(), is(0L));
+		assertThat(client.getInFlightRequests(), is(0));
+	}
+}
@@ -0,0 +1,129 @@
+package com.github.michaelbull.rs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public final class DiskCacheTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+	private static final String BEAST_URL = "http://services.runescape.com/m=itemdb_rs/bestiary/beastData.json?beastid=49";
+	private static final String PLAYER_URL = "http://services.runescape.com/m=hiscore/index_lite.ws?player=Max";
+
+	private static final CachePolicy POLICY = CachePolicy.builder()
+		.ttl("/catalogue/", 5, TimeUnit.MINUTES)
+		.ttl("/bestiary/", 1, TimeUnit.DAYS)
+		.build();
+
+	private static final class FakeClock extends Clock {
+		private long millis = 1_500_000_000_000L;
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+
+		private void advance(long time, TimeUnit unit) {
+			millis += unit.toMillis(time);
+		}
+	}
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final FakeClock clock = new FakeClock();
+
+	private DiskCache open(Path directory, long maximumBytes) throws IOException {
+		return DiskCache.builder(directory).policy(POLICY).maximumBytes(maximumBytes).clock(clock).open();
+	}
+
+	private static String body(DiskCache cache, String url) throws IOException {
+		Optional<DiskCache.Response> response = cache.get(url);
+		return response.map(r -> new String(r.getBody(), r.getCharset())).orElse(null);
+	}
+
+	@Test
+	public void testPersistence() throws IOException {
+		Path directory = folder.getRoot().toPath();
+
+		try (DiskCache cache = open(directory, 1024 * 1024)) {
+			cache.put(ITEM_URL, "whip".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+			cache.put(BEAST_URL, "dragon".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+			cache.put(PLAYER_URL, "ranks".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+			assertThat(cache.isCacheable(PLAYER_URL), is(false));
+			assertThat(cache.size(), is(2));
+			assertThat(body(cache, ITEM_URL), is("whip"));
+			assertThat(body(cache, PLAYER_URL), is((String) null));
+		}
+
+		/* a write torn by a crash */
+		try (FileChannel segment = FileChannel.open(directory.resolve("responses.seg"), StandardOpenOption.APPEND)) {
+			segment.write(StandardCharsets.US_ASCII.encode("RSDC torn"));
+		}
+
+		clock.advance(10, TimeUnit.MINUTES);
+
+		try (DiskCache cache = open(directory, 1024 * 1024)) {
+			assertThat(cache.size(), is(1));
+			assertThat(body(cache, ITEM_URL), is((String) null));
+			assertThat(body(cache, BEAST_URL), is("dragon"));
+
+			cache.put(BEAST_URL, "dragon2".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+			assertThat(body(cache, BEAST_URL), is("dragon2"));
+			assertThat(cache.getHitCount(), is(2L));
+			assertThat(cache.getMissCount(), is(1L));
+		}
+
+		try (DiskCache cache = open(directory, 1024 * 1024)) {
+			assertThat(body(cache, BEAST_URL), is("dragon2"));
+		}
+	}
+
+	@Test
+	public void testCompaction() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		byte[] body = new byte[100];
+
+		try (DiskCache cache = open(directory, 1024)) {
+			for (int i = 0; i < 50; i++) {
+				cache.put(BEAST_URL + i % 20, body, StandardCharsets.UTF_8);
+				assertThat(cache.getSizeBytes(), lessThanOrEqualTo(1024L));
+			}
+
+			assertThat(cache.getCompactionCount() > 0, is(true));
+			assertThat(cache.get(BEAST_URL + 9).isPresent(), is(true));
+			assertThat(cache.get(BEAST_URL + 0).isPresent(), is(false));
+		}
+
+		try (DiskCache cache = open(directory, 1024)) {
+			assertThat(cache.get(BEAST_URL + 9).isPresent(), is(true));
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Client} that counts the requests made to it, answering each JSON request for a class with the requested URL
+ * and every other request with nothing. The decorator tests override {@link #answer(int, String, Class)} and
+ * {@link #answerCSV(String)} to make it slow or fail.
+ */
+class FakeClient implements Client {
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	int getRequests() {
+		return requests.get();
+	}
+
+	@Override
+	public final <T> Optional<T> fromJson(String url, Type typeOfT) {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(typeOfT);
+		requests.incrementAndGet();
+		return Optional.empty();
+	}
+
+	@Override
+	public final <T> Optional<T> fromJson(String url, Class<T> classOfT) throws IOException {
+		Preconditions.checkNotNull(url);
+		Preconditions.checkNotNull(classOfT);
+		return answer(requests.incrementAndGet(), url, classOfT);
+	}
+
+	@Override
+	public final ImmutableList<CSVRecord> fromCSV(String url) throws IOException {
+		Preconditions.checkNotNull(url);
+		requests.incrementAndGet();
+		return answerCSV(url);
+	}
+
+	<T> Optional<T> answer(int request, String url, Class<T> classOfT) throws IOException {
+		return Optional.of(classOfT.cast(url));
+	}
+
+	ImmutableList<CSVRecord> answerCSV(String url) throws IOException {
+		return ImmutableList.of();
+	}
+}
@@ -0,0 +1,23 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Ticker} that only moves when it is advanced, so that the decorators that measure time can be tested without
+ * waiting.
+ */
+final class FakeTicker extends Ticker {
+
+	private long nanos;
+
+	@Override
+	public long read() {
+		return nanos;
+	}
+
+	void advance(long time, TimeUnit unit) {
+		nanos += unit.toNanos(time);
+	}
+}
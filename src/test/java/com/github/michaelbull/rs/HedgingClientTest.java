@@ -0,0 +1,124 @@
+package com.github.michaelbull.rs;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class HedgingClientTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+
+	private static final class SlowClient extends FakeClient {
+		private final CountDownLatch cancelled = new CountDownLatch(1);
+		private volatile int slowRequest;
+
+		@Override
+		<T> Optional<T> answer(int request, String url, Class<T> classOfT) throws IOException {
+			if (request == slowRequest) {
+				Deadline deadline = Deadline.current().get();
+				long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+				while (System.nanoTime() < end) {
+					if (deadline.isExpired()) {
+						cancelled.countDown();
+						throw new DeadlineExceededException("Cancelled.");
+					}
+					sleep(5);
+				}
+			} else {
+				sleep(1);
+			}
+
+			return super.answer(request, url, classOfT);
+		}
+
+		private static void sleep(long millis) throws IOException {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	private final SlowClient delegate = new SlowClient();
+
+	private final HedgingClient client = HedgingClient.builder(delegate)
+		.percentile(0.9)
+		.window(10, 10)
+		.budget(0.1, 1)
+		.build();
+
+	@After
+	public void tearDown() throws IOException {
+		client.close();
+	}
+
+	@Test
+	public void testHedge() throws IOException, InterruptedException {
+		for (int i = 0; i < 10; i++) {
+			client.fromJson(ITEM_URL, String.class);
+		}
+
+		assertThat(client.getHedgeDelay(Endpoint.GRAND_EXCHANGE, TimeUnit.MILLISECONDS).isPresent(), is(true));
+		assertThat(client.getHedgeDelay(Endpoint.HISCORES, TimeUnit.MILLISECONDS).isPresent(), is(false));
+
+		delegate.slowRequest = 11;
+		long start = System.nanoTime();
+		assertThat(client.fromJson(ITEM_URL, String.class), is(Optional.of(ITEM_URL)));
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, is(true));
+		assertThat(delegate.cancelled.await(1, TimeUnit.SECONDS), is(true));
+		assertThat(client.getHedgeCount(Endpoint.GRAND_EXCHANGE), is(1L));
+		assertThat(client.getWinCount(Endpoint.GRAND_EXCHANGE, HedgingClient.Copy.HEDGE), is(1L));
+		assertThat(client.getWinCount(Endpoint.GRAND_EXCHANGE, HedgingClient.Copy.PRIMARY), is(0L));
+	}
+
+	@Test
+	public void testHedgedLatency() throws IOException {
+		HedgingClient tail = HedgingClient.builder(delegate)
+			.percentile(0.99)
+			.window(10, 10)
+			.build();
+
+		try {
+			for (int i = 0; i < 10; i++) {
+				tail.fromJson(ITEM_URL, String.class);
+			}
+
+			long delay = tail.getHedgeDelay(Endpoint.GRAND_EXCHANGE, TimeUnit.NANOSECONDS).getAsLong();
+			delegate.slowRequest = 11;
+			tail.fromJson(ITEM_URL, String.class);
+
+			/* the hedge won, but the caller waited for the hedge delay first */
+			assertThat(tail.getWinCount(Endpoint.GRAND_EXCHANGE, HedgingClient.Copy.HEDGE), is(1L));
+			assertThat(tail.getHedgeDelay(Endpoint.GRAND_EXCHANGE, TimeUnit.NANOSECONDS).getAsLong() > delay, is(true));
+		} finally {
+			tail.close();
+		}
+	}
+
+	@Test
+	public void testBudget() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			client.fromJson(ITEM_URL, String.class);
+		}
+
+		/* the reserve of one hedge is spent by the first slow request */
+		delegate.slowRequest = 11;
+		client.fromJson(ITEM_URL, String.class);
+		delegate.slowRequest = 13;
+		long start = System.nanoTime();
+		client.fromJson(ITEM_URL, String.class);
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 2_000, is(true));
+		assertThat(client.getHedgeCount(Endpoint.GRAND_EXCHANGE), is(1L));
+		assertThat(client.getHedgesRefusedCount(), is(1L));
+	}
+}
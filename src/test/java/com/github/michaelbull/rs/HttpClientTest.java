@@ -0,0 +1,378 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.ConnectionClosedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public final class HttpClientTest {
+
+	private static final String ITEM_JSON = "{\"item\":{\"id\":4151,\"name\":\"Abyssal whip\"}}";
+	private static final String ITEMS_JSON = "[" + String.join(",", Collections.nCopies(100, ITEM_JSON)) + "]";
+	private static final String ETAG = "\"4151-1\"";
+	private static final String DETAIL_PATH = "/m=itemdb_rs/api/catalogue/detail.json";
+	private static final String ITEMS_PATH = "/m=itemdb_rs/api/catalogue/items.json";
+	private static final String BEAST_PATH = "/m=itemdb_rs/bestiary/beastData.json";
+	private static final String THROTTLED_PATH = "/m=itemdb_rs/bestiary/areaNames.json";
+	private static final String MISSING_PATH = "/m=itemdb_rs/bestiary/beastSearch.json";
+	private static final String SLOW_PATH = "/m=itemdb_rs/bestiary/levelGroup.json";
+	private static final String CLAN_PATH = "/m=clan-hiscores/members_lite.ws";
+	private static final String BROKEN_PATH = "/m=itemdb_rs/bestiary/bestiaryNames.json";
+	private static final int CLAN_MEMBERS = 20_000;
+	private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private HttpServer server;
+	private HttpClient client;
+	private RetryingClient retrying;
+	private String baseUrl;
+	private int requests;
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, status == 304 ? -1 : bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			if (status != 304) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext(DETAIL_PATH, exchange -> {
+			requests++;
+			if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				respond(exchange, 304, "");
+			} else {
+				exchange.getResponseHeaders().add("ETag", ETAG);
+				respond(exchange, 200, ITEM_JSON);
+			}
+		});
+		server.createContext(ITEMS_PATH, exchange -> {
+			requests++;
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(ITEMS_JSON.getBytes(StandardCharsets.UTF_8));
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+			exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+			exchange.sendResponseHeaders(200, compressed.size());
+			try (OutputStream out = exchange.getResponseBody()) {
+				compressed.writeTo(out);
+			}
+		});
+		server.createContext(BEAST_PATH, exchange -> {
+			requests++;
+			if (requests <= 2) {
+				respond(exchange, 503, "");
+			} else {
+				respond(exchange, 200, ITEM_JSON);
+			}
+		});
+		server.createContext(THROTTLED_PATH, exchange -> {
+			requests++;
+			byte[] page = "<html><body>Too many requests</body></html>".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "text/html");
+			exchange.sendResponseHeaders(200, page.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(page);
+			}
+		});
+		server.createContext(MISSING_PATH, exchange -> {
+			requests++;
+			byte[] page = "<html><body>Page not found</body></html>".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "text/html");
+			exchange.sendResponseHeaders(404, page.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(page);
+			}
+		});
+		server.createContext(SLOW_PATH, exchange -> {
+			requests++;
+			byte[] bytes = ITEMS_JSON.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes, 0, 10);
+				out.flush();
+				Thread.sleep(1_000);
+				out.write(bytes, 10, bytes.length - 10);
+			} catch (InterruptedException | IOException e) {
+				/* the client gave up */
+			}
+		});
+		server.createContext(CLAN_PATH, exchange -> {
+			requests++;
+			StringBuilder members = new StringBuilder("Clanmate, Clan Rank, Total XP, Kills\n");
+			for (int i = 0; i < CLAN_MEMBERS; i++) {
+				members.append("Member ").append(i).append(",Recruit,1000,0\n");
+			}
+			byte[] bytes = members.toString().getBytes(StandardCharsets.ISO_8859_1);
+			exchange.getResponseHeaders().add("Content-Type", "text/csv");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			} catch (IOException e) {
+				/* the client gave up */
+			}
+		});
+		server.createContext(BROKEN_PATH, exchange -> {
+			requests++;
+			if (requests == 1) {
+				/* the connection is dropped part way through the body */
+				byte[] bytes = ITEM_JSON.getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, bytes.length);
+				exchange.getResponseBody().write(bytes, 0, 10);
+				exchange.close();
+			} else if (requests == 2) {
+				respond(exchange, 200, ITEM_JSON.substring(0, 10));
+			} else {
+				respond(exchange, 200, ITEM_JSON);
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+		client = new HttpClient();
+		retrying = RetryingClient.builder(client)
+			.policy(RetryPolicy.builder().backoff(1, 10, TimeUnit.MILLISECONDS).build())
+			.build();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		client.close();
+		server.stop(0);
+	}
+
+	@Test
+	public void testConditionalRequests() throws IOException {
+		Optional<Map<String, Object>> first = client.fromJson(baseUrl + DETAIL_PATH, MAP_TYPE);
+		Optional<Map<String, Object>> second = client.fromJson(baseUrl + DETAIL_PATH, MAP_TYPE);
+
+		assertThat(requests, is(2));
+		assertThat(second.get(), is(sameInstance(first.get())));
+		assertThat(client.stats().getValidatorCount(), is(1L));
+		assertThat(client.stats().getConditionalRequestCount(), is(1L));
+		assertThat(client.stats().getNotModifiedCount(), is(1L));
+		assertThat(client.stats().getBytesSaved(), is((long) ITEM_JSON.length()));
+
+		/* a different type is never served from another type's response */
+		Optional<Object> other = client.fromJson(baseUrl + DETAIL_PATH, Object.class);
+		assertThat(other.isPresent(), is(true));
+		assertThat(client.stats().getConditionalRequestCount(), is(1L));
+	}
+
+	@Test
+	public void testCompression() throws IOException {
+		Optional<Object[]> items = client.fromJson(baseUrl + ITEMS_PATH, Object[].class);
+
+		assertThat(items.get().length, is(100));
+
+		HttpStats stats = client.stats();
+		assertThat(stats.getBytesDecoded(Endpoint.GRAND_EXCHANGE), is((long) ITEMS_JSON.length()));
+		assertThat(stats.getBytesReceived(Endpoint.GRAND_EXCHANGE) < ITEMS_JSON.length() / 10, is(true));
+		assertThat(stats.getBytesReceived(Endpoint.BESTIARY), is(0L));
+	}
+
+	@Test
+	public void testRetries() throws IOException {
+		Optional<Map<String, Object>> beast = retrying.fromJson(baseUrl + BEAST_PATH, MAP_TYPE);
+
+		assertThat(beast.isPresent(), is(true));
+		assertThat(requests, is(3));
+		assertThat(retrying.getRetryCount(Endpoint.BESTIARY), is(2L));
+
+		try {
+			retrying.fromJson(baseUrl + THROTTLED_PATH, Map.class);
+			fail();
+		} catch (ServiceUnavailableException e) {
+			assertThat(e.isThrottled(), is(true));
+		}
+
+		assertThat(requests, is(6));
+		assertThat(retrying.getRetryCount(Endpoint.BESTIARY), is(4L));
+	}
+
+	@Test
+	public void testBrokenResponses() throws IOException {
+		try {
+			client.fromJson(baseUrl + BROKEN_PATH, Map.class);
+			fail();
+		} catch (ConnectionClosedException e) {
+			/* expected */
+		}
+
+		try {
+			client.fromJson(baseUrl + BROKEN_PATH, Map.class);
+			fail();
+		} catch (MalformedResponseException e) {
+			/* expected */
+		}
+
+		requests = 0;
+		assertThat(retrying.fromJson(baseUrl + BROKEN_PATH, Map.class).isPresent(), is(true));
+		assertThat(requests, is(3));
+		assertThat(retrying.getRetryCount(Endpoint.BESTIARY), is(2L));
+	}
+
+	@Test
+	public void testRetriesTotalTimeout() throws IOException {
+		RetryingClient patient = RetryingClient.builder(client)
+			.policy(RetryPolicy.builder()
+				.maxAttempts(100)
+				.backoff(50, 50, TimeUnit.MILLISECONDS)
+				.totalTimeout(300, TimeUnit.MILLISECONDS)
+				.budget(1, 100)
+				.build())
+			.build();
+
+		long start = System.nanoTime();
+		try {
+			patient.fromJson(baseUrl + THROTTLED_PATH, Map.class);
+			fail();
+		} catch (ServiceUnavailableException e) {
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, is(true));
+		}
+		assertThat(requests < 10, is(true));
+
+		/* the total timeout also bounds each attempt */
+		requests = 0;
+		start = System.nanoTime();
+		try {
+			patient.fromJson(baseUrl + SLOW_PATH, Object[].class);
+			fail();
+		} catch (DeadlineExceededException e) {
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 900, is(true));
+		}
+		assertThat(requests, is(1));
+	}
+
+	@Test
+	public void testNotFound() throws IOException {
+		Optional<Map<String, Object>> beast = retrying.fromJson(baseUrl + MISSING_PATH, MAP_TYPE);
+
+		assertThat(beast.isPresent(), is(false));
+		assertThat(requests, is(1));
+		assertThat(retrying.getRetryCount(Endpoint.BESTIARY), is(0L));
+	}
+
+	@Test
+	public void testDeadline() throws IOException {
+		long start = System.nanoTime();
+		Deadline.Scope scope = Deadline.after(200, TimeUnit.MILLISECONDS).enter();
+		try {
+			client.fromJson(baseUrl + SLOW_PATH, Object[].class);
+			fail();
+		} catch (DeadlineExceededException e) {
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 900, is(true));
+		} finally {
+			scope.close();
+		}
+
+		/* an expired deadline makes no request at all */
+		scope = Deadline.after(0, TimeUnit.MILLISECONDS).enter();
+		try {
+			client.fromJson(baseUrl + DETAIL_PATH, Map.class);
+			fail();
+		} catch (DeadlineExceededException e) {
+			assertThat(requests, is(1));
+		} finally {
+			scope.close();
+		}
+
+		try (HttpClient impatient = HttpClient.builder().totalTimeout(200, TimeUnit.MILLISECONDS).build()) {
+			impatient.fromJson(baseUrl + SLOW_PATH, Object[].class);
+			fail();
+		} catch (DeadlineExceededException e) {
+			assertThat(requests, is(2));
+		}
+
+		/* a deadline too far away to compare never passes */
+		scope = Deadline.after(Long.MAX_VALUE, TimeUnit.DAYS).enter();
+		try {
+			assertThat(Deadline.current().get().isExpired(), is(false));
+			assertThat(client.fromJson(baseUrl + DETAIL_PATH, Map.class).isPresent(), is(true));
+		} finally {
+			scope.close();
+		}
+	}
+
+	@Test
+	public void testStreamingTotalTimeout() throws IOException {
+		/* the total timeout does not count the time a streaming decoder's consumer takes */
+		try (HttpClient impatient = HttpClient.builder().totalTimeout(200, TimeUnit.MILLISECONDS).build()) {
+			Optional<Integer> lines = impatient.fromCSV(baseUrl + CLAN_PATH, in -> {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+				int count = 0;
+				while (reader.readLine() != null) {
+					if (count++ == 0) {
+						Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+					}
+				}
+				return Optional.of(count);
+			});
+			assertThat(lines, is(Optional.of(CLAN_MEMBERS + 1)));
+		}
+	}
+
+	@Test
+	public void testDiskCacheDoesNotBufferDecoders() throws IOException {
+		CachePolicy policy = CachePolicy.builder()
+			.ttl("/m=clan-hiscores/", 5, TimeUnit.MINUTES)
+			.build();
+
+		CSVDecoder<Integer> decoder = in -> {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+			int count = 0;
+			while (reader.readLine() != null) {
+				count++;
+			}
+			return Optional.of(count);
+		};
+
+		try (DiskCache cache = DiskCache.builder(folder.getRoot().toPath()).policy(policy).open();
+			 HttpClient cached = HttpClient.builder().diskCache(cache).build()) {
+			assertThat(cached.fromCSV(baseUrl + CLAN_PATH, decoder), is(Optional.of(CLAN_MEMBERS + 1)));
+			assertThat(cached.fromCSV(baseUrl + CLAN_PATH, decoder), is(Optional.of(CLAN_MEMBERS + 1)));
+			assertThat(requests, is(2));
+			assertThat(cache.get(baseUrl + CLAN_PATH).isPresent(), is(false));
+
+			/* a body cached by a buffered read is still streamed to decoders from the disk */
+			assertThat(cached.fromCSV(baseUrl + CLAN_PATH).size(), is(CLAN_MEMBERS + 1));
+			assertThat(cached.fromCSV(baseUrl + CLAN_PATH, decoder), is(Optional.of(CLAN_MEMBERS + 1)));
+			assertThat(requests, is(3));
+		}
+	}
+}
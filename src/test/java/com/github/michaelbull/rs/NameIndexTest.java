@@ -0,0 +1,53 @@
+package com.github.michaelbull.rs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class NameIndexTest {
+
+	private final NameIndex index = NameIndex.builder()
+		.put(2311, "Sheepdog")
+		.put(5163, "Sheep")
+		.put(1271, "Golden sheep")
+		.put(541, "Zeke")
+		.put(5308, "Zombie (22)")
+		.put(8149, "Armoured zombie (86)")
+		.build();
+
+	@Test
+	public void testStartingWith() {
+		ImmutableMap<Integer, String> results = index.startingWith("SHE", 10);
+		assertThat(results.keySet().asList(), is(ImmutableList.of(5163, 2311)));
+
+		results = index.startingWith("z", 1);
+		assertThat(results, is(ImmutableMap.of(541, "Zeke")));
+
+		assertThat(index.startingWith("", 100).size(), is(6));
+		assertThat(index.startingWith("sheepdogs", 10).isEmpty(), is(true));
+		assertThat(index.startingWith("a", 0).isEmpty(), is(true));
+	}
+
+	@Test
+	public void testContainingWord() {
+		ImmutableMap<Integer, String> results = index.containingWord("sheep", 10);
+		assertThat(results.keySet().asList(), is(ImmutableList.of(1271, 5163, 2311)));
+
+		results = index.containingWord("zomb", 10);
+		assertThat(results.keySet().asList(), is(ImmutableList.of(5308, 8149)));
+
+		assertThat(index.containingWord("86", 10).keySet().asList(), is(ImmutableList.of(8149)));
+		assertThat(index.containingWord("mbie", 10).isEmpty(), is(true));
+	}
+
+	@Test
+	public void testSize() {
+		assertThat(index.size(), is(6));
+		assertThat(index.getWords(), is(10));
+		assertThat(index.getEstimatedBytes(), greaterThan(0L));
+	}
+}
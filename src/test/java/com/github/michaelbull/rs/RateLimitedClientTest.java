@@ -0,0 +1,74 @@
+package com.github.michaelbull.rs;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public final class RateLimitedClientTest {
+
+	private static final String ITEM_URL = "http://services.runescape.com/m=itemdb_rs/api/catalogue/detail.json?item=4151";
+	private static final String PLAYER_URL = "http://services.runescape.com/m=hiscore/index_lite.ws?player=Max";
+
+	private final FakeClient delegate = new FakeClient();
+
+	@Test
+	public void testFailFast() throws IOException {
+		FakeTicker ticker = new FakeTicker();
+		RateLimitedClient client = RateLimitedClient.builder(delegate)
+			.limit(Endpoint.GRAND_EXCHANGE, 10, 1, TimeUnit.SECONDS, 2)
+			.failFast()
+			.ticker(ticker)
+			.build();
+
+		TokenBucket bucket = client.getBucket(Endpoint.GRAND_EXCHANGE).get();
+		assertThat(bucket.getFillLevel(), is(1.0));
+
+		client.fromJson(ITEM_URL, String.class);
+		client.fromJson(ITEM_URL, String.class);
+		assertThat(bucket.getAvailablePermits(), is(0.0));
+
+		try {
+			client.fromJson(ITEM_URL, String.class);
+			fail();
+		} catch (RateLimitExceededException e) {
+			assertThat(e.getEndpoint(), is(Endpoint.GRAND_EXCHANGE));
+			assertThat(e.getRetryAfter(TimeUnit.MILLISECONDS), is(100L));
+		}
+
+		ticker.advance(100, TimeUnit.MILLISECONDS);
+		client.fromJson(ITEM_URL, String.class);
+
+		/* unlimited endpoints are never refused */
+		for (int i = 0; i < 10; i++) {
+			client.fromCSV(PLAYER_URL);
+		}
+
+		assertThat(delegate.getRequests(), is(13));
+		assertThat(bucket.getImmediateCount(), is(3L));
+		assertThat(bucket.getRejectedCount(), is(1L));
+		assertThat(client.getBucket(Endpoint.HISCORES).isPresent(), is(false));
+	}
+
+	@Test
+	public void testBlocking() throws IOException {
+		RateLimitedClient client = RateLimitedClient.builder(delegate)
+			.limit(Endpoint.HISCORES, 20, 1, TimeUnit.SECONDS, 1)
+			.build();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 4; i++) {
+			client.fromCSV(PLAYER_URL);
+		}
+
+		TokenBucket bucket = client.getBucket(Endpoint.HISCORES).get();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(140L));
+		assertThat(bucket.getDelayedCount(), is(3L));
+		assertThat(bucket.getTotalWait(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(140L));
+	}
+}
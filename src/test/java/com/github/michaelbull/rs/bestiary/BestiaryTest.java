@@ -1,9 +1,13 @@
 package com.github.michaelbull.rs.bestiary;
 
+import com.github.michaelbull.rs.BlockingAsyncClient;
 import com.github.michaelbull.rs.Client;
+import com.github.michaelbull.rs.Deadline;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.Test;
 
@@ -11,6 +15,9 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -140,6 +147,10 @@ public final class BestiaryTest {
 	};
 
 	private static final class FakeClient implements Client {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch abandoned = new CountDownLatch(1);
+		private volatile int unavailableBeastId = -1;
+
 		@Override
 		@SuppressWarnings("unchecked")
 		public <T> Optional<T> fromJson(String url, Type typeOfT) {
@@ -159,12 +170,15 @@ public final class BestiaryTest {
 
 		@Override
 		@SuppressWarnings("unchecked")
-		public <T> Optional<T> fromJson(String url, Class<T> classOfT) {
+		public <T> Optional<T> fromJson(String url, Class<T> classOfT) throws IOException {
 			Preconditions.checkNotNull(url);
 			Preconditions.checkNotNull(classOfT);
 
 			if (url.startsWith("http://services.runescape.com/m=itemdb_rs/bestiary/beastData.json?beastid=")) {
 				int id = Integer.parseInt(url.substring(url.indexOf("beastid=") + "beastid=".length()));
+				if (id == unavailableBeastId) {
+					throw new IOException("Service unavailable.");
+				}
 
 				switch (id) {
 					case 50:
@@ -176,6 +190,9 @@ public final class BestiaryTest {
 					case 49:
 						return Optional.of((T) HELLHOUND);
 
+					case 18932:
+						return Optional.of((T) GIANT_MOLE);
+
 					default:
 						return Optional.empty();
 				}
@@ -200,6 +217,19 @@ public final class BestiaryTest {
 					case 'Z':
 						return Optional.of((T) BEGINNING_WITH_Z);
 
+					case 'G':
+						return Optional.of((T) new SearchResult[] { new SearchResult(18932, "Giant mole") });
+
+					case 'H':
+						return Optional.of((T) new SearchResult[] { new SearchResult(0, "Hans"), new SearchResult(49, "Hellhound") });
+
+					case 'K':
+						return Optional.of((T) new SearchResult[] { new SearchResult(50, "King Black Dragon") });
+
+					case 'Q':
+						Uninterruptibles.awaitUninterruptibly(started, 5, TimeUnit.SECONDS);
+						return Optional.empty();
+
 					default:
 						return Optional.empty();
 				}
@@ -216,6 +246,9 @@ public final class BestiaryTest {
 					case "Varrock":
 						return Optional.of((T) VARROCK);
 
+					case "Abyss":
+						return waitUntilAbandoned();
+
 					default:
 						return Optional.empty();
 				}
@@ -270,9 +303,24 @@ public final class BestiaryTest {
 		public ImmutableList<CSVRecord> fromCSV(String url) {
 			return ImmutableList.of();
 		}
+
+		private <T> Optional<T> waitUntilAbandoned() {
+			started.countDown();
+			long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (!Deadline.current().map(Deadline::isExpired).orElse(false)) {
+				if (System.nanoTime() > end) {
+					return Optional.empty();
+				}
+				/* ignores interrupts, as a blocking request would, to observe the deadline alone */
+				Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+			}
+			abandoned.countDown();
+			return Optional.empty();
+		}
 	}
 
-	private final Bestiary bestiary = new Bestiary(new FakeClient());
+	private final FakeClient client = new FakeClient();
+	private final Bestiary bestiary = new Bestiary(client);
 
 	@Test
 	public void testBeastData() throws IOException {
@@ -297,6 +345,21 @@ public final class BestiaryTest {
 		assertThat(hellhound.getSlayerCategory().get(), is("Hellhounds"));
 	}
 
+	@Test
+	public void testAsyncBestiary() throws IOException, InterruptedException, ExecutionException {
+		AsyncBestiary async = new AsyncBestiary(new BlockingAsyncClient(new FakeClient()));
+
+		assertThat(async.beastData(50).get().get().getName(), is("King Black Dragon"));
+		assertThat(async.searchByTerms("sheep").get(), is(bestiary.searchByTerms("sheep")));
+		assertThat(async.searchByFirstLetter('Z').get(), is(bestiary.searchByFirstLetter('Z')));
+		assertThat(async.areaNames().get(), is(bestiary.areaNames()));
+		assertThat(async.beastsInArea("Varrock").get(), is(bestiary.beastsInArea("Varrock")));
+		assertThat(async.beastsInSlayerCategory("Zombies").get(), is(bestiary.beastsInSlayerCategory("Zombies")));
+		assertThat(async.beastsInSlayerCategory("Unknown").get().isEmpty(), is(true));
+		assertThat(async.beastsWeakTo("Thrown").get(), is(bestiary.beastsWeakTo("Thrown")));
+		assertThat(async.beastsInLevelGroup(200, 300).get(), is(bestiary.beastsInLevelGroup(200, 300)));
+	}
+
 	@Test
 	public void testSearchByTerms() throws IOException {
 		ImmutableMap<Integer, String> results = bestiary.searchByTerms("weirdterm");
@@ -381,6 +444,107 @@ public final class BestiaryTest {
 		assertThat(results.containsValue("Giant mole (230)"), is(true));
 	}
 
+	@Test
+	public void testSearch() throws IOException {
+		ImmutableMap<Integer, String> results = bestiary.search()
+			.filterByNameFirstLetter('Z')
+			.filterByNameFirstLetter('Z')
+			.results();
+		assertThat(results.keySet(), is(ImmutableSet.of(541, 568, 1425)));
+
+		results = bestiary.search()
+			.filterByNameFirstLetter('Z')
+			.filterByArea("Varrock")
+			.results();
+		assertThat(results.isEmpty(), is(true));
+
+		results = bestiary.search(Runnable::run)
+			.filterByNameFirstLetter('x')
+			.filterByArea("Varrock")
+			.results();
+		assertThat(results.isEmpty(), is(true));
+
+		/* names are taken from the first filter, however large its result */
+		results = bestiary.search()
+			.filterByLevel(200, 300)
+			.filterByNameFirstLetter('G')
+			.results();
+		assertThat(results, is(ImmutableMap.of(18932, "Giant mole (230)")));
+	}
+
+	@Test
+	public void testSearchAbortsRemainingRequests() throws IOException, InterruptedException {
+		ImmutableMap<Integer, String> results = bestiary.search()
+			.filterByNameFirstLetter('Q')
+			.filterByArea("Abyss")
+			.results();
+
+		assertThat(results.isEmpty(), is(true));
+		assertThat(client.abandoned.await(1, TimeUnit.SECONDS), is(true));
+	}
+
+	@Test
+	public void testBestiaryMirror() throws IOException {
+		BestiaryMirror mirror = BestiaryMirror.snapshot(bestiary, Runnable::run);
+		assertThat(mirror.size(), is(4));
+		assertThat(mirror.beastData(49).get(), is(HELLHOUND));
+		assertThat(mirror.beastData(541).isPresent(), is(false));
+
+		assertThat(mirror.searchByTerms("MOLE", "hans").keySet(), is(ImmutableSet.of(0, 18932)));
+		assertThat(mirror.searchByFirstLetter('h').keySet(), is(ImmutableSet.of(0, 49)));
+		assertThat(mirror.beastsInArea("RuneScape Surface").keySet(), is(ImmutableSet.of(0, 49)));
+		assertThat(mirror.beastsInSlayerCategory("Black dragons").get(50), is("King Black Dragon"));
+		assertThat(mirror.beastsWeakTo("Slashing").keySet(), is(ImmutableSet.of(49)));
+		assertThat(mirror.beastsWeakTo(0).keySet(), is(ImmutableSet.of(0, 50, 18932)));
+		assertThat(mirror.beastsInLevelGroup(92, 230).keySet(), is(ImmutableSet.of(49, 18932)));
+		assertThat(mirror.beastsInLevelGroup(300, 400).isEmpty(), is(true));
+
+		ImmutableMap<Integer, String> results = mirror.search()
+			.filterByArea("RuneScape Surface")
+			.filterByWeakness("Slashing")
+			.results();
+		assertThat(results, is(ImmutableMap.of(49, "Hellhound")));
+
+		results = mirror.search()
+			.filterByLevel(90, 280)
+			.filterByWeakness("None")
+			.results();
+		assertThat(results.keySet(), is(ImmutableSet.of(50, 18932)));
+
+		results = mirror.search()
+			.filterByNameFirstLetter('H')
+			.filterBySlayerCategory("Black dragons")
+			.filterByLevel(1, 10)
+			.results();
+		assertThat(results.isEmpty(), is(true));
+
+		/* a mirror without an executor fetches on threads of its own */
+		assertThat(BestiaryMirror.snapshot(bestiary).index().getBeasts(), is(mirror.index().getBeasts()));
+	}
+
+	@Test
+	public void testBestiaryMirrorKeepsBeastsThatFailedToRefresh() throws IOException {
+		BestiaryMirror mirror = BestiaryMirror.snapshot(bestiary, Runnable::run);
+		assertThat(mirror.getFailedBeastIds().isEmpty(), is(true));
+
+		client.unavailableBeastId = 49;
+		mirror.refresh(ImmutableList.of(49, 50));
+		assertThat(mirror.size(), is(4));
+		assertThat(mirror.beastData(49).get(), is(HELLHOUND));
+		assertThat(mirror.getFailedBeastIds(), is(ImmutableList.of(49)));
+
+		/* a beast that was never mirrored is left out until it can be fetched */
+		mirror = BestiaryMirror.snapshot(bestiary, Runnable::run);
+		assertThat(mirror.size(), is(3));
+		assertThat(mirror.beastData(49).isPresent(), is(false));
+		assertThat(mirror.getFailedBeastIds(), is(ImmutableList.of(49)));
+
+		client.unavailableBeastId = -1;
+		mirror.refresh();
+		assertThat(mirror.beastData(49).get(), is(HELLHOUND));
+		assertThat(mirror.getFailedBeastIds().isEmpty(), is(true));
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testBeastsInLevelGroupThrowsIllegalArgumentException() throws IOException {
 		bestiary.beastsInLevelGroup(50, 30);
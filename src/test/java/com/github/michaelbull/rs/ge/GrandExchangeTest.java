@@ -1,9 +1,13 @@
 package com.github.michaelbull.rs.ge;
 
+import com.github.michaelbull.rs.BlockingAsyncClient;
 import com.github.michaelbull.rs.Client;
+import com.github.michaelbull.rs.Deadline;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.Test;
 
@@ -11,10 +15,19 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 
 public final class GrandExchangeTest {
@@ -105,6 +118,8 @@ public final class GrandExchangeTest {
 
 				if (categoryId == 1 && alpha.equals("a") && page == 1) {
 					return Optional.of((T) DUMMY_CATEGORY_PRICES);
+				} else if (categoryId == POTIONS_CATEGORY_ID && alpha.equals("c") && page == 2) {
+					return Optional.of((T) DUMMY_CATEGORY_PRICES);
 				}
 			} else if (url.startsWith("http://services.runescape.com/m=itemdb_rs/api/graph/")) {
 				int itemId = Integer.parseInt(url.substring(url.indexOf("graph/") + "graph/".length(), url.indexOf(".json")));
@@ -152,6 +167,17 @@ public final class GrandExchangeTest {
 		assertThat(category.getResult(0).get().getItems(), is(44));
 	}
 
+	@Test
+	public void testAsyncGrandExchange() throws InterruptedException, ExecutionException {
+		AsyncGrandExchange async = new AsyncGrandExchange(new BlockingAsyncClient(new FakeClient()));
+
+		assertThat(async.category("Potions").get().get().getResult(0).get().getItems(), is(44));
+		assertThat(async.categoryPrices("Ammo", "a", 1).get().get().getItems().get(0), is(ADAMANT_BRUTAL));
+		assertThat(async.categoryPrices("Ammo", "b", 1).get().isPresent(), is(false));
+		assertThat(async.graphingData(ADAMANT_BRUTAL_ID).get().get(), is(DUMMY_GRAPHING_DATA));
+		assertThat(async.itemPriceInformation(AZURE_SKILLCHOMPA_ID).get().get().getItem(), is(AZURE_SKILLCHOMPA));
+	}
+
 	@Test(expected = IndexOutOfBoundsException.class)
 	public void testCategoryThrowsIndexOutOfBoundsException() throws IOException {
 		ge.category(-1).get();
@@ -165,11 +191,79 @@ public final class GrandExchangeTest {
 		assertThat(prices.getItems().get(0), is(ADAMANT_BRUTAL));
 	}
 
+	@Test
+	public void testItems() {
+		assertThat(ge.items("Ammo", "a").collect(Collectors.toList()), is(Arrays.asList(ITEMS)));
+		assertThat(ge.items("Ammo", "a").parallel().collect(Collectors.toList()), is(Arrays.asList(ITEMS)));
+		assertThat(ge.items("Ammo", "a").findFirst().get(), is(ADAMANT_BRUTAL));
+		assertThat(ge.items("Ammo", "b").count(), is(0L));
+
+		try (Stream<Item> items = ge.items("Ammo", "a")) {
+			assertThat(items.limit(2).count(), is(2L));
+		}
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testCategoryPricesThrowsIllegalArgumentException() throws IOException {
 		ge.categoryPrices("Bolts", "", 1);
 	}
 
+	@Test
+	public void testCatalogueCrawler() throws InterruptedException {
+		List<Item> items = new ArrayList<>();
+		CrawlProgress progress = CatalogueCrawler.builder(ge)
+			.categories(POTIONS_CATEGORY_ID)
+			.concurrency(2)
+			.build()
+			.crawl(items::add);
+
+		assertThat(items, is(Arrays.asList(ITEMS)));
+		assertThat(progress.isComplete(), is(true));
+		assertThat(progress.getPagesPlanned(), is(6));
+		assertThat(progress.getPagesCrawled(), is(1));
+		assertThat(progress.getFailedPages().size(), is(5));
+		assertThat(progress.getFailedPages(), not(hasItem(new CatalogueCrawler.Page(POTIONS_CATEGORY_ID, "c", 2))));
+	}
+
+	@Test
+	public void testCatalogueCrawlerDeadline() throws InterruptedException {
+		CatalogueCrawler crawler = CatalogueCrawler.builder(ge)
+			.categories(POTIONS_CATEGORY_ID)
+			.build();
+
+		CrawlProgress progress;
+		Deadline.Scope scope = Deadline.after(0, TimeUnit.MILLISECONDS).enter();
+		try {
+			progress = crawler.crawl(item -> { });
+		} finally {
+			scope.close();
+		}
+
+		assertThat(progress.isComplete(), is(false));
+		assertThat(progress.getCategoriesPlanned(), is(0));
+		assertThat(progress.getFailedCategories().isEmpty(), is(true));
+	}
+
+	@Test
+	public void testCatalogueCrawlerDeadlineWhileRateLimited() throws InterruptedException {
+		CatalogueCrawler crawler = CatalogueCrawler.builder(ge)
+			.categories(POTIONS_CATEGORY_ID)
+			.rateLimit(0.5)
+			.build();
+
+		long start = System.nanoTime();
+		CrawlProgress progress;
+		Deadline.Scope scope = Deadline.after(500, TimeUnit.MILLISECONDS).enter();
+		try {
+			progress = crawler.crawl(item -> { });
+		} finally {
+			scope.close();
+		}
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500, is(true));
+		assertThat(progress.isComplete(), is(false));
+	}
+
 	@Test
 	public void testGraphingData() throws IOException {
 		assertThat(ge.graphingData(AZURE_SKILLCHOMPA_ID).isPresent(), is(false));
@@ -181,6 +275,22 @@ public final class GrandExchangeTest {
 		assertThat(data.getAveragePrice(LocalDate.of(2014, Month.DECEMBER, 29)).getAsInt(), is(400));
 	}
 
+	@Test
+	public void testPriceSeries() {
+		GraphingData data = new Gson().fromJson("{\"daily\":{\"1419552000000\":110,\"1419379200000\":100,\"1419465600000\":90},\"average\":{}}", GraphingData.class);
+		assertThat(data, is(GraphingData.fromLocalDates(DUMMY_GRAPHING_DATA.getDailyPrices(), ImmutableMap.of())));
+
+		PriceSeries daily = data.getDailySeries();
+		assertThat(daily.getDateAt(0), is(LocalDate.of(2014, Month.DECEMBER, 24)));
+		assertThat(daily.getPrice(LocalDate.of(2014, Month.DECEMBER, 26)).getAsInt(), is(110));
+		assertThat(daily.getPrice(LocalDate.of(2014, Month.DECEMBER, 27)).isPresent(), is(false));
+
+		PriceSeries christmas = daily.between(LocalDate.of(2014, Month.DECEMBER, 25), LocalDate.of(2014, Month.DECEMBER, 26));
+		assertThat(christmas.size(), is(1));
+		assertThat(christmas.getPriceAt(0), is(90));
+		assertThat(data.getAverageSeries().isEmpty(), is(true));
+	}
+
 	@Test
 	public void testItemPriceInformation() throws IOException {
 		assertThat(ge.itemPriceInformation(ADAMANT_BRUTAL_ID).isPresent(), is(false));
@@ -190,5 +300,53 @@ public final class GrandExchangeTest {
 		assertThat(item.getDay30().get().getChange(), is("+1.0%"));
 		assertThat(item.getDay90().get().getChange(), is("+5.0%"));
 		assertThat(item.getDay180().get().getChange(), is("-13.0%"));
+		assertThat(item.getDay180().get().getPercentage().getAsDouble(), is(-13.0));
+		assertThat(item.getDay180().get().getTrend().get(), is(Trend.NEGATIVE));
+		assertThat(item.getCurrentPrice().getCoins().getAsLong(), is(749L));
+	}
+
+	@Test
+	public void testPriceParsing() {
+		Gson gson = new Gson();
+
+		PriceTrend current = gson.fromJson("{\"trend\":\"neutral\",\"price\":\"1.2k\"}", PriceTrend.class);
+		assertThat(current.getTrend().get(), is(Trend.NEUTRAL));
+		assertThat(current.getPrice(), is("1.2k"));
+		assertThat(current.getCoins().getAsLong(), is(1_200L));
+
+		PriceTrend today = gson.fromJson("{\"trend\":\"negative\",\"price\":\"- 1,234\"}", PriceTrend.class);
+		assertThat(today.getTrend().get(), is(Trend.NEGATIVE));
+		assertThat(today.getCoins().getAsLong(), is(-1_234L));
+
+		assertThat(gson.fromJson("{\"trend\":\"positive\",\"price\":247}", PriceTrend.class).getCoins().getAsLong(), is(247L));
+		assertThat(new PriceTrend("positive", "+2.1b").getCoins().getAsLong(), is(2_100_000_000L));
+
+		PriceChange change = gson.fromJson("{\"trend\":\"positive\",\"change\":\"+5.0%\"}", PriceChange.class);
+		assertThat(change.getTrend().get(), is(Trend.POSITIVE));
+		assertThat(change.getPercentage().getAsDouble(), is(5.0));
+	}
+
+	@Test
+	public void testUnparseablePricesAreKept() {
+		Gson gson = new Gson();
+
+		PriceTrend trend = gson.fromJson("{\"trend\":\"sideways\",\"price\":\"many\"}", PriceTrend.class);
+		assertThat(trend.getTrendName(), is("sideways"));
+		assertThat(trend.getTrend().isPresent(), is(false));
+		assertThat(trend.getPrice(), is("many"));
+		assertThat(trend.getCoins().isPresent(), is(false));
+
+		PriceChange change = gson.fromJson("{\"trend\":\"sideways\",\"change\":\"n/a\"}", PriceChange.class);
+		assertThat(change.getTrendName(), is("sideways"));
+		assertThat(change.getTrend().isPresent(), is(false));
+		assertThat(change.getChange(), is("n/a"));
+		assertThat(change.getPercentage().isPresent(), is(false));
+
+		assertThat(gson.toJson(trend), is("{\"trend\":\"sideways\",\"price\":\"many\"}"));
+	}
+
+	@Test(expected = JsonParseException.class)
+	public void testPriceParsingThrowsJsonParseException() {
+		new Gson().fromJson("{\"trend\":\"neutral\"}", PriceTrend.class);
 	}
 }
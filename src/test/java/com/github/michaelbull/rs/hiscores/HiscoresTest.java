@@ -1,21 +1,41 @@
 package com.github.michaelbull.rs.hiscores;
 
+import com.github.michaelbull.rs.BlockingAsyncClient;
+import com.github.michaelbull.rs.CSVDecoder;
 import com.github.michaelbull.rs.Client;
+import com.github.michaelbull.rs.Deadline;
+import com.github.michaelbull.rs.DeadlineExceededException;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public final class HiscoresTest {
 
@@ -58,6 +78,9 @@ public final class HiscoresTest {
 	}
 
 	private static final class FakeClient implements Client {
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+
 		@Override
 		public <T> Optional<T> fromJson(String url, Type typeOfT) {
 			Preconditions.checkNotNull(url);
@@ -72,6 +95,26 @@ public final class HiscoresTest {
 			return Optional.empty();
 		}
 
+		@Override
+		public <T> Optional<T> fromCSV(String url, CSVDecoder<T> decoder) throws IOException {
+			Preconditions.checkNotNull(url);
+			Preconditions.checkNotNull(decoder);
+
+			if (url.equals("http://services.runescape.com/m=clan-hiscores/members_lite.ws?clanName=Dropped+Clan")) {
+				/* the connection is dropped after the first member */
+				byte[] head = ("Clanmate, Clan Rank, Total XP, Kills" + CSV_DELIMITER + "Lagging,Recruit,1,0" + CSV_DELIMITER).getBytes(StandardCharsets.ISO_8859_1);
+				InputStream dropped = new InputStream() {
+					@Override
+					public int read() throws IOException {
+						throw new IOException("Connection reset");
+					}
+				};
+				return decoder.decode(new SequenceInputStream(new ByteArrayInputStream(head), dropped));
+			}
+
+			return Client.super.fromCSV(url, decoder);
+		}
+
 		@Override
 		public ImmutableList<CSVRecord> fromCSV(String url) throws IOException {
 			Preconditions.checkNotNull(url);
@@ -102,6 +145,36 @@ public final class HiscoresTest {
 
 				String player = url.substring(url.indexOf("player=") + "player=".length());
 
+				if (player.equals("Broken")) {
+					throw new IOException("Connection reset");
+				}
+
+				if (player.startsWith("Stubborn")) {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						/* ignores interrupts, but not its deadline */
+						Deadline deadline = Deadline.current().get();
+						while (!deadline.isExpired()) {
+							LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+						}
+						throw new DeadlineExceededException("Abandoned.");
+					} finally {
+						running.decrementAndGet();
+					}
+				}
+
+				if (player.equals("Lagging")) {
+					Uninterruptibles.sleepUninterruptibly(300, TimeUnit.MILLISECONDS);
+				}
+
+				if (player.equals("Slow")) {
+					try {
+						Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+					} catch (InterruptedException e) {
+						throw new InterruptedIOException();
+					}
+				}
+
 				if (table == HiscoreTable.DEFAULT && player.equals("Max")) {
 					StringBuilder csv = new StringBuilder();
 
@@ -143,6 +216,87 @@ public final class HiscoresTest {
 		assertThat(experience, is(Skill.MAX_EXPERIENCE));
 	}
 
+	@Test
+	public void testAsyncHiscores() throws InterruptedException, ExecutionException {
+		AsyncHiscores async = new AsyncHiscores(new BlockingAsyncClient(new FakeClient()));
+
+		assertThat(async.playerInformation("Max", HiscoreTable.DEFAULT).get().get(), is(MAXED_PLAYER));
+		assertThat(async.playerInformation("Andrew", HiscoreTable.OLDSCHOOL).get().isPresent(), is(false));
+		assertThat(async.clanInformation("Maxs Clan").get(), is(CLAN));
+
+		try {
+			async.playerInformation("Broken", HiscoreTable.DEFAULT).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), instanceOf(IOException.class));
+		}
+	}
+
+	@Test
+	public void testPlayerTypes() throws IOException {
+		Player player = hiscores.playerInformation("Max", HiscoreTable.DEFAULT).get();
+		assertThat(player.getSkill(SkillType.THIEVING).get(), is(new Skill(1, 99, Skill.MAX_EXPERIENCE)));
+		assertThat(player.getLevel(SkillType.DUNGEONEERING).getAsInt(), is(120));
+		assertThat(player.getExperience(SkillType.OVERALL).getAsLong(), is(Skill.MAX_EXPERIENCE * Hiscores.SKILL_NAMES.size()));
+		assertThat(player.getActivity(ActivityType.CONQUEST).get(), is(new HiscoreActivity(1, 999)));
+		assertThat(player.getActivity(ActivityType.CLUES).isPresent(), is(false));
+		assertThat(player.hashCode(), is(MAXED_PLAYER.hashCode()));
+
+		Player partial = Player.builder()
+			.skill(SkillType.ATTACK, new Skill(-1, 1, -1))
+			.activity(ActivityType.CLUES, new HiscoreActivity(5, 10))
+			.build();
+		assertThat(partial.getSkills(), is(ImmutableMap.of("Attack", new Skill(-1, 1, -1))));
+		assertThat(partial.getSkill(SkillType.DEFENCE).isPresent(), is(false));
+		assertThat(partial.getExperience(SkillType.ATTACK).isPresent(), is(false));
+		assertThat(partial.getActivity(ActivityType.CLUES).get().getScore().getAsInt(), is(10));
+
+		assertThat(HiscoreTable.OLDSCHOOL.getSkillTypes().size(), is(Hiscores.OLDSCHOOL_SKILL_NAMES.size()));
+		assertThat(HiscoreTable.OLDSCHOOL.getActivityTypes().get(0), is(ActivityType.CLUES));
+	}
+
+	@Test
+	public void testPlayerParsersAgree() throws IOException {
+		Hiscores csvHiscores = new Hiscores(new FakeClient(), PlayerParser.CSV_RECORDS);
+		Hiscores indexLiteHiscores = new Hiscores(new FakeClient(), PlayerParser.INDEX_LITE);
+
+		Player player = indexLiteHiscores.playerInformation("Max", HiscoreTable.DEFAULT).get();
+		assertThat(player, is(csvHiscores.playerInformation("Max", HiscoreTable.DEFAULT).get()));
+		assertThat(player, is(MAXED_PLAYER));
+	}
+
+	@Test
+	public void testBatchPlayerInformation() throws InterruptedException {
+		ImmutableMap<String, PlayerLookup> lookups = hiscores.playerInformation(ImmutableList.of("Max", "Broken", "Andrew", "Max"), HiscoreTable.DEFAULT);
+		assertThat(lookups.keySet().asList(), is(ImmutableList.of("Max", "Broken", "Andrew")));
+		assertThat(lookups.get("Max").getPlayer().get(), is(MAXED_PLAYER));
+		assertThat(lookups.get("Broken").isFailed(), is(true));
+		assertThat(lookups.get("Andrew").isFailed(), is(false));
+		assertThat(lookups.get("Andrew").getPlayer().isPresent(), is(false));
+
+		PlayerBatch batch = PlayerBatch.builder(hiscores)
+			.parallelism(1)
+			.timeout(50, TimeUnit.MILLISECONDS)
+			.build();
+
+		List<String> order = new ArrayList<>();
+		batch.lookup(ImmutableList.of("Slow", "Max"), HiscoreTable.DEFAULT, lookup -> order.add(lookup.getDisplayName()));
+		assertThat(order, is(ImmutableList.of("Slow", "Max")));
+
+		lookups = batch.lookup(ImmutableList.of("Slow"), HiscoreTable.DEFAULT);
+		assertThat(lookups.get("Slow").getFailure().get(), instanceOf(InterruptedIOException.class));
+
+		FakeClient client = new FakeClient();
+		lookups = PlayerBatch.builder(new Hiscores(client))
+			.parallelism(1)
+			.timeout(50, TimeUnit.MILLISECONDS)
+			.build()
+			.lookup(ImmutableList.of("Stubborn", "Stubborn2", "Max"), HiscoreTable.DEFAULT);
+		assertThat(lookups.get("Stubborn").getFailure().get(), instanceOf(DeadlineExceededException.class));
+		assertThat(lookups.get("Max").getPlayer().get(), is(MAXED_PLAYER));
+		assertThat(client.maxRunning.get(), is(1));
+	}
+
 	@Test
 	public void testClanInformation() throws IOException {
 		ImmutableList<ClanMate> clan = hiscores.clanInformation("Maxs Clan");
@@ -150,4 +304,40 @@ public final class HiscoresTest {
 		assertThat(clan, hasItem(ZEZIMA));
 		assertThat(clan, not(hasItem(DRUMGUN)));
 	}
+
+	@Test
+	public void testClanRoster() throws IOException {
+		List<ClanMate> streamed = new ArrayList<>();
+		assertThat(hiscores.clanInformation("Maxs Clan", streamed::add), is(2));
+		assertThat(streamed, is(CLAN));
+
+		Map<String, ClanMember> members = new HashMap<>();
+		int count = ClanRoster.builder(hiscores)
+			.parallelism(1)
+			.build()
+			.enrich("Maxs Clan", member -> members.put(member.getClanMate().getName(), member));
+
+		assertThat(count, is(2));
+		assertThat(members.get("Max").getPlayer().get(), is(MAXED_PLAYER));
+		assertThat(members.get("Zezima").getPlayer().isPresent(), is(false));
+		assertThat(members.get("Zezima").getLookup().isFailed(), is(false));
+	}
+
+	@Test
+	public void testClanRosterStopsWhenTheMemberListFails() throws InterruptedException {
+		AtomicInteger consumed = new AtomicInteger();
+		try {
+			ClanRoster.builder(hiscores)
+				.parallelism(2)
+				.build()
+				.enrich("Dropped Clan", member -> consumed.incrementAndGet());
+			fail();
+		} catch (IOException e) {
+			assertThat(e.getMessage(), is("Connection reset"));
+		}
+
+		/* the lookup in flight when the list failed never reaches the consumer */
+		Thread.sleep(500);
+		assertThat(consumed.get(), is(0));
+	}
 }